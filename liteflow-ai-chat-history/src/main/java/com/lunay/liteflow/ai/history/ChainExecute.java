@@ -1,24 +1,21 @@
 package com.lunay.liteflow.ai.history;
 
 import com.lunay.liteflow.ai.history.context.ChatHistoryContext;
-import com.yomahub.liteflow.ai.context.ChatContext;
+import com.lunay.liteflow.ai.history.session.ChatHistoryContextFactory;
 import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
-import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
-import com.yomahub.liteflow.ai.engine.model.chat.message.SystemMessage;
 import com.yomahub.liteflow.ai.engine.model.chat.message.UserMessage;
 import com.yomahub.liteflow.core.FlowExecutor;
 import com.yomahub.liteflow.flow.LiteflowResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Scanner;
 
 /**
- * 流程触发器
+ * 流程触发器，命令行模式下的单用户对话循环
  *
  * @author 苍镜月
  * @since 2.16.0
@@ -26,20 +23,23 @@ import java.util.Scanner;
 
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "history", name = "mode", havingValue = "cli", matchIfMissing = true)
 @Slf4j
 public class ChainExecute implements CommandLineRunner {
 
+    /**
+     * 命令行模式下使用的会话 ID
+     */
+    private static final String CLI_SESSION_ID = "cli";
+
     private final FlowExecutor flowExecutor;
 
+    private final ChatHistoryContextFactory contextFactory;
+
     @Override
     public void run(String... args) throws Exception {
-        // 1. 初始化对话历史
-        List<Message> history = new ArrayList<>();
-        // 创建上下文
-        ChatHistoryContext context = new ChatHistoryContext();
-        context.setConversationHistory(history);
-
-        context.addMessage(new SystemMessage("你是一个叫'FlowAI'的智能助手，名字叫小流，一个使用 LiteFlow-AI 框架实现的 AI 聊天机器人，请用中文回答问题。"));
+        // 1. 创建上下文，并恢复该会话之前的对话历史
+        ChatHistoryContext context = contextFactory.create(CLI_SESSION_ID);
 
         Scanner scanner = new Scanner(System.in);
         System.out.println("你好！我是 FlowAI 小流，有什么可以帮你的吗？(输入 'exit' 退出)");
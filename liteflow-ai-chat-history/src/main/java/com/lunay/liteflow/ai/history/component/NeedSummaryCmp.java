@@ -0,0 +1,26 @@
+package com.lunay.liteflow.ai.history.component;
+
+import com.lunay.liteflow.ai.history.context.ChatHistoryContext;
+import com.yomahub.liteflow.core.NodeBooleanComponent;
+import org.springframework.stereotype.Component;
+
+/**
+ * 判断是否需要压缩对话历史，需要时准备摘要节点的输入
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component("needSummaryCmp")
+public class NeedSummaryCmp extends NodeBooleanComponent {
+
+    @Override
+    public boolean processBoolean() throws Exception {
+        ChatHistoryContext context = this.getContextBean(ChatHistoryContext.class);
+        if (!context.needSummary()) {
+            return false;
+        }
+        context.setData("summaryInput", context.buildSummaryInput());
+        return true;
+    }
+}
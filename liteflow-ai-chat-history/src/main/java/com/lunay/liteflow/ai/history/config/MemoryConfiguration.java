@@ -0,0 +1,30 @@
+package com.lunay.liteflow.ai.history.config;
+
+import com.lunay.liteflow.ai.history.memory.MemoryStrategy;
+import com.lunay.liteflow.ai.history.memory.SlidingWindowMemoryStrategy;
+import com.lunay.liteflow.ai.history.memory.SummaryMemoryStrategy;
+import com.lunay.liteflow.ai.history.memory.UnboundedMemoryStrategy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 对话记忆配置类
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Configuration
+@EnableConfigurationProperties(MemoryProperties.class)
+public class MemoryConfiguration {
+
+    @Bean
+    public MemoryStrategy memoryStrategy(MemoryProperties properties) {
+        return switch (properties.getStrategy()) {
+            case UNBOUNDED -> new UnboundedMemoryStrategy();
+            case SLIDING_WINDOW -> new SlidingWindowMemoryStrategy(properties.getMaxTokens());
+            case SUMMARY -> new SummaryMemoryStrategy(properties.getMaxTokens(), properties.getSummaryTriggerTokens());
+        };
+    }
+}
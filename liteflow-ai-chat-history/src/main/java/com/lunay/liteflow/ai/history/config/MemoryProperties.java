@@ -0,0 +1,46 @@
+package com.lunay.liteflow.ai.history.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 对话记忆配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "history.memory")
+public class MemoryProperties {
+
+    /**
+     * 记忆策略
+     */
+    private StrategyType strategy = StrategyType.SLIDING_WINDOW;
+
+    /**
+     * 每轮发送给模型的对话历史 token 预算
+     */
+    private int maxTokens = 4000;
+
+    /**
+     * 移出窗口的消息累计达到该 token 数后触发摘要压缩，仅 summary 策略生效
+     */
+    private int summaryTriggerTokens = 1000;
+
+    public enum StrategyType {
+        /**
+         * 不裁剪，发送完整历史
+         */
+        UNBOUNDED,
+        /**
+         * 按 token 预算裁剪的滑动窗口
+         */
+        SLIDING_WINDOW,
+        /**
+         * 滑动窗口 + 旧消息摘要压缩
+         */
+        SUMMARY
+    }
+}
@@ -0,0 +1,30 @@
+package com.lunay.liteflow.ai.history.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 服务模式配置类
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Configuration
+@ConditionalOnProperty(prefix = "history", name = "mode", havingValue = "server")
+@EnableConfigurationProperties(SessionProperties.class)
+public class SessionConfiguration {
+
+    /**
+     * 执行对话轮次的线程池，每轮一个虚拟线程，模型调用阻塞期间不占用平台线程
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService chatTurnExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("chat-turn-", 0).factory());
+    }
+}
@@ -0,0 +1,38 @@
+package com.lunay.liteflow.ai.history.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 服务模式会话配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "history.session")
+public class SessionProperties {
+
+    /**
+     * 同时驻留内存的最大会话数，超出后拒绝新会话
+     */
+    private int maxSessions = 10000;
+
+    /**
+     * 会话空闲多久后从内存中淘汰，淘汰后的会话再次访问时从存储恢复
+     */
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    /**
+     * 空闲会话扫描间隔
+     */
+    private Duration evictionInterval = Duration.ofMinutes(1);
+
+    /**
+     * 单轮对话的最长执行时间
+     */
+    private Duration turnTimeout = Duration.ofMinutes(2);
+}
@@ -0,0 +1,37 @@
+package com.lunay.liteflow.ai.history.config;
+
+import com.lunay.liteflow.ai.history.store.CachingChatHistoryStore;
+import com.lunay.liteflow.ai.history.store.ChatHistoryStore;
+import com.lunay.liteflow.ai.history.store.InMemoryChatHistoryStore;
+import com.lunay.liteflow.ai.history.store.MappedFileChatHistoryStore;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * 对话历史存储配置类
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Configuration
+@EnableConfigurationProperties(StoreProperties.class)
+public class StoreConfiguration {
+
+    @Bean
+    public ChatHistoryStore chatHistoryStore(StoreProperties properties) {
+        if (properties.getType() == StoreProperties.StoreType.MEMORY) {
+            return new InMemoryChatHistoryStore();
+        }
+        MappedFileChatHistoryStore fileStore = new MappedFileChatHistoryStore(
+                Path.of(properties.getDirectory()),
+                properties.getShards(),
+                (int) properties.getSegmentSize().toBytes(),
+                properties.isForceOnAppend()
+        );
+        return new CachingChatHistoryStore(fileStore, properties.getCacheSessions(), properties.getCacheMessages());
+    }
+}
@@ -0,0 +1,68 @@
+package com.lunay.liteflow.ai.history.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 对话历史存储配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "history.store")
+public class StoreProperties {
+
+    /**
+     * 存储类型
+     */
+    private StoreType type = StoreType.MEMORY;
+
+    /**
+     * mapped-file 存储的数据目录
+     */
+    private String directory = "./data/chat-history";
+
+    /**
+     * 会话分片数，不同分片可以并发写入
+     */
+    private int shards = 4;
+
+    /**
+     * 单个段文件大小
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * 每次追加后是否立即刷盘，关闭时依赖操作系统回写，进程崩溃不丢数据
+     */
+    private boolean forceOnAppend = false;
+
+    /**
+     * 前置缓存的会话数
+     */
+    private int cacheSessions = 1024;
+
+    /**
+     * 前置缓存中每个会话保留的最近消息数
+     */
+    private int cacheMessages = 64;
+
+    /**
+     * 会话恢复时加载的最近消息数
+     */
+    private int restoreMessages = 50;
+
+    public enum StoreType {
+        /**
+         * 进程内存储，重启后丢失
+         */
+        MEMORY,
+        /**
+         * 本地内存映射文件存储
+         */
+        MAPPED_FILE
+    }
+}
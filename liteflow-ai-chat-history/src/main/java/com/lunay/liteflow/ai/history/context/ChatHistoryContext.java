@@ -1,30 +1,217 @@
 package com.lunay.liteflow.ai.history.context;
 
+import com.lunay.liteflow.ai.history.memory.IndexedHistory;
+import com.lunay.liteflow.ai.history.memory.MemoryStrategy;
+import com.lunay.liteflow.ai.history.memory.UnboundedMemoryStrategy;
+import com.lunay.liteflow.ai.history.store.ChatHistoryStore;
 import com.yomahub.liteflow.ai.context.ChatContext;
 import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
 import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import com.yomahub.liteflow.ai.engine.model.chat.message.SystemMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.UserMessage;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Getter
 @Setter
 public class ChatHistoryContext extends ChatContext {
 
+    private static final String SUMMARY_PREFIX = "以下是之前对话的摘要：\n";
+
     private List<Message> conversationHistory;
 
+    /**
+     * 会话 ID
+     */
+    private String sessionId;
+
+    /**
+     * 对话历史存储，为空时只保存在当前上下文中
+     */
+    private ChatHistoryStore historyStore;
+
+    /**
+     * 对话记忆策略，决定每轮发送给模型的对话窗口
+     */
+    private MemoryStrategy memoryStrategy = new UnboundedMemoryStrategy();
+
+    /**
+     * 已移出窗口、等待压缩为摘要的消息，只有会压缩摘要的记忆策略才会收集
+     */
+    private List<Message> evictedMessages = new ArrayList<>();
+
+    /**
+     * 当前的摘要消息，固定在系统提示词之后
+     */
+    private SystemMessage summaryMessage;
+
+    private String summary;
+
+    /**
+     * 当前轮次加入的用户与 AI 消息，轮次提交前不写入存储，失败时从对话历史中撤回；不在轮次中时为 null
+     */
+    private List<Message> turnMessages;
+
     public void addMessage(Message message) {
         this.conversationHistory.add(message);
+        // 系统提示词属于配置，不进入存储
+        if (!(message instanceof SystemMessage)) {
+            if (turnMessages != null) {
+                turnMessages.add(message);
+            } else if (historyStore != null) {
+                historyStore.append(sessionId, message);
+            }
+        }
+        trim();
+    }
+
+    /**
+     * 开始一轮对话，本轮的消息在 {@link #commitTurn()} 之前只保存在当前上下文中
+     */
+    public void beginTurn(UserMessage message) {
+        this.turnMessages = new ArrayList<>();
+        addMessage(message);
+    }
+
+    /**
+     * 提交本轮对话，将本轮的消息写入存储
+     */
+    public void commitTurn() {
+        if (turnMessages == null) {
+            return;
+        }
+        if (historyStore != null) {
+            for (Message message : turnMessages) {
+                historyStore.append(sessionId, message);
+            }
+        }
+        this.turnMessages = null;
+    }
+
+    /**
+     * 回滚未提交的一轮对话，从对话历史中撤回本轮加入的消息，已提交或不在轮次中时不做任何事
+     * <p>
+     * 失败或超时的轮次不会在历史中留下没有回复的用户消息，下一轮也不会把它发送给模型
+     */
+    public void rollbackTurn() {
+        if (turnMessages == null) {
+            return;
+        }
+        for (int i = turnMessages.size() - 1; i >= 0; i--) {
+            int last = conversationHistory.size() - 1;
+            // 已被窗口裁剪移出的消息不在历史末尾，无需撤回
+            if (last >= 0 && conversationHistory.get(last) == turnMessages.get(i)) {
+                conversationHistory.remove(last);
+            }
+        }
+        List<Message> rolledBack = turnMessages;
+        evictedMessages.removeIf(message -> rolledBack.stream().anyMatch(m -> m == message));
+        this.turnMessages = null;
+    }
+
+    /**
+     * 从存储中恢复会话最近的消息，恢复的消息不会再次写入存储
+     */
+    public void restore(int limit) {
+        if (historyStore == null) {
+            return;
+        }
+        this.conversationHistory.addAll(historyStore.loadRecent(sessionId, limit));
+        // 恢复出的旧消息直接丢弃，不参与摘要
+        memoryStrategy.trim(conversationHistory);
     }
 
     public AssistantMessage getLastAssistantMessage() {
+        return lastOf(AssistantMessage.class);
+    }
+
+    public UserMessage getLastUserMessage() {
+        return lastOf(UserMessage.class);
+    }
+
+    /**
+     * 最后一条指定类型的消息，使用 {@link IndexedHistory} 时为 O(1) 查找
+     */
+    public <T extends Message> T lastOf(Class<T> type) {
+        if (conversationHistory instanceof IndexedHistory indexed) {
+            return indexed.lastOf(type);
+        }
         for (int i = conversationHistory.size() - 1; i >= 0; i--) {
             Message msg = conversationHistory.get(i);
-            if (msg instanceof AssistantMessage) {
-                return (AssistantMessage) msg;
+            if (type.isInstance(msg)) {
+                return type.cast(msg);
             }
         }
         return null;
     }
+
+    public boolean needSummary() {
+        return memoryStrategy.shouldSummarize(evictedMessages);
+    }
+
+    /**
+     * 构造摘要节点的输入：已有摘要 + 待压缩的对话
+     */
+    public String buildSummaryInput() {
+        StringBuilder sb = new StringBuilder();
+        if (summary != null) {
+            sb.append("已有摘要：\n").append(summary).append("\n\n");
+        }
+        sb.append("新增对话：\n");
+        for (Message message : evictedMessages) {
+            sb.append(roleOf(message)).append(": ").append(message.getContent()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 摘要节点的输出回调，用新的摘要替换已压缩的消息
+     */
+    public void applySummary(AssistantMessage output) {
+        this.summary = output.getContent();
+        this.evictedMessages.clear();
+        SystemMessage newSummary = new SystemMessage(SUMMARY_PREFIX + summary);
+        int index = summaryMessage == null ? -1 : conversationHistory.indexOf(summaryMessage);
+        if (index >= 0) {
+            conversationHistory.set(index, newSummary);
+        } else {
+            conversationHistory.add(pinnedCount(), newSummary);
+        }
+        this.summaryMessage = newSummary;
+        trim();
+    }
+
+    /**
+     * 裁剪对话窗口，被移出的消息只在需要压缩为摘要时保留，否则直接丢弃
+     */
+    private void trim() {
+        List<Message> evicted = memoryStrategy.trim(conversationHistory);
+        if (memoryStrategy.summarizes()) {
+            this.evictedMessages.addAll(evicted);
+        }
+    }
+
+    private int pinnedCount() {
+        if (conversationHistory instanceof IndexedHistory indexed) {
+            return indexed.pinnedSize();
+        }
+        int pinned = 0;
+        while (pinned < conversationHistory.size() && conversationHistory.get(pinned) instanceof SystemMessage) {
+            pinned++;
+        }
+        return pinned;
+    }
+
+    private static String roleOf(Message message) {
+        if (message instanceof UserMessage) {
+            return "用户";
+        }
+        if (message instanceof AssistantMessage) {
+            return "助手";
+        }
+        return "系统";
+    }
 }
@@ -0,0 +1,56 @@
+package com.lunay.liteflow.ai.history.controller;
+
+import com.lunay.liteflow.ai.history.dto.ChatReply;
+import com.lunay.liteflow.ai.history.dto.ChatRequest;
+import com.lunay.liteflow.ai.history.service.ChatTurnService;
+import com.lunay.liteflow.ai.history.session.ChatSessionRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * 多会话对话控制器
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@RestController
+@RequestMapping("/api/sessions")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "history", name = "mode", havingValue = "server")
+public class ChatHistoryController {
+
+    private final ChatTurnService chatTurnService;
+
+    private final ChatSessionRegistry sessionRegistry;
+
+    /**
+     * 在指定会话中发送一条消息，同一会话的请求按到达顺序依次执行
+     */
+    @PostMapping("/{sessionId}/messages")
+    public Mono<ChatReply> chat(@PathVariable String sessionId, @RequestBody ChatRequest request) {
+        log.debug("会话 {} 收到消息: {}", sessionId, request.getMessage());
+        return chatTurnService.chat(sessionId, request.getMessage())
+                .map(reply -> new ChatReply(sessionId, reply));
+    }
+
+    /**
+     * 关闭会话，释放内存中的上下文，对话历史仍保留在存储中
+     */
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> close(@PathVariable String sessionId) {
+        return sessionRegistry.remove(sessionId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.lunay.liteflow.ai.history.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 对话回复
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatReply {
+
+    /**
+     * 会话 ID
+     */
+    private String sessionId;
+
+    /**
+     * 助手回复内容
+     */
+    private String reply;
+}
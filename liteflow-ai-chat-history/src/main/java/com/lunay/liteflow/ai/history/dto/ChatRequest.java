@@ -0,0 +1,19 @@
+package com.lunay.liteflow.ai.history.dto;
+
+import lombok.Data;
+
+/**
+ * 对话请求
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+public class ChatRequest {
+
+    /**
+     * 用户输入
+     */
+    private String message;
+}
@@ -0,0 +1,406 @@
+package com.lunay.liteflow.ai.history.memory;
+
+import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import com.yomahub.liteflow.ai.engine.model.chat.message.SystemMessage;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * 带索引的对话历史
+ * <p>
+ * 可以直接作为 {@code @AIChat(history = ...)} 使用的 {@code List<Message>}，在追加消息时同步维护：
+ * <ul>
+ *     <li>开头的系统消息单独保存为固定区，不参与窗口裁剪</li>
+ *     <li>每条消息的 token 估算值及其前缀和，窗口 token 总数 O(1)，按预算裁剪 O(log n + 移出条数)</li>
+ *     <li>按消息类型记录的位置索引，查找最后一条某类型消息 O(消息类型数)；
+ *     {@link #allOf} 按具体类型查询时 O(k)，按父类型查询、命中多个类型时需要排序，O(k log k)</li>
+ * </ul>
+ * 窗口只支持在末尾追加、从最旧处移出，以及撤回最新的一条消息（回滚失败的对话轮次），移出时只移动起始指针，底层数组按需压缩。
+ * 追加是主要的写操作；替换固定区的消息（如更新摘要）为 O(1)，替换窗口内的消息需要重算其后的前缀和，为 O(n)。
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class IndexedHistory extends AbstractList<Message> implements RandomAccess {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * 固定区：开头的系统提示词与摘要
+     */
+    private final List<Message> pinned = new ArrayList<>();
+
+    private final List<Integer> pinnedTokenCounts = new ArrayList<>();
+
+    private int pinnedTokens;
+
+    /**
+     * 窗口区，下标为 seq - base
+     */
+    private Message[] messages = new Message[INITIAL_CAPACITY];
+
+    private int[] tokens = new int[INITIAL_CAPACITY];
+
+    /**
+     * prefix[i] 为下标 [0, i) 的 token 总数
+     */
+    private long[] prefix = new long[INITIAL_CAPACITY + 1];
+
+    /**
+     * messages[0] 对应的序号
+     */
+    private long base;
+
+    /**
+     * 窗口内第一条消息的序号
+     */
+    private long firstSeq;
+
+    /**
+     * 下一条消息的序号
+     */
+    private long nextSeq;
+
+    private final Map<Class<?>, RoleIndex> roles = new HashMap<>();
+
+    @Override
+    public Message get(int index) {
+        int pinnedSize = pinned.size();
+        if (index < pinnedSize) {
+            return pinned.get(index);
+        }
+        checkIndex(index);
+        return messages[slot(firstSeq + index - pinnedSize)];
+    }
+
+    @Override
+    public int size() {
+        return pinned.size() + windowSize();
+    }
+
+    @Override
+    public boolean add(Message message) {
+        if (windowSize() == 0 && message instanceof SystemMessage) {
+            addPinned(pinned.size(), message);
+        } else {
+            append(message);
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, Message message) {
+        if (index == size()) {
+            add(message);
+        } else if (index <= pinned.size() && message instanceof SystemMessage) {
+            addPinned(index, message);
+            modCount++;
+        } else {
+            throw new UnsupportedOperationException("只支持在固定区插入系统消息或在末尾追加消息");
+        }
+    }
+
+    /**
+     * 替换消息。固定区 O(1)；窗口内 O(n)：需要重算被替换位置之后的前缀和，类型改变时还会重建类型索引
+     */
+    @Override
+    public Message set(int index, Message message) {
+        int pinnedSize = pinned.size();
+        if (index < pinnedSize) {
+            int count = TokenEstimator.estimate(message);
+            pinnedTokens += count - pinnedTokenCounts.set(index, count);
+            return pinned.set(index, message);
+        }
+        checkIndex(index);
+        int slot = slot(firstSeq + index - pinnedSize);
+        Message previous = messages[slot];
+        messages[slot] = message;
+        tokens[slot] = TokenEstimator.estimate(message);
+        for (int i = slot; i < slot(nextSeq); i++) {
+            prefix[i + 1] = prefix[i] + tokens[i];
+        }
+        if (previous.getClass() != message.getClass()) {
+            rebuildRoles();
+        }
+        return previous;
+    }
+
+    @Override
+    public Message remove(int index) {
+        int pinnedSize = pinned.size();
+        if (index < pinnedSize) {
+            pinnedTokens -= pinnedTokenCounts.remove(index);
+            modCount++;
+            return pinned.remove(index);
+        }
+        if (index == pinnedSize && windowSize() > 0) {
+            Message removed = evictFirst();
+            modCount++;
+            return removed;
+        }
+        if (index == size() - 1 && windowSize() > 0) {
+            Message removed = dropLast();
+            modCount++;
+            return removed;
+        }
+        throw new UnsupportedOperationException("窗口只支持移出最旧或最新的消息");
+    }
+
+    @Override
+    public void clear() {
+        pinned.clear();
+        pinnedTokenCounts.clear();
+        pinnedTokens = 0;
+        messages = new Message[INITIAL_CAPACITY];
+        tokens = new int[INITIAL_CAPACITY];
+        prefix = new long[INITIAL_CAPACITY + 1];
+        base = 0;
+        firstSeq = 0;
+        nextSeq = 0;
+        roles.clear();
+        modCount++;
+    }
+
+    public int pinnedSize() {
+        return pinned.size();
+    }
+
+    /**
+     * 全部消息的 token 估算总数
+     */
+    public long totalTokens() {
+        return pinnedTokens + prefix[slot(nextSeq)] - prefix[slot(firstSeq)];
+    }
+
+    /**
+     * 指定位置消息的 token 估算值
+     */
+    public int tokensOf(int index) {
+        int pinnedSize = pinned.size();
+        if (index < pinnedSize) {
+            return pinnedTokenCounts.get(index);
+        }
+        checkIndex(index);
+        return tokens[slot(firstSeq + index - pinnedSize)];
+    }
+
+    /**
+     * 最后一条指定类型的消息，不存在时返回 null
+     */
+    public <T extends Message> T lastOf(Class<T> type) {
+        long lastSeq = -1;
+        for (Map.Entry<Class<?>, RoleIndex> entry : roles.entrySet()) {
+            if (type.isAssignableFrom(entry.getKey())) {
+                lastSeq = Math.max(lastSeq, entry.getValue().last());
+            }
+        }
+        if (lastSeq >= firstSeq) {
+            return type.cast(messages[slot(lastSeq)]);
+        }
+        for (int i = pinned.size() - 1; i >= 0; i--) {
+            if (type.isInstance(pinned.get(i))) {
+                return type.cast(pinned.get(i));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 窗口内全部指定类型的消息，按时间顺序排列；只访问匹配类型的消息，命中多个类型时合并后排序
+     */
+    public <T extends Message> List<T> allOf(Class<T> type) {
+        List<T> result = new ArrayList<>();
+        for (Message message : pinned) {
+            if (type.isInstance(message)) {
+                result.add(type.cast(message));
+            }
+        }
+        List<RoleIndex> matched = new ArrayList<>();
+        for (Map.Entry<Class<?>, RoleIndex> entry : roles.entrySet()) {
+            if (type.isAssignableFrom(entry.getKey())) {
+                matched.add(entry.getValue());
+            }
+        }
+        List<Long> seqs = new ArrayList<>();
+        for (RoleIndex index : matched) {
+            index.collect(seqs);
+        }
+        // 单个类型的序号本身有序，只有合并多个类型时才需要排序
+        if (matched.size() > 1) {
+            seqs.sort(null);
+        }
+        for (long seq : seqs) {
+            result.add(type.cast(messages[slot(seq)]));
+        }
+        return result;
+    }
+
+    /**
+     * 按 token 预算从最旧的消息开始移出窗口
+     * <p>
+     * 通过前缀和二分查找裁剪位置；最新的一条消息总会保留，窗口也不会以 AI 回复开头。
+     *
+     * @return 被移出的消息，按时间顺序排列
+     */
+    public List<Message> evictToBudget(long maxTokens) {
+        List<Message> evicted = new ArrayList<>();
+        if (totalTokens() <= maxTokens || windowSize() <= 1) {
+            return evicted;
+        }
+        int end = slot(nextSeq);
+        long windowBudget = maxTokens - pinnedTokens;
+        // 找到最小的 cut，使 [cut, end) 的 token 总数不超过预算
+        int low = slot(firstSeq);
+        int high = end - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prefix[end] - prefix[mid] <= windowBudget) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        int cut = low;
+        while (cut < end - 1 && messages[cut] instanceof AssistantMessage) {
+            cut++;
+        }
+        while (slot(firstSeq) < cut) {
+            evicted.add(evictFirst());
+        }
+        modCount++;
+        return evicted;
+    }
+
+    private void addPinned(int index, Message message) {
+        int count = TokenEstimator.estimate(message);
+        pinned.add(index, message);
+        pinnedTokenCounts.add(index, count);
+        pinnedTokens += count;
+    }
+
+    private void append(Message message) {
+        int slot = slot(nextSeq);
+        if (slot == messages.length) {
+            grow();
+            slot = slot(nextSeq);
+        }
+        messages[slot] = message;
+        tokens[slot] = TokenEstimator.estimate(message);
+        prefix[slot + 1] = prefix[slot] + tokens[slot];
+        roles.computeIfAbsent(message.getClass(), key -> new RoleIndex()).add(nextSeq);
+        nextSeq++;
+    }
+
+    private Message evictFirst() {
+        int slot = slot(firstSeq);
+        Message removed = messages[slot];
+        messages[slot] = null;
+        roles.get(removed.getClass()).evictFirst();
+        firstSeq++;
+        return removed;
+    }
+
+    /**
+     * 撤回最新的一条消息，其前缀和会在下次追加时覆盖
+     */
+    private Message dropLast() {
+        nextSeq--;
+        int slot = slot(nextSeq);
+        Message removed = messages[slot];
+        messages[slot] = null;
+        roles.get(removed.getClass()).removeLast();
+        return removed;
+    }
+
+    /**
+     * 空间不足时先丢弃已移出的前缀，仍不足再扩容
+     */
+    private void grow() {
+        int offset = slot(firstSeq);
+        int live = windowSize();
+        int capacity = live * 2 >= messages.length ? messages.length * 2 : messages.length;
+        Message[] newMessages = new Message[capacity];
+        int[] newTokens = new int[capacity];
+        long[] newPrefix = new long[capacity + 1];
+        System.arraycopy(messages, offset, newMessages, 0, live);
+        System.arraycopy(tokens, offset, newTokens, 0, live);
+        for (int i = 0; i < live; i++) {
+            newPrefix[i + 1] = newPrefix[i] + newTokens[i];
+        }
+        messages = newMessages;
+        tokens = newTokens;
+        prefix = newPrefix;
+        base = firstSeq;
+    }
+
+    private void rebuildRoles() {
+        roles.clear();
+        for (long seq = firstSeq; seq < nextSeq; seq++) {
+            roles.computeIfAbsent(messages[slot(seq)].getClass(), key -> new RoleIndex()).add(seq);
+        }
+    }
+
+    private int windowSize() {
+        return (int) (nextSeq - firstSeq);
+    }
+
+    private int slot(long seq) {
+        return (int) (seq - base);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    /**
+     * 单个消息类型的序号索引，序号单调递增
+     */
+    private static final class RoleIndex {
+
+        private long[] seqs = new long[INITIAL_CAPACITY];
+
+        private int start;
+
+        private int end;
+
+        void add(long seq) {
+            if (end == seqs.length) {
+                int live = end - start;
+                long[] target = live * 2 >= seqs.length ? new long[seqs.length * 2] : seqs;
+                System.arraycopy(seqs, start, target, 0, live);
+                seqs = target;
+                start = 0;
+                end = live;
+            }
+            seqs[end++] = seq;
+        }
+
+        void evictFirst() {
+            start++;
+        }
+
+        void removeLast() {
+            end--;
+        }
+
+        long last() {
+            return end > start ? seqs[end - 1] : -1;
+        }
+
+        void collect(List<Long> target) {
+            for (int i = start; i < end; i++) {
+                target.add(seqs[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.lunay.liteflow.ai.history.memory;
+
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+
+import java.util.List;
+
+/**
+ * 对话记忆策略，决定每轮发送给模型的对话窗口
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public interface MemoryStrategy {
+
+    /**
+     * 原地裁剪对话窗口
+     *
+     * @param history 发送给模型的对话历史
+     * @return 被移出窗口的消息，按时间顺序排列
+     */
+    List<Message> trim(List<Message> history);
+
+    /**
+     * 被移出窗口的消息是否会被压缩为摘要；不压缩的策略直接丢弃这些消息，上下文不再持有它们
+     */
+    default boolean summarizes() {
+        return false;
+    }
+
+    /**
+     * 是否需要将已移出窗口的消息压缩为摘要
+     *
+     * @param evicted 已移出窗口、尚未压缩的消息
+     */
+    default boolean shouldSummarize(List<Message> evicted) {
+        return false;
+    }
+}
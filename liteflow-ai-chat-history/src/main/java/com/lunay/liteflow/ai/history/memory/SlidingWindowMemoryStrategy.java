@@ -0,0 +1,66 @@
+package com.lunay.liteflow.ai.history.memory;
+
+import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import com.yomahub.liteflow.ai.engine.model.chat.message.SystemMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按 token 预算裁剪的滑动窗口
+ * <p>
+ * 开头的系统消息（系统提示词以及摘要）始终保留，其余消息从最旧的开始移出，
+ * 直到窗口总 token 数不超过预算；最新的一条消息总会保留，窗口也不会以 AI 回复开头。
+ * 对 {@link IndexedHistory} 直接使用其前缀和索引裁剪，不需要逐条估算。
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class SlidingWindowMemoryStrategy implements MemoryStrategy {
+
+    private final int maxTokens;
+
+    public SlidingWindowMemoryStrategy(int maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+
+    @Override
+    public List<Message> trim(List<Message> history) {
+        if (history instanceof IndexedHistory indexed) {
+            return indexed.evictToBudget(maxTokens);
+        }
+        int total = TokenEstimator.estimate(history);
+        if (total <= maxTokens) {
+            return new ArrayList<>();
+        }
+        int pinned = pinnedCount(history);
+        List<Message> evicted = new ArrayList<>();
+        while (total > maxTokens && history.size() - pinned > 1) {
+            total -= evict(history, pinned, evicted);
+            // 窗口以用户消息开头，避免孤立的 AI 回复
+            while (history.size() - pinned > 1 && history.get(pinned) instanceof AssistantMessage) {
+                total -= evict(history, pinned, evicted);
+            }
+        }
+        return evicted;
+    }
+
+    private int evict(List<Message> history, int index, List<Message> evicted) {
+        Message removed = history.remove(index);
+        evicted.add(removed);
+        return TokenEstimator.estimate(removed);
+    }
+
+    static int pinnedCount(List<Message> history) {
+        if (history instanceof IndexedHistory indexed) {
+            return indexed.pinnedSize();
+        }
+        int pinned = 0;
+        while (pinned < history.size() && history.get(pinned) instanceof SystemMessage) {
+            pinned++;
+        }
+        return pinned;
+    }
+}
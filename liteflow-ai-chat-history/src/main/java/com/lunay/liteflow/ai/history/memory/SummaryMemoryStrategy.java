@@ -0,0 +1,35 @@
+package com.lunay.liteflow.ai.history.memory;
+
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+
+import java.util.List;
+
+/**
+ * 滑动窗口 + 摘要压缩
+ * <p>
+ * 窗口裁剪与 {@link SlidingWindowMemoryStrategy} 一致，被移出窗口的消息累计超过阈值后，
+ * 由流程中的摘要节点压缩为一条摘要系统消息，固定在系统提示词之后。
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class SummaryMemoryStrategy extends SlidingWindowMemoryStrategy {
+
+    private final int summaryTriggerTokens;
+
+    public SummaryMemoryStrategy(int maxTokens, int summaryTriggerTokens) {
+        super(maxTokens);
+        this.summaryTriggerTokens = summaryTriggerTokens;
+    }
+
+    @Override
+    public boolean summarizes() {
+        return true;
+    }
+
+    @Override
+    public boolean shouldSummarize(List<Message> evicted) {
+        return !evicted.isEmpty() && TokenEstimator.estimate(evicted) >= summaryTriggerTokens;
+    }
+}
@@ -0,0 +1,45 @@
+package com.lunay.liteflow.ai.history.memory;
+
+import com.lunay.liteflow.ai.common.TextTokens;
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+
+import java.util.List;
+
+/**
+ * Token 估算工具
+ * <p>
+ * 文本按 {@link TextTokens} 估算，每条消息额外计入角色等格式开销。用于窗口裁剪足够准确。
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public final class TokenEstimator {
+
+    /**
+     * 每条消息的格式开销
+     */
+    private static final int MESSAGE_OVERHEAD = 4;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(String text) {
+        return (int) TextTokens.estimate(text);
+    }
+
+    public static int estimate(Message message) {
+        return MESSAGE_OVERHEAD + estimate(message.getContent());
+    }
+
+    public static int estimate(List<Message> messages) {
+        if (messages instanceof IndexedHistory indexed) {
+            return (int) indexed.totalTokens();
+        }
+        int total = 0;
+        for (Message message : messages) {
+            total += estimate(message);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,21 @@
+package com.lunay.liteflow.ai.history.memory;
+
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 不做裁剪，完整发送全部对话历史
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class UnboundedMemoryStrategy implements MemoryStrategy {
+
+    @Override
+    public List<Message> trim(List<Message> history) {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,47 @@
+package com.lunay.liteflow.ai.history.node;
+
+import com.yomahub.liteflow.ai.annotation.AIComponent;
+import com.yomahub.liteflow.ai.annotation.model.io.AIInput;
+import com.yomahub.liteflow.ai.annotation.model.io.AIOutput;
+import com.yomahub.liteflow.ai.annotation.model.io.InputField;
+import com.yomahub.liteflow.ai.annotation.model.node.AIChat;
+import com.yomahub.liteflow.ai.domain.enums.ProviderEnum;
+import com.yomahub.liteflow.ai.engine.interact.transport.TransportType;
+import com.yomahub.liteflow.ai.engine.model.output.ResponseType;
+
+/**
+ * 对话摘要节点，将移出窗口的旧消息压缩为摘要
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@AIComponent(
+        nodeId = "historySummaryCmp",
+        // 摘要任务简单，使用更便宜的 qwen-turbo 模型
+        provider = ProviderEnum.DASHSCOPE,
+        apiUrl = "https://dashscope.aliyuncs.com/compatible-mode/v1",
+        model = "qwen-turbo",
+        // 关闭思考
+        enableThinking = false
+)
+@AIChat(
+        systemPrompt = "你是一个对话摘要助手。请将已有摘要与新增对话合并为一段简洁的中文摘要，保留用户的身份信息、偏好、已确认的事实和未完成的问题，不超过 300 字，只输出摘要本身。",
+        userPrompt = "{{summaryInput}}",
+        // 设置输出为非流式，传输模式为 HTTP
+        streaming = false,
+        transportType = TransportType.HTTP
+)
+@AIInput(
+        mapping = {
+                @InputField(name = "summaryInput", expression = "dataMap.summaryInput"),
+        }
+)
+@AIOutput(
+        // 设置响应类型为文本，模型节点输出将为框架定义的 AssistantMessage 对象
+        responseType = ResponseType.TEXT,
+        // 使用自定义上下文的 applySummary 方法，用摘要替换已压缩的消息
+        methodExpress = "applySummary($output)"
+)
+public interface HistorySummaryCmp {
+}
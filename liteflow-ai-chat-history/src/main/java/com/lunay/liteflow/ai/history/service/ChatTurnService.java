@@ -0,0 +1,88 @@
+package com.lunay.liteflow.ai.history.service;
+
+import com.lunay.liteflow.ai.history.config.SessionProperties;
+import com.lunay.liteflow.ai.history.context.ChatHistoryContext;
+import com.lunay.liteflow.ai.history.session.ChatSession;
+import com.lunay.liteflow.ai.history.session.ChatSessionRegistry;
+import com.yomahub.liteflow.ai.engine.model.chat.message.UserMessage;
+import com.yomahub.liteflow.core.FlowExecutor;
+import com.yomahub.liteflow.flow.LiteflowResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 对话轮次服务
+ * <p>
+ * 不同会话的轮次在各自的虚拟线程上并行执行；同一会话的轮次通过会话锁串行执行，不会交错修改对话历史
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "history", name = "mode", havingValue = "server")
+public class ChatTurnService {
+
+    private final FlowExecutor flowExecutor;
+
+    private final ChatSessionRegistry sessionRegistry;
+
+    private final SessionProperties properties;
+
+    private final Scheduler turnScheduler;
+
+    public ChatTurnService(FlowExecutor flowExecutor,
+                           ChatSessionRegistry sessionRegistry,
+                           SessionProperties properties,
+                           @Qualifier("chatTurnExecutor") ExecutorService chatTurnExecutor) {
+        this.flowExecutor = flowExecutor;
+        this.sessionRegistry = sessionRegistry;
+        this.properties = properties;
+        this.turnScheduler = Schedulers.fromExecutorService(chatTurnExecutor, "chat-turn");
+    }
+
+    /**
+     * 执行一轮对话，返回助手的回复
+     * <p>
+     * 超时或客户端断开时中断执行线程，排队等待会话锁的请求也会随之退出；
+     * 未完成的轮次会被回滚，用户消息不会留在对话历史与存储中
+     */
+    public Mono<String> chat(String sessionId, String message) {
+        return Mono.fromCallable(() -> runTurn(sessionId, message))
+                .subscribeOn(turnScheduler)
+                .timeout(properties.getTurnTimeout());
+    }
+
+    private String runTurn(String sessionId, String message) throws InterruptedException {
+        ChatSession session = sessionRegistry.lock(sessionId);
+        ChatHistoryContext context = session.getContext();
+        try {
+            context.beginTurn(new UserMessage(message));
+
+            LiteflowResponse response = flowExecutor.execute2Resp("chain1", null, context);
+            if (!response.isSuccess()) {
+                log.error("会话 {} 流程执行失败！异常信息：{}", sessionId, response.getCause().getMessage());
+                throw new IllegalStateException("流程执行失败", response.getCause());
+            }
+            // 超时或取消后调用方已收到错误，即使流程返回了结果也不再提交
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException("会话 " + sessionId + " 的对话轮次已超时或被取消");
+            }
+            String reply = context.getLastAssistantMessage().getContent();
+            context.commitTurn();
+            return reply;
+        } finally {
+            // 在释放会话锁之前回滚，下一轮看到的历史中不会有本轮残留的消息
+            context.rollbackTurn();
+            sessionRegistry.unlock(session);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.lunay.liteflow.ai.history.session;
+
+import com.lunay.liteflow.ai.history.config.StoreProperties;
+import com.lunay.liteflow.ai.history.context.ChatHistoryContext;
+import com.lunay.liteflow.ai.history.memory.IndexedHistory;
+import com.lunay.liteflow.ai.history.memory.MemoryStrategy;
+import com.lunay.liteflow.ai.history.store.ChatHistoryStore;
+import com.yomahub.liteflow.ai.engine.model.chat.message.SystemMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 对话上下文工厂，命令行模式与服务模式共用同一套初始化逻辑
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component
+@RequiredArgsConstructor
+public class ChatHistoryContextFactory {
+
+    private static final String SYSTEM_PROMPT = "你是一个叫'FlowAI'的智能助手，名字叫小流，一个使用 LiteFlow-AI 框架实现的 AI 聊天机器人，请用中文回答问题。";
+
+    private final MemoryStrategy memoryStrategy;
+
+    private final ChatHistoryStore chatHistoryStore;
+
+    private final StoreProperties storeProperties;
+
+    /**
+     * 创建会话上下文，并从存储中恢复该会话最近的消息
+     */
+    public ChatHistoryContext create(String sessionId) {
+        ChatHistoryContext context = new ChatHistoryContext();
+        context.setConversationHistory(new IndexedHistory());
+        // 由配置决定的记忆策略，控制每轮发送给模型的对话窗口
+        context.setMemoryStrategy(memoryStrategy);
+        // 对话历史持久化到存储中，重启后可以继续之前的对话
+        context.setSessionId(sessionId);
+        context.setHistoryStore(chatHistoryStore);
+
+        context.addMessage(new SystemMessage(SYSTEM_PROMPT));
+        context.restore(storeProperties.getRestoreMessages());
+        return context;
+    }
+}
@@ -0,0 +1,59 @@
+package com.lunay.liteflow.ai.history.session;
+
+import com.lunay.liteflow.ai.history.context.ChatHistoryContext;
+import lombok.Getter;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 服务模式下的单个会话
+ * <p>
+ * 同一会话的多轮对话共享一个上下文，必须持有 {@link #lock} 才能执行，保证两个请求不会交错修改对话历史。
+ * 关闭与空闲淘汰只做标记，由持有会话锁的线程将会话移出注册表，同一会话 ID 的新会话只会在旧会话的轮次结束后创建
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Getter
+public class ChatSession {
+
+    private final String sessionId;
+
+    private final ChatHistoryContext context;
+
+    /**
+     * 公平锁，同一会话的请求按到达顺序依次执行
+     */
+    private final ReentrantLock lock = new ReentrantLock(true);
+
+    /**
+     * 最近一次访问时间，用于空闲淘汰
+     */
+    private volatile long lastAccessNanos = System.nanoTime();
+
+    /**
+     * 会话已被关闭或淘汰，之后获取到锁的请求需要重新获取会话
+     */
+    private volatile boolean closed;
+
+    public ChatSession(String sessionId, ChatHistoryContext context) {
+        this.sessionId = sessionId;
+        this.context = context;
+    }
+
+    public void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+
+    void markClosed() {
+        closed = true;
+    }
+
+    /**
+     * 会话是否空闲：没有排队的请求，且超过空闲时长未被访问；需要在持有会话锁时调用
+     */
+    public boolean isIdle(long idleNanos, long nowNanos) {
+        return !lock.hasQueuedThreads() && nowNanos - lastAccessNanos >= idleNanos;
+    }
+}
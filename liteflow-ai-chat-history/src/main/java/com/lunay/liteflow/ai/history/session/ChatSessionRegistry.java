@@ -0,0 +1,149 @@
+package com.lunay.liteflow.ai.history.session;
+
+import com.lunay.liteflow.ai.history.config.SessionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 会话注册表，服务模式下按会话 ID 维护独立的对话上下文
+ * <p>
+ * 空闲超时的会话会被定期移出内存，其对话历史仍保存在 {@link com.lunay.liteflow.ai.history.store.ChatHistoryStore} 中，
+ * 再次访问时重新创建上下文并恢复最近的消息
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "history", name = "mode", havingValue = "server")
+public class ChatSessionRegistry implements DisposableBean {
+
+    private final ConcurrentHashMap<String, ChatSession> sessions = new ConcurrentHashMap<>();
+
+    private final ChatHistoryContextFactory contextFactory;
+
+    private final SessionProperties properties;
+
+    private final ScheduledExecutorService evictor;
+
+    public ChatSessionRegistry(ChatHistoryContextFactory contextFactory, SessionProperties properties) {
+        this.contextFactory = contextFactory;
+        this.properties = properties;
+        this.evictor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("chat-session-evictor").daemon().factory());
+        long interval = properties.getEvictionInterval().toMillis();
+        this.evictor.scheduleWithFixedDelay(this::evictIdle, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 获取会话并持有其会话锁，不存在时创建并从存储恢复
+     * <p>
+     * 获取到锁时会话已被关闭或淘汰，则由当前线程将其移出注册表后重新获取，
+     * 因此同一会话 ID 的新会话只会在旧会话的轮次结束之后创建，两个上下文不会同时执行
+     */
+    public ChatSession lock(String sessionId) throws InterruptedException {
+        while (true) {
+            ChatSession session = acquire(sessionId);
+            session.getLock().lockInterruptibly();
+            if (!session.isClosed()) {
+                return session;
+            }
+            detach(session);
+            session.getLock().unlock();
+        }
+    }
+
+    /**
+     * 释放会话锁，本轮执行期间会话被关闭时由当前线程将其移出注册表
+     */
+    public void unlock(ChatSession session) {
+        session.touch();
+        if (session.isClosed()) {
+            detach(session);
+        }
+        session.getLock().unlock();
+    }
+
+    /**
+     * 主动关闭会话，不等待正在执行的一轮对话：会话空闲时立即移出，否则由持有会话锁的线程在释放前移出
+     */
+    public boolean remove(String sessionId) {
+        ChatSession session = sessions.get(sessionId);
+        if (session == null) {
+            return false;
+        }
+        // 先标记再尝试加锁：加锁失败说明有线程持有会话锁，它释放前一定能看到关闭标记
+        session.markClosed();
+        if (session.getLock().tryLock()) {
+            try {
+                detach(session);
+            } finally {
+                session.getLock().unlock();
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    private ChatSession acquire(String sessionId) {
+        ChatSession session = sessions.computeIfPresent(sessionId, (id, existing) -> {
+            existing.touch();
+            return existing;
+        });
+        if (session != null) {
+            return session;
+        }
+        if (sessions.size() >= properties.getMaxSessions()) {
+            throw new SessionLimitExceededException(properties.getMaxSessions());
+        }
+        // 恢复历史需要读取存储，放在桶锁之外执行，并发创建时以先放入的为准
+        ChatSession created = new ChatSession(sessionId, contextFactory.create(sessionId));
+        ChatSession previous = sessions.putIfAbsent(sessionId, created);
+        return previous != null ? previous : created;
+    }
+
+    private void detach(ChatSession session) {
+        sessions.remove(session.getSessionId(), session);
+    }
+
+    /**
+     * 淘汰空闲会话，与请求使用同一把会话锁：正在执行的会话获取不到锁，不会被淘汰；
+     * 已获取会话引用、尚未加锁的请求在加锁后看到关闭标记，会重新获取会话
+     */
+    private void evictIdle() {
+        long idleNanos = properties.getIdleTimeout().toNanos();
+        int evicted = 0;
+        for (ChatSession session : sessions.values()) {
+            if (!session.getLock().tryLock()) {
+                continue;
+            }
+            try {
+                if (session.isClosed() || session.isIdle(idleNanos, System.nanoTime())) {
+                    session.markClosed();
+                    detach(session);
+                    evicted++;
+                }
+            } finally {
+                session.getLock().unlock();
+            }
+        }
+        if (evicted > 0) {
+            log.info("淘汰空闲会话 {} 个，当前会话数 {}", evicted, sessions.size());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        evictor.shutdownNow();
+    }
+}
@@ -0,0 +1,19 @@
+package com.lunay.liteflow.ai.history.session;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 驻留内存的会话数达到上限
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class SessionLimitExceededException extends RuntimeException {
+
+    public SessionLimitExceededException(int maxSessions) {
+        super("会话数已达上限: " + maxSessions);
+    }
+}
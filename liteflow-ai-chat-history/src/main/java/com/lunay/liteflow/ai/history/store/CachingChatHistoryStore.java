@@ -0,0 +1,142 @@
+package com.lunay.liteflow.ai.history.store;
+
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 带 LRU 前置缓存的对话历史存储
+ * <p>
+ * 每个活跃会话缓存最近的若干条消息，写入同时更新缓存，读取命中时不访问底层存储。
+ * 同一会话的写入与未命中时的加载持有同一把分段锁，加载期间到达的写入不会被随后放入缓存的旧快照覆盖。
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class CachingChatHistoryStore implements ChatHistoryStore {
+
+    private final ChatHistoryStore delegate;
+
+    private final int maxMessagesPerSession;
+
+    private final Map<String, CachedSession> cache;
+
+    /**
+     * 按会话 ID 分段的锁，串行化同一会话的写入与缓存加载
+     */
+    private final Object[] sessionLocks = new Object[64];
+
+    public CachingChatHistoryStore(ChatHistoryStore delegate, int maxSessions, int maxMessagesPerSession) {
+        this.delegate = delegate;
+        this.maxMessagesPerSession = maxMessagesPerSession;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedSession> eldest) {
+                return size() > maxSessions;
+            }
+        };
+        for (int i = 0; i < sessionLocks.length; i++) {
+            sessionLocks[i] = new Object();
+        }
+    }
+
+    @Override
+    public void append(String sessionId, Message message) {
+        synchronized (lockOf(sessionId)) {
+            delegate.append(sessionId, message);
+            synchronized (cache) {
+                CachedSession session = cache.get(sessionId);
+                if (session != null) {
+                    session.add(message);
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<Message> loadRecent(String sessionId, int limit) {
+        List<Message> cached = cachedTail(sessionId, limit);
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (lockOf(sessionId)) {
+            // 等锁期间可能已有其他线程加载
+            cached = cachedTail(sessionId, limit);
+            if (cached != null) {
+                return cached;
+            }
+            int capacity = Math.max(limit, maxMessagesPerSession);
+            List<Message> loaded = delegate.loadRecent(sessionId, capacity);
+            CachedSession session = new CachedSession(loaded, capacity, loaded.size() < capacity);
+            synchronized (cache) {
+                cache.put(sessionId, session);
+                return session.tail(limit);
+            }
+        }
+    }
+
+    @Override
+    public int size(String sessionId) {
+        return delegate.size(sessionId);
+    }
+
+    @Override
+    public void close() {
+        synchronized (cache) {
+            cache.clear();
+        }
+        delegate.close();
+    }
+
+    private List<Message> cachedTail(String sessionId, int limit) {
+        synchronized (cache) {
+            CachedSession session = cache.get(sessionId);
+            return session != null && session.covers(limit) ? session.tail(limit) : null;
+        }
+    }
+
+    private Object lockOf(String sessionId) {
+        return sessionLocks[Math.floorMod(sessionId.hashCode(), sessionLocks.length)];
+    }
+
+    private static final class CachedSession {
+
+        private final Deque<Message> messages;
+
+        private final int capacity;
+
+        /**
+         * 缓存中是否包含该会话的全部消息
+         */
+        private boolean complete;
+
+        CachedSession(List<Message> loaded, int capacity, boolean complete) {
+            this.messages = new ArrayDeque<>(loaded);
+            this.capacity = capacity;
+            this.complete = complete;
+        }
+
+        void add(Message message) {
+            messages.addLast(message);
+            if (messages.size() > capacity) {
+                messages.removeFirst();
+                complete = false;
+            }
+        }
+
+        boolean covers(int limit) {
+            return complete || messages.size() >= limit;
+        }
+
+        List<Message> tail(int limit) {
+            List<Message> all = new ArrayList<>(messages);
+            return all.subList(Math.max(0, all.size() - limit), all.size());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.lunay.liteflow.ai.history.store;
+
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+
+import java.util.List;
+
+/**
+ * 对话历史存储
+ * <p>
+ * 按会话追加保存用户与 AI 的消息，系统提示词属于配置，不进入存储。
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public interface ChatHistoryStore extends AutoCloseable {
+
+    /**
+     * 追加一条消息到会话末尾
+     */
+    void append(String sessionId, Message message);
+
+    /**
+     * 读取会话最近的若干条消息
+     *
+     * @param sessionId 会话 ID
+     * @param limit     最多读取的条数
+     * @return 按时间顺序排列的消息
+     */
+    List<Message> loadRecent(String sessionId, int limit);
+
+    /**
+     * 会话已保存的消息条数
+     */
+    int size(String sessionId);
+
+    @Override
+    default void close() {
+    }
+}
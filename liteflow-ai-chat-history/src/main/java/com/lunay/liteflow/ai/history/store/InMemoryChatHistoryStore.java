@@ -0,0 +1,52 @@
+package com.lunay.liteflow.ai.history.store;
+
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程内对话历史存储，重启后丢失
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class InMemoryChatHistoryStore implements ChatHistoryStore {
+
+    private final Map<String, List<Message>> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public void append(String sessionId, Message message) {
+        List<Message> messages = sessions.computeIfAbsent(sessionId, key -> new ArrayList<>());
+        synchronized (messages) {
+            messages.add(message);
+        }
+    }
+
+    @Override
+    public List<Message> loadRecent(String sessionId, int limit) {
+        List<Message> messages = sessions.get(sessionId);
+        if (messages == null) {
+            return Collections.emptyList();
+        }
+        synchronized (messages) {
+            int from = Math.max(0, messages.size() - limit);
+            return new ArrayList<>(messages.subList(from, messages.size()));
+        }
+    }
+
+    @Override
+    public int size(String sessionId) {
+        List<Message> messages = sessions.get(sessionId);
+        if (messages == null) {
+            return 0;
+        }
+        synchronized (messages) {
+            return messages.size();
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.lunay.liteflow.ai.history.store;
+
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 基于内存映射文件的追加写对话历史存储
+ * <p>
+ * 会话按 ID 哈希分到多个分片，每个分片是一组固定大小的段文件，记录只追加不修改。
+ * 每条记录的格式为：
+ * <pre>
+ * int   长度（记录体字节数，0 表示段内没有更多记录）
+ * int   CRC32（记录体）
+ * short 会话 ID 长度 | 会话 ID | byte 角色 | 消息内容
+ * </pre>
+ * 写入时先写记录体和校验和，最后写长度作为提交标记。启动时逐段扫描重建每个会话的记录偏移索引，
+ * 遇到长度越界或校验失败的记录即视为崩溃时的残缺写入，从该位置截断。
+ * 读取会话最近的 N 条消息只需按索引定位 N 条记录，与会话总长度无关。
+ * 段文件名为 {@code segment-<段号>.log}，段号不要求连续（例如清理了旧段），分片目录中的其他文件会被忽略。
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+public class MappedFileChatHistoryStore implements ChatHistoryStore {
+
+    private static final int HEADER_BYTES = 8;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Shard[] shards;
+
+    public MappedFileChatHistoryStore(Path directory, int shardCount, int segmentBytes, boolean forceOnAppend) {
+        this.shards = new Shard[shardCount];
+        try {
+            for (int i = 0; i < shardCount; i++) {
+                shards[i] = new Shard(directory.resolve(String.format("shard-%02d", i)), segmentBytes, forceOnAppend);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("对话历史存储初始化失败: " + directory, e);
+        }
+    }
+
+    @Override
+    public void append(String sessionId, Message message) {
+        try {
+            shardOf(sessionId).append(sessionId, message);
+        } catch (IOException e) {
+            throw new UncheckedIOException("对话历史写入失败, sessionId: " + sessionId, e);
+        }
+    }
+
+    @Override
+    public List<Message> loadRecent(String sessionId, int limit) {
+        return shardOf(sessionId).loadRecent(sessionId, limit);
+    }
+
+    @Override
+    public int size(String sessionId) {
+        return shardOf(sessionId).size(sessionId);
+    }
+
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.close();
+        }
+    }
+
+    private Shard shardOf(String sessionId) {
+        return shards[Math.floorMod(sessionId.hashCode(), shards.length)];
+    }
+
+    private static final class Shard {
+
+        private final Path directory;
+
+        private final int segmentBytes;
+
+        private final boolean forceOnAppend;
+
+        /**
+         * 段号 -> 段文件。读取不持有分片锁，按地址中的段号查找，滚动新段时通过并发映射保证可见性
+         */
+        private final ConcurrentNavigableMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+
+        /**
+         * 会话 ID -> 记录地址（段号 << 32 | 段内偏移）
+         */
+        private final Map<String, AddressList> index = new HashMap<>();
+
+        private Segment active;
+
+        Shard(Path directory, int segmentBytes, boolean forceOnAppend) throws IOException {
+            this.directory = directory;
+            this.segmentBytes = segmentBytes;
+            this.forceOnAppend = forceOnAppend;
+            Files.createDirectories(directory);
+            // 按段号而不是文件名排序，段号超出补零位数时顺序仍然正确
+            Map<Integer, Path> files = new TreeMap<>();
+            try (Stream<Path> stream = Files.list(directory)) {
+                stream.forEach(path -> {
+                    int number = segmentNumber(path);
+                    if (number >= 0) {
+                        files.put(number, path);
+                    }
+                });
+            }
+            for (Map.Entry<Integer, Path> file : files.entrySet()) {
+                Segment segment = Segment.open(file.getValue(), file.getKey(), segmentBytes);
+                recover(segment);
+                segments.put(segment.number, segment);
+            }
+            if (segments.isEmpty()) {
+                segments.put(0, Segment.open(segmentFile(0), 0, segmentBytes));
+            }
+            active = segments.lastEntry().getValue();
+        }
+
+        synchronized void append(String sessionId, Message message) throws IOException {
+            byte[] sid = sessionId.getBytes(StandardCharsets.UTF_8);
+            String text = message.getContent();
+            byte[] content = text == null ? new byte[0] : text.getBytes(StandardCharsets.UTF_8);
+            int bodyBytes = Short.BYTES + sid.length + 1 + content.length;
+            if (HEADER_BYTES + bodyBytes > segmentBytes) {
+                throw new IllegalArgumentException("消息大小超过单个段文件容量: " + bodyBytes);
+            }
+            if (active.position + HEADER_BYTES + bodyBytes > active.capacity()) {
+                roll();
+            }
+
+            MappedByteBuffer buffer = active.buffer;
+            int position = active.position;
+            int bodyStart = position + HEADER_BYTES;
+            buffer.putShort(bodyStart, (short) sid.length);
+            buffer.put(bodyStart + Short.BYTES, sid);
+            buffer.put(bodyStart + Short.BYTES + sid.length, MessageCodec.roleOf(message));
+            buffer.put(bodyStart + Short.BYTES + sid.length + 1, content);
+            buffer.putInt(position + Integer.BYTES, crc(buffer, bodyStart, bodyBytes));
+            // 长度最后写入，作为记录的提交标记
+            buffer.putInt(position, bodyBytes);
+            if (forceOnAppend) {
+                buffer.force(position, HEADER_BYTES + bodyBytes);
+            }
+
+            active.position = bodyStart + bodyBytes;
+            index.computeIfAbsent(sessionId, key -> new AddressList()).add(address(active.number, position));
+        }
+
+        List<Message> loadRecent(String sessionId, int limit) {
+            long[] addresses;
+            synchronized (this) {
+                AddressList list = index.get(sessionId);
+                if (list == null || limit <= 0) {
+                    return Collections.emptyList();
+                }
+                addresses = list.tail(limit);
+            }
+            List<Message> messages = new ArrayList<>(addresses.length);
+            for (long address : addresses) {
+                messages.add(read(address));
+            }
+            return messages;
+        }
+
+        synchronized int size(String sessionId) {
+            AddressList list = index.get(sessionId);
+            return list == null ? 0 : list.size;
+        }
+
+        synchronized void close() {
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+        }
+
+        private Message read(long address) {
+            Segment segment = segments.get((int) (address >>> 32));
+            if (segment == null) {
+                throw new IllegalStateException("对话历史段文件不存在, 目录: " + directory + ", 段号: " + (address >>> 32));
+            }
+            int position = (int) address;
+            // 只读取已提交的记录，且各线程使用各自的视图，不影响写入位置
+            ByteBuffer buffer = segment.buffer.duplicate();
+            int bodyStart = position + HEADER_BYTES;
+            int sidLength = buffer.getShort(bodyStart);
+            int roleIndex = bodyStart + Short.BYTES + sidLength;
+            byte role = buffer.get(roleIndex);
+            byte[] content = new byte[buffer.getInt(position) - Short.BYTES - sidLength - 1];
+            buffer.get(roleIndex + 1, content);
+            return MessageCodec.create(role, new String(content, StandardCharsets.UTF_8));
+        }
+
+        private void recover(Segment segment) {
+            MappedByteBuffer buffer = segment.buffer;
+            int position = 0;
+            while (position + HEADER_BYTES <= segment.capacity()) {
+                int bodyBytes = buffer.getInt(position);
+                if (bodyBytes == 0) {
+                    break;
+                }
+                int bodyStart = position + HEADER_BYTES;
+                if (bodyBytes < 0 || bodyStart + bodyBytes > segment.capacity()
+                        || buffer.getInt(position + Integer.BYTES) != crc(buffer, bodyStart, bodyBytes)) {
+                    log.warn("发现残缺的对话历史记录，从此处截断, 文件: {}, 偏移: {}", segmentFile(segment.number), position);
+                    truncate(buffer, position, segment.capacity());
+                    break;
+                }
+                int sidLength = buffer.getShort(bodyStart);
+                byte[] sid = new byte[sidLength];
+                buffer.get(bodyStart + Short.BYTES, sid);
+                index.computeIfAbsent(new String(sid, StandardCharsets.UTF_8), key -> new AddressList())
+                        .add(address(segment.number, position));
+                position = bodyStart + bodyBytes;
+            }
+            segment.position = position;
+        }
+
+        private void truncate(MappedByteBuffer buffer, int position, int capacity) {
+            // 清空残缺记录的头部，后续写入会覆盖其余部分
+            buffer.putInt(position, 0);
+            if (position + HEADER_BYTES <= capacity) {
+                buffer.putInt(position + Integer.BYTES, 0);
+            }
+            buffer.force(position, Math.min(HEADER_BYTES, capacity - position));
+        }
+
+        private void roll() throws IOException {
+            active.buffer.force();
+            Segment next = Segment.open(segmentFile(active.number + 1), active.number + 1, segmentBytes);
+            segments.put(next.number, next);
+            active = next;
+        }
+
+        private Path segmentFile(int number) {
+            return directory.resolve(String.format(SEGMENT_PREFIX + "%06d" + SEGMENT_SUFFIX, number));
+        }
+
+        /**
+         * 从文件名解析段号，不是段文件时返回 -1
+         */
+        private static int segmentNumber(Path file) {
+            String name = file.getFileName().toString();
+            if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+                return -1;
+            }
+            String digits = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+            // 最多 9 位，不会超出 int 范围
+            if (!digits.isEmpty() && digits.length() <= 9 && digits.chars().allMatch(c -> c >= '0' && c <= '9')) {
+                return Integer.parseInt(digits);
+            }
+            log.warn("忽略无法识别的段文件: {}", file);
+            return -1;
+        }
+
+        private static int crc(ByteBuffer buffer, int start, int length) {
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(start, length));
+            return (int) crc.getValue();
+        }
+
+        private static long address(int segmentNumber, int position) {
+            return ((long) segmentNumber << 32) | (position & 0xFFFFFFFFL);
+        }
+    }
+
+    private static final class Segment {
+
+        private final int number;
+
+        private final FileChannel channel;
+
+        private final MappedByteBuffer buffer;
+
+        /**
+         * 下一条记录的写入位置
+         */
+        private int position;
+
+        private Segment(int number, FileChannel channel, MappedByteBuffer buffer) {
+            this.number = number;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path file, int number, int segmentBytes) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = Math.max(channel.size(), segmentBytes);
+            return new Segment(number, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        void close() {
+            buffer.force();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("关闭对话历史段文件失败, 段号: {}", number, e);
+            }
+        }
+    }
+
+    /**
+     * 可增长的记录地址数组
+     */
+    private static final class AddressList {
+
+        private long[] addresses = new long[16];
+
+        private int size;
+
+        void add(long address) {
+            if (size == addresses.length) {
+                addresses = Arrays.copyOf(addresses, size * 2);
+            }
+            addresses[size++] = address;
+        }
+
+        long[] tail(int limit) {
+            int from = Math.max(0, size - limit);
+            return Arrays.copyOfRange(addresses, from, size);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.lunay.liteflow.ai.history.store;
+
+import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import com.yomahub.liteflow.ai.engine.model.chat.message.SystemMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.UserMessage;
+
+/**
+ * 消息角色编码
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+final class MessageCodec {
+
+    static final byte SYSTEM = 1;
+
+    static final byte USER = 2;
+
+    static final byte ASSISTANT = 3;
+
+    private MessageCodec() {
+    }
+
+    static byte roleOf(Message message) {
+        if (message instanceof UserMessage) {
+            return USER;
+        }
+        if (message instanceof AssistantMessage) {
+            return ASSISTANT;
+        }
+        if (message instanceof SystemMessage) {
+            return SYSTEM;
+        }
+        throw new IllegalArgumentException("不支持持久化的消息类型: " + message.getClass().getName());
+    }
+
+    static Message create(byte role, String content) {
+        return switch (role) {
+            case USER -> new UserMessage(content);
+            case ASSISTANT -> new AssistantMessage(content);
+            case SYSTEM -> new SystemMessage(content);
+            default -> throw new IllegalStateException("未知的消息角色: " + role);
+        };
+    }
+}
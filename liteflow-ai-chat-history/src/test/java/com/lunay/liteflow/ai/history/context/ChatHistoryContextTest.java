@@ -0,0 +1,127 @@
+package com.lunay.liteflow.ai.history.context;
+
+import com.lunay.liteflow.ai.history.memory.IndexedHistory;
+import com.lunay.liteflow.ai.history.memory.MemoryStrategy;
+import com.lunay.liteflow.ai.history.memory.SlidingWindowMemoryStrategy;
+import com.lunay.liteflow.ai.history.memory.SummaryMemoryStrategy;
+import com.lunay.liteflow.ai.history.memory.TokenEstimator;
+import com.lunay.liteflow.ai.history.store.InMemoryChatHistoryStore;
+import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import com.yomahub.liteflow.ai.engine.model.chat.message.SystemMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.UserMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 对话上下文在多轮对话中的内存占用
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class ChatHistoryContextTest {
+
+    private static final int TURNS = 10_000;
+
+    private static final int MAX_TOKENS = 200;
+
+    /**
+     * 滑动窗口不压缩摘要，移出的消息不会被上下文继续持有，窗口大小与轮数无关
+     */
+    @Test
+    void slidingWindowKeepsMemoryFlat() {
+        for (List<Message> history : List.<List<Message>>of(new IndexedHistory(), new ArrayList<>())) {
+            ChatHistoryContext context = context(history, new SlidingWindowMemoryStrategy(MAX_TOKENS));
+            int windowAfterWarmup = 0;
+            for (int turn = 0; turn < TURNS; turn++) {
+                chat(context, turn);
+                if (turn == 100) {
+                    windowAfterWarmup = history.size();
+                }
+                assertTrue(context.getEvictedMessages().isEmpty(), "第 " + turn + " 轮后仍持有被移出的消息");
+            }
+            assertTrue(TokenEstimator.estimate(history) <= MAX_TOKENS);
+            assertTrue(history.size() <= windowAfterWarmup + 1, "窗口随轮数增长: " + windowAfterWarmup + " -> " + history.size());
+            assertTrue(history.get(0) instanceof SystemMessage);
+            assertEquals("回答 " + (TURNS - 1), context.getLastAssistantMessage().getContent());
+        }
+    }
+
+    /**
+     * 摘要策略收集移出的消息，直到摘要写回后清空；多轮下同样不会无限增长
+     */
+    @Test
+    void summaryStrategyDrainsEvictedMessages() {
+        IndexedHistory history = new IndexedHistory();
+        ChatHistoryContext context = context(history, new SummaryMemoryStrategy(MAX_TOKENS, 100));
+        int maxEvicted = 0;
+        int summaries = 0;
+        String lastSummary = null;
+        for (int turn = 0; turn < TURNS; turn++) {
+            chat(context, turn);
+            maxEvicted = Math.max(maxEvicted, context.getEvictedMessages().size());
+            if (context.needSummary()) {
+                assertTrue(context.buildSummaryInput().contains("问题"));
+                lastSummary = "摘要 " + turn;
+                context.applySummary(new AssistantMessage(lastSummary));
+                summaries++;
+            }
+        }
+        assertTrue(summaries > 0);
+        assertTrue(maxEvicted < 50, "待压缩的消息过多: " + maxEvicted);
+        assertFalse(context.needSummary());
+        // 摘要替换而不是累加：固定区只有系统提示词与最新的一条摘要
+        assertEquals(2, history.pinnedSize());
+        assertTrue(history.get(1).getContent().endsWith(lastSummary));
+    }
+
+    /**
+     * 回滚的轮次不在对话历史与存储中留下消息，提交的轮次才写入存储
+     */
+    @Test
+    void rolledBackTurnLeavesNoTrace() {
+        for (List<Message> history : List.<List<Message>>of(new IndexedHistory(), new ArrayList<>())) {
+            InMemoryChatHistoryStore store = new InMemoryChatHistoryStore();
+            ChatHistoryContext context = context(history, new SlidingWindowMemoryStrategy(MAX_TOKENS));
+            context.setSessionId("s1");
+            context.setHistoryStore(store);
+
+            context.beginTurn(new UserMessage("第一个问题"));
+            context.addMessage(new AssistantMessage("第一个回答"));
+            context.commitTurn();
+            context.rollbackTurn();
+            List<Message> committed = new ArrayList<>(history);
+
+            context.beginTurn(new UserMessage("超时的问题"));
+            context.addMessage(new AssistantMessage("迟到的回答"));
+            assertEquals(2, store.size("s1"), "提交前不应写入存储");
+            context.rollbackTurn();
+
+            assertEquals(committed, new ArrayList<>(history));
+            assertEquals("第一个问题", context.getLastUserMessage().getContent());
+            assertEquals("第一个回答", context.getLastAssistantMessage().getContent());
+            assertEquals(List.of("第一个问题", "第一个回答"),
+                    store.loadRecent("s1", 10).stream().map(Message::getContent).toList());
+        }
+    }
+
+    private static ChatHistoryContext context(List<Message> history, MemoryStrategy strategy) {
+        ChatHistoryContext context = new ChatHistoryContext();
+        context.setConversationHistory(history);
+        context.setMemoryStrategy(strategy);
+        context.addMessage(new SystemMessage("你是一个助手"));
+        return context;
+    }
+
+    private static void chat(ChatHistoryContext context, int turn) {
+        context.addMessage(new UserMessage("问题 " + turn + "：LiteFlow 的规则是怎么编排的？"));
+        context.addMessage(new AssistantMessage("回答 " + turn));
+    }
+}
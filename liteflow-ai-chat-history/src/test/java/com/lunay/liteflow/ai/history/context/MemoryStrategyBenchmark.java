@@ -0,0 +1,146 @@
+package com.lunay.liteflow.ai.history.context;
+
+import com.lunay.liteflow.ai.history.config.MemoryConfiguration;
+import com.lunay.liteflow.ai.history.config.MemoryProperties;
+import com.lunay.liteflow.ai.history.config.MemoryProperties.StrategyType;
+import com.lunay.liteflow.ai.history.memory.IndexedHistory;
+import com.lunay.liteflow.ai.history.memory.MemoryStrategy;
+import com.yomahub.liteflow.ai.engine.model.chat.message.SystemMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.UserMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 三种记忆策略下 500 轮对话的每轮提示词 token 数与每轮耗时
+ * <p>
+ * 每次调用从空上下文开始，按 chain1 的顺序（{@code IF(needSummaryCmp, historySummaryCmp), chatHistoryCmp}）
+ * 对 {@link MockChatProvider} 执行 500 轮对话，预算与默认配置一致（max-tokens 4000，summary-trigger-tokens 1000）。
+ * 基准结果按 {@code @OperationsPerInvocation} 折算为每轮耗时，包括窗口裁剪、摘要输入的构造和请求体的 JSON 编码；
+ * 模拟提供商不计模型侧耗时，模型的预填充耗时与计费随提示词 token 数增长，看 main 方法先打印的 token 表。
+ * <p>
+ * 运行：{@code mvn -pl liteflow-ai-chat-history test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.lunay.liteflow.ai.history.context.MemoryStrategyBenchmark}，或在 IDE 中直接运行 main 方法
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemoryStrategyBenchmark {
+
+    static final int TURNS = 500;
+
+    private static final String SYSTEM_PROMPT = "你是一个叫'FlowAI'的智能助手，名字叫小流，一个使用 LiteFlow-AI 框架实现的 AI 聊天机器人，请用中文回答问题。";
+
+    private static final String SUMMARY_PROMPT = "你是一个对话摘要助手。请将已有摘要与新增对话合并为一段简洁的中文摘要，保留用户的身份信息、偏好、已确认的事实和未完成的问题，不超过 300 字，只输出摘要本身。";
+
+    private static final int[] REPORTED_TURNS = {1, 10, 50, 100, 200, 300, 400, 500};
+
+    @Param({"UNBOUNDED", "SLIDING_WINDOW", "SUMMARY"})
+    public StrategyType strategy;
+
+    private MemoryStrategy memoryStrategy;
+
+    @Setup
+    public void setUp() {
+        memoryStrategy = memoryStrategy(strategy);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS)
+    public long conversation() {
+        return converse(memoryStrategy, new long[TURNS], new long[TURNS]);
+    }
+
+    /**
+     * 执行一次完整的对话
+     *
+     * @param chatTokens    每轮对话请求的提示词 token 数
+     * @param summaryTokens 每轮摘要请求的提示词 token 数，没有触发摘要的轮次为 0
+     * @return 所有请求的提示词 token 总数
+     */
+    static long converse(MemoryStrategy memoryStrategy, long[] chatTokens, long[] summaryTokens) {
+        MockChatProvider provider = new MockChatProvider("qwen-flash");
+        ChatHistoryContext context = new ChatHistoryContext();
+        context.setConversationHistory(new IndexedHistory());
+        context.setMemoryStrategy(memoryStrategy);
+        context.addMessage(new SystemMessage(SYSTEM_PROMPT));
+        long total = 0;
+        for (int turn = 0; turn < TURNS; turn++) {
+            context.beginTurn(new UserMessage("第 " + turn + " 个问题：LiteFlow 的规则文件修改后怎么热刷新？"));
+            if (context.needSummary()) {
+                context.applySummary(provider.summarize(SUMMARY_PROMPT, context.buildSummaryInput()));
+                summaryTokens[turn] = provider.lastPromptTokens();
+            }
+            context.addMessage(provider.chat(context.getConversationHistory(), turn));
+            chatTokens[turn] = provider.lastPromptTokens();
+            context.commitTurn();
+            total += chatTokens[turn] + summaryTokens[turn];
+        }
+        return total;
+    }
+
+    static MemoryStrategy memoryStrategy(StrategyType type) {
+        MemoryProperties properties = new MemoryProperties();
+        properties.setStrategy(type);
+        return new MemoryConfiguration().memoryStrategy(properties);
+    }
+
+    /**
+     * 打印每种策略在若干轮次的对话请求 token 数，以及 500 轮的合计（含摘要请求），token 数与运行环境无关
+     */
+    static void printPromptTokens() {
+        StringBuilder header = new StringBuilder(String.format("%-16s", "策略 \\ 轮次"));
+        for (int turn : REPORTED_TURNS) {
+            header.append(String.format("%8d", turn));
+        }
+        System.out.println(header.append(String.format("%12s%12s", "对话合计", "摘要合计")));
+        for (StrategyType type : StrategyType.values()) {
+            long[] chatTokens = new long[TURNS];
+            long[] summaryTokens = new long[TURNS];
+            converse(memoryStrategy(type), chatTokens, summaryTokens);
+            StringBuilder row = new StringBuilder(String.format("%-16s", type));
+            for (int turn : REPORTED_TURNS) {
+                row.append(String.format("%8d", chatTokens[turn - 1]));
+            }
+            System.out.println(row.append(String.format("%12d%12d", sum(chatTokens), sum(summaryTokens))));
+        }
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        printPromptTokens();
+        new Runner(new OptionsBuilder()
+                .include(MemoryStrategyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,92 @@
+package com.lunay.liteflow.ai.history.context;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lunay.liteflow.ai.history.memory.TokenEstimator;
+import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import com.yomahub.liteflow.ai.engine.model.chat.message.SystemMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.UserMessage;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 模拟的 OpenAI 兼容模型提供商
+ * <p>
+ * 与真实客户端一样把发送的消息编码为 {@code chat/completions} 请求体，记录每次请求的提示词 token 数，
+ * 按轮次返回确定的回复，回复长度在几十到几百 token 之间变化。不模拟模型侧的排队与预填充耗时
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class MockChatProvider {
+
+    private static final String SENTENCE = "LiteFlow 是一个轻量、快速的组件式规则引擎，适合编排复杂的业务流程。";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String model;
+
+    private long lastPromptTokens;
+
+    private long lastRequestBytes;
+
+    public MockChatProvider(String model) {
+        this.model = model;
+    }
+
+    /**
+     * 发送一轮对话，返回第 {@code turn} 轮的回复
+     */
+    public AssistantMessage chat(List<Message> messages, int turn) {
+        send(messages);
+        return new AssistantMessage("回答 " + turn + "：" + SENTENCE.repeat(1 + turn % 7));
+    }
+
+    /**
+     * 发送摘要请求，返回固定长度的摘要
+     */
+    public AssistantMessage summarize(String systemPrompt, String input) {
+        send(List.of(new SystemMessage(systemPrompt), new UserMessage(input)));
+        return new AssistantMessage("用户在了解 LiteFlow 的规则编排与组件用法。" + SENTENCE.repeat(3));
+    }
+
+    public long lastPromptTokens() {
+        return lastPromptTokens;
+    }
+
+    public long lastRequestBytes() {
+        return lastRequestBytes;
+    }
+
+    private void send(List<Message> messages) {
+        List<Map<String, String>> body = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            body.add(Map.of("role", roleOf(message), "content", message.getContent()));
+        }
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("model", model);
+        request.put("messages", body);
+        try {
+            lastRequestBytes = objectMapper.writeValueAsBytes(request).length;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        lastPromptTokens = TokenEstimator.estimate(messages);
+    }
+
+    private static String roleOf(Message message) {
+        if (message instanceof UserMessage) {
+            return "user";
+        }
+        if (message instanceof AssistantMessage) {
+            return "assistant";
+        }
+        return "system";
+    }
+}
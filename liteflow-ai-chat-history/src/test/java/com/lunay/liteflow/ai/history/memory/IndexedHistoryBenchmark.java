@@ -0,0 +1,148 @@
+package com.lunay.liteflow.ai.history.memory;
+
+import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import com.yomahub.liteflow.ai.engine.model.chat.message.SystemMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.UserMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link IndexedHistory} 与逐条扫描的 {@code ArrayList} 在 10k 条消息下的对比，每组基准两种实现各一个：
+ * <ul>
+ *     <li>turn：追加一问一答后按 token 预算裁剪窗口，预算取初始的窗口总 token 数，每轮移出大约同样多的消息</li>
+ *     <li>totalTokens：窗口 token 总数，{@code ArrayList} 需要逐条估算</li>
+ *     <li>lastUserMessage：最后一条用户消息，最后一条消息是 AI 回复时扫描只需要两步，两者相当</li>
+ *     <li>allUserMessages：全部用户消息，扫描需要检查每一条消息的类型</li>
+ * </ul>
+ * 运行：{@code mvn -pl liteflow-ai-chat-history test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.lunay.liteflow.ai.history.memory.IndexedHistoryBenchmark}，或在 IDE 中直接运行 main 方法
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndexedHistoryBenchmark {
+
+    @Param({"10000"})
+    public int messages;
+
+    private IndexedHistory indexed;
+
+    private List<Message> list;
+
+    private SlidingWindowMemoryStrategy strategy;
+
+    private Message question;
+
+    private Message answer;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        indexed = new IndexedHistory();
+        list = new ArrayList<>();
+        SystemMessage system = new SystemMessage("你是一个叫'FlowAI'的智能助手，请用中文回答问题。");
+        indexed.add(system);
+        list.add(system);
+        for (int i = 0; i < messages; i++) {
+            String content = (i % 2 == 0 ? "问题 " : "回答 ") + i + " " + "LiteFlow 规则编排".repeat(1 + random.nextInt(8));
+            Message message = i % 2 == 0 ? new UserMessage(content) : new AssistantMessage(content);
+            indexed.add(message);
+            list.add(message);
+        }
+        strategy = new SlidingWindowMemoryStrategy((int) indexed.totalTokens());
+        // 与初始消息的平均长度相当，窗口的消息数保持稳定
+        question = new UserMessage("问题 " + messages + " " + "LiteFlow 规则编排".repeat(4));
+        answer = new AssistantMessage("回答 " + messages + " " + "LiteFlow 规则编排".repeat(5));
+    }
+
+    @Benchmark
+    public List<Message> indexedTurn() {
+        return turn(indexed);
+    }
+
+    @Benchmark
+    public List<Message> listTurn() {
+        return turn(list);
+    }
+
+    @Benchmark
+    public long indexedTotalTokens() {
+        return TokenEstimator.estimate(indexed);
+    }
+
+    @Benchmark
+    public long listTotalTokens() {
+        return TokenEstimator.estimate(list);
+    }
+
+    @Benchmark
+    public UserMessage indexedLastUserMessage() {
+        return indexed.lastOf(UserMessage.class);
+    }
+
+    @Benchmark
+    public UserMessage listLastUserMessage() {
+        for (int i = list.size() - 1; i >= 0; i--) {
+            if (list.get(i) instanceof UserMessage message) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public List<UserMessage> indexedAllUserMessages() {
+        return indexed.allOf(UserMessage.class);
+    }
+
+    @Benchmark
+    public List<UserMessage> listAllUserMessages() {
+        List<UserMessage> result = new ArrayList<>();
+        for (Message message : list) {
+            if (message instanceof UserMessage user) {
+                result.add(user);
+            }
+        }
+        return result;
+    }
+
+    private List<Message> turn(List<Message> history) {
+        history.add(question);
+        strategy.trim(history);
+        history.add(answer);
+        return strategy.trim(history);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IndexedHistoryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.lunay.liteflow.ai.history.memory;
+
+import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import com.yomahub.liteflow.ai.engine.model.chat.message.SystemMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.UserMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 带索引的对话历史与普通列表的行为对比
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class IndexedHistoryTest {
+
+    @Test
+    void behavesLikeArrayListUnderSlidingWindow() {
+        Random random = new Random(7);
+        IndexedHistory indexed = new IndexedHistory();
+        List<Message> plain = new ArrayList<>();
+        SlidingWindowMemoryStrategy strategy = new SlidingWindowMemoryStrategy(120);
+        SystemMessage system = new SystemMessage("系统提示词");
+        indexed.add(system);
+        plain.add(system);
+        for (int i = 0; i < 2_000; i++) {
+            String content = "消息 " + i + " " + "x".repeat(random.nextInt(40));
+            Message message = random.nextBoolean() ? new UserMessage(content) : new AssistantMessage(content);
+            indexed.add(message);
+            plain.add(message);
+            if (random.nextInt(10) == 0) {
+                // 替换窗口内的一条消息，之后的前缀和与类型索引都要随之更新
+                int index = 1 + random.nextInt(indexed.size() - 1);
+                Message replacement = new UserMessage("替换 " + i + " " + "y".repeat(random.nextInt(40)));
+                assertSame(plain.set(index, replacement), indexed.set(index, replacement));
+            }
+            assertEquals(contents(strategy.trim(plain)), contents(strategy.trim(indexed)));
+            assertEquals(plain, new ArrayList<>(indexed));
+            assertEquals(TokenEstimator.estimate(plain), TokenEstimator.estimate(indexed));
+            assertSame(last(plain, AssistantMessage.class), indexed.lastOf(AssistantMessage.class));
+            assertSame(last(plain, UserMessage.class), indexed.lastOf(UserMessage.class));
+        }
+        assertEquals(of(plain, UserMessage.class), indexed.allOf(UserMessage.class));
+        assertEquals(plain, indexed.allOf(Message.class));
+    }
+
+    /**
+     * 撤回最新的消息后，索引与前缀和回到追加之前的状态，之后可以继续追加
+     */
+    @Test
+    void removingNewestMessageBehavesLikeArrayList() {
+        Random random = new Random(11);
+        IndexedHistory indexed = new IndexedHistory();
+        List<Message> plain = new ArrayList<>();
+        SystemMessage system = new SystemMessage("系统提示词");
+        indexed.add(system);
+        plain.add(system);
+        for (int i = 0; i < 2_000; i++) {
+            String content = "消息 " + i + " " + "x".repeat(random.nextInt(40));
+            Message message = random.nextBoolean() ? new UserMessage(content) : new AssistantMessage(content);
+            indexed.add(message);
+            plain.add(message);
+            if (random.nextInt(3) == 0 && indexed.size() > 1) {
+                assertSame(plain.remove(plain.size() - 1), indexed.remove(indexed.size() - 1));
+            }
+            if (random.nextInt(5) == 0 && indexed.size() > 1) {
+                assertSame(plain.remove(1), indexed.remove(1));
+            }
+            assertEquals(plain, new ArrayList<>(indexed));
+            assertEquals(TokenEstimator.estimate(plain), indexed.totalTokens());
+            assertSame(last(plain, AssistantMessage.class), indexed.lastOf(AssistantMessage.class));
+            assertSame(last(plain, UserMessage.class), indexed.lastOf(UserMessage.class));
+        }
+        assertEquals(of(plain, AssistantMessage.class), indexed.allOf(AssistantMessage.class));
+    }
+
+    private static List<String> contents(List<Message> messages) {
+        return messages.stream().map(Message::getContent).toList();
+    }
+
+    private static Message last(List<Message> history, Class<? extends Message> type) {
+        for (int i = history.size() - 1; i >= 0; i--) {
+            if (type.isInstance(history.get(i))) {
+                return history.get(i);
+            }
+        }
+        return null;
+    }
+
+    private static <T extends Message> List<T> of(List<Message> history, Class<T> type) {
+        return history.stream().filter(type::isInstance).map(type::cast).toList();
+    }
+}
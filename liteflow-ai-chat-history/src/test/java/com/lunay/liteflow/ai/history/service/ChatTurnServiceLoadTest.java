@@ -0,0 +1,150 @@
+package com.lunay.liteflow.ai.history.service;
+
+import com.lunay.liteflow.ai.history.config.SessionProperties;
+import com.lunay.liteflow.ai.history.config.StoreProperties;
+import com.lunay.liteflow.ai.history.context.ChatHistoryContext;
+import com.lunay.liteflow.ai.history.memory.SlidingWindowMemoryStrategy;
+import com.lunay.liteflow.ai.history.session.ChatHistoryContextFactory;
+import com.lunay.liteflow.ai.history.session.ChatSessionRegistry;
+import com.lunay.liteflow.ai.history.store.InMemoryChatHistoryStore;
+import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import com.yomahub.liteflow.core.FlowExecutor;
+import com.yomahub.liteflow.flow.LiteflowResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 服务模式下 1000 个会话并发对话的负载测试
+ * <p>
+ * 每个会话由一个客户端依次发送 5 轮消息，模拟的模型调用耗时 50ms。统计每轮从发出请求到收到回复的耗时，
+ * 打印 p50、p99 与吞吐量；检查所有轮次成功、每个会话的历史完整有序，以及不同会话确实并行执行
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class ChatTurnServiceLoadTest {
+
+    private static final int SESSIONS = 1_000;
+
+    private static final int TURNS = 5;
+
+    private static final Duration MODEL_LATENCY = Duration.ofMillis(50);
+
+    private final FlowExecutor flowExecutor = mock(FlowExecutor.class);
+
+    private final InMemoryChatHistoryStore store = new InMemoryChatHistoryStore();
+
+    private ExecutorService executor;
+
+    private ChatSessionRegistry registry;
+
+    private ChatTurnService service;
+
+    @BeforeEach
+    void setUp() {
+        SessionProperties properties = new SessionProperties();
+        ChatHistoryContextFactory contextFactory = new ChatHistoryContextFactory(
+                new SlidingWindowMemoryStrategy(4000), store, new StoreProperties());
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().factory());
+        registry = new ChatSessionRegistry(contextFactory, properties);
+        service = new ChatTurnService(flowExecutor, registry, properties, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.destroy();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void thousandConcurrentSessions() throws Exception {
+        LiteflowResponse success = mock(LiteflowResponse.class);
+        when(success.isSuccess()).thenReturn(true);
+        when(flowExecutor.execute2Resp(eq("chain1"), isNull(), any(ChatHistoryContext.class)))
+                .thenAnswer((Answer<LiteflowResponse>) invocation -> {
+                    ChatHistoryContext context = invocation.getArgument(2);
+                    Thread.sleep(MODEL_LATENCY);
+                    context.addMessage(new AssistantMessage("回答 " + context.getLastUserMessage().getContent()));
+                    return success;
+                });
+
+        long[] latencies = new long[SESSIONS * TURNS];
+        AtomicInteger completed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> clients = new ArrayList<>(SESSIONS);
+        long elapsed;
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int s = 0; s < SESSIONS; s++) {
+                String sessionId = "session-" + s;
+                clients.add(clientExecutor.submit(() -> {
+                    start.await();
+                    for (int turn = 0; turn < TURNS; turn++) {
+                        long begin = System.nanoTime();
+                        String reply = service.chat(sessionId, "问题 " + turn).block();
+                        latencies[completed.getAndIncrement()] = System.nanoTime() - begin;
+                        assertEquals("回答 问题 " + turn, reply);
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> client : clients) {
+                client.get(2, TimeUnit.MINUTES);
+            }
+            elapsed = System.nanoTime() - begin;
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("%d 个会话 × %d 轮，模型耗时 %d ms：p50 %.1f ms，p99 %.1f ms，最大 %.1f ms，吞吐量 %.0f 轮/s%n",
+                SESSIONS, TURNS, MODEL_LATENCY.toMillis(),
+                millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+                millis(latencies[latencies.length - 1]), SESSIONS * TURNS / (elapsed / 1e9));
+
+        assertEquals(SESSIONS * TURNS, completed.get());
+        assertEquals(SESSIONS, registry.size());
+        for (int s = 0; s < SESSIONS; s++) {
+            List<Message> messages = store.loadRecent("session-" + s, TURNS * 2);
+            assertEquals(TURNS * 2, messages.size());
+            for (int turn = 0; turn < TURNS; turn++) {
+                assertEquals("问题 " + turn, messages.get(turn * 2).getContent());
+                assertEquals("回答 问题 " + turn, messages.get(turn * 2 + 1).getContent());
+            }
+        }
+        assertTrue(percentile(latencies, 0.50) >= MODEL_LATENCY.toNanos());
+        // 串行执行需要 SESSIONS * TURNS * 50ms = 250s，不同会话并行时接近 TURNS * 50ms
+        long serialNanos = MODEL_LATENCY.toNanos() * SESSIONS * TURNS;
+        assertTrue(elapsed < serialNanos / 10, "总耗时 " + millis(elapsed) + " ms，会话之间没有并行执行");
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.ceil(quantile * sorted.length) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,151 @@
+package com.lunay.liteflow.ai.history.service;
+
+import com.lunay.liteflow.ai.history.config.SessionProperties;
+import com.lunay.liteflow.ai.history.config.StoreProperties;
+import com.lunay.liteflow.ai.history.context.ChatHistoryContext;
+import com.lunay.liteflow.ai.history.memory.SlidingWindowMemoryStrategy;
+import com.lunay.liteflow.ai.history.session.ChatHistoryContextFactory;
+import com.lunay.liteflow.ai.history.session.ChatSession;
+import com.lunay.liteflow.ai.history.session.ChatSessionRegistry;
+import com.lunay.liteflow.ai.history.store.InMemoryChatHistoryStore;
+import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import com.yomahub.liteflow.ai.engine.model.chat.message.SystemMessage;
+import com.yomahub.liteflow.core.FlowExecutor;
+import com.yomahub.liteflow.flow.LiteflowResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import reactor.core.Exceptions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 对话轮次的提交与回滚测试，流程由模拟的 FlowExecutor 执行
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class ChatTurnServiceTest {
+
+    private final FlowExecutor flowExecutor = mock(FlowExecutor.class);
+
+    private final InMemoryChatHistoryStore store = new InMemoryChatHistoryStore();
+
+    private ExecutorService executor;
+
+    private ChatSessionRegistry registry;
+
+    private ChatTurnService service;
+
+    @BeforeEach
+    void setUp() {
+        SessionProperties properties = new SessionProperties();
+        properties.setTurnTimeout(Duration.ofMillis(200));
+        ChatHistoryContextFactory contextFactory = new ChatHistoryContextFactory(
+                new SlidingWindowMemoryStrategy(4000), store, new StoreProperties());
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().factory());
+        registry = new ChatSessionRegistry(contextFactory, properties);
+        service = new ChatTurnService(flowExecutor, registry, properties, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.destroy();
+        executor.shutdownNow();
+    }
+
+    /**
+     * 超时的轮次被回滚：用户消息与迟到的回复都不会留在对话历史与存储中，下一轮正常执行
+     */
+    @Test
+    void timedOutTurnIsRolledBack() throws Exception {
+        AtomicInteger turns = new AtomicInteger();
+        LiteflowResponse success = success();
+        onChain(context -> {
+            if (turns.incrementAndGet() == 1) {
+                // 模拟忽略中断、超时后才返回的模型调用
+                try {
+                    Thread.sleep(Duration.ofSeconds(5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                context.addMessage(new AssistantMessage("迟到的回答"));
+            } else {
+                context.addMessage(new AssistantMessage("回答 " + context.getLastUserMessage().getContent()));
+            }
+            return success;
+        });
+
+        RuntimeException timeout = assertThrows(RuntimeException.class, () -> service.chat("s1", "超时的问题").block());
+        assertInstanceOf(TimeoutException.class, Exceptions.unwrap(timeout));
+
+        assertEquals("回答 第二个问题", service.chat("s1", "第二个问题").block());
+        assertEquals(List.of("第二个问题", "回答 第二个问题"), contents(history("s1")));
+        assertEquals(List.of("第二个问题", "回答 第二个问题"), contents(store.loadRecent("s1", 10)));
+    }
+
+    /**
+     * 流程失败的轮次被回滚，存储中没有任何消息
+     */
+    @Test
+    void failedTurnIsRolledBack() throws Exception {
+        LiteflowResponse failure = mock(LiteflowResponse.class);
+        when(failure.isSuccess()).thenReturn(false);
+        when(failure.getCause()).thenReturn(new IllegalStateException("模型调用失败"));
+        onChain(context -> failure);
+
+        assertThrows(IllegalStateException.class, () -> service.chat("s1", "失败的问题").block());
+
+        assertEquals(List.of(), contents(history("s1")));
+        assertEquals(0, store.size("s1"));
+    }
+
+    private List<Message> history(String sessionId) throws InterruptedException {
+        // 等待上一轮释放会话锁后再读取
+        ChatSession session = registry.lock(sessionId);
+        try {
+            return List.copyOf(session.getContext().getConversationHistory());
+        } finally {
+            registry.unlock(session);
+        }
+    }
+
+    private void onChain(Chain chain) {
+        when(flowExecutor.execute2Resp(eq("chain1"), isNull(), any(ChatHistoryContext.class)))
+                .thenAnswer((Answer<LiteflowResponse>) invocation -> chain.run(invocation.getArgument(2)));
+    }
+
+    private static LiteflowResponse success() {
+        LiteflowResponse response = mock(LiteflowResponse.class);
+        when(response.isSuccess()).thenReturn(true);
+        return response;
+    }
+
+    private static List<String> contents(List<Message> messages) {
+        // 系统提示词不参与比较
+        return messages.stream().filter(message -> !(message instanceof SystemMessage)).map(Message::getContent).toList();
+    }
+
+    @FunctionalInterface
+    private interface Chain {
+
+        LiteflowResponse run(ChatHistoryContext context) throws Exception;
+    }
+}
@@ -0,0 +1,135 @@
+package com.lunay.liteflow.ai.history.session;
+
+import com.lunay.liteflow.ai.history.config.SessionProperties;
+import com.lunay.liteflow.ai.history.config.StoreProperties;
+import com.lunay.liteflow.ai.history.memory.SlidingWindowMemoryStrategy;
+import com.lunay.liteflow.ai.history.store.InMemoryChatHistoryStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 会话注册表在关闭与空闲淘汰时的互斥测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class ChatSessionRegistryTest {
+
+    private ChatSessionRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        if (registry != null) {
+            registry.destroy();
+        }
+    }
+
+    /**
+     * 轮次执行期间关闭会话，同一会话 ID 的新请求等待旧轮次结束后才拿到新的会话
+     */
+    @Test
+    void removeDuringTurnDoesNotStartConcurrentSession() throws Exception {
+        registry = registry(Duration.ofMinutes(30), Duration.ofMinutes(1));
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<ChatSession> inFlight = new CompletableFuture<>();
+        Thread turn = Thread.ofPlatform().start(() -> {
+            ChatSession session = lock("s1");
+            inFlight.complete(session);
+            await(finish);
+            registry.unlock(session);
+        });
+        ChatSession old = inFlight.get(5, TimeUnit.SECONDS);
+
+        assertTrue(registry.remove("s1"));
+        CompletableFuture<ChatSession> next = CompletableFuture.supplyAsync(() -> lock("s1"));
+        assertThrows(TimeoutException.class, () -> next.get(200, TimeUnit.MILLISECONDS), "旧轮次未结束时创建了新会话");
+        assertEquals(1, registry.size());
+
+        finish.countDown();
+        turn.join();
+        ChatSession fresh = next.get(5, TimeUnit.SECONDS);
+        assertNotSame(old, fresh);
+        assertFalse(fresh.isClosed());
+        assertEquals(1, registry.size());
+    }
+
+    /**
+     * 没有进行中的轮次时，关闭立即生效
+     */
+    @Test
+    void removeIdleSessionDetachesImmediately() throws Exception {
+        registry = registry(Duration.ofMinutes(30), Duration.ofMinutes(1));
+        ChatSession session = registry.lock("s1");
+        registry.unlock(session);
+
+        assertTrue(registry.remove("s1"));
+        assertEquals(0, registry.size());
+        assertFalse(registry.remove("s1"));
+    }
+
+    /**
+     * 持有会话锁的会话即使超过空闲时长也不会被淘汰，释放后才会被淘汰
+     */
+    @Test
+    void idleEvictionSkipsLockedSession() throws Exception {
+        registry = registry(Duration.ofMillis(10), Duration.ofMillis(10));
+        ChatSession session = registry.lock("s1");
+        Thread.sleep(200);
+        assertEquals(1, registry.size(), "执行中的会话被淘汰");
+        assertFalse(session.isClosed());
+
+        registry.unlock(session);
+        awaitUntil(() -> registry.size() == 0, Duration.ofSeconds(5));
+        assertTrue(session.isClosed());
+        ChatSession fresh = registry.lock("s1");
+        assertNotSame(session, fresh);
+        registry.unlock(fresh);
+    }
+
+    private ChatSession lock(String sessionId) {
+        try {
+            return registry.lock(sessionId);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ChatSessionRegistry registry(Duration idleTimeout, Duration evictionInterval) {
+        SessionProperties properties = new SessionProperties();
+        properties.setIdleTimeout(idleTimeout);
+        properties.setEvictionInterval(evictionInterval);
+        ChatHistoryContextFactory contextFactory = new ChatHistoryContextFactory(
+                new SlidingWindowMemoryStrategy(4000), new InMemoryChatHistoryStore(), new StoreProperties());
+        return new ChatSessionRegistry(contextFactory, properties);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "等待超时");
+            Thread.sleep(10);
+        }
+    }
+}
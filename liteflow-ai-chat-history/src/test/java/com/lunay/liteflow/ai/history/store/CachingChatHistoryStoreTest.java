@@ -0,0 +1,142 @@
+package com.lunay.liteflow.ai.history.store;
+
+import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import com.yomahub.liteflow.ai.engine.model.chat.message.UserMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 带缓存的对话历史存储测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class CachingChatHistoryStoreTest {
+
+    @Test
+    void servesRepeatedReadsFromCache() {
+        CountingStore delegate = new CountingStore();
+        CachingChatHistoryStore store = new CachingChatHistoryStore(delegate, 8, 16);
+        store.append("s1", new UserMessage("你好"));
+        store.append("s1", new AssistantMessage("你好，我是小流"));
+
+        assertEquals(2, store.loadRecent("s1", 10).size());
+        store.append("s1", new UserMessage("介绍一下 LiteFlow"));
+        List<Message> recent = store.loadRecent("s1", 10);
+
+        assertEquals(1, delegate.loads.get());
+        assertEquals(List.of("你好", "你好，我是小流", "介绍一下 LiteFlow"), contents(recent));
+    }
+
+    /**
+     * 未命中的加载已从底层存储读出快照、尚未放入缓存时到达的写入，之后仍能从缓存中读到
+     */
+    @Test
+    void appendDuringLoadIsNotLost() throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        CountingStore delegate = new CountingStore() {
+            @Override
+            public List<Message> loadRecent(String sessionId, int limit) {
+                List<Message> snapshot = super.loadRecent(sessionId, limit);
+                if (loads.get() == 1) {
+                    loaded.countDown();
+                    await(resume);
+                }
+                return snapshot;
+            }
+        };
+        CachingChatHistoryStore store = new CachingChatHistoryStore(delegate, 8, 16);
+        store.append("s1", new UserMessage("第一条"));
+
+        Thread loader = Thread.ofPlatform().start(() -> store.loadRecent("s1", 10));
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+        Thread writer = Thread.ofPlatform().start(() -> store.append("s1", new AssistantMessage("第二条")));
+        // 写入要么等待加载结束，要么（修复前）直接写入底层存储后返回
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writer.getState() != Thread.State.BLOCKED && writer.isAlive()) {
+            assertTrue(System.nanoTime() < deadline, "写入线程既没有阻塞也没有结束");
+            Thread.sleep(1);
+        }
+        resume.countDown();
+        loader.join();
+        writer.join();
+
+        assertEquals(List.of("第一条", "第二条"), contents(store.loadRecent("s1", 10)));
+        assertEquals(1, delegate.loads.get());
+    }
+
+    /**
+     * 多个线程并发写入与读取同一批会话，最终缓存与底层存储一致
+     */
+    @Test
+    void concurrentAppendsAndLoadsStayConsistent() throws Exception {
+        CountingStore delegate = new CountingStore();
+        // 缓存只能容纳 2 个会话，读取会不断触发淘汰与重新加载
+        CachingChatHistoryStore store = new CachingChatHistoryStore(delegate, 2, 64);
+        int sessions = 4;
+        int messages = 200;
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int s = 0; s < sessions; s++) {
+                String sessionId = "s" + s;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < messages; i++) {
+                        store.append(sessionId, new UserMessage(String.valueOf(i)));
+                    }
+                }));
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < messages; i++) {
+                        store.loadRecent(sessionId, 8);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+        for (int s = 0; s < sessions; s++) {
+            String sessionId = "s" + s;
+            assertEquals(contents(delegate.loadRecent(sessionId, 64)), contents(store.loadRecent(sessionId, 64)), sessionId);
+        }
+    }
+
+    private static List<String> contents(List<Message> messages) {
+        return messages.stream().map(Message::getContent).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 记录加载次数的内存存储
+     */
+    private static class CountingStore extends InMemoryChatHistoryStore {
+
+        final AtomicInteger loads = new AtomicInteger();
+
+        @Override
+        public List<Message> loadRecent(String sessionId, int limit) {
+            loads.incrementAndGet();
+            return super.loadRecent(sessionId, limit);
+        }
+    }
+}
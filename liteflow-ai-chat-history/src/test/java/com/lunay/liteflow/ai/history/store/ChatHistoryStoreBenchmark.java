@@ -0,0 +1,132 @@
+package com.lunay.liteflow.ai.history.store;
+
+import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import com.yomahub.liteflow.ai.engine.model.chat.message.UserMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 多会话并发读写的对话历史存储吞吐量
+ * <p>
+ * 8 个线程对 1024 个会话随机追加消息或读取最近 50 条消息，每个会话预先写入 100 条消息：
+ * <ul>
+ *     <li>memory：{@link InMemoryChatHistoryStore}，作为对照</li>
+ *     <li>mapped-file：{@link MappedFileChatHistoryStore}，4 个分片，不在每次追加时刷盘</li>
+ *     <li>mapped-file-cached：mapped-file 前置 {@link CachingChatHistoryStore}，即 {@code type: mapped-file} 的默认配置</li>
+ * </ul>
+ * 每轮迭代使用新的数据目录，迭代结束后删除。
+ * 运行：{@code mvn -pl liteflow-ai-chat-history test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.lunay.liteflow.ai.history.store.ChatHistoryStoreBenchmark}，或在 IDE 中直接运行 main 方法
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ChatHistoryStoreBenchmark {
+
+    private static final int SESSIONS = 1024;
+
+    private static final int MESSAGES_PER_SESSION = 100;
+
+    private static final int RECENT = 50;
+
+    private static final int SHARDS = 4;
+
+    private static final int SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    private static final Message QUESTION = new UserMessage("LiteFlow 的规则文件修改后怎么热刷新？");
+
+    private static final Message ANSWER = new AssistantMessage("可以开启规则文件监听，或者调用 FlowExecutor 的 reloadRule 方法手动刷新。");
+
+    @Param({"memory", "mapped-file", "mapped-file-cached"})
+    public String type;
+
+    private Path directory;
+
+    private ChatHistoryStore store;
+
+    private String[] sessionIds;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("chat-history-benchmark");
+        store = switch (type) {
+            case "memory" -> new InMemoryChatHistoryStore();
+            case "mapped-file" -> new MappedFileChatHistoryStore(directory, SHARDS, SEGMENT_BYTES, false);
+            case "mapped-file-cached" -> new CachingChatHistoryStore(
+                    new MappedFileChatHistoryStore(directory, SHARDS, SEGMENT_BYTES, false), SESSIONS, 64);
+            default -> throw new IllegalArgumentException(type);
+        };
+        sessionIds = new String[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            sessionIds[i] = "session-" + i;
+            for (int j = 0; j < MESSAGES_PER_SESSION; j++) {
+                store.append(sessionIds[i], j % 2 == 0 ? QUESTION : ANSWER);
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void append() {
+        store.append(randomSession(), QUESTION);
+    }
+
+    @Benchmark
+    public List<Message> loadRecent() {
+        return store.loadRecent(randomSession(), RECENT);
+    }
+
+    private String randomSession() {
+        return sessionIds[ThreadLocalRandom.current().nextInt(SESSIONS)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ChatHistoryStoreBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,219 @@
+package com.lunay.liteflow.ai.history.store;
+
+import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import com.yomahub.liteflow.ai.engine.model.chat.message.UserMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 内存映射文件存储的崩溃恢复与段文件管理测试
+ * <p>
+ * 写入后关闭存储，直接修改段文件末尾的记录模拟崩溃时的残缺写入，重新打开后检查截断位置，以及截断后能否继续写入和恢复
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class MappedFileChatHistoryStoreTest {
+
+    private static final String SESSION = "s1";
+
+    private static final int SEGMENT_BYTES = 4096;
+
+    private static final int MESSAGES = 10;
+
+    private Path directory;
+
+    private MappedFileChatHistoryStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("chat-history");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * 长度字段只写入了一部分，读出为负数
+     */
+    @Test
+    void truncatesTornLength() throws IOException {
+        int last = writeMessages(SEGMENT_BYTES, MESSAGES);
+        overwrite(segment(0), last, ByteBuffer.allocate(Integer.BYTES).putInt(0xFFFF0000 | recordBody(MESSAGES - 1)).flip());
+
+        assertTruncatedAndAppendable();
+    }
+
+    /**
+     * 长度字段完整，但记录体与校验和不一致
+     */
+    @Test
+    void truncatesRecordWithCrcMismatch() throws IOException {
+        int last = writeMessages(SEGMENT_BYTES, MESSAGES);
+        int contentStart = last + 8 + Short.BYTES + SESSION.length() + 1;
+        overwrite(segment(0), contentStart, ByteBuffer.wrap("X".getBytes(StandardCharsets.UTF_8)));
+
+        assertTruncatedAndAppendable();
+    }
+
+    /**
+     * 长度字段指向段文件末尾之外
+     */
+    @Test
+    void truncatesRecordRunningPastSegmentEnd() throws IOException {
+        int last = writeMessages(SEGMENT_BYTES, MESSAGES);
+        overwrite(segment(0), last, ByteBuffer.allocate(Integer.BYTES).putInt(SEGMENT_BYTES).flip());
+
+        assertTruncatedAndAppendable();
+    }
+
+    /**
+     * 分片目录中不是段文件的文件被忽略
+     */
+    @Test
+    void ignoresFilesThatAreNotSegments() throws IOException {
+        writeMessages(SEGMENT_BYTES, MESSAGES);
+        Path shard = directory.resolve("shard-00");
+        for (String name : List.of("segment-000000.log.bak", "segment-abc.log", "segment-.log", "segment-9999999999.log", "README")) {
+            Files.writeString(shard.resolve(name), "not a segment");
+        }
+
+        store = open(SEGMENT_BYTES);
+
+        assertEquals(MESSAGES, store.size(SESSION));
+        assertEquals(expected(MESSAGES), contents(store.loadRecent(SESSION, MESSAGES)));
+    }
+
+    /**
+     * 旧的段文件被清理后段号不再从 0 开始，记录仍按地址中的段号读取，新段的段号接在最大段号之后
+     */
+    @Test
+    void readsSegmentsByNumberWhenOldSegmentsAreRemoved() throws IOException {
+        int segmentBytes = 128;
+        int perSegment = segmentBytes / recordBytes(MESSAGES - 1);
+        writeMessages(segmentBytes, MESSAGES);
+        Files.delete(segment(0));
+
+        store = open(segmentBytes);
+        int remaining = MESSAGES - perSegment;
+        assertEquals(remaining, store.size(SESSION));
+        assertEquals(expected(MESSAGES).subList(perSegment, MESSAGES), contents(store.loadRecent(SESSION, MESSAGES)));
+
+        for (int i = MESSAGES; i < MESSAGES + perSegment * 2; i++) {
+            store.append(SESSION, message(i));
+        }
+        store.close();
+        store = open(segmentBytes);
+
+        assertEquals(remaining + perSegment * 2, store.size(SESSION));
+        assertEquals(expected(MESSAGES + perSegment * 2).subList(MESSAGES + perSegment - 2, MESSAGES + perSegment * 2),
+                contents(store.loadRecent(SESSION, perSegment + 2)));
+    }
+
+    /**
+     * 重新打开后末尾的残缺记录被截断，新的记录从截断处继续写入，再次打开后仍然完整
+     */
+    private void assertTruncatedAndAppendable() {
+        store = open(SEGMENT_BYTES);
+        assertEquals(MESSAGES - 1, store.size(SESSION));
+        assertEquals(expected(MESSAGES - 1), contents(store.loadRecent(SESSION, MESSAGES)));
+
+        // 比残缺的记录短，残缺记录剩余的字节留在新记录之后
+        store.append(SESSION, new UserMessage("续"));
+        store.close();
+
+        store = open(SEGMENT_BYTES);
+        List<String> recovered = new ArrayList<>(expected(MESSAGES - 1));
+        recovered.add("续");
+        assertEquals(MESSAGES, store.size(SESSION));
+        assertEquals(recovered, contents(store.loadRecent(SESSION, MESSAGES)));
+
+        store.append(SESSION, new AssistantMessage("继续写入"));
+        assertEquals(MESSAGES + 1, store.size(SESSION));
+    }
+
+    /**
+     * 写入若干条消息后关闭存储
+     *
+     * @return 最后一条记录在其段文件中的偏移
+     */
+    private int writeMessages(int segmentBytes, int count) {
+        MappedFileChatHistoryStore writer = open(segmentBytes);
+        int position = 0;
+        int last = 0;
+        for (int i = 0; i < count; i++) {
+            writer.append(SESSION, message(i));
+            if (position + recordBytes(i) > segmentBytes) {
+                position = 0;
+            }
+            last = position;
+            position += recordBytes(i);
+        }
+        writer.close();
+        return last;
+    }
+
+    private MappedFileChatHistoryStore open(int segmentBytes) {
+        return new MappedFileChatHistoryStore(directory, 1, segmentBytes, false);
+    }
+
+    private Path segment(int number) {
+        return directory.resolve("shard-00").resolve(String.format("segment-%06d.log", number));
+    }
+
+    private static void overwrite(Path file, int position, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(bytes, position);
+        }
+    }
+
+    private static Message message(int i) {
+        return i % 2 == 0 ? new UserMessage("问题 " + i) : new AssistantMessage("回答 " + i);
+    }
+
+    private static List<String> expected(int count) {
+        List<String> contents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            contents.add(message(i).getContent());
+        }
+        return contents;
+    }
+
+    private static int recordBody(int i) {
+        return Short.BYTES + SESSION.length() + 1 + message(i).getContent().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static int recordBytes(int i) {
+        return 8 + recordBody(i);
+    }
+
+    private static List<String> contents(List<Message> messages) {
+        return messages.stream().map(Message::getContent).toList();
+    }
+}
@@ -0,0 +1,42 @@
+package com.lunay.liteflow.ai.chatstream.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chat Stream 配置类
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Configuration
+@EnableConfigurationProperties(ChatStreamProperties.class)
+public class ChatStreamConfiguration {
+
+    /**
+     * 流式会话专用执行器，与 ForkJoinPool.commonPool 以及 LiteFlow 自带的异步线程池隔离
+     */
+    @Bean(name = "chatStreamExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService chatStreamExecutor(ChatStreamProperties properties) {
+        if (properties.getExecutorType() == ChatStreamProperties.ExecutorType.VIRTUAL) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("chat-stream-", 0).factory());
+        }
+        int poolSize = properties.getMaxConcurrentStreams();
+        // 许可数与线程数相同，许可在任务退出前归还，此时线程尚未回到池中；
+        // 队列只用于承接这段交接窗口内提交的任务，容量不会超过许可数
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(poolSize);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, queue,
+                Thread.ofPlatform().name("chat-stream-", 0).factory(), new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,85 @@
+package com.lunay.liteflow.ai.chatstream.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 流式会话配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "chatstream.stream")
+public class ChatStreamProperties {
+
+    /**
+     * 执行流程所使用的线程类型
+     */
+    private ExecutorType executorType = ExecutorType.VIRTUAL;
+
+    /**
+     * 同时进行中的流式会话上限，超出后新请求直接被拒绝
+     */
+    private int maxConcurrentStreams = 500;
+
+    /**
+     * 单个连接的下发配置
+     */
+    private Delivery delivery = new Delivery();
+
+    public enum ExecutorType {
+        /**
+         * 每个流式会话一个虚拟线程
+         */
+        VIRTUAL,
+        /**
+         * 固定大小的平台线程池
+         */
+        BOUNDED
+    }
+
+    @Data
+    public static class Delivery {
+
+        /**
+         * 合并窗口，窗口内的同类型 token 会被合并为一帧下发
+         */
+        private Duration flushInterval = Duration.ofMillis(50);
+
+        /**
+         * 单帧最大字符数，达到后立即封帧
+         */
+        private int maxFrameChars = 256;
+
+        /**
+         * 单个连接允许缓冲的最大字节数，超出后该连接以错误结束
+         */
+        private DataSize maxBufferedBytes = DataSize.ofKilobytes(256);
+
+        /**
+         * 缓冲字节数超过该阈值即认为客户端消费滞后，开始按策略处理思考帧
+         */
+        private DataSize thinkingLagBytes = DataSize.ofKilobytes(32);
+
+        /**
+         * 客户端消费滞后时思考帧的处理策略
+         */
+        private ThinkingOverflow thinkingOverflow = ThinkingOverflow.DROP;
+    }
+
+    public enum ThinkingOverflow {
+        /**
+         * 丢弃新的思考内容
+         */
+        DROP,
+        /**
+         * 合并到尚未下发的思考帧中
+         */
+        MERGE
+    }
+}
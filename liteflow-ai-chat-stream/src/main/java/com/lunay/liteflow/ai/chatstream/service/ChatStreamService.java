@@ -0,0 +1,168 @@
+package com.lunay.liteflow.ai.chatstream.service;
+
+import com.lunay.liteflow.ai.chatstream.config.ChatStreamProperties;
+import com.lunay.liteflow.ai.chatstream.stream.StreamCancellation;
+import com.lunay.liteflow.ai.chatstream.stream.StreamDeliveryBuffer;
+import com.lunay.liteflow.ai.chatstream.stream.StreamEventType;
+import com.lunay.liteflow.ai.chatstream.stream.StreamFrame;
+import com.lunay.liteflow.ai.chatstream.stream.StreamMetrics;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.ai.context.StreamHandler;
+import com.yomahub.liteflow.core.FlowExecutor;
+import com.yomahub.liteflow.flow.LiteflowResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 流式对话服务
+ * <p>
+ * 流程在专用执行器上同步执行，StreamHandler 的回调直接推送到 FluxSink，
+ * 不再有线程阻塞在 Future#get 上等待流程结束。
+ * 回调内容先进入每个连接独立的 {@link StreamDeliveryBuffer}，按下游请求量有界下发。
+ * 客户端断开时通过 {@link StreamCancellation} 中断流程，执行槽位在流程线程真正退出后才归还。
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Service
+public class ChatStreamService {
+
+    private final FlowExecutor flowExecutor;
+
+    private final ExecutorService chatStreamExecutor;
+
+    private final ChatStreamProperties properties;
+
+    private final StreamMetrics streamMetrics;
+
+    private final Semaphore streamPermits;
+
+    public ChatStreamService(FlowExecutor flowExecutor,
+                             @Qualifier("chatStreamExecutor") ExecutorService chatStreamExecutor,
+                             ChatStreamProperties properties,
+                             StreamMetrics streamMetrics) {
+        this.flowExecutor = flowExecutor;
+        this.chatStreamExecutor = chatStreamExecutor;
+        this.properties = properties;
+        this.streamMetrics = streamMetrics;
+        this.streamPermits = new Semaphore(properties.getMaxConcurrentStreams());
+    }
+
+    public Flux<StreamFrame> streamFrames(String message) {
+        return Flux.<StreamFrame>create(sink -> {
+            // 超出并发上限时直接拒绝，避免请求无限堆积
+            if (!streamPermits.tryAcquire()) {
+                log.warn("流式会话数已达上限，拒绝请求");
+                sink.error(new RejectedExecutionException("当前流式会话数已达上限，请稍后重试"));
+                return;
+            }
+
+            StreamDeliveryBuffer buffer = new StreamDeliveryBuffer(sink, properties.getDelivery(), streamMetrics);
+            StreamCancellation cancellation = new StreamCancellation();
+            // 客户端主动断开时中断流程
+            sink.onCancel(cancellation::cancel);
+            // 连接结束或客户端断开连接时释放缓冲
+            sink.onDispose(() -> {
+                // 因消费过慢被终止的连接不会再有人读取，同样中断流程
+                if (buffer.isOverflowed()) {
+                    cancellation.cancel();
+                }
+                buffer.dispose();
+                log.info("客户端断开连接");
+            });
+
+            // 创建 AI 上下文
+            ChatContext chatContext = new ChatContext(createStreamHandler(buffer, cancellation));
+            chatContext.setData("userQuery", message);
+
+            try {
+                // 流程在专用执行器上同步执行，流程线程退出时才归还许可
+                chatStreamExecutor.execute(() -> {
+                    try {
+                        runChain(chatContext, buffer, cancellation);
+                    } finally {
+                        streamPermits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                streamPermits.release();
+                log.warn("流式执行器已满，拒绝请求");
+                buffer.error(e);
+            }
+            // 仅在下游有请求量时下发，缓冲由 StreamDeliveryBuffer 自行限界
+        }, FluxSink.OverflowStrategy.ERROR);
+    }
+
+    private void runChain(ChatContext chatContext, StreamDeliveryBuffer buffer, StreamCancellation cancellation) {
+        if (!cancellation.enter()) {
+            log.info("客户端在流程开始前已断开连接");
+            return;
+        }
+        try {
+            LiteflowResponse response = flowExecutor.execute2Resp("chain1", null, chatContext);
+            if (cancellation.isCancelled()) {
+                log.info("流程已随客户端断开而终止");
+            } else if (!response.isSuccess()) {
+                log.error("链路执行失败: {}", response.getMessage());
+                buffer.error(new RuntimeException(response.getMessage()));
+            }
+        } catch (Throwable throwable) {
+            if (cancellation.isCancelled()) {
+                log.info("流程已随客户端断开而终止");
+            } else {
+                log.error("链路执行异常", throwable);
+                buffer.error(throwable);
+            }
+        } finally {
+            cancellation.exit();
+        }
+    }
+
+    private StreamHandler createStreamHandler(StreamDeliveryBuffer buffer, StreamCancellation cancellation) {
+        return StreamHandler.builder()
+                .onStart(context -> {
+                    log.info("流式输出开始");
+                    buffer.start();
+                })
+                .onClose(context -> {
+                    log.info("流式输出结束");
+                    buffer.complete();
+                })
+                .onThinking((content, context) -> {
+                    cancellation.throwIfCancelled();
+                    buffer.offer(StreamEventType.THINKING, content);
+                    // 返回内容，以便在上下文中记录 (你可以在此进行其他处理)
+                    return content;
+                })
+                .onText((content, context) -> {
+                    cancellation.throwIfCancelled();
+                    buffer.offer(StreamEventType.TEXT, content);
+                    // 返回内容，以便在上下文中记录 (你可以在此进行其他处理)
+                    return content;
+                })
+                .onCompletion(((chatResponse, context) -> {
+                    // 在流式输出完成后执行的操作
+                    log.info("流式输出完成");
+                    log.info("完整响应内容:\n {}", chatResponse.getOutput().getContent());
+
+                    return chatResponse;
+                }))
+                .onError((context, throwable) -> {
+                    if (cancellation.isCancelled()) {
+                        return;
+                    }
+                    log.error("流式输出异常", throwable);
+                    buffer.error(throwable);
+                })
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.lunay.liteflow.ai.chatstream.stream;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * SSE 帧编码器
+ * <p>
+ * 直接把 {@link StreamFrame} 写成带事件类型的 SSE 帧，写入响应的 DataBufferFactory 分配的（池化）缓冲区，
+ * 帧内容按行切分后直接编码为 UTF-8 字节写入，不产生中间字符串，缓冲区按编码后的字节数上界一次分配。
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component
+public class SseFrameEncoder {
+
+    private static final byte[][] EVENT_HEADERS = new byte[StreamEventType.values().length][];
+
+    private static final byte[] DATA_LINE = "\ndata:".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] FRAME_END = "\n\n".getBytes(StandardCharsets.UTF_8);
+
+    static {
+        for (StreamEventType type : StreamEventType.values()) {
+            EVENT_HEADERS[type.ordinal()] = ("event:" + type.getEventName() + "\ndata:").getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    public DataBuffer encode(StreamFrame frame, DataBufferFactory bufferFactory) {
+        byte[] header = EVENT_HEADERS[frame.getType().ordinal()];
+        DataBuffer buffer = bufferFactory.allocateBuffer(capacity(header, frame));
+        buffer.write(header);
+        writeData(buffer, frame.getContent());
+        buffer.write(FRAME_END);
+        return buffer;
+    }
+
+    /**
+     * 编码后字节数的上界：内容中的每个换行字符都按替换为 {@code \ndata:} 计算（{@code \r\n} 会被高估），
+     * 保证缓冲区一次分配足够，写入时不会扩容
+     */
+    private static int capacity(byte[] header, StreamFrame frame) {
+        StringBuilder content = frame.getContent();
+        int lineBreaks = 0;
+        for (int i = 0, length = content.length(); i < length; i++) {
+            char c = content.charAt(i);
+            if (c == '\n' || c == '\r') {
+                lineBreaks++;
+            }
+        }
+        return header.length + frame.getBytes() + lineBreaks * (DATA_LINE.length - 1) + FRAME_END.length;
+    }
+
+    /**
+     * SSE 的 data 字段不能包含换行，多行内容拆成多个 data 行
+     */
+    private void writeData(DataBuffer buffer, StringBuilder content) {
+        int length = content.length();
+        int lineStart = 0;
+        for (int i = 0; i < length; i++) {
+            char c = content.charAt(i);
+            if (c != '\n' && c != '\r') {
+                continue;
+            }
+            writeSegment(buffer, content, lineStart, i);
+            buffer.write(DATA_LINE);
+            if (c == '\r' && i + 1 < length && content.charAt(i + 1) == '\n') {
+                i++;
+            }
+            lineStart = i + 1;
+        }
+        writeSegment(buffer, content, lineStart, length);
+    }
+
+    /**
+     * 逐字符编码为 UTF-8 写入。{@link DataBuffer#write(CharSequence, java.nio.charset.Charset)} 会按平均或最大字节数预留空间，
+     * 在按实际字节数分配的缓冲区上会触发扩容；孤立的代理字符写为 {@code ?}
+     */
+    private void writeSegment(DataBuffer buffer, StringBuilder content, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = content.charAt(i);
+            if (c < 0x80) {
+                buffer.write((byte) c);
+            } else if (c < 0x800) {
+                buffer.write((byte) (0xC0 | c >> 6));
+                buffer.write((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(content.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, content.charAt(++i));
+                buffer.write((byte) (0xF0 | codePoint >> 18));
+                buffer.write((byte) (0x80 | codePoint >> 12 & 0x3F));
+                buffer.write((byte) (0x80 | codePoint >> 6 & 0x3F));
+                buffer.write((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer.write((byte) '?');
+            } else {
+                buffer.write((byte) (0xE0 | c >> 12));
+                buffer.write((byte) (0x80 | c >> 6 & 0x3F));
+                buffer.write((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+}
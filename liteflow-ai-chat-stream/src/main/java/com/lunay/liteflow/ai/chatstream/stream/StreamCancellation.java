@@ -0,0 +1,77 @@
+package com.lunay.liteflow.ai.chatstream.stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * 流式会话的取消控制
+ * <p>
+ * 客户端断开后中断执行流程的线程，并让后续的 StreamHandler 回调抛出 {@link CancellationException}，
+ * 使上游 SSE 读取循环尽快退出并关闭与模型提供商的连接。
+ * 取消只负责中断，执行槽位由流程任务退出时自行归还。
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+public class StreamCancellation {
+
+    private volatile boolean cancelled;
+
+    /**
+     * 正在执行流程的线程，流程开始前与结束后为空
+     */
+    private Thread worker;
+
+    /**
+     * 流程线程开始执行前调用
+     *
+     * @return 已被取消时返回 false，流程不应再执行
+     */
+    public synchronized boolean enter() {
+        if (cancelled) {
+            return false;
+        }
+        worker = Thread.currentThread();
+        return true;
+    }
+
+    /**
+     * 流程线程结束时调用，之后的取消不会再中断该线程，并清除取消留下的中断标记，避免影响线程池中的下一个任务
+     */
+    public void exit() {
+        synchronized (this) {
+            worker = null;
+        }
+        Thread.interrupted();
+    }
+
+    public void cancel() {
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            // 在锁内中断，保证流程线程退出后不会再被中断
+            if (worker != null) {
+                worker.interrupt();
+            }
+        }
+        log.info("客户端断开连接，终止流程执行");
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 在 StreamHandler 回调中调用，已取消时抛出异常以中止上游读取
+     */
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException("客户端已断开连接，终止流式输出");
+        }
+    }
+}
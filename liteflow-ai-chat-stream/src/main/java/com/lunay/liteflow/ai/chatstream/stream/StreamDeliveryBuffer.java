@@ -0,0 +1,241 @@
+package com.lunay.liteflow.ai.chatstream.stream;
+
+import com.lunay.liteflow.ai.chatstream.config.ChatStreamProperties;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个连接的有界下发缓冲
+ * <p>
+ * 只在下游有请求量时才向 FluxSink 推送，同类型的相邻 token 在合并窗口内合并成一帧；
+ * 客户端消费滞后时按策略丢弃或合并思考帧，缓冲超出上限时以错误结束该连接。
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+public class StreamDeliveryBuffer {
+
+    private final FluxSink<StreamFrame> sink;
+
+    private final ChatStreamProperties.Delivery delivery;
+
+    private final StreamMetrics metrics;
+
+    private final Deque<StreamFrame> pending = new ArrayDeque<>();
+
+    private final Disposable ticker;
+
+    /**
+     * 正在合并中的帧，尚未进入下发队列
+     */
+    private StreamFrame open;
+
+    private long bufferedBytes;
+
+    private long peakBytes;
+
+    private boolean draining;
+
+    private boolean missed;
+
+    /**
+     * 已收到结束或异常，不再接收新内容
+     */
+    private boolean terminating;
+
+    private Throwable failure;
+
+    private boolean closed;
+
+    private boolean released;
+
+    /**
+     * 是否因超出缓冲上限而被终止
+     */
+    private volatile boolean overflowed;
+
+    public StreamDeliveryBuffer(FluxSink<StreamFrame> sink, ChatStreamProperties.Delivery delivery, StreamMetrics metrics) {
+        this.sink = sink;
+        this.delivery = delivery;
+        this.metrics = metrics;
+        metrics.streamOpened();
+        long interval = delivery.getFlushInterval().toMillis();
+        this.ticker = Schedulers.parallel().schedulePeriodically(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        sink.onRequest(n -> drain0());
+    }
+
+    public synchronized void start() {
+        if (terminating) {
+            return;
+        }
+        seal();
+        pending.add(new StreamFrame(StreamEventType.START));
+        drain();
+    }
+
+    public synchronized void offer(StreamEventType type, String content) {
+        if (terminating || content == null || content.isEmpty()) {
+            return;
+        }
+        if (type == StreamEventType.THINKING && bufferedBytes >= delivery.getThinkingLagBytes().toBytes()) {
+            // 客户端消费滞后，思考内容不再产生新帧
+            if (delivery.getThinkingOverflow() == ChatStreamProperties.ThinkingOverflow.DROP) {
+                metrics.thinkingDropped();
+                return;
+            }
+            StreamFrame target = lastThinkingFrame();
+            if (target != null) {
+                addBytes(target.append(content));
+                metrics.thinkingMerged();
+                checkOverflow();
+                return;
+            }
+        }
+        if (open != null && (open.getType() != type || open.length() >= delivery.getMaxFrameChars())) {
+            seal();
+        }
+        if (open == null) {
+            open = new StreamFrame(type);
+        }
+        addBytes(open.append(content));
+        if (checkOverflow()) {
+            return;
+        }
+        if (open.length() >= delivery.getMaxFrameChars()) {
+            seal();
+            drain();
+        }
+    }
+
+    public synchronized void complete() {
+        if (terminating) {
+            return;
+        }
+        seal();
+        pending.add(new StreamFrame(StreamEventType.DONE));
+        terminating = true;
+        drain();
+    }
+
+    public synchronized void error(Throwable throwable) {
+        if (terminating) {
+            return;
+        }
+        seal();
+        pending.add(new StreamFrame(StreamEventType.ERROR, throwable.getMessage()));
+        failure = throwable;
+        terminating = true;
+        drain();
+    }
+
+    /**
+     * 连接结束（完成、异常或客户端断开）后释放缓冲并记录指标
+     */
+    public synchronized void dispose() {
+        if (released) {
+            return;
+        }
+        released = true;
+        closed = true;
+        terminating = true;
+        ticker.dispose();
+        metrics.streamClosed(bufferedBytes, peakBytes);
+        pending.clear();
+        open = null;
+        bufferedBytes = 0;
+    }
+
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+
+    private synchronized void flush() {
+        if (open != null) {
+            seal();
+        }
+        drain();
+    }
+
+    private synchronized void drain0() {
+        drain();
+    }
+
+    private void drain() {
+        if (draining) {
+            missed = true;
+            return;
+        }
+        draining = true;
+        try {
+            do {
+                missed = false;
+                while (!closed && !pending.isEmpty() && sink.requestedFromDownstream() > 0) {
+                    StreamFrame frame = pending.poll();
+                    addBytes(-frame.getBytes());
+                    sink.next(frame);
+                }
+                if (!closed && terminating && pending.isEmpty()) {
+                    closed = true;
+                    ticker.dispose();
+                    if (failure != null) {
+                        sink.error(failure);
+                    } else {
+                        sink.complete();
+                    }
+                }
+            } while (missed);
+        } finally {
+            draining = false;
+        }
+    }
+
+    private void seal() {
+        if (open != null) {
+            pending.add(open);
+            open = null;
+        }
+    }
+
+    private StreamFrame lastThinkingFrame() {
+        if (open != null) {
+            return open.getType() == StreamEventType.THINKING ? open : null;
+        }
+        StreamFrame last = pending.peekLast();
+        return last != null && last.getType() == StreamEventType.THINKING ? last : null;
+    }
+
+    private boolean checkOverflow() {
+        long maxBytes = delivery.getMaxBufferedBytes().toBytes();
+        if (bufferedBytes <= maxBytes) {
+            return false;
+        }
+        log.warn("客户端消费过慢，缓冲字节数 {} 超出上限 {}，终止连接", bufferedBytes, maxBytes);
+        metrics.overflow();
+        overflowed = true;
+        pending.clear();
+        open = null;
+        addBytes(-bufferedBytes);
+        terminating = true;
+        closed = true;
+        ticker.dispose();
+        sink.error(new IllegalStateException("客户端消费过慢，缓冲超出上限"));
+        return true;
+    }
+
+    private void addBytes(long delta) {
+        if (delta == 0) {
+            return;
+        }
+        bufferedBytes += delta;
+        peakBytes = Math.max(peakBytes, bufferedBytes);
+        metrics.buffered(delta, bufferedBytes);
+    }
+}
@@ -0,0 +1,32 @@
+package com.lunay.liteflow.ai.chatstream.stream;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 流式事件类型
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Getter
+@RequiredArgsConstructor
+public enum StreamEventType {
+
+    START("start", true),
+    THINKING("thinking", false),
+    TEXT("text", false),
+    DONE("done", true),
+    ERROR("error", true);
+
+    /**
+     * SSE 事件名
+     */
+    private final String eventName;
+
+    /**
+     * 是否为控制帧，控制帧不参与合并
+     */
+    private final boolean control;
+}
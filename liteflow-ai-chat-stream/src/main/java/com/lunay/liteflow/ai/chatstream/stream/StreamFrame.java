@@ -0,0 +1,64 @@
+package com.lunay.liteflow.ai.chatstream.stream;
+
+import lombok.Getter;
+
+/**
+ * 流式输出帧，同类型的相邻 token 会被合并到同一帧中
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Getter
+public class StreamFrame {
+
+    private final StreamEventType type;
+
+    private final StringBuilder content = new StringBuilder();
+
+    /**
+     * 帧内容的 UTF-8 字节数
+     */
+    private int bytes;
+
+    public StreamFrame(StreamEventType type) {
+        this.type = type;
+    }
+
+    public StreamFrame(StreamEventType type, String content) {
+        this(type);
+        append(content);
+    }
+
+    public int append(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int size = utf8Length(text);
+        content.append(text);
+        bytes += size;
+        return size;
+    }
+
+    public int length() {
+        return content.length();
+    }
+
+    static int utf8Length(CharSequence text) {
+        int size = 0;
+        for (int i = 0, len = text.length(); i < len; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                size += 1;
+            } else if (c < 0x800) {
+                size += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(text.charAt(i + 1))) {
+                size += 4;
+                i++;
+            } else {
+                size += 3;
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,91 @@
+package com.lunay.liteflow.ai.chatstream.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 流式下发指标
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component
+public class StreamMetrics {
+
+    private final AtomicLong bufferedBytes = new AtomicLong();
+
+    private final AtomicLong activeStreams = new AtomicLong();
+
+    private final DistributionSummary streamBufferedBytes;
+
+    private final DistributionSummary streamPeakBytes;
+
+    private final Counter droppedThinkingFrames;
+
+    private final Counter mergedThinkingFrames;
+
+    private final Counter overflowStreams;
+
+    public StreamMetrics(MeterRegistry registry) {
+        Gauge.builder("chatstream.buffered.bytes", bufferedBytes, AtomicLong::get)
+                .description("所有连接当前缓冲的字节数")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("chatstream.active.streams", activeStreams, AtomicLong::get)
+                .description("进行中的流式连接数")
+                .register(registry);
+        this.streamBufferedBytes = DistributionSummary.builder("chatstream.stream.buffered.bytes")
+                .description("单个连接每次写入后的缓冲字节数")
+                .baseUnit("bytes")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.streamPeakBytes = DistributionSummary.builder("chatstream.stream.buffered.bytes.peak")
+                .description("单个连接生命周期内的缓冲字节数峰值")
+                .baseUnit("bytes")
+                .register(registry);
+        this.droppedThinkingFrames = Counter.builder("chatstream.thinking.dropped")
+                .description("客户端滞后时被丢弃的思考内容次数")
+                .register(registry);
+        this.mergedThinkingFrames = Counter.builder("chatstream.thinking.merged")
+                .description("客户端滞后时被合并的思考内容次数")
+                .register(registry);
+        this.overflowStreams = Counter.builder("chatstream.stream.overflow")
+                .description("因超出缓冲上限而被终止的连接数")
+                .register(registry);
+    }
+
+    public void streamOpened() {
+        activeStreams.incrementAndGet();
+    }
+
+    public void streamClosed(long remainingBytes, long peakBytes) {
+        activeStreams.decrementAndGet();
+        bufferedBytes.addAndGet(-remainingBytes);
+        streamPeakBytes.record(peakBytes);
+    }
+
+    public void buffered(long delta, long streamBytes) {
+        bufferedBytes.addAndGet(delta);
+        if (delta > 0) {
+            streamBufferedBytes.record(streamBytes);
+        }
+    }
+
+    public void thinkingDropped() {
+        droppedThinkingFrames.increment();
+    }
+
+    public void thinkingMerged() {
+        mergedThinkingFrames.increment();
+    }
+
+    public void overflow() {
+        overflowStreams.increment();
+    }
+}
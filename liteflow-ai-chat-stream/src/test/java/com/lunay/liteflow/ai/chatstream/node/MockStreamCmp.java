@@ -0,0 +1,45 @@
+package com.lunay.liteflow.ai.chatstream.node;
+
+import com.yomahub.liteflow.ai.annotation.AIComponent;
+import com.yomahub.liteflow.ai.annotation.model.io.AIInput;
+import com.yomahub.liteflow.ai.annotation.model.io.AIOutput;
+import com.yomahub.liteflow.ai.annotation.model.io.InputField;
+import com.yomahub.liteflow.ai.annotation.model.node.AIChat;
+import com.yomahub.liteflow.ai.domain.enums.ProviderEnum;
+import com.yomahub.liteflow.ai.engine.interact.transport.TransportType;
+import com.yomahub.liteflow.ai.engine.model.output.ResponseType;
+
+/**
+ * 指向本地模拟提供商的流式输出节点，与 {@link ChatStreamCmp} 使用同一套 SSE 传输，只替换 apiUrl
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@AIComponent(
+        nodeId = "mockStreamCmp",
+        provider = ProviderEnum.DASHSCOPE,
+        apiUrl = "http://127.0.0.1:" + MockStreamCmp.PORT + "/compatible-mode/v1",
+        model = "qwen-flash"
+)
+@AIChat(
+        userPrompt = "{{userQuery}}",
+        streaming = true,
+        transportType = TransportType.SSE
+)
+@AIInput(
+        mapping = {
+                @InputField(name = "userQuery", expression = "dataMap.userQuery", defaultValue = "你好"),
+        }
+)
+@AIOutput(
+        responseType = ResponseType.TEXT,
+        methodExpress = "setData(\"assistantMessage\", $output)"
+)
+public interface MockStreamCmp {
+
+    /**
+     * 模拟提供商监听的本地端口
+     */
+    int PORT = 18_765;
+}
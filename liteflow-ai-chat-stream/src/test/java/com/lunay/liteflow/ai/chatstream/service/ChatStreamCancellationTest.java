@@ -0,0 +1,67 @@
+package com.lunay.liteflow.ai.chatstream.service;
+
+import com.lunay.liteflow.ai.chatstream.node.MockStreamCmp;
+import com.lunay.liteflow.ai.chatstream.stream.StreamEventType;
+import com.lunay.liteflow.ai.chatstream.stream.StreamFrame;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 客户端断开时上游连接的关闭测试
+ * <p>
+ * 流程执行真实的 {@code @AIComponent} 节点 {@link MockStreamCmp}，由框架的 SSE 传输连接本地的模拟提供商，
+ * 断开发生在 token 持续到达的过程中
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "liteflow.rule-source=flow/mock-flow.xml",
+                "chatstream.stream.executor-type=bounded",
+                "chatstream.stream.max-concurrent-streams=1",
+                "chatstream.stream.delivery.flush-interval=10ms"
+        })
+class ChatStreamCancellationTest {
+
+    @Autowired
+    private ChatStreamService chatStreamService;
+
+    /**
+     * 客户端断开后，SSE 传输在限定时间内关闭与模拟提供商之间的连接
+     */
+    @Test
+    void upstreamConnectionClosesAfterClientDisconnects() throws Exception {
+        try (MockSseProvider provider = new MockSseProvider(MockStreamCmp.PORT)) {
+            List<StreamFrame> frames = new CopyOnWriteArrayList<>();
+            Disposable subscription = chatStreamService.streamFrames("你好").subscribe(frames::add, error -> { });
+
+            assertTrue(provider.awaitConnected(Duration.ofSeconds(10)), "流程没有连接到模拟提供商");
+            awaitText(frames, Duration.ofSeconds(5));
+            subscription.dispose();
+
+            assertTrue(provider.awaitClosed(Duration.ofSeconds(2)), "客户端断开后上游连接没有关闭");
+        }
+    }
+
+    /**
+     * 等待模拟提供商推送的 token 经过框架的回调到达下游
+     */
+    private static void awaitText(List<StreamFrame> frames, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (frames.stream().noneMatch(frame -> frame.getType() == StreamEventType.TEXT)) {
+            assertTrue(System.nanoTime() < deadline, "没有收到模拟提供商推送的 token");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.lunay.liteflow.ai.chatstream.service;
+
+import com.lunay.liteflow.ai.chatstream.config.ChatStreamConfiguration;
+import com.lunay.liteflow.ai.chatstream.config.ChatStreamProperties;
+import com.lunay.liteflow.ai.chatstream.stream.StreamMetrics;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.core.FlowExecutor;
+import com.yomahub.liteflow.flow.LiteflowResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import reactor.core.Disposable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 流式对话服务测试，流程由模拟的 FlowExecutor 执行
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class ChatStreamServiceTest {
+
+    private final FlowExecutor flowExecutor = mock(FlowExecutor.class);
+
+    private final List<Disposable> subscriptions = new ArrayList<>();
+
+    private ExecutorService executor;
+
+    @AfterEach
+    void tearDown() {
+        subscriptions.forEach(Disposable::dispose);
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 并发流式会话从 50 增长到 400 时，平台线程数保持不变，公共线程池中也没有线程被占用
+     */
+    @Test
+    void platformThreadCountStaysFlatAsStreamsGrow() throws Exception {
+        CountDownLatch finish = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        LiteflowResponse success = success();
+        onChain(context -> {
+            running.incrementAndGet();
+            finish.await();
+            return success;
+        });
+        ChatStreamService service = service(new ChatStreamProperties());
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        int[] levels = {50, 200, 400};
+        int[] threadCounts = new int[levels.length];
+        for (int i = 0; i < levels.length; i++) {
+            int target = levels[i];
+            while (subscriptions.size() < target) {
+                subscriptions.add(service.streamFrames("你好").subscribe());
+            }
+            awaitUntil(() -> running.get() == target, Duration.ofSeconds(10));
+            threadCounts[i] = threads.getThreadCount();
+            assertEquals(0, ForkJoinPool.commonPool().getActiveThreadCount(), "公共线程池中不应有线程等待流程结束");
+        }
+        finish.countDown();
+
+        // 虚拟线程的载体线程与 Reactor 调度线程数都以 CPU 核数为上限，与会话数无关
+        int tolerance = 2 * Runtime.getRuntime().availableProcessors() + 4;
+        assertTrue(threadCounts[2] - threadCounts[0] <= tolerance,
+                "平台线程数随会话数增长: " + threadCounts[0] + " -> " + threadCounts[2]);
+    }
+
+    /**
+     * 取消只中断流程，不归还许可：流程线程退出前新请求被许可拒绝而不是被执行器拒绝，退出后新请求可以执行
+     */
+    @Test
+    void permitIsReturnedOnlyAfterChainExits() throws Exception {
+        CountDownLatch exit = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        LiteflowResponse success = success();
+        onChain(context -> {
+            if (started.incrementAndGet() == 1) {
+                // 忽略中断，模拟迟迟不退出的流程线程
+                while (true) {
+                    try {
+                        exit.await();
+                        break;
+                    } catch (InterruptedException ignored) {
+                        // 继续等待
+                    }
+                }
+            }
+            return success;
+        });
+        ChatStreamService service = service(bounded(1));
+
+        Disposable first = service.streamFrames("你好").subscribe();
+        awaitUntil(() -> started.get() == 1, Duration.ofSeconds(5));
+        first.dispose();
+
+        AtomicReference<Throwable> rejected = new AtomicReference<>();
+        subscriptions.add(service.streamFrames("你好").subscribe(frame -> { }, rejected::set));
+        assertInstanceOf(RejectedExecutionException.class, rejected.get());
+        assertTrue(rejected.get().getMessage().contains("流式会话数已达上限"), rejected.get().getMessage());
+        assertEquals(1, started.get());
+
+        exit.countDown();
+        awaitUntil(() -> {
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            subscriptions.add(service.streamFrames("你好").subscribe(frame -> { }, error::set));
+            // 许可归还之前只会被许可拒绝，不会出现拿到许可却被执行器拒绝的情况
+            assertTrue(error.get() == null || error.get().getMessage().contains("流式会话数已达上限"), String.valueOf(error.get()));
+            return started.get() >= 2;
+        }, Duration.ofSeconds(5));
+    }
+
+    private static ChatStreamProperties bounded(int maxConcurrentStreams) {
+        ChatStreamProperties properties = new ChatStreamProperties();
+        properties.setExecutorType(ChatStreamProperties.ExecutorType.BOUNDED);
+        properties.setMaxConcurrentStreams(maxConcurrentStreams);
+        return properties;
+    }
+
+    private ChatStreamService service(ChatStreamProperties properties) {
+        executor = new ChatStreamConfiguration().chatStreamExecutor(properties);
+        return new ChatStreamService(flowExecutor, executor, properties, new StreamMetrics(new SimpleMeterRegistry()));
+    }
+
+    private void onChain(Chain chain) {
+        when(flowExecutor.execute2Resp(eq("chain1"), isNull(), any(ChatContext.class)))
+                .thenAnswer((Answer<LiteflowResponse>) invocation -> chain.run(invocation.getArgument(2)));
+    }
+
+    private static LiteflowResponse success() {
+        LiteflowResponse response = mock(LiteflowResponse.class);
+        when(response.isSuccess()).thenReturn(true);
+        return response;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "等待超时");
+            Thread.sleep(10);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Chain {
+
+        LiteflowResponse run(ChatContext context) throws Exception;
+    }
+}
@@ -0,0 +1,84 @@
+package com.lunay.liteflow.ai.chatstream.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 模拟的 OpenAI 兼容 SSE 模型提供商：接受一个连接后持续推送 token，直到对端关闭连接
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+final class MockSseProvider implements AutoCloseable {
+
+    private static final byte[] HEADERS = ("HTTP/1.1 200 OK\r\nContent-Type: text/event-stream\r\n"
+            + "Cache-Control: no-cache\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] EVENT = "data: {\"choices\":[{\"delta\":{\"content\":\"token\"}}]}\n\n"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final ServerSocket server;
+
+    private final CountDownLatch connected = new CountDownLatch(1);
+
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    /**
+     * @param port 监听的本地端口，与节点注解中的 apiUrl 一致
+     */
+    MockSseProvider(int port) throws IOException {
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        Thread.ofPlatform().daemon().name("mock-sse-provider").start(this::serve);
+    }
+
+    boolean awaitConnected(Duration timeout) throws InterruptedException {
+        return connected.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 等待对端关闭连接，以推送失败为准
+     */
+    boolean awaitClosed(Duration timeout) throws InterruptedException {
+        return closed.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void serve() {
+        try (Socket socket = server.accept()) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null && !line.isEmpty()) {
+                // 忽略请求头
+            }
+            OutputStream out = socket.getOutputStream();
+            out.write(HEADERS);
+            out.flush();
+            connected.countDown();
+            while (true) {
+                out.write(EVENT);
+                out.flush();
+                Thread.sleep(10);
+            }
+        } catch (IOException e) {
+            if (connected.getCount() == 0) {
+                closed.countDown();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+}
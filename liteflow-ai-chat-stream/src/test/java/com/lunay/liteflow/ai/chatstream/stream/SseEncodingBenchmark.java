@@ -0,0 +1,132 @@
+package com.lunay.liteflow.ai.chatstream.stream;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每 10k 个 token 的 SSE 编码耗时与分配量对比，一次调用编码 10k 个 token，
+ * 分配量看 GC 分析器输出的 {@code gc.alloc.rate.norm}（B/op）：
+ * <ul>
+ *     <li>legacyController：原控制器的做法，思考内容拼接 {@code "[Thinking] "} 前缀后作为 {@code Flux<String>} 的元素，
+ *     按 Spring {@code ServerSentEventHttpMessageWriter} 对字符串元素的处理方式逐个编码为字节数组再包装为缓冲区</li>
+ *     <li>frameEncoderPerToken：每个 token 一帧，由 {@link SseFrameEncoder} 写入池化缓冲区，只比较编码本身</li>
+ *     <li>frameEncoderMerged：按 {@code max-frame-chars} 合并同类型的相邻 token 后再编码，即服务实际的下发方式</li>
+ * </ul>
+ * 运行：{@code mvn -pl liteflow-ai-chat-stream test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.lunay.liteflow.ai.chatstream.stream.SseEncodingBenchmark}，或在 IDE 中直接运行 main 方法
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SseEncodingBenchmark {
+
+    private static final int TOKENS = 10_000;
+
+    private static final int MAX_FRAME_CHARS = 256;
+
+    private static final String[] WORDS = {"LiteFlow", " 是", "一个", "轻量", "、", "快速", "的", "组件式", "规则引擎", " framework", "，\n", "。"};
+
+    private final SseFrameEncoder encoder = new SseFrameEncoder();
+
+    private final DataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    private String[] tokens;
+
+    private StreamEventType[] types;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        tokens = new String[TOKENS];
+        types = new StreamEventType[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = WORDS[random.nextInt(WORDS.length)];
+            // 前 30% 为思考内容
+            types[i] = i < TOKENS * 3 / 10 ? StreamEventType.THINKING : StreamEventType.TEXT;
+        }
+    }
+
+    @Benchmark
+    public void legacyController(Blackhole blackhole) {
+        for (int i = 0; i < TOKENS; i++) {
+            String element = types[i] == StreamEventType.THINKING ? "[Thinking] " + tokens[i] : tokens[i];
+            ServerSentEvent<String> event = ServerSentEvent.builder(element).build();
+            StringBuilder sb = new StringBuilder();
+            sb.append("data:");
+            sb.append(StringUtils.replace(event.data(), "\n", "\ndata:"));
+            sb.append("\n\n");
+            DataBuffer buffer = bufferFactory.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            blackhole.consume(buffer.readableByteCount());
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    @Benchmark
+    public void frameEncoderPerToken(Blackhole blackhole) {
+        for (int i = 0; i < TOKENS; i++) {
+            write(new StreamFrame(types[i], tokens[i]), blackhole);
+        }
+    }
+
+    @Benchmark
+    public void frameEncoderMerged(Blackhole blackhole) {
+        StreamFrame open = null;
+        for (int i = 0; i < TOKENS; i++) {
+            if (open != null && (open.getType() != types[i] || open.length() >= MAX_FRAME_CHARS)) {
+                write(open, blackhole);
+                open = null;
+            }
+            if (open == null) {
+                open = new StreamFrame(types[i]);
+            }
+            open.append(tokens[i]);
+        }
+        if (open != null) {
+            write(open, blackhole);
+        }
+    }
+
+    private void write(StreamFrame frame, Blackhole blackhole) {
+        DataBuffer buffer = encoder.encode(frame, bufferFactory);
+        blackhole.consume(buffer.readableByteCount());
+        DataBufferUtils.release(buffer);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SseEncodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
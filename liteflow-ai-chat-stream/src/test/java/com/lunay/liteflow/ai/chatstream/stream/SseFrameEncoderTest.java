@@ -0,0 +1,96 @@
+package com.lunay.liteflow.ai.chatstream.stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * SSE 帧编码测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class SseFrameEncoderTest {
+
+    private final SseFrameEncoder encoder = new SseFrameEncoder();
+
+    private final RecordingBufferFactory bufferFactory = new RecordingBufferFactory();
+
+    @Test
+    void encodesTypedEvents() {
+        assertEquals("event:start\ndata:\n\n", encode(new StreamFrame(StreamEventType.START)));
+        assertEquals("event:thinking\ndata:先想一想\n\n", encode(new StreamFrame(StreamEventType.THINKING, "先想一想")));
+        assertEquals("event:text\ndata:LiteFlow 是一个规则引擎\n\n", encode(new StreamFrame(StreamEventType.TEXT, "LiteFlow 是一个规则引擎")));
+        assertEquals("event:done\ndata:\n\n", encode(new StreamFrame(StreamEventType.DONE)));
+        assertEquals("event:error\ndata:超时\n\n", encode(new StreamFrame(StreamEventType.ERROR, "超时")));
+    }
+
+    @Test
+    void splitsLinesIntoDataFields() {
+        assertEquals("event:text\ndata:第一行\ndata:第二行\ndata:第三行\ndata:\n\n",
+                encode(new StreamFrame(StreamEventType.TEXT, "第一行\n第二行\r\n第三行\r")));
+    }
+
+    @Test
+    void mergedTokensAreWrittenAsOneFrame() {
+        StreamFrame frame = new StreamFrame(StreamEventType.TEXT);
+        frame.append("Hello");
+        frame.append("，");
+        frame.append("世界 😀");
+        assertEquals("event:text\ndata:Hello，世界 😀\n\n", encode(frame));
+    }
+
+    /**
+     * 换行会被替换为更长的 data 行前缀，分配的容量仍然足够，写入时不扩容
+     */
+    @Test
+    void allocatesEnoughForLineBreaks() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            content.append("行").append(i).append('\n');
+        }
+        StreamFrame frame = new StreamFrame(StreamEventType.TEXT, content.toString());
+        DataBuffer buffer = encoder.encode(frame, bufferFactory);
+        int written = buffer.readableByteCount();
+        assertEquals(bufferFactory.requested, buffer.capacity(), "写入时发生了扩容");
+        assertEquals(written, toString(buffer).getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    /**
+     * 纯 ASCII 的长帧同样不扩容
+     */
+    @Test
+    void asciiFrameDoesNotGrow() {
+        String content = "a".repeat(256);
+        assertEquals("event:text\ndata:" + content + "\n\n", encode(new StreamFrame(StreamEventType.TEXT, content)));
+    }
+
+    private String encode(StreamFrame frame) {
+        DataBuffer buffer = encoder.encode(frame, bufferFactory);
+        assertEquals(bufferFactory.requested, buffer.capacity(), "写入时发生了扩容");
+        return toString(buffer);
+    }
+
+    private static String toString(DataBuffer buffer) {
+        return buffer.toString(buffer.readPosition(), buffer.readableByteCount(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 记录申请的容量
+     */
+    private static final class RecordingBufferFactory extends DefaultDataBufferFactory {
+
+        private int requested;
+
+        @Override
+        public DataBuffer allocateBuffer(int initialCapacity) {
+            requested = initialCapacity;
+            return super.allocateBuffer(initialCapacity);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.lunay.liteflow.ai.chatstream.stream;
+
+import com.lunay.liteflow.ai.chatstream.config.ChatStreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 单个连接的有界下发缓冲测试：合并、思考帧降级、缓冲上限与指标
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class StreamDeliveryBufferTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final StreamMetrics metrics = new StreamMetrics(registry);
+
+    private final ChatStreamProperties.Delivery delivery = new ChatStreamProperties.Delivery();
+
+    private final List<StreamDeliveryBuffer> buffers = new ArrayList<>();
+
+    StreamDeliveryBufferTest() {
+        // 合并窗口足够长，帧只在类型变化、达到最大字符数或结束时封帧，结果与调度无关
+        delivery.setFlushInterval(Duration.ofMinutes(1));
+        delivery.setMaxFrameChars(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        buffers.forEach(StreamDeliveryBuffer::dispose);
+    }
+
+    /**
+     * 同类型的相邻 token 合并为一帧，类型变化或达到最大字符数时封帧
+     */
+    @Test
+    void coalescesAdjacentTokensOfSameType() {
+        Recorder recorder = new Recorder(Long.MAX_VALUE);
+        StreamDeliveryBuffer buffer = open(recorder);
+
+        buffer.start();
+        buffer.offer(StreamEventType.THINKING, "想");
+        buffer.offer(StreamEventType.THINKING, "一想");
+        buffer.offer(StreamEventType.TEXT, "Lite");
+        buffer.offer(StreamEventType.TEXT, "Flow");
+        buffer.offer(StreamEventType.TEXT, " 是");
+        buffer.offer(StreamEventType.TEXT, "");
+        buffer.complete();
+
+        assertEquals(List.of("START:", "THINKING:想一想", "TEXT:LiteFlow", "TEXT: 是", "DONE:"), recorder.frames());
+        assertTrue(recorder.completed);
+    }
+
+    /**
+     * 下游没有请求量时不下发，请求到达后按请求量逐帧下发
+     */
+    @Test
+    void deliversOnlyWhatDownstreamRequested() {
+        Recorder recorder = new Recorder(0);
+        StreamDeliveryBuffer buffer = open(recorder);
+
+        buffer.offer(StreamEventType.TEXT, "12345678");
+        buffer.offer(StreamEventType.TEXT, "abcdefgh");
+        buffer.complete();
+        assertEquals(List.of(), recorder.frames());
+
+        recorder.request(1);
+        assertEquals(List.of("TEXT:12345678"), recorder.frames());
+        recorder.request(2);
+        assertEquals(List.of("TEXT:12345678", "TEXT:abcdefgh", "DONE:"), recorder.frames());
+        assertTrue(recorder.completed);
+    }
+
+    /**
+     * 客户端滞后时，DROP 丢弃新的思考内容，正文不受影响
+     */
+    @Test
+    void dropsThinkingWhenClientLags() {
+        delivery.setThinkingLagBytes(DataSize.ofBytes(8));
+        delivery.setThinkingOverflow(ChatStreamProperties.ThinkingOverflow.DROP);
+        Recorder recorder = new Recorder(0);
+        StreamDeliveryBuffer buffer = open(recorder);
+
+        buffer.offer(StreamEventType.THINKING, "12345678");
+        buffer.offer(StreamEventType.THINKING, "dropped");
+        buffer.offer(StreamEventType.TEXT, "text");
+        buffer.complete();
+        recorder.request(Long.MAX_VALUE);
+
+        assertEquals(List.of("THINKING:12345678", "TEXT:text", "DONE:"), recorder.frames());
+        assertEquals(1, registry.get("chatstream.thinking.dropped").counter().count());
+        assertEquals(0, registry.get("chatstream.thinking.merged").counter().count());
+    }
+
+    /**
+     * 客户端滞后时，MERGE 把新的思考内容追加到尚未下发的思考帧，不产生新帧，也不受最大字符数限制
+     */
+    @Test
+    void mergesThinkingIntoPendingFrameWhenClientLags() {
+        delivery.setThinkingLagBytes(DataSize.ofBytes(8));
+        delivery.setThinkingOverflow(ChatStreamProperties.ThinkingOverflow.MERGE);
+        Recorder recorder = new Recorder(0);
+        StreamDeliveryBuffer buffer = open(recorder);
+
+        buffer.offer(StreamEventType.THINKING, "12345678");
+        buffer.offer(StreamEventType.THINKING, "merged");
+        buffer.offer(StreamEventType.THINKING, "!");
+        buffer.complete();
+        recorder.request(Long.MAX_VALUE);
+
+        assertEquals(List.of("THINKING:12345678merged!", "DONE:"), recorder.frames());
+        assertEquals(2, registry.get("chatstream.thinking.merged").counter().count());
+        assertEquals(0, registry.get("chatstream.thinking.dropped").counter().count());
+    }
+
+    /**
+     * 缓冲超过上限时连接以错误结束，缓冲被清空，之后的内容不再接收
+     */
+    @Test
+    void failsStreamWhenBufferExceedsLimit() {
+        delivery.setMaxBufferedBytes(DataSize.ofBytes(16));
+        Recorder recorder = new Recorder(0);
+        StreamDeliveryBuffer buffer = open(recorder);
+
+        buffer.offer(StreamEventType.TEXT, "12345678");
+        buffer.offer(StreamEventType.TEXT, "12345678");
+        assertFalse(buffer.isOverflowed());
+        buffer.offer(StreamEventType.TEXT, "x");
+
+        assertTrue(buffer.isOverflowed());
+        assertInstanceOf(IllegalStateException.class, recorder.error);
+        assertEquals(1, registry.get("chatstream.stream.overflow").counter().count());
+        assertEquals(0, registry.get("chatstream.buffered.bytes").gauge().value());
+
+        buffer.offer(StreamEventType.TEXT, "ignored");
+        recorder.request(Long.MAX_VALUE);
+        assertEquals(List.of(), recorder.frames());
+    }
+
+    /**
+     * 缓冲字节数、活跃连接数与峰值随写入和下发更新，连接结束后归零
+     */
+    @Test
+    void tracksBufferedBytesAndActiveStreams() {
+        Recorder recorder = new Recorder(0);
+        StreamDeliveryBuffer buffer = open(recorder);
+        assertEquals(1, registry.get("chatstream.active.streams").gauge().value());
+
+        // 中文字符按 UTF-8 计 3 字节
+        buffer.offer(StreamEventType.TEXT, "你好");
+        buffer.offer(StreamEventType.THINKING, "abcd");
+        assertEquals(10, registry.get("chatstream.buffered.bytes").gauge().value());
+
+        recorder.request(1);
+        assertEquals(4, registry.get("chatstream.buffered.bytes").gauge().value());
+
+        buffer.dispose();
+        assertEquals(0, registry.get("chatstream.active.streams").gauge().value());
+        assertEquals(0, registry.get("chatstream.buffered.bytes").gauge().value());
+        assertEquals(10, registry.get("chatstream.stream.buffered.bytes.peak").summary().max());
+        assertEquals(2, registry.get("chatstream.stream.buffered.bytes").summary().count());
+    }
+
+    private StreamDeliveryBuffer open(Recorder recorder) {
+        AtomicReference<StreamDeliveryBuffer> buffer = new AtomicReference<>();
+        Flux.<StreamFrame>create(sink -> buffer.set(new StreamDeliveryBuffer(sink, delivery, metrics)), FluxSink.OverflowStrategy.ERROR)
+                .subscribe(recorder);
+        buffers.add(buffer.get());
+        return buffer.get();
+    }
+
+    /**
+     * 按指定的初始请求量订阅，记录收到的帧
+     */
+    private static final class Recorder extends BaseSubscriber<StreamFrame> {
+
+        private final long initialRequest;
+
+        private final List<String> frames = new ArrayList<>();
+
+        private boolean completed;
+
+        private Throwable error;
+
+        private Recorder(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        protected void hookOnNext(StreamFrame frame) {
+            frames.add(frame.getType() + ":" + frame.getContent());
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            completed = true;
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            error = throwable;
+        }
+
+        private List<String> frames() {
+            return frames;
+        }
+    }
+}
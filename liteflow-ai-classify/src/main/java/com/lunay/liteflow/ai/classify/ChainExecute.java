@@ -1,5 +1,6 @@
 package com.lunay.liteflow.ai.classify;
 
+import com.lunay.liteflow.ai.classify.component.FanOutCmp;
 import com.yomahub.liteflow.ai.context.ChatContext;
 import com.yomahub.liteflow.core.FlowExecutor;
 import com.yomahub.liteflow.flow.LiteflowResponse;
@@ -20,28 +21,45 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class ChainExecute implements CommandLineRunner {
 
+    /**
+     * 意图识别节点读取用户问题的 dataMap key
+     */
+    private static final String QUESTION = "question";
+
     private final FlowExecutor flowExecutor;
 
     @Override
     public void run(String... args) throws Exception {
         System.out.println("================ AI Classify Chain Start ==================");
-        executeChain("chain1");
+        executeChain("chain1", "请帮我写一段Java代码");
         System.out.println("================ AI Classify Chain End ==================");
+        System.out.println("================ AI Classify Chain (Cached) Start ==================");
+        // 相同的输入再次执行，直接命中响应缓存，不再调用模型
+        executeChain("chain1", "请帮我写一段Java代码");
+        System.out.println("================ AI Classify Chain (Cached) End ==================");
         System.out.println("================ AI MultiClassify Chain Start ==================");
-        executeChain("chain2");
+        executeChain("chain2", "请帮我写一段Java代码, 同时给出 Python 代码");
         System.out.println("================ AI MultiClassify Chain End ==================");
+        System.out.println("================ AI MultiClassify FanOut Chain Start ==================");
+        executeChain("chain3", "请帮我写一段Java代码, 同时给出 Python 代码");
+        System.out.println("================ AI MultiClassify FanOut Chain End ==================");
     }
 
-    private void executeChain(String chainId) {
-        // 执行 chat 流程，其中 ChatContext 是 LiteFlow-AI 提供的默认上下文类型，目前必须进行传入
-        LiteflowResponse response = flowExecutor.execute2Resp(chainId, null, ChatContext.class);
-        // 获取到执行流程完毕的上下文
-        ChatContext chatContext = response.getContextBean(ChatContext.class);
+    private void executeChain(String chainId, String question) {
+        // ChatContext 是 LiteFlow-AI 提供的默认上下文类型，目前必须进行传入；用户的问题通过 dataMap 传给意图识别节点
+        ChatContext chatContext = new ChatContext();
+        chatContext.setData(QUESTION, question);
+        // 执行 chat 流程
+        LiteflowResponse response = flowExecutor.execute2Resp(chainId, null, chatContext);
         if (response.isSuccess()) {
             // 从上下文中获取意图识别结果
             String intent = chatContext.getData("result");
             // 输出结果
             log.info("执行成功，意图识别为: \n{}", intent);
+            Object branchOutputs = chatContext.getData(FanOutCmp.BRANCH_OUTPUTS);
+            if (branchOutputs != null) {
+                log.info("并行分支输出: {}，失败分支: {}", branchOutputs, chatContext.getData(FanOutCmp.BRANCH_ERRORS));
+            }
         } else {
             log.error("流程执行失败！异常信息：{}", response.getCause().getMessage());
         }
@@ -0,0 +1,24 @@
+package com.lunay.liteflow.ai.classify.batch;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量分类的结构化输出
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchClassification {
+
+    @JsonProperty("results")
+    private List<BatchLabel> results;
+}
@@ -0,0 +1,207 @@
+package com.lunay.liteflow.ai.classify.batch;
+
+import com.lunay.liteflow.ai.classify.config.BatchProperties;
+import com.lunay.liteflow.ai.classify.context.BatchClassifyContext;
+import com.lunay.liteflow.ai.classify.support.ClassifyNode;
+import com.lunay.liteflow.ai.classify.support.ClassifyNodeRegistry;
+import com.lunay.liteflow.ai.common.TextTokens;
+import com.yomahub.liteflow.core.FlowExecutor;
+import com.yomahub.liteflow.flow.LiteflowResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 批量分类驱动
+ * <p>
+ * 逐行读取输入文件，按批次大小分组后并发执行，结果按行号写入输出文件。batch 模式每组执行一次 batchChain；
+ * single 模式对每条输入执行一次逐条调用的流程（chain1 / chain2），作为同一份输入的实测对照。
+ * 结束后输出吞吐量、每千条输入的调用次数，以及与逐条调用相比的提示词 token 估算
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "classify.batch", name = "input-file")
+public class BatchClassifyDriver implements CommandLineRunner {
+
+    private final FlowExecutor flowExecutor;
+
+    private final BatchProperties properties;
+
+    private final ClassifyNode target;
+
+    private final AtomicLong items = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong modelCalls = new AtomicLong();
+
+    private final AtomicLong batchTokens = new AtomicLong();
+
+    private final AtomicLong singleTokens = new AtomicLong();
+
+    public BatchClassifyDriver(FlowExecutor flowExecutor,
+                               BatchProperties properties,
+                               ClassifyNodeRegistry nodeRegistry) {
+        this.flowExecutor = flowExecutor;
+        this.properties = properties;
+        this.target = nodeRegistry.get(properties.getTargetNode());
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Path output = Path.of(properties.getOutputFile());
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Semaphore inflight = new Semaphore(properties.getConcurrency());
+        long start = System.nanoTime();
+
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(properties.getInputFile()), StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long lineNo = 0;
+            List<String> lines = new ArrayList<>(properties.getBatchSize());
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                if (lines.size() == properties.getBatchSize()) {
+                    submit(executor, inflight, writer, lineNo, lines);
+                    lineNo += lines.size();
+                    lines = new ArrayList<>(properties.getBatchSize());
+                }
+            }
+            if (!lines.isEmpty()) {
+                submit(executor, inflight, writer, lineNo, lines);
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        report(System.nanoTime() - start);
+    }
+
+    private void submit(ExecutorService executor, Semaphore inflight, BufferedWriter writer,
+                        long firstLine, List<String> lines) throws InterruptedException {
+        // 限制同时进行的批次数，同时避免一次性把整个文件读入内存
+        inflight.acquire();
+        executor.execute(() -> {
+            try {
+                classify(writer, firstLine, lines);
+            } finally {
+                inflight.release();
+            }
+        });
+    }
+
+    private void classify(BufferedWriter writer, long firstLine, List<String> lines) {
+        List<BatchItem> batch = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            BatchItem item = new BatchItem(i, lines.get(i));
+            batch.add(item);
+            // 逐条调用的基线为目标节点 @AIClassify 渲染后的实际用户提示词
+            target.bindInput(item.getContext(), item.getText());
+            singleTokens.addAndGet(TextTokens.estimate(target.renderPrompt(item.getContext())));
+        }
+        if (properties.getMode() == BatchProperties.Mode.SINGLE) {
+            classifySingly(firstLine, batch);
+        } else {
+            classifyBatch(firstLine, batch);
+        }
+        items.addAndGet(batch.size());
+
+        StringBuilder sb = new StringBuilder();
+        for (BatchItem item : batch) {
+            sb.append(firstLine + item.getIndex()).append('\t')
+                    .append(item.isCompleted() ? String.join(",", item.getLabels()) : "").append('\t')
+                    .append(item.getText()).append('\n');
+        }
+        synchronized (writer) {
+            try {
+                writer.write(sb.toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void classifyBatch(long firstLine, List<BatchItem> batch) {
+        BatchClassifyContext context = new BatchClassifyContext(target, batch, properties.getMaxAttempts());
+        LiteflowResponse response = flowExecutor.execute2Resp("batchChain", null, context);
+        if (!response.isSuccess()) {
+            log.error("批次 {} 执行失败！异常信息：{}", firstLine, response.getCause().getMessage());
+        }
+        failed.addAndGet(context.getPending().size());
+        modelCalls.addAndGet(context.getAttempts());
+        batchTokens.addAndGet(context.getPromptTokens());
+    }
+
+    /**
+     * 逐条执行目标节点所在的流程，每条输入使用自己的上下文，结果从 {@code @AIOutput} 写入的位置读取
+     */
+    private void classifySingly(long firstLine, List<BatchItem> batch) {
+        for (BatchItem item : batch) {
+            LiteflowResponse response = flowExecutor.execute2Resp(properties.getSingleChain(), null, item.getContext());
+            modelCalls.incrementAndGet();
+            Object result = item.getContext().getData(target.getResultKey());
+            if (!response.isSuccess() || result == null) {
+                log.error("第 {} 行执行失败！异常信息：{}", firstLine + item.getIndex(),
+                        response.isSuccess() ? "未写入分类结果" : response.getCause().getMessage());
+                failed.incrementAndGet();
+                continue;
+            }
+            List<String> labels = result instanceof Collection<?> values
+                    ? values.stream().map(String::valueOf).toList()
+                    : List.of(String.valueOf(result));
+            item.complete(target.getResultKey(), labels, target.isMultiLabel());
+        }
+    }
+
+    private void report(long elapsedNanos) {
+        long total = Math.max(1, items.get());
+        double seconds = elapsedNanos / 1e9;
+        if (properties.getMode() == BatchProperties.Mode.SINGLE) {
+            // 逐条流程中的响应缓存与本地预分类可能跳过模型，流程执行次数是模型调用次数的上限
+            log.info("""
+                            逐条分类完成，节点 {}，流程 {}，并发 {}：
+                              输入: {} 条，未能分类: {} 条
+                              耗时: {}s，吞吐量: {} 条/s
+                              每千条流程执行: {} 次
+                              每千条用户提示词 token(估算): {}""",
+                    target.getNodeId(), properties.getSingleChain(), properties.getConcurrency(),
+                    items.get(), failed.get(),
+                    String.format("%.1f", seconds), String.format("%.1f", items.get() / seconds),
+                    String.format("%.1f", modelCalls.get() * 1000.0 / total),
+                    singleTokens.get() * 1000 / total);
+            return;
+        }
+        log.info("""
+                        批量分类完成，节点 {}，批次大小 {}，并发 {}：
+                          输入: {} 条，未能分类: {} 条
+                          耗时: {}s，吞吐量: {} 条/s
+                          每千条模型调用: 批量 {} 次 / 逐条 1000 次
+                          每千条提示词 token(估算): 批量 {} / 逐条用户提示词 {}""",
+                target.getNodeId(), properties.getBatchSize(), properties.getConcurrency(),
+                items.get(), failed.get(),
+                String.format("%.1f", seconds), String.format("%.1f", items.get() / seconds),
+                String.format("%.1f", modelCalls.get() * 1000.0 / total),
+                batchTokens.get() * 1000 / total, singleTokens.get() * 1000 / total);
+    }
+}
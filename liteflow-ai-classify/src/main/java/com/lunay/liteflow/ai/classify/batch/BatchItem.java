@@ -0,0 +1,42 @@
+package com.lunay.liteflow.ai.classify.batch;
+
+import com.yomahub.liteflow.ai.context.ChatContext;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 批量分类中的单条输入，持有自己的上下文，分类结果写回的位置与逐条调用时一致
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Getter
+public class BatchItem {
+
+    /**
+     * 在本批次中的编号
+     */
+    private final int index;
+
+    private final String text;
+
+    private final ChatContext context = new ChatContext();
+
+    private List<String> labels;
+
+    public BatchItem(int index, String text) {
+        this.index = index;
+        this.text = text;
+    }
+
+    public void complete(String resultKey, List<String> labels, boolean multiLabel) {
+        this.labels = labels;
+        context.setData(resultKey, multiLabel ? labels : labels.get(0));
+    }
+
+    public boolean isCompleted() {
+        return labels != null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.lunay.liteflow.ai.classify.batch;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量分类中单条输入的结果，按编号对应回输入
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchLabel {
+
+    @JsonProperty("index")
+    private Integer index;
+
+    @JsonProperty("labels")
+    private List<String> labels;
+}
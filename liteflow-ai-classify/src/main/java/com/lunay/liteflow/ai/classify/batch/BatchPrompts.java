@@ -0,0 +1,37 @@
+package com.lunay.liteflow.ai.classify.batch;
+
+import com.lunay.liteflow.ai.classify.support.ClassifyNode;
+
+import java.util.Collection;
+
+/**
+ * 批量分类提示词，将多条输入按编号拼接到一次请求中
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public final class BatchPrompts {
+
+    private BatchPrompts() {
+    }
+
+    public static String build(ClassifyNode target, Collection<BatchItem> items) {
+        StringBuilder sb = new StringBuilder(256 + items.size() * 64);
+        sb.append("请对下面每一条编号的输入进行意图分类，可选类别为：")
+                .append(String.join("、", target.getCategories()))
+                .append("。\n");
+        if (target.isMultiLabel()) {
+            sb.append("每条输入可以属于多个类别，labels 中给出所有匹配的类别。\n");
+        } else {
+            sb.append("每条输入只能属于一个类别，labels 中只给出一个类别。\n");
+        }
+        sb.append("以 JSON 返回，格式为 {\"results\": [{\"index\": 编号, \"labels\": [类别]}]}，每条输入对应一个结果，不要遗漏。\n\n");
+        for (BatchItem item : items) {
+            sb.append('[').append(item.getIndex()).append("] ")
+                    .append(item.getText().replaceAll("[\\r\\n]+", " "))
+                    .append('\n');
+        }
+        return sb.toString();
+    }
+}
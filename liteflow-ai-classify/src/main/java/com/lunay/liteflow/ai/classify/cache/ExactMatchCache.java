@@ -0,0 +1,48 @@
+package com.lunay.liteflow.ai.classify.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 精确匹配缓存，按访问顺序淘汰最久未使用的条目，条目过期后读取时移除
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class ExactMatchCache {
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    public ExactMatchCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized Object get(String key, long nowMillis) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expireAt <= nowMillis) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(String key, Object value, long expireAt) {
+        entries.put(key, new Entry(value, expireAt));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry(Object value, long expireAt) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.lunay.liteflow.ai.classify.cache;
+
+/**
+ * 基于字符 n-gram 特征哈希的本地向量化，不依赖远程嵌入模型
+ * <p>
+ * 对中文按字、英文按字母统计一元与二元片段，哈希到固定维度后归一化，适合识别措辞略有差异的重复问题
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class HashingTextEmbedder implements TextEmbedder {
+
+    private final int dimensions;
+
+    public HashingTextEmbedder(int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        String normalized = text.toLowerCase().replaceAll("\\s+", " ").strip();
+        int prev = -1;
+        for (int i = 0; i < normalized.length(); ) {
+            int cp = normalized.codePointAt(i);
+            i += Character.charCount(cp);
+            if (!Character.isLetterOrDigit(cp)) {
+                prev = -1;
+                continue;
+            }
+            vector[bucket(cp)] += 1f;
+            if (prev != -1) {
+                // 二元片段权重更高，能区分语序
+                vector[bucket(prev * 31 + cp)] += 2f;
+            }
+            prev = cp;
+        }
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm > 0) {
+            float inv = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= inv;
+            }
+        }
+        return vector;
+    }
+
+    private int bucket(int feature) {
+        int h = feature * 0x9E3779B9;
+        return Math.floorMod(h ^ (h >>> 16), dimensions);
+    }
+}
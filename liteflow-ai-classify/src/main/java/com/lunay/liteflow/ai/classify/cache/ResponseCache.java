@@ -0,0 +1,44 @@
+package com.lunay.liteflow.ai.classify.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 为 AI 节点开启响应缓存
+ * <p>
+ * 标注在 {@code @AIComponent} 接口上，并在流程中用 {@code responseCacheCmp.tag("节点ID")}（单标签，直接路由）
+ * 或 {@code responseCacheHitCmp.tag("节点ID")}（任意节点，只写入结果）包裹该节点
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ResponseCache {
+
+    /**
+     * 缓存有效期，单位秒
+     */
+    long ttlSeconds() default 600;
+
+    /**
+     * 是否开启语义相似度缓存，精确匹配未命中时按输入的向量相似度查找
+     */
+    boolean semantic() default false;
+
+    /**
+     * 语义命中的最低余弦相似度
+     */
+    double similarityThreshold() default 0.92;
+
+    /**
+     * 节点随提示词一起发送给模型的对话历史在上下文中的属性路径，如 {@code conversationHistory}；
+     * 设置后历史内容的摘要会作为缓存 key 的一部分，只有历史完全相同时才会命中，为空表示节点不携带历史
+     */
+    String history() default "";
+}
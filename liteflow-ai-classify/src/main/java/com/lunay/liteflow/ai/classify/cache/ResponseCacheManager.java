@@ -0,0 +1,151 @@
+package com.lunay.liteflow.ai.classify.cache;
+
+import com.lunay.liteflow.ai.classify.config.ResponseCacheProperties;
+import com.lunay.liteflow.ai.classify.support.ClassifyNode;
+import com.lunay.liteflow.ai.classify.support.ClassifyNodeRegistry;
+import io.micrometer.core.instrument.Gauge;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 响应缓存管理器
+ * <p>
+ * 启动时扫描 {@code liteflow.ai.base-packages} 下标注了 {@link ResponseCache} 的节点接口，为每个节点建立独立的缓存：
+ * 精确匹配层按渲染后的提示词与对话历史命中，语义层在精确匹配未命中时，在对话历史相同的条目中按向量相似度命中
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Component
+public class ResponseCacheManager {
+
+    private final Map<String, NodeCache> caches = new HashMap<>();
+
+    private final ResponseCacheProperties properties;
+
+    private final TextEmbedder embedder;
+
+    private final ResponseCacheMetrics metrics;
+
+    public ResponseCacheManager(ClassifyNodeRegistry nodeRegistry,
+                                ResponseCacheProperties properties,
+                                TextEmbedder embedder,
+                                ResponseCacheMetrics metrics,
+                                MeterRegistry registry) {
+        this.properties = properties;
+        this.embedder = embedder;
+        this.metrics = metrics;
+        for (ClassifyNode node : nodeRegistry.annotatedWith(ResponseCache.class)) {
+            NodeCache cache = new NodeCache(node);
+            caches.put(node.getNodeId(), cache);
+            Gauge.builder("classify.cache.entries", cache.exact, ExactMatchCache::size)
+                    .description("精确匹配缓存的条目数")
+                    .tag("node", node.getNodeId())
+                    .register(registry);
+            log.info("节点 {} 已开启响应缓存，ttl={}s，语义缓存={}", node.getNodeId(), cache.settings.ttlSeconds(), cache.settings.semantic());
+        }
+    }
+
+    /**
+     * 查询缓存，先精确匹配再语义匹配
+     *
+     * @return 缓存的节点输出，未命中或未开启缓存时返回 null
+     */
+    public Object lookup(String nodeId, ChatContext context) {
+        NodeCache cache = caches.get(nodeId);
+        if (cache == null || !properties.isEnabled()) {
+            return null;
+        }
+        String prompt = cache.node.renderPrompt(context);
+        String history = cache.historyDigest(context);
+        long now = System.currentTimeMillis();
+        Object value = cache.exact.get(cache.node.exactKey(prompt, history), now);
+        if (value != null) {
+            cache.metrics.exactHits().increment();
+            return value;
+        }
+        if (cache.vectors != null) {
+            value = cache.vectors.nearest(embedder.embed(prompt), history, cache.settings.similarityThreshold(), now);
+            if (value != null) {
+                cache.metrics.semanticHits().increment();
+                return value;
+            }
+        }
+        cache.metrics.misses().increment();
+        return null;
+    }
+
+    /**
+     * 写入模型的实际输出，集合类型的结果保存为不可变副本，命中后的修改不会影响缓存
+     */
+    public void put(String nodeId, ChatContext context, Object value) {
+        NodeCache cache = caches.get(nodeId);
+        if (cache == null || value == null || !properties.isEnabled()) {
+            return;
+        }
+        Object cached = value instanceof Collection<?> values ? List.copyOf(values) : value;
+        String prompt = cache.node.renderPrompt(context);
+        String history = cache.historyDigest(context);
+        long expireAt = System.currentTimeMillis() + cache.settings.ttlSeconds() * 1000;
+        cache.exact.put(cache.node.exactKey(prompt, history), cached, expireAt);
+        if (cache.vectors != null) {
+            cache.vectors.add(embedder.embed(prompt), history, cached, expireAt);
+        }
+    }
+
+    public ClassifyNode getNode(String nodeId) {
+        NodeCache cache = caches.get(nodeId);
+        if (cache == null) {
+            throw new IllegalArgumentException("节点 " + nodeId + " 未开启响应缓存，请在节点接口上添加 @ResponseCache");
+        }
+        return cache.node;
+    }
+
+    private class NodeCache {
+
+        private final ClassifyNode node;
+
+        private final ResponseCache settings;
+
+        private final ExactMatchCache exact;
+
+        private final VectorIndex vectors;
+
+        private final ResponseCacheMetrics.NodeMetrics metrics;
+
+        private NodeCache(ClassifyNode node) {
+            this.node = node;
+            this.settings = node.getAnnotation(ResponseCache.class);
+            this.exact = new ExactMatchCache(properties.getMaxEntries());
+            this.vectors = settings.semantic() ? new VectorIndex(properties.getMaxVectors()) : null;
+            this.metrics = ResponseCacheManager.this.metrics.register(node.getNodeId());
+        }
+
+        /**
+         * 节点携带的对话历史的摘要，未配置 {@link ResponseCache#history()} 时为空字符串
+         */
+        private String historyDigest(ChatContext context) {
+            if (settings.history().isEmpty()) {
+                return "";
+            }
+            Object history = PropertyAccessorFactory.forBeanPropertyAccess(context).getPropertyValue(settings.history());
+            if (history != null && !(history instanceof List<?>)) {
+                throw new IllegalStateException(node.getNodeId() + " 的对话历史 " + settings.history() + " 不是消息列表");
+            }
+            @SuppressWarnings("unchecked")
+            List<Message> messages = (List<Message>) history;
+            return ClassifyNode.historyDigest(messages);
+        }
+    }
+}
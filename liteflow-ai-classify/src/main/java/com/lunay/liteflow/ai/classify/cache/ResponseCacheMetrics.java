@@ -0,0 +1,43 @@
+package com.lunay.liteflow.ai.classify.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 响应缓存指标，按节点与命中层级统计
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component
+public class ResponseCacheMetrics {
+
+    private final MeterRegistry registry;
+
+    public ResponseCacheMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 注册一个节点的查询计数器，节点开启缓存时调用一次，查询时直接使用返回的计数器
+     */
+    public NodeMetrics register(String nodeId) {
+        return new NodeMetrics(lookup(nodeId, "exact"), lookup(nodeId, "semantic"), lookup(nodeId, "miss"));
+    }
+
+    private Counter lookup(String nodeId, String result) {
+        return Counter.builder("classify.cache.lookups")
+                .description("响应缓存查询次数，result 为 exact、semantic 或 miss")
+                .tag("node", nodeId)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * 单个节点的查询计数器
+     */
+    public record NodeMetrics(Counter exactHits, Counter semanticHits, Counter misses) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.lunay.liteflow.ai.classify.cache;
+
+/**
+ * 文本向量化，用于语义缓存的相似度比较
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public interface TextEmbedder {
+
+    /**
+     * 将文本转换为 L2 归一化的向量，两个向量的点积即余弦相似度
+     */
+    float[] embed(String text);
+}
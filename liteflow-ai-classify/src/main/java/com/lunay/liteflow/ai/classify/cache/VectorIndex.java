@@ -0,0 +1,73 @@
+package com.lunay.liteflow.ai.classify.cache;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * 进程内向量索引，按写入顺序淘汰，查询时暴力计算点积
+ * <p>
+ * 每个分区独立一个索引，条目数受限，线性扫描在几千条以内仍是微秒级；
+ * 条目带有作用域（如对话历史的摘要），只在作用域相同的条目之间比较相似度
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class VectorIndex {
+
+    private final Deque<Entry> entries = new ArrayDeque<>();
+
+    private final int maxEntries;
+
+    public VectorIndex(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 查找相似度不低于阈值的最近条目，顺带清理过期条目
+     */
+    public synchronized Object nearest(float[] query, String scope, double threshold, long nowMillis) {
+        Entry best = null;
+        double bestScore = threshold;
+        Iterator<Entry> it = entries.iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.expireAt <= nowMillis) {
+                it.remove();
+                continue;
+            }
+            if (!entry.scope.equals(scope)) {
+                continue;
+            }
+            double score = dot(query, entry.vector);
+            if (score >= bestScore) {
+                best = entry;
+                bestScore = score;
+            }
+        }
+        return best == null ? null : best.value;
+    }
+
+    public synchronized void add(float[] vector, String scope, Object value, long expireAt) {
+        if (entries.size() >= maxEntries) {
+            entries.pollFirst();
+        }
+        entries.addLast(new Entry(vector, scope, value, expireAt));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private record Entry(float[] vector, String scope, Object value, long expireAt) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.lunay.liteflow.ai.classify.component;
+
+import com.lunay.liteflow.ai.classify.context.BatchClassifyContext;
+import com.yomahub.liteflow.core.NodeComponent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 批量调用整体失败（如输出无法解析为 JSON）时记录日志，待处理的输入保持不变，由下一轮重试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Component("batchFailCmp")
+public class BatchFailCmp extends NodeComponent {
+
+    @Override
+    public void process() throws Exception {
+        BatchClassifyContext context = this.getContextBean(BatchClassifyContext.class);
+        log.warn("第 {} 次批量分类调用失败，{} 条输入等待重试", context.getAttempts(), context.getPending().size());
+    }
+}
@@ -0,0 +1,22 @@
+package com.lunay.liteflow.ai.classify.component;
+
+import com.lunay.liteflow.ai.classify.context.BatchClassifyContext;
+import com.yomahub.liteflow.core.NodeBooleanComponent;
+import org.springframework.stereotype.Component;
+
+/**
+ * 批量分类循环条件：仍有待处理的输入且未超过最大尝试次数
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component("batchPendingCmp")
+public class BatchPendingCmp extends NodeBooleanComponent {
+
+    @Override
+    public boolean processBoolean() throws Exception {
+        BatchClassifyContext context = this.getContextBean(BatchClassifyContext.class);
+        return context.hasPending() && context.getAttempts() < context.getMaxAttempts();
+    }
+}
@@ -0,0 +1,31 @@
+package com.lunay.liteflow.ai.classify.component;
+
+import com.lunay.liteflow.ai.classify.batch.BatchClassification;
+import com.lunay.liteflow.ai.classify.batch.BatchPrompts;
+import com.lunay.liteflow.ai.classify.context.BatchClassifyContext;
+import com.lunay.liteflow.ai.common.TextTokens;
+import com.yomahub.liteflow.core.NodeComponent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 将待处理的输入按编号拼接成本轮的批量提示词
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component("batchPrepareCmp")
+public class BatchPrepareCmp extends NodeComponent {
+
+    @Override
+    public void process() throws Exception {
+        BatchClassifyContext context = this.getContextBean(BatchClassifyContext.class);
+        String prompt = BatchPrompts.build(context.getTarget(), context.pendingItems());
+        context.recordAttempt(TextTokens.estimate(prompt));
+        context.setData("batchPrompt", prompt);
+        // 清空上一轮的输出，避免本轮调用失败时误读
+        context.setData("batchOutput", new BatchClassification(List.of()));
+    }
+}
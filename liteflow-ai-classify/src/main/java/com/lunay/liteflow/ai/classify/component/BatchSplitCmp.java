@@ -0,0 +1,56 @@
+package com.lunay.liteflow.ai.classify.component;
+
+import com.lunay.liteflow.ai.classify.batch.BatchClassification;
+import com.lunay.liteflow.ai.classify.batch.BatchItem;
+import com.lunay.liteflow.ai.classify.batch.BatchLabel;
+import com.lunay.liteflow.ai.classify.context.BatchClassifyContext;
+import com.lunay.liteflow.ai.classify.support.ClassifyNode;
+import com.yomahub.liteflow.core.NodeComponent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 校验批量输出并拆分回每条输入的上下文
+ * <p>
+ * 编号不存在、类别不合法或单标签节点返回了多个类别的结果会被丢弃，对应的输入留待下一轮重试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Component("batchSplitCmp")
+public class BatchSplitCmp extends NodeComponent {
+
+    @Override
+    public void process() throws Exception {
+        BatchClassifyContext context = this.getContextBean(BatchClassifyContext.class);
+        ClassifyNode target = context.getTarget();
+        BatchClassification output = context.getData("batchOutput");
+        List<BatchLabel> results = output == null || output.getResults() == null ? List.of() : output.getResults();
+
+        for (BatchLabel result : results) {
+            if (result == null || result.getIndex() == null) {
+                continue;
+            }
+            BatchItem item = context.pendingItem(result.getIndex());
+            if (item == null || !isValid(target, result.getLabels())) {
+                continue;
+            }
+            item.complete(target.getResultKey(), List.copyOf(result.getLabels()), target.isMultiLabel());
+            context.markCompleted(item);
+        }
+        if (context.hasPending()) {
+            log.warn("第 {} 次批量分类后仍有 {} 条输入未得到有效结果", context.getAttempts(), context.getPending().size());
+        }
+    }
+
+    private static boolean isValid(ClassifyNode target, List<String> labels) {
+        if (labels == null || labels.isEmpty() || labels.stream().anyMatch(label -> !target.getCategories().contains(label))) {
+            return false;
+        }
+        return target.isMultiLabel() || labels.size() == 1;
+    }
+}
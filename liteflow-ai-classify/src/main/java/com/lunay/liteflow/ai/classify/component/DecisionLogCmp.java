@@ -0,0 +1,34 @@
+package com.lunay.liteflow.ai.classify.component;
+
+import com.lunay.liteflow.ai.classify.local.LocalClassifierManager;
+import com.lunay.liteflow.ai.classify.support.ClassifyNode;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.core.NodeComponent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 大模型判定记录组件，放在 {@code llm} 分支中 AI 节点之后，节点的 tag 为 AI 节点 ID
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component("decisionLogCmp")
+@RequiredArgsConstructor
+public class DecisionLogCmp extends NodeComponent {
+
+    private final LocalClassifierManager classifierManager;
+
+    @Override
+    public void process() throws Exception {
+        String nodeId = this.getTag();
+        ClassifyNode node = classifierManager.getNode(nodeId);
+        ChatContext context = this.getContextBean(ChatContext.class);
+
+        Object label = context.getData(node.getResultKey());
+        if (label != null) {
+            classifierManager.record(nodeId, node.inputText(context), String.valueOf(label));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.lunay.liteflow.ai.classify.component;
+
+import com.lunay.liteflow.ai.classify.config.FanOutProperties;
+import com.lunay.liteflow.ai.classify.support.ClassifyNode;
+import com.lunay.liteflow.ai.classify.support.ClassifyNodeRegistry;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.core.FlowExecutor;
+import com.yomahub.liteflow.core.NodeComponent;
+import com.yomahub.liteflow.flow.LiteflowResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 多标签并行分支组件，节点的 tag 为多标签意图识别节点 ID
+ * <p>
+ * 读取识别出的全部分类，在有界线程池上并行执行每个分类对应的子流程。每个分支使用独立的上下文，
+ * 分支结束后由本组件在当前线程统一合并到 {@link #BRANCH_OUTPUTS} 与 {@link #BRANCH_ERRORS}，分支之间不会并发写同一个上下文。
+ * 线程池已满而被拒绝的分支记为失败；开启快速失败时，节点直接失败，不合并已完成分支的输出
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Component("fanOutCmp")
+public class FanOutCmp extends NodeComponent {
+
+    /**
+     * 分支组件写入自身输出的 key
+     */
+    public static final String BRANCH_OUTPUT = "branchOutput";
+
+    /**
+     * 分支上下文中当前分支的分类
+     */
+    public static final String BRANCH_LABEL = "branchLabel";
+
+    /**
+     * 合并后的分支输出：分类 -> 输出
+     */
+    public static final String BRANCH_OUTPUTS = "branchOutputs";
+
+    /**
+     * 失败或超时的分支：分类 -> 原因
+     */
+    public static final String BRANCH_ERRORS = "branchErrors";
+
+    private final FlowExecutor flowExecutor;
+
+    private final ClassifyNodeRegistry nodeRegistry;
+
+    private final FanOutProperties properties;
+
+    private final ExecutorService executor;
+
+    public FanOutCmp(@Lazy FlowExecutor flowExecutor,
+                     ClassifyNodeRegistry nodeRegistry,
+                     FanOutProperties properties,
+                     @Qualifier("fanOutExecutor") ExecutorService executor) {
+        this.flowExecutor = flowExecutor;
+        this.nodeRegistry = nodeRegistry;
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    @Override
+    public void process() throws Exception {
+        ClassifyNode node = nodeRegistry.get(this.getTag());
+        fanOut(node, this.getContextBean(ChatContext.class));
+    }
+
+    /**
+     * 并行执行全部分支并合并结果；快速失败时直接抛出异常，不向上下文写入部分结果
+     */
+    void fanOut(ClassifyNode node, ChatContext context) throws InterruptedException {
+        Object result = context.getData(node.getResultKey());
+        List<String> labels = result instanceof Collection<?> values
+                ? values.stream().map(String::valueOf).distinct().toList()
+                : result == null ? List.of() : List.of(String.valueOf(result));
+
+        ExecutorCompletionService<Branch> completion = new ExecutorCompletionService<>(executor);
+        Map<String, Future<Branch>> running = new LinkedHashMap<>();
+        Map<String, Long> deadlines = new LinkedHashMap<>();
+        Map<String, Object> outputs = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        try {
+            for (String label : labels) {
+                deadlines.put(label, System.nanoTime() + properties.timeoutOf(label).toNanos());
+                try {
+                    running.put(label, completion.submit(() -> runBranch(node, result, label)));
+                } catch (RejectedExecutionException e) {
+                    // 线程池已满，该分支不执行，记为失败
+                    fail(errors, label, e);
+                }
+            }
+            while (!running.isEmpty()) {
+                long nearest = running.keySet().stream().mapToLong(deadlines::get).min().orElseThrow();
+                Future<Branch> done = completion.poll(Math.max(0, nearest - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    expire(running, deadlines, errors);
+                    continue;
+                }
+                if (done.isCancelled()) {
+                    // 已按超时取消的分支
+                    continue;
+                }
+                Branch branch = result(done);
+                if (running.remove(branch.label()) == null) {
+                    // 超时后才完成的分支
+                    continue;
+                }
+                if (branch.error() == null) {
+                    outputs.put(branch.label(), branch.output());
+                } else {
+                    fail(errors, branch.label(), branch.error());
+                }
+            }
+        } finally {
+            running.values().forEach(future -> future.cancel(true));
+        }
+        // 全部分支结束后在当前线程合并；快速失败时已在上面抛出，不会写入部分结果
+        context.setData(BRANCH_OUTPUTS, outputs);
+        context.setData(BRANCH_ERRORS, errors);
+    }
+
+    private Branch runBranch(ClassifyNode node, Object result, String label) {
+        ChatContext branchContext = new ChatContext();
+        branchContext.setData(node.getResultKey(), result);
+        branchContext.setData(BRANCH_LABEL, label);
+        LiteflowResponse response = flowExecutor.execute2Resp(properties.getBranchChainPrefix() + label, null, branchContext);
+        if (!response.isSuccess()) {
+            return new Branch(label, null, response.getCause());
+        }
+        return new Branch(label, branchContext.getData(BRANCH_OUTPUT), null);
+    }
+
+    private void expire(Map<String, Future<Branch>> running, Map<String, Long> deadlines, Map<String, String> errors) {
+        long now = System.nanoTime();
+        for (String label : List.copyOf(running.keySet())) {
+            if (deadlines.get(label) <= now) {
+                running.remove(label).cancel(true);
+                fail(errors, label, new TimeoutException("分支超时: " + properties.timeoutOf(label)));
+            }
+        }
+    }
+
+    private void fail(Map<String, String> errors, String label, Throwable error) {
+        errors.put(label, String.valueOf(error.getMessage()));
+        if (properties.isFailFast()) {
+            throw new IllegalStateException("分支 " + label + " 执行失败", error);
+        }
+        log.warn("分支 {} 执行失败: {}", label, error.getMessage());
+    }
+
+    private static Branch result(Future<Branch> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // runBranch 自身不抛出异常，这里只会是流程执行器外的错误
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private record Branch(String label, Object output, Throwable error) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.lunay.liteflow.ai.classify.component;
+
+import com.lunay.liteflow.ai.classify.local.LocalClassifierManager;
+import com.lunay.liteflow.ai.classify.support.ClassifyNode;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.core.NodeSwitchComponent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 本地预分类路由组件，节点的 tag 为被加速的 AI 节点 ID
+ * <p>
+ * 本地模型置信度足够时直接写入结果并路由到对应分类；否则路由到 id 为 {@code llm} 的分支，由大模型判定
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component("localClassifyCmp")
+@RequiredArgsConstructor
+public class LocalClassifyCmp extends NodeSwitchComponent {
+
+    public static final String LLM = "llm";
+
+    private final LocalClassifierManager classifierManager;
+
+    @Override
+    public String processSwitch() throws Exception {
+        String nodeId = this.getTag();
+        ClassifyNode node = classifierManager.getNode(nodeId);
+        ChatContext context = this.getContextBean(ChatContext.class);
+
+        String label = classifierManager.classify(nodeId, node.inputText(context));
+        if (label == null) {
+            return LLM;
+        }
+        context.setData(node.getResultKey(), label);
+        return label;
+    }
+}
@@ -0,0 +1,45 @@
+package com.lunay.liteflow.ai.classify.component;
+
+import com.lunay.liteflow.ai.classify.cache.ResponseCacheManager;
+import com.lunay.liteflow.ai.classify.support.ClassifyNode;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.core.NodeSwitchComponent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 响应缓存路由组件，节点的 tag 为被缓存的 AI 节点 ID
+ * <p>
+ * 命中时直接写入结果并路由到缓存的分类；未命中时路由到 id 为 {@code miss} 的分支，由该分支调用模型并回写缓存。
+ * 只适用于单标签分类节点，其他节点使用 {@link ResponseCacheHitCmp}
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component("responseCacheCmp")
+@RequiredArgsConstructor
+public class ResponseCacheCmp extends NodeSwitchComponent {
+
+    public static final String MISS = "miss";
+
+    private final ResponseCacheManager cacheManager;
+
+    @Override
+    public String processSwitch() throws Exception {
+        String nodeId = this.getTag();
+        ClassifyNode node = cacheManager.getNode(nodeId);
+        if (node.isMultiLabel()) {
+            // 多标签结果无法作为 SWITCH 的单个目标返回
+            throw new IllegalStateException(nodeId + " 为多标签分类节点，请使用 responseCacheHitCmp");
+        }
+        ChatContext context = this.getContextBean(ChatContext.class);
+
+        Object cached = cacheManager.lookup(nodeId, context);
+        if (cached == null) {
+            return MISS;
+        }
+        context.setData(node.getResultKey(), cached);
+        return String.valueOf(cached);
+    }
+}
@@ -0,0 +1,39 @@
+package com.lunay.liteflow.ai.classify.component;
+
+import com.lunay.liteflow.ai.classify.cache.ResponseCacheManager;
+import com.lunay.liteflow.ai.classify.support.ClassifyNode;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.core.NodeBooleanComponent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 响应缓存判断组件，节点的 tag 为被缓存的 AI 节点 ID
+ * <p>
+ * 命中时将缓存结果写入 dataMap 并返回 true，不做路由，适用于多标签等结果无法作为 SWITCH 目标的节点：
+ * {@code IF(NOT(responseCacheHitCmp.tag("节点ID")), THEN(节点, responseCacheStoreCmp.tag("节点ID")))}
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component("responseCacheHitCmp")
+@RequiredArgsConstructor
+public class ResponseCacheHitCmp extends NodeBooleanComponent {
+
+    private final ResponseCacheManager cacheManager;
+
+    @Override
+    public boolean processBoolean() throws Exception {
+        String nodeId = this.getTag();
+        ClassifyNode node = cacheManager.getNode(nodeId);
+        ChatContext context = this.getContextBean(ChatContext.class);
+
+        Object cached = cacheManager.lookup(nodeId, context);
+        if (cached == null) {
+            return false;
+        }
+        context.setData(node.getResultKey(), cached);
+        return true;
+    }
+}
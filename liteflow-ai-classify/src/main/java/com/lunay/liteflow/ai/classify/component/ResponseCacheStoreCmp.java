@@ -0,0 +1,32 @@
+package com.lunay.liteflow.ai.classify.component;
+
+import com.lunay.liteflow.ai.classify.cache.ResponseCacheManager;
+import com.lunay.liteflow.ai.classify.support.ClassifyNode;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.core.NodeComponent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 响应缓存回写组件，放在缓存未命中分支中 AI 节点之后，节点的 tag 为被缓存的 AI 节点 ID
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component("responseCacheStoreCmp")
+@RequiredArgsConstructor
+public class ResponseCacheStoreCmp extends NodeComponent {
+
+    private final ResponseCacheManager cacheManager;
+
+    @Override
+    public void process() throws Exception {
+        String nodeId = this.getTag();
+        ClassifyNode node = cacheManager.getNode(nodeId);
+        ChatContext context = this.getContextBean(ChatContext.class);
+
+        Object result = context.getData(node.getResultKey());
+        cacheManager.put(nodeId, context, result);
+    }
+}
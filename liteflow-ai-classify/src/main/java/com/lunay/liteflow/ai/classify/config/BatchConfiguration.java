@@ -0,0 +1,16 @@
+package com.lunay.liteflow.ai.classify.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 批量分类配置类
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Configuration
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchConfiguration {
+}
@@ -0,0 +1,60 @@
+package com.lunay.liteflow.ai.classify.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 批量分类配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "classify.batch")
+public class BatchProperties {
+
+    /**
+     * 被批量执行的意图识别节点：switchCmp 对应 chain1，multiSwitchCmp 对应 chain2
+     */
+    private String targetNode = "switchCmp";
+
+    /**
+     * 驱动的执行方式：batch 执行 batchChain 批量分类，single 对每条输入执行一次 {@link #singleChain} 作为对照
+     */
+    private Mode mode = Mode.BATCH;
+
+    /**
+     * single 模式下逐条执行的流程，与目标节点对应：switchCmp 为 chain1，multiSwitchCmp 为 chain2
+     */
+    private String singleChain = "chain1";
+
+    /**
+     * 每次模型调用包含的输入条数
+     */
+    private int batchSize = 20;
+
+    /**
+     * 同时进行的批次数
+     */
+    private int concurrency = 4;
+
+    /**
+     * 单个批次的最大调用次数，包含首次调用与对失败输入的重试
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * 输入文件，每行一条待分类的文本，配置后启动时执行批量分类
+     */
+    private String inputFile;
+
+    /**
+     * 输出文件，每行为 {@code 行号 \t 分类 \t 文本}，未能分类的输入分类为空
+     */
+    private String outputFile = "./data/classify/batch-output.tsv";
+
+    public enum Mode {
+        BATCH, SINGLE
+    }
+}
@@ -0,0 +1,38 @@
+package com.lunay.liteflow.ai.classify.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多标签并行分支配置类
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Configuration
+@EnableConfigurationProperties(FanOutProperties.class)
+public class FanOutConfiguration {
+
+    /**
+     * 有界的分支线程池，队列满时拒绝新的分支，由 {@code fanOutCmp} 记为失败的分支；
+     * 不在调用线程上执行，避免流程线程被分支占用而无法按超时收集结果
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService fanOutExecutor(FanOutProperties properties) {
+        return new ThreadPoolExecutor(
+                properties.getThreads(),
+                properties.getThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                Thread.ofPlatform().name("fan-out-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package com.lunay.liteflow.ai.classify.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 多标签并行分支配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "classify.fan-out")
+public class FanOutProperties {
+
+    /**
+     * 执行分支的线程数
+     */
+    private int threads = 8;
+
+    /**
+     * 等待执行的分支队列长度，队列满时新的分支被拒绝并记为失败，不会占用调用线程
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 分支对应的子流程名前缀，分类 java 对应子流程 branch_java
+     */
+    private String branchChainPrefix = "branch_";
+
+    /**
+     * 分支默认超时时间，从提交分支时开始计算
+     */
+    private Duration branchTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 单独指定某个分类的分支超时时间
+     */
+    private Map<String, Duration> branchTimeouts = new HashMap<>();
+
+    /**
+     * 任一分支失败或超时时立即取消其余分支并使节点失败；关闭时记录失败的分支，其余分支的输出照常合并
+     */
+    private boolean failFast = false;
+
+    public Duration timeoutOf(String label) {
+        return branchTimeouts.getOrDefault(label, branchTimeout);
+    }
+}
@@ -0,0 +1,25 @@
+package com.lunay.liteflow.ai.classify.config;
+
+import com.lunay.liteflow.ai.classify.local.DecisionLog;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * 本地预分类配置类
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Configuration
+@EnableConfigurationProperties(LocalClassifierProperties.class)
+public class LocalClassifierConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public DecisionLog decisionLog(LocalClassifierProperties properties) {
+        return new DecisionLog(Path.of(properties.getDecisionLog()));
+    }
+}
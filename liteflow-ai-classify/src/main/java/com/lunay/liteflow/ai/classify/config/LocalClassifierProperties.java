@@ -0,0 +1,31 @@
+package com.lunay.liteflow.ai.classify.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 本地预分类配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "classify.local")
+public class LocalClassifierProperties {
+
+    /**
+     * 总开关，关闭后所有节点都直接调用大模型，但仍会记录大模型的判定
+     */
+    private boolean enabled = true;
+
+    /**
+     * 大模型判定日志，启动时用于训练本地模型
+     */
+    private String decisionLog = "./data/classify/decisions.tsv";
+
+    /**
+     * 离线评估数据集，配置后启动时回放该数据集并输出评估报告
+     */
+    private String evaluationFile;
+}
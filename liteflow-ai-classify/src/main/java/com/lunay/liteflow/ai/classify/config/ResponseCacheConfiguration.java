@@ -0,0 +1,24 @@
+package com.lunay.liteflow.ai.classify.config;
+
+import com.lunay.liteflow.ai.classify.cache.HashingTextEmbedder;
+import com.lunay.liteflow.ai.classify.cache.TextEmbedder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 响应缓存配置类
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfiguration {
+
+    @Bean
+    public TextEmbedder textEmbedder(ResponseCacheProperties properties) {
+        return new HashingTextEmbedder(properties.getDimensions());
+    }
+}
@@ -0,0 +1,36 @@
+package com.lunay.liteflow.ai.classify.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 响应缓存配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "classify.cache")
+public class ResponseCacheProperties {
+
+    /**
+     * 总开关，关闭后所有节点都直接调用模型
+     */
+    private boolean enabled = true;
+
+    /**
+     * 每个节点精确匹配缓存的最大条目数
+     */
+    private int maxEntries = 10000;
+
+    /**
+     * 每个节点语义缓存的最大向量数
+     */
+    private int maxVectors = 2000;
+
+    /**
+     * 语义缓存的向量维度
+     */
+    private int dimensions = 256;
+}
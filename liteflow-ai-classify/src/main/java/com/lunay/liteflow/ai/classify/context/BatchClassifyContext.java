@@ -0,0 +1,69 @@
+package com.lunay.liteflow.ai.classify.context;
+
+import com.lunay.liteflow.ai.classify.batch.BatchItem;
+import com.lunay.liteflow.ai.classify.support.ClassifyNode;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量分类上下文
+ * <p>
+ * 一个批次的所有输入共用一次模型调用，解析失败或遗漏的输入留在待处理集合中，下一轮只重试这些输入
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Getter
+public class BatchClassifyContext extends ChatContext {
+
+    /**
+     * 被批量执行的意图识别节点，决定分类类别、是否多标签以及结果写回的 key
+     */
+    private final ClassifyNode target;
+
+    private final List<BatchItem> items;
+
+    private final int maxAttempts;
+
+    private final Map<Integer, BatchItem> pending = new LinkedHashMap<>();
+
+    private int attempts;
+
+    private long promptTokens;
+
+    public BatchClassifyContext(ClassifyNode target, List<BatchItem> items, int maxAttempts) {
+        this.target = target;
+        this.items = items;
+        this.maxAttempts = maxAttempts;
+        for (BatchItem item : items) {
+            pending.put(item.getIndex(), item);
+        }
+    }
+
+    public boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    public Collection<BatchItem> pendingItems() {
+        return pending.values();
+    }
+
+    public BatchItem pendingItem(int index) {
+        return pending.get(index);
+    }
+
+    public void markCompleted(BatchItem item) {
+        pending.remove(item.getIndex());
+    }
+
+    public void recordAttempt(long tokens) {
+        attempts++;
+        promptTokens += tokens;
+    }
+}
@@ -0,0 +1,78 @@
+package com.lunay.liteflow.ai.classify.local;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 大模型判定日志，每行一条：{@code 节点ID \t 分类 \t 输入}
+ * <p>
+ * 同样的格式也用于离线评估数据集
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class DecisionLog implements AutoCloseable {
+
+    private final Path path;
+
+    private BufferedWriter writer;
+
+    public DecisionLog(Path path) {
+        this.path = path;
+    }
+
+    public synchronized void append(String nodeId, String label, String text) {
+        try {
+            if (writer == null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(nodeId + '\t' + label + '\t' + text.replaceAll("[\\t\\r\\n]+", " "));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<Decision> load() {
+        return read(path);
+    }
+
+    public static List<Decision> read(Path path) {
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        try {
+            List<Decision> decisions = new ArrayList<>();
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\t", 3);
+                if (parts.length == 3) {
+                    decisions.add(new Decision(parts[0], parts[1], parts[2]));
+                }
+            }
+            return decisions;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    public record Decision(String nodeId, String label, String text) {
+    }
+}
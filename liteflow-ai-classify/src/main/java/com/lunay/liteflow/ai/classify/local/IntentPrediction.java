@@ -0,0 +1,12 @@
+package com.lunay.liteflow.ai.classify.local;
+
+/**
+ * 本地分类结果
+ *
+ * @param label      分类
+ * @param confidence 后验概率
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+public record IntentPrediction(String label, double confidence) {
+}
@@ -0,0 +1,123 @@
+package com.lunay.liteflow.ai.classify.local;
+
+import com.lunay.liteflow.ai.classify.config.LocalClassifierProperties;
+import com.lunay.liteflow.ai.classify.support.ClassifyNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 本地预分类离线评估
+ * <p>
+ * 按顺序回放带标注的数据集，模拟线上过程：每条样本先由本地模型判定，置信度不足时视为交给大模型，
+ * 并以标注作为大模型的判定结果继续增量学习。最后输出本地判定占比、准确率与本地判定耗时
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "classify.local", name = "evaluation-file")
+public class LocalClassifierEvaluation implements CommandLineRunner {
+
+    private final LocalClassifierProperties properties;
+
+    private final LocalClassifierManager classifierManager;
+
+    @Override
+    public void run(String... args) {
+        Map<String, List<DecisionLog.Decision>> datasets = new LinkedHashMap<>();
+        for (DecisionLog.Decision decision : DecisionLog.read(Path.of(properties.getEvaluationFile()))) {
+            datasets.computeIfAbsent(decision.nodeId(), key -> new ArrayList<>()).add(decision);
+        }
+        datasets.forEach(this::evaluate);
+    }
+
+    private void evaluate(String nodeId, List<DecisionLog.Decision> dataset) {
+        ClassifyNode node = classifierManager.getNode(nodeId);
+        Report report = replay(node.getCategories(), node.getAnnotation(LocalClassify.class), dataset);
+        log.info("""
+                        节点 {} 本地预分类评估：
+                          样本数: {}
+                          本地判定: {} ({}%)
+                          本地判定准确率: {}%
+                          整体准确率(大模型判定视为正确): {}%
+                          本地预测次数: {}, 耗时 p50: {}μs, p99: {}μs""",
+                nodeId, report.samples(),
+                report.local(), percent(report.local(), report.samples()),
+                percent(report.localCorrect(), report.local()),
+                percent(report.samples() - report.local() + report.localCorrect(), report.samples()),
+                report.predicted(), micros(report.p50Nanos()), micros(report.p99Nanos()));
+    }
+
+    /**
+     * 使用全新的模型按顺序回放数据集，不受线上判定日志影响
+     *
+     * @param categories 节点声明的全部分类
+     * @param settings   节点的本地预分类配置
+     */
+    static Report replay(List<String> categories, LocalClassify settings, List<DecisionLog.Decision> dataset) {
+        NaiveBayesIntentClassifier model = new NaiveBayesIntentClassifier(categories);
+
+        int local = 0;
+        int localCorrect = 0;
+        // 只统计实际做出预测的样本，学习量不足 minSamples 时直接交给大模型，不计入本地判定耗时
+        long[] latencies = new long[dataset.size()];
+        int predicted = 0;
+        for (DecisionLog.Decision decision : dataset) {
+            IntentPrediction prediction = null;
+            if (model.samples() >= settings.minSamples()) {
+                long start = System.nanoTime();
+                prediction = model.predict(decision.text());
+                latencies[predicted++] = System.nanoTime() - start;
+            }
+            if (prediction != null && prediction.confidence() >= settings.threshold()) {
+                local++;
+                if (prediction.label().equals(decision.label())) {
+                    localCorrect++;
+                }
+            } else {
+                model.learn(decision.text(), decision.label());
+            }
+        }
+        Arrays.sort(latencies, 0, predicted);
+        return new Report(dataset.size(), local, localCorrect, predicted,
+                percentile(latencies, predicted, 0.5), percentile(latencies, predicted, 0.99));
+    }
+
+    private static long percentile(long[] sorted, int count, double quantile) {
+        return count == 0 ? -1 : sorted[Math.min(count - 1, (int) (count * quantile))];
+    }
+
+    private static String micros(long nanos) {
+        return nanos < 0 ? "-" : String.valueOf(nanos / 1000.0);
+    }
+
+    private static String percent(int part, int total) {
+        return total == 0 ? "-" : String.format("%.1f", part * 100.0 / total);
+    }
+
+    /**
+     * 回放结果
+     *
+     * @param samples      样本数
+     * @param local        本地判定数
+     * @param localCorrect 本地判定中与标注一致的数量
+     * @param predicted    本地模型实际做出预测的次数
+     * @param p50Nanos     预测耗时 p50，没有预测时为 -1
+     * @param p99Nanos     预测耗时 p99，没有预测时为 -1
+     */
+    record Report(int samples, int local, int localCorrect, int predicted, long p50Nanos, long p99Nanos) {
+    }
+}
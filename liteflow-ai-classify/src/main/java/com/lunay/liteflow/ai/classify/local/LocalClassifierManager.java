@@ -0,0 +1,137 @@
+package com.lunay.liteflow.ai.classify.local;
+
+import com.lunay.liteflow.ai.classify.config.LocalClassifierProperties;
+import com.lunay.liteflow.ai.classify.support.ClassifyNode;
+import com.lunay.liteflow.ai.classify.support.ClassifyNodeRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 本地预分类管理器
+ * <p>
+ * 启动时扫描标注了 {@link LocalClassify} 的节点，用判定日志中该节点的历史记录训练本地模型；
+ * 运行期间大模型的每次判定都会继续写入日志并增量学习
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Component
+public class LocalClassifierManager {
+
+    private final Map<String, NodeClassifier> classifiers = new HashMap<>();
+
+    private final LocalClassifierProperties properties;
+
+    private final DecisionLog decisionLog;
+
+    private final MeterRegistry registry;
+
+    public LocalClassifierManager(ClassifyNodeRegistry nodeRegistry,
+                                  LocalClassifierProperties properties,
+                                  DecisionLog decisionLog,
+                                  MeterRegistry registry) {
+        this.properties = properties;
+        this.decisionLog = decisionLog;
+        this.registry = registry;
+        for (ClassifyNode node : nodeRegistry.annotatedWith(LocalClassify.class)) {
+            if (node.isMultiLabel()) {
+                // 多标签结果无法作为 SWITCH 的单个目标返回
+                throw new IllegalStateException(node.getNodeId() + " 为多标签分类节点，暂不支持本地预分类");
+            }
+            if (node.getInputFields().length == 0) {
+                // 固定提示词的节点每次输入都相同，本地模型学不到任何区分信息
+                throw new IllegalStateException(node.getNodeId() + " 没有通过 @AIInput 接收用户输入，无法进行本地预分类");
+            }
+            classifiers.put(node.getNodeId(), new NodeClassifier(node));
+        }
+        for (DecisionLog.Decision decision : decisionLog.load()) {
+            NodeClassifier classifier = classifiers.get(decision.nodeId());
+            if (classifier != null) {
+                classifier.model.learn(decision.text(), decision.label());
+            }
+        }
+        classifiers.values().forEach(classifier -> log.info("节点 {} 已开启本地预分类，已学习 {} 条判定",
+                classifier.node.getNodeId(), classifier.model.samples()));
+    }
+
+    /**
+     * 本地分类，输入为用户的实际输入（{@link ClassifyNode#inputText}），而不是渲染后的整段提示词
+     *
+     * @return 置信度达到阈值时返回分类，否则返回 null，由大模型判定
+     */
+    public String classify(String nodeId, String text) {
+        NodeClassifier classifier = getClassifier(nodeId);
+        String label = properties.isEnabled() ? classifier.classify(text) : null;
+        (label != null ? classifier.local : classifier.llm).increment();
+        return label;
+    }
+
+    /**
+     * 记录大模型的判定并增量学习
+     */
+    public void record(String nodeId, String text, String label) {
+        NodeClassifier classifier = getClassifier(nodeId);
+        if (!classifier.node.getCategories().contains(label)) {
+            log.warn("节点 {} 的判定结果 {} 不在分类类别中，忽略", nodeId, label);
+            return;
+        }
+        classifier.model.learn(text, label);
+        decisionLog.append(nodeId, label, text);
+    }
+
+    public ClassifyNode getNode(String nodeId) {
+        return getClassifier(nodeId).node;
+    }
+
+    private NodeClassifier getClassifier(String nodeId) {
+        NodeClassifier classifier = classifiers.get(nodeId);
+        if (classifier == null) {
+            throw new IllegalArgumentException("节点 " + nodeId + " 未开启本地预分类，请在节点接口上添加 @LocalClassify");
+        }
+        return classifier;
+    }
+
+    private class NodeClassifier {
+
+        private final ClassifyNode node;
+
+        private final LocalClassify settings;
+
+        private final NaiveBayesIntentClassifier model;
+
+        private final Counter local;
+
+        private final Counter llm;
+
+        private NodeClassifier(ClassifyNode node) {
+            this.node = node;
+            this.settings = node.getAnnotation(LocalClassify.class);
+            this.model = new NaiveBayesIntentClassifier(node.getCategories());
+            this.local = decisions(node.getNodeId(), "local");
+            this.llm = decisions(node.getNodeId(), "llm");
+        }
+
+        private String classify(String text) {
+            if (model.samples() < settings.minSamples()) {
+                return null;
+            }
+            IntentPrediction prediction = model.predict(text);
+            return prediction != null && prediction.confidence() >= settings.threshold() ? prediction.label() : null;
+        }
+    }
+
+    private Counter decisions(String nodeId, String result) {
+        return Counter.builder("classify.local.decisions")
+                .description("意图识别的判定来源，result 为 local 或 llm")
+                .tag("node", nodeId)
+                .tag("result", result)
+                .register(registry);
+    }
+}
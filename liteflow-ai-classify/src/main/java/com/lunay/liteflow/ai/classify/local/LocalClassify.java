@@ -0,0 +1,33 @@
+package com.lunay.liteflow.ai.classify.local;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 为意图识别节点开启本地预分类
+ * <p>
+ * 标注在 {@code @AIComponent} 接口上，并在流程中用 {@code localClassifyCmp.tag("节点ID")} 包裹该节点，
+ * 本地模型置信度足够时直接返回分类结果，否则再调用大模型
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LocalClassify {
+
+    /**
+     * 本地分类的最低置信度，低于该值时调用大模型
+     */
+    double threshold() default 0.9;
+
+    /**
+     * 本地模型至少学习多少条大模型的判定后才开始生效
+     */
+    int minSamples() default 20;
+}
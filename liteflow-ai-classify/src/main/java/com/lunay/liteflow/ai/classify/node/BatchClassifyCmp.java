@@ -0,0 +1,50 @@
+package com.lunay.liteflow.ai.classify.node;
+
+import com.yomahub.liteflow.ai.annotation.AIComponent;
+import com.yomahub.liteflow.ai.annotation.model.io.AIInput;
+import com.yomahub.liteflow.ai.annotation.model.io.AIOutput;
+import com.yomahub.liteflow.ai.annotation.model.io.InputField;
+import com.yomahub.liteflow.ai.annotation.model.node.AIChat;
+import com.yomahub.liteflow.ai.domain.enums.ProviderEnum;
+import com.yomahub.liteflow.ai.engine.interact.transport.TransportType;
+import com.yomahub.liteflow.ai.engine.model.output.ResponseType;
+
+/**
+ * 批量意图识别组件，一次请求对多条输入分类
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@AIComponent(
+        nodeId = "batchClassifyCmp",
+        // 模型提供商使用 DashScope，模型名称为 qwen-flash
+        provider = ProviderEnum.DASHSCOPE,
+        apiUrl = "https://dashscope.aliyuncs.com/compatible-mode/v1",
+        model = "qwen-flash",
+        // 关闭思考
+        enableThinking = false,
+        // 批量任务请求体较大，关闭请求和响应日志
+        logRequests = false,
+        logResponses = false
+)
+@AIChat(
+        systemPrompt = "你是一个意图分类器，只输出符合要求的 JSON。",
+        // 由 batchPrepareCmp 拼接好的带编号输入
+        userPrompt = "{{batchPrompt}}",
+        streaming = false,
+        transportType = TransportType.HTTP
+)
+@AIInput(
+        mapping = {
+                @InputField(name = "batchPrompt", expression = "dataMap.batchPrompt"),
+        }
+)
+@AIOutput(
+        // 结构化输出，每条结果带有输入编号
+        responseType = ResponseType.JSON,
+        typeName = "com.lunay.liteflow.ai.classify.batch.BatchClassification",
+        methodExpress = "setData(\"batchOutput\", $output)"
+)
+public interface BatchClassifyCmp {
+}
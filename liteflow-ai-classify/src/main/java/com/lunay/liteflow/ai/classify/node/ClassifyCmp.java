@@ -1,7 +1,11 @@
 package com.lunay.liteflow.ai.classify.node;
 
+import com.lunay.liteflow.ai.classify.cache.ResponseCache;
+import com.lunay.liteflow.ai.classify.local.LocalClassify;
 import com.yomahub.liteflow.ai.annotation.AIComponent;
+import com.yomahub.liteflow.ai.annotation.model.io.AIInput;
 import com.yomahub.liteflow.ai.annotation.model.io.AIOutput;
+import com.yomahub.liteflow.ai.annotation.model.io.InputField;
 import com.yomahub.liteflow.ai.annotation.model.node.AIClassify;
 import com.yomahub.liteflow.ai.domain.enums.ProviderEnum;
 
@@ -25,13 +29,30 @@ import com.yomahub.liteflow.ai.domain.enums.ProviderEnum;
         logResponses = true
 )
 @AIClassify(
-        userPrompt = "请帮我写一段Java代码",
+        // 用户的问题由上下文传入，缓存与本地预分类都以实际问题为准
+        userPrompt = "{{question}}",
         // 设置意图分类类别
         categories = {"java", "python"}
 )
+@AIInput(
+        mapping = {
+                @InputField(name = "question", expression = "dataMap.question"),
+        }
+)
 @AIOutput(
         // 将意图识别结果放置在 dataMap 中，key 为 "result"
         methodExpress = "setData(\"result\", $result)"
 )
+@ResponseCache(
+        // 相同的问题分类结果缓存 10 分钟；只做精确匹配，不开启语义缓存：
+        // 两个类别的问题往往只差语言名称，字符 n-gram 向量下的相似度可以超过阈值，语义命中会返回另一个类别
+        ttlSeconds = 600
+)
+@LocalClassify(
+        // 本地模型置信度达到 0.9 时不再调用大模型
+        threshold = 0.9,
+        // 至少学习 20 条大模型判定后生效
+        minSamples = 20
+)
 public interface ClassifyCmp {
 }
@@ -1,7 +1,10 @@
 package com.lunay.liteflow.ai.classify.node;
 
+import com.lunay.liteflow.ai.classify.cache.ResponseCache;
 import com.yomahub.liteflow.ai.annotation.AIComponent;
+import com.yomahub.liteflow.ai.annotation.model.io.AIInput;
 import com.yomahub.liteflow.ai.annotation.model.io.AIOutput;
+import com.yomahub.liteflow.ai.annotation.model.io.InputField;
 import com.yomahub.liteflow.ai.annotation.model.node.AIClassify;
 import com.yomahub.liteflow.ai.domain.enums.ProviderEnum;
 
@@ -25,15 +28,25 @@ import com.yomahub.liteflow.ai.domain.enums.ProviderEnum;
         logResponses = true
 )
 @AIClassify(
-        userPrompt = "请帮我写一段Java代码, 同时给出 Python 代码",
+        // 用户的问题由上下文传入
+        userPrompt = "{{question}}",
         // 设置分类类别
         categories = {"java", "python"},
         // 启用多标签分类
         multiLabel = true
 )
+@AIInput(
+        mapping = {
+                @InputField(name = "question", expression = "dataMap.question"),
+        }
+)
 @AIOutput(
         // 将意图识别结果放置在 dataMap 中，key 为 "result"
         methodExpress = "setData(\"result\", $result)"
 )
+@ResponseCache(
+        // 多标签结果不能直接路由，由 responseCacheHitCmp 在命中时写入结果，缓存 10 分钟
+        ttlSeconds = 600
+)
 public interface MultiClassifyCmp {
 }
@@ -1,5 +1,7 @@
 package com.lunay.liteflow.ai.classify.output;
 
+import com.lunay.liteflow.ai.classify.component.FanOutCmp;
+import com.yomahub.liteflow.ai.context.ChatContext;
 import com.yomahub.liteflow.core.NodeComponent;
 import org.springframework.stereotype.Component;
 
@@ -9,5 +11,7 @@ public class JavaCmp extends NodeComponent {
     @Override
     public void process() throws Exception {
         System.out.println("Java component executed.");
+        // 作为并行分支执行时，输出由 fanOutCmp 合并到主流程上下文
+        this.getContextBean(ChatContext.class).setData(FanOutCmp.BRANCH_OUTPUT, "Java component executed.");
     }
 }
@@ -0,0 +1,168 @@
+package com.lunay.liteflow.ai.classify.support;
+
+import com.yomahub.liteflow.ai.annotation.AIComponent;
+import com.yomahub.liteflow.ai.annotation.model.io.AIInput;
+import com.yomahub.liteflow.ai.annotation.model.io.AIOutput;
+import com.yomahub.liteflow.ai.annotation.model.io.InputField;
+import com.yomahub.liteflow.ai.annotation.model.node.AIClassify;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import lombok.Getter;
+
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 意图识别节点描述，由节点接口上的注解解析而来，供缓存与本地分类等前置层使用
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Getter
+public class ClassifyNode {
+
+    private static final String DATA_MAP_PREFIX = "dataMap.";
+
+    private static final Pattern SET_DATA = Pattern.compile("setData\\(\\s*\"([^\"]+)\"\\s*,\\s*\\$result\\s*\\)");
+
+    private final Class<?> nodeType;
+
+    private final String nodeId;
+
+    private final String userPrompt;
+
+    private final List<String> categories;
+
+    private final boolean multiLabel;
+
+    /**
+     * 分类结果在 dataMap 中的 key，解析自 {@code @AIOutput} 的 methodExpress
+     */
+    private final String resultKey;
+
+    /**
+     * 除用户输入外决定模型输出的部分：提供商、地址、模型、分类类别
+     */
+    private final String partition;
+
+    private final InputField[] inputFields;
+
+    public ClassifyNode(Class<?> nodeType) {
+        AIComponent component = nodeType.getAnnotation(AIComponent.class);
+        AIClassify classify = nodeType.getAnnotation(AIClassify.class);
+        if (component == null || classify == null) {
+            throw new IllegalStateException(nodeType.getName() + " 不是意图识别节点");
+        }
+        this.nodeType = nodeType;
+        this.nodeId = component.nodeId();
+
+        AIOutput output = nodeType.getAnnotation(AIOutput.class);
+        Matcher matcher = output == null ? null : SET_DATA.matcher(output.methodExpress());
+        if (matcher == null || !matcher.find()) {
+            throw new IllegalStateException(nodeId + " 的输出需要通过 setData(\"key\", $result) 写入 dataMap");
+        }
+        this.resultKey = matcher.group(1);
+
+        AIInput input = nodeType.getAnnotation(AIInput.class);
+        this.inputFields = input == null ? new InputField[0] : input.mapping();
+        for (InputField field : inputFields) {
+            if (!field.expression().startsWith(DATA_MAP_PREFIX)) {
+                throw new IllegalStateException(nodeId + " 的输入 " + field.name() + " 不是 dataMap 表达式，无法在节点外还原提示词");
+            }
+        }
+        this.userPrompt = classify.userPrompt();
+        this.categories = List.of(classify.categories());
+        this.multiLabel = classify.multiLabel();
+        this.partition = component.provider() + "\u0000" + component.apiUrl() + "\u0000" + component.model()
+                + "\u0000" + String.join("\u0001", categories);
+    }
+
+    public <A extends Annotation> A getAnnotation(Class<A> type) {
+        return nodeType.getAnnotation(type);
+    }
+
+    /**
+     * 用上下文中的输入渲染用户提示词，与模型实际收到的内容一致
+     */
+    public String renderPrompt(ChatContext context) {
+        String prompt = userPrompt;
+        for (InputField field : inputFields) {
+            prompt = prompt.replace("{{" + field.name() + "}}", valueOf(field, context));
+        }
+        return prompt;
+    }
+
+    /**
+     * 用户的实际输入：{@code @AIInput} 各变量的取值按声明顺序换行连接，不含提示词模板中固定的部分
+     */
+    public String inputText(ChatContext context) {
+        StringJoiner joiner = new StringJoiner("\n");
+        for (InputField field : inputFields) {
+            joiner.add(valueOf(field, context));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * 将一条用户输入写入节点唯一的输入变量，用于在流程之外构造与逐条调用相同的上下文
+     */
+    public void bindInput(ChatContext context, String text) {
+        if (inputFields.length != 1) {
+            throw new IllegalStateException(nodeId + " 需要恰好一个 @AIInput 变量才能逐条传入输入");
+        }
+        context.setData(inputFields[0].expression().substring(DATA_MAP_PREFIX.length()), text);
+    }
+
+    private static String valueOf(InputField field, ChatContext context) {
+        Object value = context.getData(field.expression().substring(DATA_MAP_PREFIX.length()));
+        return value == null ? field.defaultValue() : String.valueOf(value);
+    }
+
+    /**
+     * 精确匹配 key：分区、对话历史摘要与渲染后的提示词的 SHA-256
+     *
+     * @param historyDigest 节点携带的对话历史的摘要，不携带历史时为空字符串
+     */
+    public String exactKey(String prompt, String historyDigest) {
+        MessageDigest digest = sha256();
+        digest.update(partition.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(historyDigest.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(prompt.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 对话历史的摘要：按顺序包含每条消息的角色与内容，空历史为空字符串
+     */
+    public static String historyDigest(List<? extends Message> history) {
+        if (history == null || history.isEmpty()) {
+            return "";
+        }
+        MessageDigest digest = sha256();
+        for (Message message : history) {
+            digest.update(message.getClass().getSimpleName().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(message.getContent()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 1);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
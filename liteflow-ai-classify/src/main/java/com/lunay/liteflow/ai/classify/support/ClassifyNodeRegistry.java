@@ -0,0 +1,46 @@
+package com.lunay.liteflow.ai.classify.support;
+
+import com.yomahub.liteflow.ai.annotation.model.node.AIClassify;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 意图识别节点注册表，启动时扫描 {@code liteflow.ai.base-packages} 下的全部意图识别节点
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component
+public class ClassifyNodeRegistry {
+
+    private final Map<String, ClassifyNode> nodes;
+
+    public ClassifyNodeRegistry(@Value("${liteflow.ai.base-packages}") String basePackages) {
+        this.nodes = ClassifyNodeScanner.scan(basePackages, AIClassify.class).stream()
+                .collect(Collectors.toUnmodifiableMap(ClassifyNode::getNodeId, Function.identity()));
+    }
+
+    public ClassifyNode get(String nodeId) {
+        ClassifyNode node = nodes.get(nodeId);
+        if (node == null) {
+            throw new IllegalArgumentException("找不到意图识别节点: " + nodeId);
+        }
+        return node;
+    }
+
+    /**
+     * 标注了指定注解的节点
+     */
+    public List<ClassifyNode> annotatedWith(Class<? extends Annotation> annotation) {
+        return nodes.values().stream()
+                .filter(node -> node.getAnnotation(annotation) != null)
+                .toList();
+    }
+}
@@ -0,0 +1,47 @@
+package com.lunay.liteflow.ai.classify.support;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 扫描 {@code liteflow.ai.base-packages} 下标注了指定注解的意图识别节点接口
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public final class ClassifyNodeScanner {
+
+    private ClassifyNodeScanner() {
+    }
+
+    public static List<ClassifyNode> scan(String basePackages, Class<? extends Annotation> annotation) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                // AI 节点以接口形式定义，默认的扫描规则会将其排除
+                return beanDefinition.getMetadata().isIndependent();
+            }
+        };
+        scanner.addIncludeFilter(new AnnotationTypeFilter(annotation));
+        Map<String, ClassifyNode> nodes = new LinkedHashMap<>();
+        for (String basePackage : StringUtils.commaDelimitedListToStringArray(basePackages)) {
+            for (BeanDefinition definition : scanner.findCandidateComponents(basePackage.trim())) {
+                String className = definition.getBeanClassName();
+                Class<?> nodeType = ClassUtils.resolveClassName(className, ClassifyNodeScanner.class.getClassLoader());
+                nodes.putIfAbsent(className, new ClassifyNode(nodeType));
+            }
+        }
+        return new ArrayList<>(nodes.values());
+    }
+}
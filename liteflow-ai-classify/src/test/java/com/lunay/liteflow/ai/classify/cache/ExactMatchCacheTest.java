@@ -0,0 +1,59 @@
+package com.lunay.liteflow.ai.classify.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 精确匹配缓存的过期与 LRU 淘汰测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class ExactMatchCacheTest {
+
+    /**
+     * 到达过期时间的条目不再返回，并在读取时移除
+     */
+    @Test
+    void expiresEntryAtTtl() {
+        ExactMatchCache cache = new ExactMatchCache(10);
+        cache.put("k", "java", 1_000);
+
+        assertEquals("java", cache.get("k", 999));
+        assertNull(cache.get("k", 1_000));
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * 重新写入同一个 key 时使用新的值与过期时间
+     */
+    @Test
+    void putReplacesValueAndExpiry() {
+        ExactMatchCache cache = new ExactMatchCache(10);
+        cache.put("k", "java", 1_000);
+        cache.put("k", "python", 2_000);
+
+        assertEquals("python", cache.get("k", 1_500));
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * 超过条目数上限时淘汰最久未访问的条目，读取会刷新访问顺序
+     */
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        ExactMatchCache cache = new ExactMatchCache(2);
+        cache.put("a", "1", Long.MAX_VALUE);
+        cache.put("b", "2", Long.MAX_VALUE);
+        cache.get("a", 0);
+        cache.put("c", "3", Long.MAX_VALUE);
+
+        assertEquals(2, cache.size());
+        assertEquals("1", cache.get("a", 0));
+        assertNull(cache.get("b", 0));
+        assertEquals("3", cache.get("c", 0));
+    }
+}
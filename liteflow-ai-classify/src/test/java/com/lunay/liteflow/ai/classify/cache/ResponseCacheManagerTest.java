@@ -0,0 +1,84 @@
+package com.lunay.liteflow.ai.classify.cache;
+
+import com.lunay.liteflow.ai.classify.config.ResponseCacheProperties;
+import com.lunay.liteflow.ai.classify.support.ClassifyNodeRegistry;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 意图识别节点的响应缓存测试，使用示例中实际的节点定义
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class ResponseCacheManagerTest {
+
+    private static final String NODE_ID = "switchCmp";
+
+    private static final String JAVA_QUESTION = "在 Java 项目中如何使用单元测试框架编写测试用例，并且在持续集成流水线里统计代码覆盖率？";
+
+    private static final String PYTHON_QUESTION = JAVA_QUESTION.replace("Java", "Python");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final HashingTextEmbedder embedder = new HashingTextEmbedder(new ResponseCacheProperties().getDimensions());
+
+    private final ResponseCacheManager manager = new ResponseCacheManager(
+            new ClassifyNodeRegistry("com.lunay.liteflow.ai.classify.node"),
+            new ResponseCacheProperties(),
+            embedder,
+            new ResponseCacheMetrics(registry),
+            registry);
+
+    @Test
+    void servesExactRepeat() {
+        manager.put(NODE_ID, context(JAVA_QUESTION), "java");
+
+        assertEquals("java", manager.lookup(NODE_ID, context(JAVA_QUESTION)));
+        assertEquals(1, count("exact"));
+    }
+
+    /**
+     * 只差语言名称的两个问题向量相似度超过默认阈值，开启语义缓存时会返回另一个类别；
+     * ClassifyCmp 只做精确匹配，这样的问题不会命中
+     */
+    @Test
+    void doesNotServeLanguageSwappedNearMiss() throws Exception {
+        double threshold = (double) ResponseCache.class.getMethod("similarityThreshold").getDefaultValue();
+        assertTrue(similarity(JAVA_QUESTION, PYTHON_QUESTION) >= threshold, "用例应当是超过阈值的近似问题");
+        assertFalse(manager.getNode(NODE_ID).getAnnotation(ResponseCache.class).semantic());
+
+        manager.put(NODE_ID, context(JAVA_QUESTION), "java");
+
+        assertNull(manager.lookup(NODE_ID, context(PYTHON_QUESTION)));
+        assertEquals(1, count("miss"));
+        assertEquals(0, count("semantic"));
+    }
+
+    private double similarity(String a, String b) {
+        float[] x = embedder.embed(a);
+        float[] y = embedder.embed(b);
+        double sum = 0;
+        for (int i = 0; i < x.length; i++) {
+            sum += x[i] * y[i];
+        }
+        return sum;
+    }
+
+    private double count(String result) {
+        return registry.get("classify.cache.lookups").tag("node", NODE_ID).tag("result", result).counter().count();
+    }
+
+    private static ChatContext context(String question) {
+        ChatContext context = new ChatContext();
+        context.setData("question", question);
+        return context;
+    }
+}
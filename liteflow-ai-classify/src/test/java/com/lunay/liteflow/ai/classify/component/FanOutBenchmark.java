@@ -0,0 +1,147 @@
+package com.lunay.liteflow.ai.classify.component;
+
+import com.lunay.liteflow.ai.classify.config.FanOutConfiguration;
+import com.lunay.liteflow.ai.classify.config.FanOutProperties;
+import com.lunay.liteflow.ai.classify.support.ClassifyNode;
+import com.lunay.liteflow.ai.classify.support.ClassifyNodeRegistry;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.core.FlowExecutor;
+import com.yomahub.liteflow.flow.LiteflowResponse;
+import org.mockito.stubbing.Answer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 多标签分支并行与串行执行的耗时对比
+ * <p>
+ * 三个分支的子流程各调用一次模拟的大模型，耗时分别为 100ms、200ms、300ms：
+ * <ul>
+ *     <li>fanOut：{@link FanOutCmp} 在线程池上并行执行，耗时应接近最慢的分支 300ms</li>
+ *     <li>sequential：在当前线程依次执行各分支，与 {@code SWITCH} 依次执行匹配组件相同，耗时应接近总和 600ms</li>
+ * </ul>
+ * 两者的差值即为调度与合并的开销。
+ * 运行：{@code mvn -pl liteflow-ai-classify test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.lunay.liteflow.ai.classify.component.FanOutBenchmark}，或在 IDE 中直接运行 main 方法
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FanOutBenchmark {
+
+    /**
+     * 分类 -> 模拟的大模型耗时(ms)
+     */
+    static final Map<String, Long> MODEL_LATENCIES = new LinkedHashMap<>();
+
+    static {
+        MODEL_LATENCIES.put("java", 100L);
+        MODEL_LATENCIES.put("python", 200L);
+        MODEL_LATENCIES.put("go", 300L);
+    }
+
+    private final ClassifyNode node = mock(ClassifyNode.class);
+
+    private FlowExecutor flowExecutor;
+
+    private FanOutProperties properties;
+
+    private ExecutorService executor;
+
+    private FanOutCmp cmp;
+
+    @Setup
+    public void setUp() {
+        when(node.getResultKey()).thenReturn("result");
+        flowExecutor = mockModelExecutor();
+        properties = new FanOutProperties();
+        executor = new FanOutConfiguration().fanOutExecutor(properties);
+        cmp = new FanOutCmp(flowExecutor, mock(ClassifyNodeRegistry.class), properties, executor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Map<String, Object> fanOut() throws InterruptedException {
+        ChatContext context = context();
+        cmp.fanOut(node, context);
+        return context.getData(FanOutCmp.BRANCH_OUTPUTS);
+    }
+
+    @Benchmark
+    public Map<String, Object> sequential() {
+        Map<String, Object> outputs = new LinkedHashMap<>();
+        for (String label : MODEL_LATENCIES.keySet()) {
+            ChatContext branchContext = new ChatContext();
+            branchContext.setData(FanOutCmp.BRANCH_LABEL, label);
+            flowExecutor.execute2Resp(properties.getBranchChainPrefix() + label, null, branchContext);
+            outputs.put(label, branchContext.getData(FanOutCmp.BRANCH_OUTPUT));
+        }
+        return outputs;
+    }
+
+    private static ChatContext context() {
+        ChatContext context = new ChatContext();
+        context.setData("result", List.copyOf(MODEL_LATENCIES.keySet()));
+        return context;
+    }
+
+    /**
+     * 按分类休眠对应时长后写入分支输出，模拟分支中的一次大模型调用
+     */
+    static FlowExecutor mockModelExecutor() {
+        FlowExecutor flowExecutor = mock(FlowExecutor.class);
+        LiteflowResponse success = mock(LiteflowResponse.class);
+        when(success.isSuccess()).thenReturn(true);
+        when(flowExecutor.execute2Resp(startsWith("branch_"), isNull(), any(ChatContext.class)))
+                .thenAnswer((Answer<LiteflowResponse>) invocation -> {
+                    ChatContext branchContext = invocation.getArgument(2);
+                    String label = branchContext.getData(FanOutCmp.BRANCH_LABEL);
+                    Thread.sleep(MODEL_LATENCIES.get(label));
+                    branchContext.setData(FanOutCmp.BRANCH_OUTPUT, "回答 " + label);
+                    return success;
+                });
+        return flowExecutor;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FanOutBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
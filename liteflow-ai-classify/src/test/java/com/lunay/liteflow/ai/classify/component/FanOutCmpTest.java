@@ -0,0 +1,299 @@
+package com.lunay.liteflow.ai.classify.component;
+
+import com.lunay.liteflow.ai.classify.config.FanOutConfiguration;
+import com.lunay.liteflow.ai.classify.config.FanOutProperties;
+import com.lunay.liteflow.ai.classify.support.ClassifyNode;
+import com.lunay.liteflow.ai.classify.support.ClassifyNodeRegistry;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.core.FlowExecutor;
+import com.yomahub.liteflow.flow.LiteflowResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 多标签并行分支测试，分支子流程由模拟的 FlowExecutor 执行
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class FanOutCmpTest {
+
+    private final FlowExecutor flowExecutor = mock(FlowExecutor.class);
+
+    private final ClassifyNode node = mock(ClassifyNode.class);
+
+    private final Set<String> branchThreads = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 线程池与队列都被占满时，多出的分支记为失败，不会在流程线程上执行
+     */
+    @Test
+    void rejectedBranchBecomesFailedResult() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        onBranch(label -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "输出 " + label;
+        });
+        // 1 个线程 + 1 个队列位置，第三个分支会被拒绝
+        FanOutCmp cmp = fanOutCmp(properties(1, 1, false));
+        ChatContext context = context(List.of("a", "b", "c"));
+
+        Thread.ofPlatform().start(() -> {
+            sleep(200);
+            release.countDown();
+        });
+        cmp.fanOut(node, context);
+
+        Map<String, Object> outputs = context.getData(FanOutCmp.BRANCH_OUTPUTS);
+        Map<String, String> errors = context.getData(FanOutCmp.BRANCH_ERRORS);
+        assertEquals(Map.of("a", "输出 a", "b", "输出 b"), outputs);
+        assertEquals(Set.of("c"), errors.keySet());
+        assertFalse(branchThreads.contains(Thread.currentThread().getName()), "分支在流程线程上执行");
+    }
+
+    /**
+     * 快速失败时节点直接失败，已完成分支的输出不会合并到上下文
+     */
+    @Test
+    void failFastDoesNotMergePartialOutputs() {
+        onBranch(label -> {
+            if (label.equals("b")) {
+                sleep(100);
+                throw new IllegalStateException("分支 b 失败");
+            }
+            return "输出 " + label;
+        });
+        FanOutCmp cmp = fanOutCmp(properties(4, 4, true));
+        ChatContext context = context(List.of("a", "b"));
+
+        assertThrows(IllegalStateException.class, () -> cmp.fanOut(node, context));
+
+        assertNull(context.getData(FanOutCmp.BRANCH_OUTPUTS));
+        assertNull(context.getData(FanOutCmp.BRANCH_ERRORS));
+    }
+
+    /**
+     * 快速失败时，被线程池拒绝的分支同样使节点失败
+     */
+    @Test
+    void failFastRejectsWhenPoolIsFull() {
+        CountDownLatch release = new CountDownLatch(1);
+        onBranch(label -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "输出 " + label;
+        });
+        FanOutCmp cmp = fanOutCmp(properties(1, 1, true));
+        ChatContext context = context(List.of("a", "b", "c"));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> cmp.fanOut(node, context));
+        release.countDown();
+
+        assertTrue(error.getMessage().contains("c"), error.getMessage());
+        assertNull(context.getData(FanOutCmp.BRANCH_OUTPUTS));
+    }
+
+    /**
+     * 分支并行执行，总耗时接近最慢的分支而不是各分支之和，对比见 {@link FanOutBenchmark}
+     */
+    @Test
+    void wallClockFollowsSlowestBranch() throws Exception {
+        Map<String, Long> latencies = Map.of("java", 100L, "python", 200L, "go", 300L);
+        onBranch(label -> {
+            Thread.sleep(latencies.get(label));
+            return "输出 " + label;
+        });
+        FanOutCmp cmp = fanOutCmp(properties(4, 4, false));
+        ChatContext context = context(List.of("java", "python", "go"));
+
+        long start = System.nanoTime();
+        cmp.fanOut(node, context);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Map<String, Object> outputs = context.getData(FanOutCmp.BRANCH_OUTPUTS);
+        assertEquals(Set.of("java", "python", "go"), outputs.keySet());
+        assertTrue(elapsed >= 300 && elapsed < 450, "总耗时 " + elapsed + " ms，最慢分支 300 ms，各分支之和 600 ms");
+    }
+
+    /**
+     * 超时的分支被中断并记入失败，节点不等待该分支，其余分支的输出照常合并
+     */
+    @Test
+    void timedOutBranchIsInterruptedAndRecorded() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        onBranch(label -> {
+            if (label.equals("slow")) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+            }
+            return "输出 " + label;
+        });
+        FanOutProperties properties = properties(4, 4, false);
+        properties.getBranchTimeouts().put("slow", Duration.ofMillis(100));
+        FanOutCmp cmp = fanOutCmp(properties);
+        ChatContext context = context(List.of("fast", "slow"));
+
+        long start = System.nanoTime();
+        cmp.fanOut(node, context);
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, Object> outputs = context.getData(FanOutCmp.BRANCH_OUTPUTS);
+        Map<String, String> errors = context.getData(FanOutCmp.BRANCH_ERRORS);
+        assertEquals(Map.of("fast", "输出 fast"), outputs);
+        assertEquals(Set.of("slow"), errors.keySet());
+        assertTrue(errors.get("slow").contains("分支超时"), errors.get("slow"));
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(2), "等待了超时的分支 " + elapsed / 1_000_000 + " ms");
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "超时的分支没有被中断");
+    }
+
+    /**
+     * 不响应中断的分支在超时后才完成，其输出被丢弃，已合并的结果不受影响
+     */
+    @Test
+    void lateCompletionAfterTimeoutIsDiscarded() throws Exception {
+        CountDownLatch finished = new CountDownLatch(1);
+        onBranch(label -> {
+            if (label.equals("slow")) {
+                // 忽略中断，在超时之后才返回
+                long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+                while (System.nanoTime() < end) {
+                    Thread.onSpinWait();
+                }
+                finished.countDown();
+                return "迟到的输出";
+            }
+            return "输出 " + label;
+        });
+        FanOutProperties properties = properties(4, 4, false);
+        properties.getBranchTimeouts().put("slow", Duration.ofMillis(100));
+        FanOutCmp cmp = fanOutCmp(properties);
+        ChatContext context = context(List.of("fast", "slow"));
+
+        cmp.fanOut(node, context);
+        assertEquals(1, finished.getCount(), "节点等到了超时分支完成后才返回");
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        sleep(50);
+
+        Map<String, Object> outputs = context.getData(FanOutCmp.BRANCH_OUTPUTS);
+        Map<String, String> errors = context.getData(FanOutCmp.BRANCH_ERRORS);
+        assertEquals(Map.of("fast", "输出 fast"), outputs);
+        assertEquals(Set.of("slow"), errors.keySet());
+    }
+
+    /**
+     * 快速失败时，分支超时使节点失败，并中断仍在执行的其余分支
+     */
+    @Test
+    void failFastTimeoutCancelsRemainingBranches() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(2);
+        onBranch(label -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "输出 " + label;
+        });
+        FanOutProperties properties = properties(4, 4, true);
+        properties.getBranchTimeouts().put("slow", Duration.ofMillis(100));
+        FanOutCmp cmp = fanOutCmp(properties);
+        ChatContext context = context(List.of("other", "slow"));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> cmp.fanOut(node, context));
+
+        assertTrue(error.getCause() instanceof TimeoutException, String.valueOf(error.getCause()));
+        assertNull(context.getData(FanOutCmp.BRANCH_OUTPUTS));
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "其余分支没有被中断");
+    }
+
+    private FanOutCmp fanOutCmp(FanOutProperties properties) {
+        executor = new FanOutConfiguration().fanOutExecutor(properties);
+        return new FanOutCmp(flowExecutor, mock(ClassifyNodeRegistry.class), properties, executor);
+    }
+
+    private static FanOutProperties properties(int threads, int queueCapacity, boolean failFast) {
+        FanOutProperties properties = new FanOutProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setFailFast(failFast);
+        return properties;
+    }
+
+    private ChatContext context(List<String> labels) {
+        when(node.getResultKey()).thenReturn("result");
+        ChatContext context = new ChatContext();
+        context.setData("result", labels);
+        return context;
+    }
+
+    private void onBranch(Branch branch) {
+        // 响应在分支执行前创建，不在并发的 Answer 中进行 stub
+        LiteflowResponse success = mock(LiteflowResponse.class);
+        when(success.isSuccess()).thenReturn(true);
+        LiteflowResponse failure = mock(LiteflowResponse.class);
+        when(failure.isSuccess()).thenReturn(false);
+        when(failure.getCause()).thenReturn(new IllegalStateException("分支执行失败"));
+        when(flowExecutor.execute2Resp(startsWith("branch_"), isNull(), any(ChatContext.class)))
+                .thenAnswer((Answer<LiteflowResponse>) invocation -> {
+                    branchThreads.add(Thread.currentThread().getName());
+                    ChatContext branchContext = invocation.getArgument(2);
+                    String label = branchContext.getData(FanOutCmp.BRANCH_LABEL);
+                    try {
+                        branchContext.setData(FanOutCmp.BRANCH_OUTPUT, branch.run(label));
+                        return success;
+                    } catch (IllegalStateException e) {
+                        return failure;
+                    }
+                });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Branch {
+
+        String run(String label) throws Exception;
+    }
+}
@@ -0,0 +1,43 @@
+package com.lunay.liteflow.ai.classify.local;
+
+import com.lunay.liteflow.ai.classify.node.ClassifyCmp;
+import com.lunay.liteflow.ai.classify.support.ClassifyNode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 回放仓库中带标注的数据集 {@code evaluation/replay.tsv}，按 {@link ClassifyCmp} 的本地预分类配置统计结果
+ * <p>
+ * 数据集由模板生成，共 520 条 Java 与 Python 问题，打乱顺序后固定；除耗时外结果是确定的
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class LocalClassifierEvaluationTest {
+
+    private static final Path DATASET = Path.of("evaluation", "replay.tsv");
+
+    @Test
+    void replaysLabelledDataset() {
+        ClassifyNode node = new ClassifyNode(ClassifyCmp.class);
+        LocalClassify settings = node.getAnnotation(LocalClassify.class);
+        List<DecisionLog.Decision> dataset = DecisionLog.read(DATASET);
+
+        LocalClassifierEvaluation.Report report = LocalClassifierEvaluation.replay(node.getCategories(), settings, dataset);
+
+        System.out.printf("样本数 %d，本地判定 %d，本地判定正确 %d，本地预测 %d 次，耗时 p50 %.1fμs，p99 %.1fμs%n",
+                report.samples(), report.local(), report.localCorrect(), report.predicted(),
+                report.p50Nanos() / 1000.0, report.p99Nanos() / 1000.0);
+        assertEquals(520, report.samples());
+        // 学习量达到 minSamples 之前的样本全部交给大模型
+        assertEquals(report.samples() - settings.minSamples(), report.predicted());
+        // 朴素贝叶斯的后验概率偏高，0.9 的阈值下本地判定占比高而准确率偏低，调整阈值时同步更新这里与 README
+        assertEquals(449, report.local());
+        assertEquals(343, report.localCorrect());
+    }
+}
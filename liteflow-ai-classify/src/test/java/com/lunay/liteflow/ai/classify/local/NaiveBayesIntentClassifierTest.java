@@ -0,0 +1,95 @@
+package com.lunay.liteflow.ai.classify.local;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 朴素贝叶斯分类器的特征提取、增量学习与置信度测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class NaiveBayesIntentClassifierTest {
+
+    private static final List<String> CATEGORIES = List.of("java", "python");
+
+    /**
+     * 按字母、数字与汉字提取一元和二元片段，英文转为小写，标点与空白断开二元片段
+     */
+    @Test
+    void extractsUnigramsAndBigrams() {
+        assertEquals(List.of("j", "d", "jd", "k", "dk", "线", "程", "线程"),
+                NaiveBayesIntentClassifier.features("JDK 线程？"));
+        assertEquals(List.of("a", "b"), NaiveBayesIntentClassifier.features("a-b"));
+        assertEquals(List.of(), NaiveBayesIntentClassifier.features("？ ，"));
+    }
+
+    /**
+     * 尚未学习任何样本时没有预测结果
+     */
+    @Test
+    void returnsNullBeforeLearning() {
+        NaiveBayesIntentClassifier classifier = new NaiveBayesIntentClassifier(CATEGORIES);
+
+        assertNull(classifier.predict("HashMap 扩容"));
+        assertEquals(0, classifier.samples());
+    }
+
+    /**
+     * 只见过一种分类时，未出现过的分类同样参与归一化，置信度不会恒为 1
+     */
+    @Test
+    void unseenCategoryKeepsConfidenceBelowOne() {
+        NaiveBayesIntentClassifier classifier = new NaiveBayesIntentClassifier(CATEGORIES);
+        classifier.learn("Java 的 HashMap 怎么扩容", "java");
+
+        IntentPrediction learned = classifier.predict("HashMap 扩容");
+        IntentPrediction unseen = classifier.predict("pandas 分组聚合");
+
+        assertEquals("java", learned.label());
+        assertTrue(learned.confidence() < 1.0, "confidence " + learned.confidence());
+        // 没有任何已学习片段的输入，已学习分类的特征分母更大，反而偏向未出现过的分类，由 minSamples 避免过早采用
+        assertEquals("python", unseen.label());
+    }
+
+    /**
+     * 学习两种分类后按片段区分，与训练样本相近的输入置信度更高
+     */
+    @Test
+    void separatesLearnedCategories() {
+        NaiveBayesIntentClassifier classifier = new NaiveBayesIntentClassifier(CATEGORIES);
+        classifier.learn("Java 的 HashMap 怎么扩容", "java");
+        classifier.learn("Spring Boot 自动配置原理", "java");
+        classifier.learn("JVM 垃圾回收怎么调优", "java");
+        classifier.learn("Python 的装饰器怎么写", "python");
+        classifier.learn("pandas 分组聚合", "python");
+        classifier.learn("Django 中间件的执行顺序", "python");
+
+        IntentPrediction java = classifier.predict("Spring Boot 的 HashMap");
+        IntentPrediction python = classifier.predict("Django 装饰器");
+
+        assertEquals(6, classifier.samples());
+        assertEquals("java", java.label());
+        assertEquals("python", python.label());
+        assertTrue(java.confidence() > 0.5 && java.confidence() <= 1.0);
+        assertTrue(classifier.predict("Spring Boot 自动配置原理").confidence() > java.confidence());
+    }
+
+    /**
+     * 节点未声明的分类学习后同样可以被预测
+     */
+    @Test
+    void learnsUndeclaredCategory() {
+        NaiveBayesIntentClassifier classifier = new NaiveBayesIntentClassifier(CATEGORIES);
+        classifier.learn("Go 的 goroutine 调度", "go");
+        classifier.learn("Java 的 HashMap 怎么扩容", "java");
+
+        assertEquals("go", classifier.predict("goroutine").label());
+    }
+}
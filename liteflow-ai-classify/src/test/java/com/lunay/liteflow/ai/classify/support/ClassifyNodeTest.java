@@ -0,0 +1,63 @@
+package com.lunay.liteflow.ai.classify.support;
+
+import com.lunay.liteflow.ai.classify.node.ClassifyCmp;
+import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
+import com.yomahub.liteflow.ai.engine.model.chat.message.Message;
+import com.yomahub.liteflow.ai.engine.model.chat.message.UserMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * 缓存 key 与对话历史摘要测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class ClassifyNodeTest {
+
+    private final ClassifyNode node = new ClassifyNode(ClassifyCmp.class);
+
+    /**
+     * 相同的历史与提示词得到相同的 key，任意一项不同 key 都不同
+     */
+    @Test
+    void exactKeyCoversHistoryAndPrompt() {
+        String key = node.exactKey("Spring Boot 的自动配置是怎么生效的？", "");
+
+        assertEquals(key, node.exactKey("Spring Boot 的自动配置是怎么生效的？", ""));
+        assertNotEquals(key, node.exactKey("Spring Boot 的自动配置是怎么生效的", ""));
+        assertNotEquals(key, node.exactKey("Spring Boot 的自动配置是怎么生效的？", "history"));
+    }
+
+    /**
+     * 提示词与历史摘要之间有分隔，内容在两者之间移动时 key 不同
+     */
+    @Test
+    void exactKeySeparatesHistoryFromPrompt() {
+        assertNotEquals(node.exactKey("bc", "a"), node.exactKey("c", "ab"));
+    }
+
+    /**
+     * 历史摘要区分每条消息的角色、内容与顺序，空历史为空字符串
+     */
+    @Test
+    void historyDigestCoversRoleContentAndOrder() {
+        List<Message> history = List.of(new UserMessage("我在用 Java"), new AssistantMessage("好的"));
+        String digest = ClassifyNode.historyDigest(history);
+
+        assertEquals("", ClassifyNode.historyDigest(null));
+        assertEquals("", ClassifyNode.historyDigest(List.of()));
+        assertEquals(digest, ClassifyNode.historyDigest(List.of(new UserMessage("我在用 Java"), new AssistantMessage("好的"))));
+        assertNotEquals(digest, ClassifyNode.historyDigest(List.of(new AssistantMessage("我在用 Java"), new AssistantMessage("好的"))));
+        assertNotEquals(digest, ClassifyNode.historyDigest(List.of(new UserMessage("我在用 Python"), new AssistantMessage("好的"))));
+        assertNotEquals(digest, ClassifyNode.historyDigest(List.of(new AssistantMessage("好的"), new UserMessage("我在用 Java"))));
+        // 消息边界不同、拼接后文本相同的历史也不相同
+        assertNotEquals(ClassifyNode.historyDigest(List.of(new UserMessage("ab"), new UserMessage("c"))),
+                ClassifyNode.historyDigest(List.of(new UserMessage("a"), new UserMessage("bc"))));
+    }
+}
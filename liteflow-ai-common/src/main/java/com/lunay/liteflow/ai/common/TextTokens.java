@@ -0,0 +1,40 @@
+package com.lunay.liteflow.ai.common;
+
+/**
+ * 文本 token 数估算
+ * <p>
+ * 不依赖具体模型的分词器：汉字、CJK 标点与全角字符按 1 个 token 计，其余字符按 4 个字符 1 个 token 计。
+ * 各示例的提示词预算、工具定义预算与速率限额都按它估算，结果可以相互比较
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public final class TextTokens {
+
+    private TextTokens() {
+    }
+
+    public static long estimate(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        long cjk = 0;
+        long other = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            if (isCjk(text.charAt(i))) {
+                cjk++;
+            } else {
+                other++;
+            }
+        }
+        return cjk + (other + 3) / 4;
+    }
+
+    private static boolean isCjk(char c) {
+        return (c >= '\u4e00' && c <= '\u9fff')
+                || (c >= '\u3400' && c <= '\u4dbf')
+                || (c >= '\u3000' && c <= '\u303f')
+                || (c >= '\uff00' && c <= '\uffef');
+    }
+}
@@ -0,0 +1,25 @@
+package com.lunay.liteflow.ai.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 文本 token 数估算测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class TextTokensTest {
+
+    @Test
+    void countsCjkAsOneTokenAndOthersByFour() {
+        assertEquals(0, TextTokens.estimate(null));
+        assertEquals(0, TextTokens.estimate(""));
+        assertEquals(1, TextTokens.estimate("a"));
+        assertEquals(2, TextTokens.estimate("LiteFlow"));
+        // 4 个汉字、1 个中文逗号、1 个全角问号与 " id" 3 个其他字符
+        assertEquals(7, TextTokens.estimate("你好，世界？ id"));
+    }
+}
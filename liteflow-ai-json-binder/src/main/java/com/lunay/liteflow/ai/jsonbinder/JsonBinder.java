@@ -0,0 +1,32 @@
+package com.lunay.liteflow.ai.jsonbinder;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * 编译期生成的 JSON 绑定器，直接基于 Jackson 的流式 API 读取字段，不经过反射与通用的反序列化器
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public interface JsonBinder<T> {
+
+    /**
+     * 绑定的类型
+     */
+    Class<T> type();
+
+    /**
+     * 类型的 JSON Schema，编译期生成
+     */
+    String schema();
+
+    /**
+     * 读取一个对象
+     *
+     * @param parser 当前 token 为 START_OBJECT 或 VALUE_NULL；尚未读取任何 token 时先读取一个。返回时当前 token 为对应的 END_OBJECT
+     */
+    T read(JsonParser parser) throws IOException;
+}
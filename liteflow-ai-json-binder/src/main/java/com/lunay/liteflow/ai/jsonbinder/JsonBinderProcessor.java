@@ -0,0 +1,396 @@
+package com.lunay.liteflow.ai.jsonbinder;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * {@link JsonBinding} 注解处理器
+ * <p>
+ * 编译期为每个标注了 {@link JsonBinding} 的类生成 {@code <类名>_JsonBinder}，按字段逐个读取 JSON，
+ * 同时生成类型的 JSON Schema，并登记到 {@code META-INF/services}
+ * <p>
+ * 支持的字段类型：String、int、long、double、boolean 及其包装类型、标注了 {@link JsonBinding} 的类型，以及元素为这些类型的 List。
+ * {@code @JsonProperty} 只按名称读取，不依赖 jackson-annotations
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@SupportedAnnotationTypes(JsonBinderProcessor.JSON_BINDING)
+public class JsonBinderProcessor extends AbstractProcessor {
+
+    static final String JSON_BINDING = "com.lunay.liteflow.ai.jsonbinder.JsonBinding";
+
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+
+    private static final String SERVICE_FILE = "META-INF/services/" + JsonBinder.class.getName();
+
+    private static final String SUFFIX = "_JsonBinder";
+
+    /**
+     * 已生成的绑定器，全部轮次结束后写入服务文件
+     */
+    private final List<String> binders = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+        for (TypeElement annotation : annotations) {
+            for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                generate(type);
+            }
+        }
+        // 与 ToolDescriptorProcessor 一致，不独占注解，同一次编译中的其他处理器仍可处理这些注解
+        return false;
+    }
+
+    private void generate(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || !isAccessible(type) || !hasPublicNoArgConstructor(type)) {
+            error(type, "@JsonBinding 只能标注在带有 public 无参构造方法的 public 顶层类或静态内部类上");
+            return;
+        }
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String target = type.getQualifiedName().toString();
+        String className = binderSimpleName(type);
+
+        StringBuilder cases = new StringBuilder();
+        for (VariableElement field : fields(type)) {
+            String reader = valueReader(field.asType());
+            if (reader == null) {
+                error(field, "@JsonBinding 不支持字段类型 " + field.asType());
+                continue;
+            }
+            String setter = "set" + Character.toUpperCase(field.getSimpleName().charAt(0)) + field.getSimpleName().toString().substring(1);
+            cases.append("                case ").append(json(propertyName(field))).append(" -> value.").append(setter).append("(").append(reader).append(");\n");
+        }
+        String schema = objectSchema(type, new HashSet<>());
+
+        String source = (packageName.isEmpty() ? "" : "package " + packageName + ";\n\n")
+                + "import com.fasterxml.jackson.core.JsonParser;\n"
+                + "import com.fasterxml.jackson.core.JsonToken;\n"
+                + "import com.lunay.liteflow.ai.jsonbinder.JsonBinder;\n"
+                + "import com.lunay.liteflow.ai.jsonbinder.JsonBinders;\n\n"
+                + "import javax.annotation.processing.Generated;\n"
+                + "import java.io.IOException;\n\n"
+                + "@Generated(\"" + JsonBinderProcessor.class.getName() + "\")\n"
+                + "public final class " + className + " implements JsonBinder<" + target + "> {\n\n"
+                + "    public static final " + className + " INSTANCE = new " + className + "();\n\n"
+                + "    private static final String SCHEMA = " + json(schema) + ";\n\n"
+                + "    @Override\n"
+                + "    public Class<" + target + "> type() {\n"
+                + "        return " + target + ".class;\n"
+                + "    }\n\n"
+                + "    @Override\n"
+                + "    public String schema() {\n"
+                + "        return SCHEMA;\n"
+                + "    }\n\n"
+                + "    @Override\n"
+                + "    public " + target + " read(JsonParser parser) throws IOException {\n"
+                + "        if (!JsonBinders.startObject(parser)) {\n"
+                + "            return null;\n"
+                + "        }\n"
+                + "        " + target + " value = new " + target + "();\n"
+                + "        while (parser.nextToken() == JsonToken.FIELD_NAME) {\n"
+                + "            String name = parser.currentName();\n"
+                + "            parser.nextToken();\n"
+                + "            switch (name) {\n"
+                + cases
+                + "                default -> parser.skipChildren();\n"
+                + "            }\n"
+                + "        }\n"
+                + "        return value;\n"
+                + "    }\n"
+                + "}\n";
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+            binders.add(qualifiedName);
+        } catch (IOException e) {
+            error(type, "生成 JSON 绑定器失败: " + e.getMessage());
+        }
+    }
+
+    private void writeServiceFile() {
+        if (binders.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String binder : binders) {
+                    writer.write(binder + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "写入 " + SERVICE_FILE + " 失败: " + e.getMessage());
+        }
+    }
+
+    // ---------------------------------------------------------------- 字段读取与 JSON Schema
+
+    /**
+     * 读取当前值的表达式，不支持的类型返回空
+     */
+    private String valueReader(TypeMirror type) {
+        return switch (type.getKind()) {
+            case INT -> "JsonBinders.readIntValue(parser)";
+            case LONG -> "JsonBinders.readLongValue(parser)";
+            case DOUBLE -> "JsonBinders.readDoubleValue(parser)";
+            case BOOLEAN -> "JsonBinders.readBooleanValue(parser)";
+            case DECLARED -> {
+                String element = elementReader(type);
+                if (element != null) {
+                    // 方法引用改写为直接调用
+                    yield element.replace("::", ".") + "(parser)";
+                }
+                TypeMirror item = listElement(type);
+                String itemReader = item == null ? null : elementReader(item);
+                yield itemReader == null ? null : "JsonBinders.readList(parser, " + itemReader + ")";
+            }
+            default -> null;
+        };
+    }
+
+    /**
+     * 读取一个引用类型值的方法引用，用于字段与 List 元素
+     */
+    private String elementReader(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        return switch (element.getQualifiedName().toString()) {
+            case "java.lang.String" -> "JsonBinders::readString";
+            case "java.lang.Integer" -> "JsonBinders::readInteger";
+            case "java.lang.Long" -> "JsonBinders::readLong";
+            case "java.lang.Double" -> "JsonBinders::readDouble";
+            case "java.lang.Boolean" -> "JsonBinders::readBoolean";
+            default -> hasAnnotation(element, JSON_BINDING) ? binderName(element) + ".INSTANCE::read" : null;
+        };
+    }
+
+    /**
+     * 对象的 JSON Schema，嵌套的 {@link JsonBinding} 类型直接展开，递归引用不再展开
+     */
+    private String objectSchema(TypeElement type, Set<String> visiting) {
+        String name = type.getQualifiedName().toString();
+        if (!visiting.add(name)) {
+            return "{\"type\":\"object\"}";
+        }
+        StringJoiner properties = new StringJoiner(",", "{", "}");
+        StringJoiner required = new StringJoiner(",", "[", "]");
+        for (VariableElement field : fields(type)) {
+            String schema = schema(field.asType(), visiting);
+            if (schema == null) {
+                continue;
+            }
+            properties.add(json(propertyName(field)) + ":" + schema);
+            if (Boolean.TRUE.equals(annotationValues(field, JSON_PROPERTY).get("required"))) {
+                required.add(json(propertyName(field)));
+            }
+        }
+        visiting.remove(name);
+        return "{\"type\":\"object\",\"properties\":" + properties + ",\"required\":" + required + "}";
+    }
+
+    private String schema(TypeMirror type, Set<String> visiting) {
+        switch (type.getKind()) {
+            case INT, LONG -> {
+                return "{\"type\":\"integer\"}";
+            }
+            case DOUBLE -> {
+                return "{\"type\":\"number\"}";
+            }
+            case BOOLEAN -> {
+                return "{\"type\":\"boolean\"}";
+            }
+            case DECLARED -> {
+                TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+                switch (element.getQualifiedName().toString()) {
+                    case "java.lang.String" -> {
+                        return "{\"type\":\"string\"}";
+                    }
+                    case "java.lang.Integer", "java.lang.Long" -> {
+                        return "{\"type\":\"integer\"}";
+                    }
+                    case "java.lang.Double" -> {
+                        return "{\"type\":\"number\"}";
+                    }
+                    case "java.lang.Boolean" -> {
+                        return "{\"type\":\"boolean\"}";
+                    }
+                    default -> {
+                    }
+                }
+                if (hasAnnotation(element, JSON_BINDING)) {
+                    return objectSchema(element, visiting);
+                }
+                TypeMirror item = listElement(type);
+                String itemSchema = item == null ? null : schema(item, visiting);
+                return itemSchema == null ? null : "{\"type\":\"array\",\"items\":" + itemSchema + "}";
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * JSON 字段名：{@code @JsonProperty} 的值，未标注时为字段名
+     */
+    private String propertyName(VariableElement field) {
+        String name = (String) annotationValues(field, JSON_PROPERTY).getOrDefault("value", "");
+        return name.isEmpty() ? field.getSimpleName().toString() : name;
+    }
+
+    /**
+     * {@code List<X>} 的元素类型，其他类型返回空
+     */
+    private TypeMirror listElement(TypeMirror type) {
+        DeclaredType declared = (DeclaredType) type;
+        TypeElement element = (TypeElement) declared.asElement();
+        if (!element.getQualifiedName().contentEquals("java.util.List") || declared.getTypeArguments().size() != 1) {
+            return null;
+        }
+        return declared.getTypeArguments().get(0);
+    }
+
+    /**
+     * 类及其父类中声明的实例字段，父类字段在前
+     */
+    private List<VariableElement> fields(TypeElement element) {
+        List<VariableElement> fields = new ArrayList<>();
+        TypeMirror superclass = element.getSuperclass();
+        if (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement parent = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (!parent.getQualifiedName().toString().startsWith("java.")) {
+                fields.addAll(fields(parent));
+            }
+        }
+        for (VariableElement field : ElementFilter.fieldsIn(element.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (!modifiers.contains(Modifier.STATIC) && !modifiers.contains(Modifier.TRANSIENT)) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    // ---------------------------------------------------------------- 类型与注解
+
+    private String binderSimpleName(TypeElement type) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        return type.getQualifiedName().toString().substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+                .replace('.', '_') + SUFFIX;
+    }
+
+    private String binderName(TypeElement type) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        return (packageName.isEmpty() ? "" : packageName + ".") + binderSimpleName(type);
+    }
+
+    private boolean isAccessible(TypeElement type) {
+        NestingKind nesting = type.getNestingKind();
+        return type.getModifiers().contains(Modifier.PUBLIC)
+                && (nesting == NestingKind.TOP_LEVEL || nesting == NestingKind.MEMBER && type.getModifiers().contains(Modifier.STATIC));
+    }
+
+    /**
+     * 没有声明任何构造方法时使用默认构造方法；Lombok 的 {@code @NoArgsConstructor} 同样视为存在
+     */
+    private boolean hasPublicNoArgConstructor(TypeElement type) {
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        return constructors.isEmpty()
+                || hasAnnotation(type, "lombok.NoArgsConstructor")
+                || constructors.stream().anyMatch(constructor -> constructor.getParameters().isEmpty()
+                && constructor.getModifiers().contains(Modifier.PUBLIC));
+    }
+
+    private boolean hasAnnotation(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 读取注解属性（包含默认值），未标注时返回空 Map
+     */
+    private Map<String, Object> annotationValues(Element element, String annotation) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                processingEnv.getElementUtils().getElementValuesWithDefaults(mirror)
+                        .forEach((key, value) -> values.put(key.getSimpleName().toString(), value.getValue()));
+            }
+        }
+        return values;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    // ---------------------------------------------------------------- 转义
+
+    private static String json(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
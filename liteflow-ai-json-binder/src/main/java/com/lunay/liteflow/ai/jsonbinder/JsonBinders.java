@@ -0,0 +1,199 @@
+package com.lunay.liteflow.ai.jsonbinder;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+
+/**
+ * 编译期生成的绑定器的注册表，以及生成代码使用的读取方法
+ * <p>
+ * 生成的绑定器登记在 {@code META-INF/services}，首次查找时通过 {@link ServiceLoader} 一次性加载。
+ * 数值与布尔值的读取方法只接受对应类型的 JSON 值或内容合法的字符串，其他值抛出 {@link JsonParseException}
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public final class JsonBinders {
+
+    private JsonBinders() {
+    }
+
+    /**
+     * 查找类型对应的生成绑定器
+     *
+     * @return 没有为该类型生成绑定器时返回空
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> JsonBinder<T> find(Class<T> type) {
+        return (JsonBinder<T>) Registry.BINDERS.get(type);
+    }
+
+    /**
+     * 读取数组元素的方法
+     */
+    @FunctionalInterface
+    public interface ElementReader<T> {
+
+        T read(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * 读取一个数组，当前 token 为 START_ARRAY 或 VALUE_NULL
+     */
+    public static <T> List<T> readList(JsonParser parser, ElementReader<T> reader) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "期望数组，实际为 " + token);
+        }
+        List<T> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(reader.read(parser));
+        }
+        return values;
+    }
+
+    /**
+     * 读取一个对象的起始 token
+     *
+     * @return 当前值为 null 时返回 false
+     */
+    public static boolean startObject(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null) {
+            token = parser.nextToken();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return false;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "期望对象，实际为 " + token);
+        }
+        return true;
+    }
+
+    public static String readString(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == null || !token.isScalarValue()) {
+            throw new JsonParseException(parser, "期望字符串，实际为 " + token);
+        }
+        return parser.getText();
+    }
+
+    /**
+     * 读取整数，接受 JSON 整数与内容为整数的字符串；小数、超出范围的整数以及其他类型的值直接失败，不会被静默转换为 0
+     */
+    public static Integer readInteger(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT -> parser.getIntValue();
+            case VALUE_STRING -> parse(parser, "整数", Integer::valueOf);
+            case null, default -> throw mismatch(parser, "整数");
+        };
+    }
+
+    public static Long readLong(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT -> parser.getLongValue();
+            case VALUE_STRING -> parse(parser, "整数", Long::valueOf);
+            case null, default -> throw mismatch(parser, "整数");
+        };
+    }
+
+    public static Double readDouble(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+            case VALUE_STRING -> parse(parser, "数字", Double::valueOf);
+            case null, default -> throw mismatch(parser, "数字");
+        };
+    }
+
+    /**
+     * 读取布尔值，接受 JSON 布尔值与字符串 {@code "true"}、{@code "false"}
+     */
+    public static Boolean readBoolean(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NULL -> null;
+            case VALUE_TRUE -> true;
+            case VALUE_FALSE -> false;
+            case VALUE_STRING -> switch (parser.getText().strip()) {
+                case "true" -> true;
+                case "false" -> false;
+                default -> throw mismatch(parser, "布尔值");
+            };
+            case null, default -> throw mismatch(parser, "布尔值");
+        };
+    }
+
+    // 基本类型字段：null 同样视为不合法，而不是取默认值
+
+    public static int readIntValue(JsonParser parser) throws IOException {
+        return required(parser, readInteger(parser), "整数");
+    }
+
+    public static long readLongValue(JsonParser parser) throws IOException {
+        return required(parser, readLong(parser), "整数");
+    }
+
+    public static double readDoubleValue(JsonParser parser) throws IOException {
+        return required(parser, readDouble(parser), "数字");
+    }
+
+    public static boolean readBooleanValue(JsonParser parser) throws IOException {
+        return required(parser, readBoolean(parser), "布尔值");
+    }
+
+    private static <T> T parse(JsonParser parser, String expected, Function<String, T> parse) throws IOException {
+        try {
+            return parse.apply(parser.getText().strip());
+        } catch (NumberFormatException e) {
+            throw new JsonParseException(parser, "期望" + expected + "，实际为字符串 \"" + parser.getText() + "\"", e);
+        }
+    }
+
+    private static <T> T required(JsonParser parser, T value, String expected) throws JsonParseException {
+        if (value == null) {
+            throw new JsonParseException(parser, "期望" + expected + "，实际为 null");
+        }
+        return value;
+    }
+
+    private static JsonParseException mismatch(JsonParser parser, String expected) throws IOException {
+        JsonToken token = parser.currentToken();
+        return new JsonParseException(parser, "期望" + expected + "，实际为 "
+                + (token == JsonToken.VALUE_STRING ? "字符串 \"" + parser.getText() + "\"" : String.valueOf(token)));
+    }
+
+    /**
+     * 按需加载，首次查找时才读取服务文件
+     */
+    private static final class Registry {
+
+        private static final Map<Class<?>, JsonBinder<?>> BINDERS = load();
+
+        @SuppressWarnings("rawtypes")
+        private static Map<Class<?>, JsonBinder<?>> load() {
+            Map<Class<?>, JsonBinder<?>> binders = new HashMap<>();
+            for (JsonBinder binder : ServiceLoader.load(JsonBinder.class, JsonBinders.class.getClassLoader())) {
+                binders.put(binder.type(), binder);
+            }
+            return Map.copyOf(binders);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.lunay.liteflow.ai.jsonbinder;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 为标注的 POJO 在编译期生成 {@code <类名>_JsonBinder}
+ * <p>
+ * 字段名取自 {@code @JsonProperty}，未标注时使用字段名；字段通过 {@code set} 加首字母大写的字段名赋值，
+ * 可以由 Lombok 的 {@code @Data} 生成
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface JsonBinding {
+}
@@ -0,0 +1,147 @@
+package com.lunay.liteflow.ai.jsonbinder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JSON 绑定器注解处理器测试：编译带有 {@code @JsonBinding} 的 POJO，使用生成的绑定器读取合法与不合法的 JSON
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class JsonBinderProcessorTest {
+
+    private static final String POJO = """
+            package demo;
+
+            import com.lunay.liteflow.ai.jsonbinder.JsonBinding;
+
+            import java.util.List;
+
+            @JsonBinding
+            public class Sample {
+
+                private int count;
+                private long total;
+                private double ratio;
+                private boolean done;
+                private Integer limit;
+                private List<Integer> scores;
+
+                public int getCount() { return count; }
+                public void setCount(int count) { this.count = count; }
+                public long getTotal() { return total; }
+                public void setTotal(long total) { this.total = total; }
+                public double getRatio() { return ratio; }
+                public void setRatio(double ratio) { this.ratio = ratio; }
+                public boolean isDone() { return done; }
+                public void setDone(boolean done) { this.done = done; }
+                public Integer getLimit() { return limit; }
+                public void setLimit(Integer limit) { this.limit = limit; }
+                public List<Integer> getScores() { return scores; }
+                public void setScores(List<Integer> scores) { this.scores = scores; }
+            }
+            """;
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    @Test
+    void readsValidValues() throws Exception {
+        try (Binder binder = compile()) {
+            Object sample = binder.read("""
+                    {"count": 3, "total": "9000000000", "ratio": 1, "done": true, "limit": null, "scores": [1, "2"], "extra": {"a": [1]}}
+                    """);
+            assertEquals(3, binder.get(sample, "getCount"));
+            assertEquals(9_000_000_000L, binder.get(sample, "getTotal"));
+            assertEquals(1.0, binder.get(sample, "getRatio"));
+            assertEquals(true, binder.get(sample, "isDone"));
+            assertNull(binder.get(sample, "getLimit"));
+            assertEquals(List.of(1, 2), binder.get(sample, "getScores"));
+        }
+    }
+
+    /**
+     * 类型不符的值直接失败，而不是像 {@code getValueAsInt} 那样静默转换为 0 或 false
+     */
+    @Test
+    void rejectsMismatchedPrimitives() throws Exception {
+        try (Binder binder = compile()) {
+            for (String json : List.of(
+                    "{\"count\": \"abc\"}",
+                    "{\"count\": 1.5}",
+                    "{\"count\": 3000000000}",
+                    "{\"count\": {\"value\": 1}}",
+                    "{\"count\": [1]}",
+                    "{\"count\": null}",
+                    "{\"count\": true}",
+                    "{\"ratio\": \"NaN?\"}",
+                    "{\"done\": \"yes\"}",
+                    "{\"done\": 1}",
+                    "{\"limit\": \"\"}",
+                    "{\"scores\": [1, \"two\"]}")) {
+                assertThrows(JsonProcessingException.class, () -> binder.read(json), json);
+            }
+        }
+    }
+
+    private static Binder compile() throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Path output = Files.createTempDirectory("json-binder");
+        JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///demo/Sample.java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return POJO;
+            }
+        };
+        StringWriter diagnostics = new StringWriter();
+        JavaCompiler.CompilationTask task = compiler.getTask(diagnostics, null, null,
+                List.of("-d", output.toString(), "-s", output.toString(), "-classpath", System.getProperty("java.class.path")),
+                null, List.of(source));
+        task.setProcessors(List.of(new JsonBinderProcessor()));
+        assertTrue(task.call(), diagnostics::toString);
+        return new Binder(new URLClassLoader(new URL[]{output.toUri().toURL()}, JsonBinderProcessorTest.class.getClassLoader()));
+    }
+
+    /**
+     * 加载生成的绑定器
+     */
+    private record Binder(URLClassLoader loader) implements AutoCloseable {
+
+        Object read(String json) throws Exception {
+            JsonBinder<?> binder = (JsonBinder<?>) loader.loadClass("demo.Sample_JsonBinder").getField("INSTANCE").get(null);
+            try (JsonParser parser = FACTORY.createParser(json)) {
+                return binder.read(parser);
+            }
+        }
+
+        Object get(Object target, String getter) throws Exception {
+            return target.getClass().getMethod(getter).invoke(target);
+        }
+
+        @Override
+        public void close() throws IOException {
+            loader.close();
+        }
+    }
+}
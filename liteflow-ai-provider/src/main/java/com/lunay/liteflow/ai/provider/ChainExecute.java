@@ -0,0 +1,89 @@
+package com.lunay.liteflow.ai.provider;
+
+import com.lunay.liteflow.ai.provider.component.ProviderClassifyCmp;
+import com.lunay.liteflow.ai.provider.component.RoutedClassifyCmp;
+import com.lunay.liteflow.ai.provider.http.ProviderHttpClients;
+import com.lunay.liteflow.ai.provider.routing.ProviderRouter;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
+import com.yomahub.liteflow.core.FlowExecutor;
+import com.yomahub.liteflow.flow.LiteflowResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 流程触发器
+ * <p>
+ * 对同一组问题分别执行 chain1（LiteFlow-AI 自身的传输层）、pooledChain（共享连接池）与 routedChain（端点池路由），输出每次调用的耗时
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+// 开启连接、准入控制或路由对比时不调用真实模型
+@ConditionalOnExpression("!${provider.benchmark.enabled:false} and !${provider.admission.benchmark:false}"
+        + " and !${provider.routing.benchmark:false}")
+public class ChainExecute implements CommandLineRunner {
+
+    private static final List<String> QUESTIONS = List.of(
+            "Spring Boot 的自动配置是怎么生效的？",
+            "pandas 如何按列分组求和？",
+            "虚拟线程和平台线程有什么区别？",
+            "如何用 asyncio 并发请求多个接口？"
+    );
+
+    private final FlowExecutor flowExecutor;
+
+    private final ProviderHttpClients clients;
+
+    private final ProviderRouter router;
+
+    @Override
+    public void run(String... args) throws Exception {
+        for (String question : QUESTIONS) {
+            long start = System.nanoTime();
+            ChatContext chatContext = execute("chain1", question);
+            long plain = System.nanoTime() - start;
+            if (chatContext != null) {
+                AssistantMessage assistantMessage = chatContext.getData("assistantMessage");
+                log.info("chain1 分类为 {}，耗时 {} ms", assistantMessage.getContent(), plain / 1_000_000);
+            }
+            start = System.nanoTime();
+            chatContext = execute("pooledChain", question);
+            long pooled = System.nanoTime() - start;
+            if (chatContext != null) {
+                String label = chatContext.getData(ProviderClassifyCmp.LABEL);
+                log.info("pooledChain 分类为 {}，耗时 {} ms", label, pooled / 1_000_000);
+            }
+            start = System.nanoTime();
+            chatContext = execute("routedChain", question);
+            long routed = System.nanoTime() - start;
+            if (chatContext != null) {
+                String label = chatContext.getData(ProviderClassifyCmp.LABEL);
+                String endpoint = chatContext.getData(RoutedClassifyCmp.ENDPOINT);
+                log.info("routedChain 分类为 {}，端点 {}，耗时 {} ms", label, endpoint, routed / 1_000_000);
+            }
+        }
+        log.info("连接池指标: {}", clients.metrics());
+        log.info("路由统计: {}，端点健康状况: {}", router.stats(), router.health("classify"));
+    }
+
+    private ChatContext execute(String chainId, String question) {
+        ChatContext chatContext = new ChatContext();
+        chatContext.setData("question", question);
+        LiteflowResponse response = flowExecutor.execute2Resp(chainId, null, chatContext);
+        if (!response.isSuccess()) {
+            log.error("流程执行失败！异常信息：{}", response.getCause().getMessage());
+            return null;
+        }
+        return chatContext;
+    }
+}
@@ -0,0 +1,19 @@
+package com.lunay.liteflow.ai.provider;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * 模型提供商调用
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@SpringBootApplication
+public class ProviderApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ProviderApplication.class, args);
+    }
+}
@@ -0,0 +1,159 @@
+package com.lunay.liteflow.ai.provider.admission;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD 自适应并发上限
+ * <p>
+ * 请求成功且耗时没有明显高于最小耗时时，上限每个往返加 1（每次成功加 1/上限）；收到 429 时上限乘以 {@code backoffRatio}，
+ * 耗时超过最小耗时的 {@code latencyTolerance} 倍时乘以 {@code latencyBackoffRatio}。同一个往返内的多次缩小只生效一次，
+ * 避免一批同时失败的请求把上限一路压到下界
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+final class AdaptiveConcurrencyLimit {
+
+    /**
+     * 每隔多少个样本重新测量最小耗时，适应上游基线的变化
+     */
+    private static final int MIN_RTT_WINDOW = 500;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double backoffRatio;
+
+    private final double latencyTolerance;
+
+    private final double latencyBackoffRatio;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition available = lock.newCondition();
+
+    private double limit;
+
+    private int inFlight;
+
+    private long minRtt = Long.MAX_VALUE;
+
+    private long samples;
+
+    private long lastDecrease;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                             double latencyTolerance, double latencyBackoffRatio) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.latencyBackoffRatio = latencyBackoffRatio;
+        this.lastDecrease = System.nanoTime();
+    }
+
+    /**
+     * 等待并发名额
+     *
+     * @return 超时前是否拿到名额
+     */
+    boolean acquire(long timeoutNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = timeoutNanos;
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = available.awaitNanos(remaining);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 请求成功
+     */
+    void onSuccess(long rttNanos) {
+        lock.lock();
+        try {
+            boolean saturated = inFlight >= (int) limit;
+            inFlight--;
+            if (++samples % MIN_RTT_WINDOW == 0) {
+                minRtt = rttNanos;
+            } else {
+                minRtt = Math.min(minRtt, rttNanos);
+            }
+            if (rttNanos > minRtt * latencyTolerance) {
+                decrease(latencyBackoffRatio);
+            } else if (saturated) {
+                // 只在上限真正被用满时增加，避免低负载时上限无限增长
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 上游限流
+     */
+    void onThrottled() {
+        lock.lock();
+        try {
+            inFlight--;
+            decrease(backoffRatio);
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 与负载无关的失败，只释放名额
+     */
+    void onIgnore() {
+        lock.lock();
+        try {
+            inFlight--;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void decrease(double ratio) {
+        long now = System.nanoTime();
+        if (minRtt != Long.MAX_VALUE && now - lastDecrease < minRtt) {
+            return;
+        }
+        lastDecrease = now;
+        limit = Math.max(minLimit, limit * ratio);
+    }
+}
@@ -0,0 +1,282 @@
+package com.lunay.liteflow.ai.provider.admission;
+
+import com.lunay.liteflow.ai.provider.client.ProviderCallException;
+import com.lunay.liteflow.ai.provider.config.AdmissionProperties;
+import com.lunay.liteflow.ai.provider.config.AdmissionProperties.ModelLimit;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 模型提供商的准入控制
+ * <p>
+ * 每个请求发往上游之前依次经过：
+ * <ol>
+ *     <li>合并：发往同一地址、使用同一 API Key 与模型的相同请求只调用一次上游，其余调用方在排队超时内等待并共享结果</li>
+ *     <li>限流：按模型的每秒请求数与每分钟 token 数两个令牌桶预约，令牌不足时等待</li>
+ *     <li>自适应并发：按模型的 {@link AdaptiveConcurrencyLimit} 等待并发名额，上限随耗时与 429 调整</li>
+ * </ol>
+ * 上游返回 429 时缩小并发上限，按指数退避重试，重试同样经过限流与并发控制，不会形成重试风暴
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+public class AdmissionController {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final AdmissionProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, ModelState> states = new ConcurrentHashMap<>();
+
+    private final Map<String, CompletableFuture<String>> inflight = new ConcurrentHashMap<>();
+
+    private final LongAdder upstreamCalls = new LongAdder();
+
+    private final LongAdder deduplicated = new LongAdder();
+
+    private final LongAdder throttled = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param meterRegistry 为空时不注册指标
+     */
+    public AdmissionController(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        if (meterRegistry != null) {
+            counter("provider.admission.upstream", "实际发往上游的调用次数", upstreamCalls);
+            counter("provider.admission.deduplicated", "与进行中的相同请求合并的次数", deduplicated);
+            counter("provider.admission.throttled", "上游返回 429 的次数", throttled);
+            counter("provider.admission.rejected", "排队超时被拒绝的次数", rejected);
+        }
+    }
+
+    /**
+     * 经过准入控制调用上游
+     *
+     * @param apiUrl       上游地址，只合并发往同一地址的请求
+     * @param apiKey       上游的 API Key，只合并使用同一 API Key 的请求；合并时只保留它的摘要
+     * @param model        模型名称，限额与并发上限按模型区分
+     * @param key          请求的唯一标识，例如提示词，相同标识的进行中请求会被合并；为空时不合并
+     * @param promptTokens 提示词的 token 数，加上预计的输出 token 数后计入每分钟 token 限额
+     * @param call         上游调用，限流时应抛出状态码为 429 的 {@link ProviderCallException}
+     */
+    public String call(String apiUrl, String apiKey, String model, String key, long promptTokens, Supplier<String> call) {
+        long tokens = promptTokens + properties.getExpectedOutputTokens();
+        if (!properties.isEnabled()) {
+            upstreamCalls.increment();
+            return call.get();
+        }
+        if (!properties.isDeduplicate() || key == null) {
+            return admit(model, tokens, call);
+        }
+        String inflightKey = apiUrl + '\n' + digest(apiKey) + '\n' + model + '\n' + key;
+        CompletableFuture<String> own = new CompletableFuture<>();
+        CompletableFuture<String> existing = inflight.putIfAbsent(inflightKey, own);
+        if (existing != null) {
+            deduplicated.increment();
+            return await(model, existing);
+        }
+        try {
+            String result = admit(model, tokens, call);
+            own.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(inflightKey, own);
+        }
+    }
+
+    public AdmissionStats stats() {
+        return new AdmissionStats(upstreamCalls.sum(), deduplicated.sum(), throttled.sum(), rejected.sum());
+    }
+
+    /**
+     * 每个模型当前的并发上限：模型名称 -> 上限
+     */
+    public Map<String, Integer> limits() {
+        Map<String, Integer> limits = new LinkedHashMap<>();
+        states.forEach((model, state) -> limits.put(model, state.limit.getLimit()));
+        return limits;
+    }
+
+    private String admit(String model, long tokens, Supplier<String> call) {
+        ModelState state = states.computeIfAbsent(model, this::createState);
+        long deadline = System.nanoTime() + properties.getQueueTimeout().toNanos();
+        for (int attempt = 0; ; attempt++) {
+            state.acquire(model, tokens, deadline);
+            upstreamCalls.increment();
+            long start = System.nanoTime();
+            try {
+                String result = call.get();
+                state.limit.onSuccess(System.nanoTime() - start);
+                return result;
+            } catch (ProviderCallException e) {
+                if (e.getStatus() != TOO_MANY_REQUESTS) {
+                    state.limit.onIgnore();
+                    throw e;
+                }
+                state.limit.onThrottled();
+                throttled.increment();
+                long backoff = properties.getRetryBackoff().toNanos() << attempt;
+                if (attempt >= properties.getMaxRetries() || System.nanoTime() + backoff > deadline) {
+                    throw e;
+                }
+                log.debug("{} 被限流，{} ms 后第 {} 次重试，并发上限 {}", model, backoff / 1_000_000, attempt + 1, state.limit.getLimit());
+                sleep(backoff);
+            } catch (RuntimeException e) {
+                state.limit.onIgnore();
+                throw e;
+            }
+        }
+    }
+
+    private ModelState createState(String model) {
+        ModelLimit limit = properties.limitOf(model);
+        ModelState state = new ModelState(
+                limit.getRequestsPerSecond() > 0 ? new TokenBucket(limit.getRequestsPerSecond(), Duration.ofSeconds(1), properties.getBurstWindow()) : null,
+                limit.getTokensPerMinute() > 0 ? new TokenBucket(limit.getTokensPerMinute(), Duration.ofMinutes(1), properties.getBurstWindow()) : null,
+                new AdaptiveConcurrencyLimit(properties.getInitialConcurrency(), properties.getMinConcurrency(),
+                        properties.getMaxConcurrency(), properties.getBackoffRatio(), properties.getLatencyTolerance(),
+                        properties.getLatencyBackoffRatio()));
+        if (meterRegistry != null) {
+            Gauge.builder("provider.admission.limit", state.limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("自适应并发上限")
+                    .tag("model", model)
+                    .register(meterRegistry);
+            Gauge.builder("provider.admission.inflight", state.limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("进行中的上游调用数")
+                    .tag("model", model)
+                    .register(meterRegistry);
+        }
+        return state;
+    }
+
+    private void counter(String name, String description, LongAdder adder) {
+        FunctionCounter.builder(name, adder, LongAdder::doubleValue)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 等待进行中的相同请求，最多等待排队超时；超时后放弃等待，进行中的请求不受影响
+     */
+    private String await(String model, CompletableFuture<String> existing) {
+        try {
+            return existing.get(properties.getQueueTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            rejected.increment();
+            throw new AdmissionRejectedException(model + " 等待相同请求的结果超过 " + properties.getQueueTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdmissionRejectedException("等待准入时被中断");
+        }
+    }
+
+    /**
+     * API Key 的摘要，合并表中不保留原文
+     */
+    private static String digest(String apiKey) {
+        if (apiKey == null) {
+            return "";
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdmissionRejectedException("等待准入时被中断");
+        }
+    }
+
+    private final class ModelState {
+
+        private final TokenBucket requests;
+
+        private final TokenBucket tokens;
+
+        private final AdaptiveConcurrencyLimit limit;
+
+        private ModelState(TokenBucket requests, TokenBucket tokens, AdaptiveConcurrencyLimit limit) {
+            this.requests = requests;
+            this.tokens = tokens;
+            this.limit = limit;
+        }
+
+        /**
+         * 依次预约令牌与并发名额，超过截止时间或等待时被中断都归还令牌并拒绝
+         */
+        private void acquire(String model, long tokenCount, long deadline) {
+            long wait = 0;
+            if (requests != null) {
+                wait = requests.reserve(1);
+            }
+            if (tokens != null) {
+                wait = Math.max(wait, tokens.reserve(tokenCount));
+            }
+            if (System.nanoTime() + wait > deadline) {
+                refund(tokenCount);
+                rejected.increment();
+                throw new AdmissionRejectedException(model + " 的限流等待超过 " + properties.getQueueTimeout());
+            }
+            boolean acquired;
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+                acquired = limit.acquire(deadline - System.nanoTime());
+            } catch (InterruptedException e) {
+                refund(tokenCount);
+                Thread.currentThread().interrupt();
+                throw new AdmissionRejectedException("等待准入时被中断");
+            }
+            if (!acquired) {
+                refund(tokenCount);
+                rejected.increment();
+                throw new AdmissionRejectedException(model + " 的并发排队超过 " + properties.getQueueTimeout()
+                        + "，当前并发上限 " + limit.getLimit());
+            }
+        }
+
+        private void refund(long tokenCount) {
+            if (requests != null) {
+                requests.refund(1);
+            }
+            if (tokens != null) {
+                tokens.refund(tokenCount);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.lunay.liteflow.ai.provider.admission;
+
+/**
+ * 请求在限流或并发排队中等待超时，没有发往上游
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class AdmissionRejectedException extends RuntimeException {
+
+    public AdmissionRejectedException(String message) {
+        super(message);
+    }
+}
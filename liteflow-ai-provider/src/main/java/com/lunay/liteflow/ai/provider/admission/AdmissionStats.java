@@ -0,0 +1,15 @@
+package com.lunay.liteflow.ai.provider.admission;
+
+/**
+ * 准入控制的累计统计
+ *
+ * @param upstreamCalls 实际发往上游的调用次数，包含重试
+ * @param deduplicated  与进行中的相同请求合并的次数
+ * @param throttled     上游返回 429 的次数
+ * @param rejected      排队超时被拒绝的次数
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public record AdmissionStats(long upstreamCalls, long deduplicated, long throttled, long rejected) {
+}
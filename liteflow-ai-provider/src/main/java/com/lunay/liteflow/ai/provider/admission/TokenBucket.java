@@ -0,0 +1,55 @@
+package com.lunay.liteflow.ai.provider.admission;
+
+import java.time.Duration;
+
+/**
+ * 令牌桶，按预约的方式取令牌
+ * <p>
+ * 令牌不足时余额可以为负，返回需要等待的时间，先预约的请求先拿到令牌；单次取的令牌数超过桶容量时同样按欠下的令牌数等待。
+ * 桶容量只对应周期中的一小段时间窗口，空闲之后也不会一次放出整个周期的令牌
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+final class TokenBucket {
+
+    private final double capacity;
+
+    private final double refillPerNano;
+
+    private double tokens;
+
+    private long lastRefill;
+
+    /**
+     * @param permits     每个周期补充的令牌数
+     * @param burstWindow 桶容量对应的时间窗口，容量至少为 1
+     */
+    TokenBucket(double permits, Duration period, Duration burstWindow) {
+        this.refillPerNano = permits / period.toNanos();
+        this.capacity = Math.max(1, refillPerNano * Math.min(burstWindow.toNanos(), period.toNanos()));
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * 预约令牌
+     *
+     * @return 需要等待的纳秒数，0 表示立即可用
+     */
+    synchronized long reserve(double permits) {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+        tokens -= permits;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / refillPerNano);
+    }
+
+    /**
+     * 归还预约但未使用的令牌，例如排队超时的请求
+     */
+    synchronized void refund(double permits) {
+        tokens = Math.min(capacity, tokens + permits);
+    }
+}
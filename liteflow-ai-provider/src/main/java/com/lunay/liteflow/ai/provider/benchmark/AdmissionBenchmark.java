@@ -0,0 +1,212 @@
+package com.lunay.liteflow.ai.provider.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lunay.liteflow.ai.provider.admission.AdmissionController;
+import com.lunay.liteflow.ai.provider.admission.AdmissionRejectedException;
+import com.lunay.liteflow.ai.provider.admission.AdmissionStats;
+import com.lunay.liteflow.ai.provider.client.ProviderCallException;
+import com.lunay.liteflow.ai.provider.client.ProviderChatClient;
+import com.lunay.liteflow.ai.provider.config.AdmissionProperties;
+import com.lunay.liteflow.ai.provider.config.ProviderHttpProperties;
+import com.lunay.liteflow.ai.provider.http.ProviderHttpClients;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 直接调用与准入控制在限额服务上的有效吞吐对比
+ * <p>
+ * 启动带限额的本地模拟服务，按 {@code benchmarkLoads} 逐级以固定速率发起请求（开环，不等待前一个请求完成），
+ * 其中 {@code benchmarkDuplicateRatio} 比例的请求使用少量热点问题。每级请求速率分别执行：
+ * <ul>
+ *     <li>直接调用：收到 429 立即重试，最多 {@code maxRetries} 次，是没有客户端限流时的常见写法</li>
+ *     <li>准入控制：经过 {@link AdmissionController}，每秒请求数限额与模拟服务一致，并发上限自适应</li>
+ * </ul>
+ * 输出成功的请求速率、上游调用次数、429 次数、拒绝与合并次数、成功请求的耗时分位数与最终的并发上限
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "provider.admission", name = "benchmark", havingValue = "true")
+public class AdmissionBenchmark implements CommandLineRunner {
+
+    private static final String MODEL = "qwen-flash";
+
+    private static final String SYSTEM_PROMPT = "判断用户的问题与哪种编程语言相关，只输出 java 或 python";
+
+    private static final List<String> HOT_QUESTIONS = List.of(
+            "Spring Boot 的自动配置是怎么生效的？",
+            "pandas 如何按列分组求和？",
+            "虚拟线程和平台线程有什么区别？",
+            "如何用 asyncio 并发请求多个接口？"
+    );
+
+    private static final int WARMUP_CALLS = 100;
+
+    private final ProviderHttpProperties httpProperties;
+
+    private final AdmissionProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void run(String... args) throws Exception {
+        SSLContext trust = MockTls.clientContext();
+        log.info("准入控制对比：模拟服务限额 {} 次/秒、并发 {}，处理耗时 {} ms，每级持续 {} s，重复问题比例 {}",
+                properties.getMockRequestsPerSecond(), properties.getMockMaxConcurrency(), properties.getMockLatency().toMillis(),
+                properties.getBenchmarkDuration().toSeconds(), properties.getBenchmarkDuplicateRatio());
+        try (ProviderHttpClients clients = new ProviderHttpClients(httpProperties, trust, null)) {
+            ProviderChatClient direct = new ProviderChatClient(clients, objectMapper, "mock-api-key");
+            warmup(direct);
+            for (int load : properties.getBenchmarkLoads()) {
+                run("直接调用", load, direct, null);
+                AdmissionController admission = new AdmissionController(benchmarkProperties(), null);
+                ProviderChatClient admitted = new ProviderChatClient(clients, objectMapper, "mock-api-key", admission);
+                run("准入控制", load, admitted, admission);
+            }
+        }
+    }
+
+    /**
+     * 以固定速率发起请求，等待全部完成后输出统计
+     *
+     * @param admission 为空时表示直接调用，收到 429 立即重试
+     */
+    private void run(String name, int load, ProviderChatClient chatClient, AdmissionController admission) throws Exception {
+        try (MockProviderServer server = new MockProviderServer(MockTls.serverContext(), properties.getMockLatency(),
+                properties.getMockRequestsPerSecond(), properties.getMockMaxConcurrency())) {
+            server.start();
+            String apiUrl = server.getBaseUrl() + "/compatible-mode/v1";
+            int total = (int) (load * properties.getBenchmarkDuration().toMillis() / 1000);
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+            LongAdder failed = new LongAdder();
+            LongAdder rejected = new LongAdder();
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> requests = new ArrayList<>(total);
+                for (int i = 0; i < total; i++) {
+                    long wait = start + i * 1_000_000_000L / load - System.nanoTime();
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    }
+                    String question = question(i);
+                    requests.add(executor.submit(() -> {
+                        long begin = System.nanoTime();
+                        try {
+                            if (admission == null) {
+                                callWithRetry(chatClient, apiUrl, question);
+                            } else {
+                                chatClient.call(apiUrl, MODEL, SYSTEM_PROMPT, question);
+                            }
+                            latencies.add(System.nanoTime() - begin);
+                        } catch (AdmissionRejectedException e) {
+                            rejected.increment();
+                        } catch (RuntimeException e) {
+                            failed.increment();
+                        }
+                    }));
+                }
+                for (Future<?> request : requests) {
+                    request.get();
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            String deduplicated = "-";
+            String limit = "-";
+            if (admission != null) {
+                AdmissionStats stats = admission.stats();
+                deduplicated = String.valueOf(stats.deduplicated());
+                limit = String.valueOf(admission.limits().get(MODEL));
+            }
+            log.info("{} {} 次/秒：成功 {}/{}，有效吞吐 {} 次/秒，上游调用 {}，429 {} 次，失败 {}，拒绝 {}，合并 {}，"
+                            + "p50 {} ms，p99 {} ms，最终并发上限 {}", name, load, sorted.size(), total,
+                    String.format("%.1f", sorted.size() * 1e9 / elapsed), server.served() + server.throttled(),
+                    server.throttled(), failed.sum(), rejected.sum(), deduplicated,
+                    format(percentile(sorted, 0.5)), format(percentile(sorted, 0.99)), limit);
+        }
+    }
+
+    /**
+     * 对不限额的模拟服务串行调用，避免把类加载与即时编译计入第一级的结果
+     */
+    private void warmup(ProviderChatClient chatClient) throws Exception {
+        try (MockProviderServer server = new MockProviderServer(MockTls.serverContext(), properties.getMockLatency())) {
+            server.start();
+            String apiUrl = server.getBaseUrl() + "/compatible-mode/v1";
+            for (int i = 0; i < WARMUP_CALLS; i++) {
+                chatClient.call(apiUrl, MODEL, SYSTEM_PROMPT, question(i));
+            }
+        }
+    }
+
+    private void callWithRetry(ProviderChatClient chatClient, String apiUrl, String question) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                chatClient.call(apiUrl, MODEL, SYSTEM_PROMPT, question);
+                return;
+            } catch (ProviderCallException e) {
+                if (e.getStatus() != 429 || attempt >= properties.getMaxRetries()) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private String question(int index) {
+        if (ThreadLocalRandom.current().nextDouble() < properties.getBenchmarkDuplicateRatio()) {
+            return HOT_QUESTIONS.get(index % HOT_QUESTIONS.size());
+        }
+        return "第 " + index + " 个问题：" + HOT_QUESTIONS.get(index % HOT_QUESTIONS.size());
+    }
+
+    /**
+     * 准入控制使用的配置：每秒请求数限额与模拟服务一致，不限制 token 数
+     */
+    private AdmissionProperties benchmarkProperties() {
+        AdmissionProperties benchmark = new AdmissionProperties();
+        benchmark.setDeduplicate(properties.isDeduplicate());
+        benchmark.getDefaultLimit().setRequestsPerSecond(properties.getMockRequestsPerSecond());
+        benchmark.getDefaultLimit().setTokensPerMinute(0);
+        benchmark.setBurstWindow(properties.getBurstWindow());
+        benchmark.setInitialConcurrency(properties.getInitialConcurrency());
+        benchmark.setMinConcurrency(properties.getMinConcurrency());
+        benchmark.setMaxConcurrency(properties.getMaxConcurrency());
+        benchmark.setBackoffRatio(properties.getBackoffRatio());
+        benchmark.setLatencyTolerance(properties.getLatencyTolerance());
+        benchmark.setLatencyBackoffRatio(properties.getLatencyBackoffRatio());
+        benchmark.setMaxRetries(properties.getMaxRetries());
+        benchmark.setRetryBackoff(properties.getRetryBackoff());
+        benchmark.setQueueTimeout(properties.getQueueTimeout());
+        return benchmark;
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(percentile * sorted.size()) - 1));
+    }
+
+    private static String format(double nanos) {
+        return String.format("%.2f", nanos / 1_000_000);
+    }
+}
@@ -0,0 +1,170 @@
+package com.lunay.liteflow.ai.provider.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lunay.liteflow.ai.provider.client.ProviderChatClient;
+import com.lunay.liteflow.ai.provider.config.ProviderBenchmarkProperties;
+import com.lunay.liteflow.ai.provider.config.ProviderHttpProperties;
+import com.lunay.liteflow.ai.provider.http.PoolMetrics;
+import com.lunay.liteflow.ai.provider.http.ProviderHttpClients;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 新建连接与连接池的单次调用耗时对比
+ * <p>
+ * 启动本地模拟的 HTTPS 服务，分别按三种方式调用 {@code calls} 次，输出耗时分位数与服务端统计的连接数：
+ * <ul>
+ *     <li>新建连接：每次调用使用新的客户端，都要经过 TCP 与 TLS 握手</li>
+ *     <li>连接池串行：共享的客户端，预热一次后复用同一个连接</li>
+ *     <li>连接池并发：{@code concurrency} 个线程共享连接池，同时采样使用中、空闲与等待的连接数</li>
+ * </ul>
+ * 模拟服务只支持 HTTP/1.1，HTTP/2 的多路复用需要对接支持 ALPN 协商的真实服务
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "provider.benchmark", name = "enabled", havingValue = "true")
+public class ConnectionBenchmark implements CommandLineRunner {
+
+    private static final String SYSTEM_PROMPT = "判断用户的问题与哪种编程语言相关，只输出 java 或 python";
+
+    private static final String QUESTION = "Spring Boot 的自动配置是怎么生效的？";
+
+    /**
+     * 新建连接方式的预热次数，避免把类加载与即时编译计入握手耗时
+     */
+    private static final int WARMUP_CALLS = 20;
+
+    private final ProviderHttpProperties httpProperties;
+
+    private final ProviderBenchmarkProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void run(String... args) throws Exception {
+        SSLContext trust = MockTls.clientContext();
+        try (MockProviderServer server = new MockProviderServer(MockTls.serverContext(), properties.getServerLatency())) {
+            server.start();
+            String apiUrl = server.getBaseUrl() + "/compatible-mode/v1";
+            log.info("连接对比：每种方式 {} 次调用，服务端处理耗时 {} ms，并发 {}", properties.getCalls(),
+                    properties.getServerLatency().toMillis(), properties.getConcurrency());
+
+            for (int i = 0; i < WARMUP_CALLS; i++) {
+                coldCall(apiUrl, trust);
+            }
+            int connections = server.connections();
+            List<Long> cold = new ArrayList<>();
+            for (int i = 0; i < properties.getCalls(); i++) {
+                cold.add(coldCall(apiUrl, trust));
+            }
+            report("新建连接", cold, server.connections() - connections);
+
+            try (ProviderHttpClients clients = new ProviderHttpClients(httpProperties, trust, null)) {
+                ProviderChatClient chatClient = new ProviderChatClient(clients, objectMapper, "mock-api-key");
+                // 预热：建立连接池中的第一个连接
+                call(chatClient, apiUrl);
+                connections = server.connections();
+                List<Long> pooled = new ArrayList<>();
+                for (int i = 0; i < properties.getCalls(); i++) {
+                    pooled.add(call(chatClient, apiUrl));
+                }
+                report("连接池串行", pooled, server.connections() - connections);
+
+                connections = server.connections();
+                PoolSampler sampler = new PoolSampler(clients);
+                List<Long> concurrent = concurrent(chatClient, apiUrl, sampler);
+                report("连接池并发", concurrent, server.connections() - connections);
+                log.info("连接池并发：使用中峰值 {}，等待峰值 {}，结束后 {}", sampler.peakActive, sampler.peakPending,
+                        clients.client(apiUrl).metrics());
+            }
+        }
+    }
+
+    private long coldCall(String apiUrl, SSLContext trust) {
+        try (ProviderHttpClients clients = new ProviderHttpClients(httpProperties, trust, null)) {
+            return call(new ProviderChatClient(clients, objectMapper, "mock-api-key"), apiUrl);
+        }
+    }
+
+    private static long call(ProviderChatClient chatClient, String apiUrl) {
+        long start = System.nanoTime();
+        chatClient.chat(apiUrl, "qwen-flash", SYSTEM_PROMPT, QUESTION).join();
+        return System.nanoTime() - start;
+    }
+
+    private List<Long> concurrent(ProviderChatClient chatClient, String apiUrl, PoolSampler sampler) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger remaining = new AtomicInteger(properties.getCalls());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < properties.getConcurrency(); i++) {
+                workers.add(executor.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        latencies.add(call(chatClient, apiUrl));
+                        sampler.sample();
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        return latencies;
+    }
+
+    private static void report(String name, List<Long> latencies, int connections) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        double mean = sorted.stream().mapToLong(Long::longValue).average().orElse(0);
+        log.info("{}: 平均 {} ms，p50 {} ms，p95 {} ms，p99 {} ms，新建连接 {} 个", name, format(mean),
+                format(percentile(sorted, 0.5)), format(percentile(sorted, 0.95)), format(percentile(sorted, 0.99)), connections);
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(percentile * sorted.size()) - 1));
+    }
+
+    private static String format(double nanos) {
+        return String.format("%.2f", nanos / 1_000_000);
+    }
+
+    /**
+     * 每次调用结束后采样连接池，记录使用中与等待的峰值
+     */
+    private static final class PoolSampler {
+
+        private final ProviderHttpClients clients;
+
+        private int peakActive;
+
+        private int peakPending;
+
+        private PoolSampler(ProviderHttpClients clients) {
+            this.clients = clients;
+        }
+
+        private synchronized void sample() {
+            for (PoolMetrics metrics : clients.metrics().values()) {
+                peakActive = Math.max(peakActive, metrics.active());
+                peakPending = Math.max(peakPending, metrics.pending());
+            }
+        }
+    }
+}
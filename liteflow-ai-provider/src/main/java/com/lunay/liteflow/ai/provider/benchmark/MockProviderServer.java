@@ -0,0 +1,230 @@
+package com.lunay.liteflow.ai.provider.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.net.ssl.SSLContext;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 本地模拟的 OpenAI 兼容对话接口，监听 127.0.0.1 的随机端口，使用 HTTPS 与 HTTP/1.1 长连接
+ * <p>
+ * 每个请求等待固定的处理耗时后返回同一个分类结果，并按客户端地址统计建立过的连接数。
+ * 可以模拟提供商的限额：超过每秒请求数或同时处理的请求数时返回 429，处理耗时随同时处理的请求数增加；
+ * 也可以注入长尾耗时与失败：一定比例的请求使用更长的处理耗时，一定比例的请求返回 500
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+public class MockProviderServer implements Closeable {
+
+    private static final byte[] THROTTLED = ("{\"error\":{\"code\":\"Throttling.RateQuota\","
+            + "\"message\":\"Requests rate limit exceeded, please try again later.\"}}").getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] FAILED = "{\"error\":{\"code\":\"InternalError\",\"message\":\"mock failure\"}}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] RESPONSE = ("{\"id\":\"mock\",\"object\":\"chat.completion\",\"model\":\"qwen-flash\","
+            + "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"java\"},\"finish_reason\":\"stop\"}],"
+            + "\"usage\":{\"prompt_tokens\":32,\"completion_tokens\":1,\"total_tokens\":33}}").getBytes(StandardCharsets.UTF_8);
+
+    private final HttpsServer server;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Duration latency;
+
+    private final Set<SocketAddress> clients = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 每秒请求数限额，小于等于 0 时不限制
+     */
+    private final int requestsPerSecond;
+
+    /**
+     * 同时处理的请求数限额，小于等于 0 时不限制
+     */
+    private final int maxConcurrency;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder served = new LongAdder();
+
+    private final LongAdder throttled = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * 使用长尾耗时的请求比例
+     */
+    private volatile double slowRatio;
+
+    private volatile Duration slowLatency = Duration.ZERO;
+
+    /**
+     * 返回 500 的请求比例
+     */
+    private volatile double failureRatio;
+
+    /**
+     * 每秒请求数的令牌桶，允许约 0.1 秒的突发
+     */
+    private double permits;
+
+    private long refilledAt = System.nanoTime();
+
+    public MockProviderServer(SSLContext sslContext, Duration latency) throws IOException {
+        this(sslContext, latency, 0, 0);
+    }
+
+    public MockProviderServer(SSLContext sslContext, Duration latency, int requestsPerSecond, int maxConcurrency) throws IOException {
+        // 响应头与响应体分开写出，关闭 Nagle 算法以免与客户端的延迟确认叠加出约 40ms 的等待
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        this.latency = latency;
+        this.requestsPerSecond = requestsPerSecond;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = burst();
+        this.server = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+        log.info("模拟服务已启动: {}", getBaseUrl());
+    }
+
+    public String getBaseUrl() {
+        return "https://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * 建立过的连接数，一个客户端地址对应一个连接
+     */
+    public int connections() {
+        return clients.size();
+    }
+
+    /**
+     * 注入长尾耗时：{@code ratio} 比例的请求使用 {@code latency} 作为处理耗时
+     */
+    public void setTail(double ratio, Duration latency) {
+        this.slowLatency = latency;
+        this.slowRatio = ratio;
+    }
+
+    /**
+     * 注入失败：{@code ratio} 比例的请求返回 500
+     */
+    public void setFailureRatio(double ratio) {
+        this.failureRatio = ratio;
+    }
+
+    /**
+     * 成功处理的请求数
+     */
+    public long served() {
+        return served.sum();
+    }
+
+    /**
+     * 返回 429 的请求数
+     */
+    public long throttled() {
+        return throttled.sum();
+    }
+
+    /**
+     * 注入失败返回 500 的请求数
+     */
+    public long failed() {
+        return failed.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        clients.add(exchange.getRemoteAddress());
+        try (InputStream input = exchange.getRequestBody()) {
+            // 读完请求体，连接才能复用
+            input.readAllBytes();
+        }
+        int current = inFlight.incrementAndGet();
+        try {
+            if ((maxConcurrency > 0 && current > maxConcurrency) || !tryAcquire()) {
+                throttled.increment();
+                respond(exchange, 429, THROTTLED);
+                return;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < failureRatio) {
+                failed.increment();
+                respond(exchange, 500, FAILED);
+                return;
+            }
+            long base = random.nextDouble() < slowRatio ? slowLatency.toNanos() : latency.toNanos();
+            // 同时处理的请求越多，每个请求的耗时越长
+            long nanos = maxConcurrency > 0 ? base * (maxConcurrency + current - 1) / maxConcurrency : base;
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            served.increment();
+            respond(exchange, 200, RESPONSE);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private synchronized boolean tryAcquire() {
+        if (requestsPerSecond <= 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        permits = Math.min(burst(), permits + (now - refilledAt) * requestsPerSecond / 1e9);
+        refilledAt = now;
+        if (permits < 1) {
+            return false;
+        }
+        permits--;
+        return true;
+    }
+
+    private double burst() {
+        return Math.max(1, requestsPerSecond / 10.0);
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,131 @@
+package com.lunay.liteflow.ai.provider.benchmark;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地模拟服务使用的自签名证书，仅用于对比与测试，签发给 localhost 与 127.0.0.1
+ * <p>
+ * 证书不随代码分发：每个进程首次使用时通过 JDK 自带的 keytool 生成一次，密钥库的口令随机生成，
+ * 生成后只保存在内存中，临时文件随即删除
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public final class MockTls {
+
+    private static final String PASSWORD_ENV = "LITEFLOW_MOCK_TLS_PASSWORD";
+
+    private MockTls() {
+    }
+
+    /**
+     * 服务端使用的证书与私钥
+     */
+    public static SSLContext serverContext() {
+        try {
+            KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagers.init(Generated.KEY_STORE, Generated.PASSWORD);
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(keyManagers.getKeyManagers(), null, null);
+            return context;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("无法加载模拟服务的证书", e);
+        }
+    }
+
+    /**
+     * 客户端使用的信任证书，只信任模拟服务的自签名证书
+     */
+    public static SSLContext clientContext() {
+        try {
+            TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trustManagers.init(Generated.KEY_STORE);
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, trustManagers.getTrustManagers(), null);
+            return context;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("无法加载模拟服务的证书", e);
+        }
+    }
+
+    /**
+     * 按需生成，首次使用时才调用 keytool
+     */
+    private static final class Generated {
+
+        private static final char[] PASSWORD = password();
+
+        private static final KeyStore KEY_STORE = generate();
+
+        private static char[] password() {
+            byte[] random = new byte[24];
+            new SecureRandom().nextBytes(random);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(random).toCharArray();
+        }
+
+        private static KeyStore generate() {
+            Path directory = null;
+            Path file = null;
+            try {
+                directory = Files.createTempDirectory("mock-tls");
+                file = directory.resolve("mock-server.p12");
+                Path keytool = Path.of(System.getProperty("java.home"), "bin", "keytool");
+                ProcessBuilder builder = new ProcessBuilder(List.of(keytool.toString(), "-genkeypair",
+                        "-alias", "mock-server", "-keyalg", "EC", "-groupname", "secp256r1", "-validity", "1",
+                        "-dname", "CN=localhost", "-ext", "SAN=dns:localhost,ip:127.0.0.1",
+                        "-storetype", "PKCS12", "-keystore", file.toString(),
+                        // 口令通过环境变量传递，不出现在进程的命令行参数中
+                        "-storepass:env", PASSWORD_ENV, "-keypass:env", PASSWORD_ENV))
+                        .redirectErrorStream(true);
+                builder.environment().put(PASSWORD_ENV, new String(PASSWORD));
+                Process process = builder.start();
+                String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                if (!process.waitFor(30, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                    process.destroyForcibly();
+                    throw new IllegalStateException("keytool 生成模拟服务证书失败: " + output.strip());
+                }
+                KeyStore keyStore = KeyStore.getInstance("PKCS12");
+                try (InputStream input = Files.newInputStream(file)) {
+                    keyStore.load(input, PASSWORD);
+                }
+                return keyStore;
+            } catch (IOException e) {
+                throw new UncheckedIOException("生成模拟服务证书失败", e);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("无法加载生成的模拟服务证书", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("生成模拟服务证书时被中断", e);
+            } finally {
+                delete(file);
+                delete(directory);
+            }
+        }
+
+        private static void delete(Path path) {
+            if (path == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // 临时文件，删除失败不影响使用
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.lunay.liteflow.ai.provider.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lunay.liteflow.ai.provider.client.ProviderChatClient;
+import com.lunay.liteflow.ai.provider.config.ProviderHttpProperties;
+import com.lunay.liteflow.ai.provider.config.RoutingProperties;
+import com.lunay.liteflow.ai.provider.config.RoutingProperties.Endpoint;
+import com.lunay.liteflow.ai.provider.http.ProviderHttpClients;
+import com.lunay.liteflow.ai.provider.routing.ProviderRouter;
+import com.lunay.liteflow.ai.provider.routing.RoutingStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLContext;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单端点、负载均衡与对冲的耗时分位数对比
+ * <p>
+ * 启动两个本地模拟服务，处理耗时分别为 {@code mockPrimaryLatency} 与 {@code mockSecondaryLatency}，
+ * 两者都有 {@code mockSlowRatio} 比例的请求耗时 {@code mockSlowLatency}。按 {@code benchmarkConcurrency} 个并发各调用
+ * {@code benchmarkCalls} 次，每种方式使用新的路由器，先预热让端点积累耗时样本：
+ * <ul>
+ *     <li>单一端点：池中只有第一个模拟服务，不对冲</li>
+ *     <li>负载均衡：池中有两个模拟服务，按健康权重分配，不对冲</li>
+ *     <li>对冲：在负载均衡的基础上超过 p95 仍未返回时向另一个服务对冲</li>
+ *     <li>故障转移：前一半调用期间第一个服务全部返回 500，后一半恢复，观察熔断、转移与恢复后的流量分配；
+ *     熔断时长固定为 1 秒，以便在对比中观察到恢复</li>
+ * </ul>
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "provider.routing", name = "benchmark", havingValue = "true")
+public class RoutingBenchmark implements CommandLineRunner {
+
+    private static final String POOL = "classify";
+
+    private static final String SYSTEM_PROMPT = "判断用户的问题与哪种编程语言相关，只输出 java 或 python";
+
+    private static final String QUESTION = "Spring Boot 的自动配置是怎么生效的？";
+
+    /**
+     * 每个路由器的预热调用次数，足够端点积累计算对冲延迟所需的样本
+     */
+    private static final int WARMUP_CALLS = 200;
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(1);
+
+    private final ProviderHttpProperties httpProperties;
+
+    private final RoutingProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void run(String... args) throws Exception {
+        SSLContext trust = MockTls.clientContext();
+        try (MockProviderServer primary = new MockProviderServer(MockTls.serverContext(), properties.getMockPrimaryLatency());
+             MockProviderServer secondary = new MockProviderServer(MockTls.serverContext(), properties.getMockSecondaryLatency());
+             ProviderHttpClients clients = new ProviderHttpClients(httpProperties, trust, null)) {
+            primary.setTail(properties.getMockSlowRatio(), properties.getMockSlowLatency());
+            secondary.setTail(properties.getMockSlowRatio(), properties.getMockSlowLatency());
+            primary.start();
+            secondary.start();
+            ProviderChatClient chatClient = new ProviderChatClient(clients, objectMapper, "mock-api-key");
+            Endpoint first = endpoint("primary", primary, "qwen-flash");
+            Endpoint second = endpoint("secondary", secondary, "qwen-turbo");
+            log.info("路由对比：处理耗时 {} ms / {} ms，{}% 的请求耗时 {} ms，每种方式 {} 次调用，并发 {}",
+                    properties.getMockPrimaryLatency().toMillis(), properties.getMockSecondaryLatency().toMillis(),
+                    properties.getMockSlowRatio() * 100, properties.getMockSlowLatency().toMillis(),
+                    properties.getBenchmarkCalls(), properties.getBenchmarkConcurrency());
+
+            measure("单一端点", new ProviderRouter(benchmarkProperties(List.of(first), false), chatClient, null), primary, secondary);
+            measure("负载均衡", new ProviderRouter(benchmarkProperties(List.of(first, second), false), chatClient, null), primary, secondary);
+            measure("对冲", new ProviderRouter(benchmarkProperties(List.of(first, second), true), chatClient, null), primary, secondary);
+            failover(new ProviderRouter(benchmarkProperties(List.of(first, second), true), chatClient, null), primary, secondary);
+        }
+    }
+
+    private void measure(String name, ProviderRouter router, MockProviderServer primary, MockProviderServer secondary) throws Exception {
+        run(router, WARMUP_CALLS, new LongAdder());
+        RoutingStats before = router.stats();
+        long primaryBefore = primary.served();
+        long secondaryBefore = secondary.served();
+        LongAdder failed = new LongAdder();
+        List<Long> latencies = run(router, properties.getBenchmarkCalls(), failed);
+        RoutingStats stats = router.stats();
+        long upstream = primary.served() - primaryBefore + secondary.served() - secondaryBefore;
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        double mean = sorted.stream().mapToLong(Long::longValue).average().orElse(0);
+        log.info("{}: 平均 {} ms，p50 {} ms，p95 {} ms，p99 {} ms，p99.9 {} ms，失败 {}，对冲 {}（先返回 {}），上游请求 {}（primary {}，secondary {}）",
+                name, format(mean), format(percentile(sorted, 0.5)), format(percentile(sorted, 0.95)),
+                format(percentile(sorted, 0.99)), format(percentile(sorted, 0.999)), failed.sum(),
+                stats.hedged() - before.hedged(), stats.hedgeWins() - before.hedgeWins(), upstream,
+                primary.served() - primaryBefore, secondary.served() - secondaryBefore);
+    }
+
+    private void failover(ProviderRouter router, MockProviderServer primary, MockProviderServer secondary) throws Exception {
+        run(router, WARMUP_CALLS, new LongAdder());
+        int half = properties.getBenchmarkCalls() / 2;
+        primary.setFailureRatio(1);
+        long primaryFailed = primary.failed();
+        long secondaryServed = secondary.served();
+        RoutingStats before = router.stats();
+        LongAdder failed = new LongAdder();
+        run(router, half, failed);
+        RoutingStats stats = router.stats();
+        log.info("故障转移（第一个服务故障）: 调用 {} 次，失败 {}，转移 {}，primary 收到 {} 次请求，secondary 处理 {} 次，熔断器 {}",
+                half, failed.sum(), stats.failovers() - before.failovers(), primary.failed() - primaryFailed,
+                secondary.served() - secondaryServed, router.health(POOL));
+
+        primary.setFailureRatio(0);
+        // 等待熔断到期，之后的第一个请求作为探测
+        Thread.sleep(OPEN_DURATION);
+        long primaryServed = primary.served();
+        secondaryServed = secondary.served();
+        failed = new LongAdder();
+        run(router, properties.getBenchmarkCalls() - half, failed);
+        log.info("故障转移（第一个服务恢复）: 调用 {} 次，失败 {}，primary 处理 {} 次，secondary 处理 {} 次，熔断器 {}",
+                properties.getBenchmarkCalls() - half, failed.sum(), primary.served() - primaryServed,
+                secondary.served() - secondaryServed, router.health(POOL));
+    }
+
+    /**
+     * 以固定并发调用 {@code calls} 次，返回成功调用的耗时
+     */
+    private List<Long> run(ProviderRouter router, int calls, LongAdder failed) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger remaining = new AtomicInteger(calls);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < properties.getBenchmarkConcurrency(); i++) {
+                workers.add(executor.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        long start = System.nanoTime();
+                        try {
+                            router.call(POOL, SYSTEM_PROMPT, QUESTION);
+                            latencies.add(System.nanoTime() - start);
+                        } catch (RuntimeException e) {
+                            failed.increment();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        return latencies;
+    }
+
+    private static Endpoint endpoint(String name, MockProviderServer server, String model) {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setName(name);
+        endpoint.setApiUrl(server.getBaseUrl() + "/compatible-mode/v1");
+        endpoint.setModel(model);
+        return endpoint;
+    }
+
+    /**
+     * 对比使用的配置：对冲与熔断参数与应用配置一致，端点池替换为模拟服务，熔断时长固定为 1 秒
+     */
+    private RoutingProperties benchmarkProperties(List<Endpoint> endpoints, boolean hedging) {
+        RoutingProperties benchmark = new RoutingProperties();
+        benchmark.setPools(Map.of(POOL, endpoints));
+        benchmark.setHedging(hedging);
+        benchmark.setHedgePercentile(properties.getHedgePercentile());
+        benchmark.setInitialHedgeDelay(properties.getInitialHedgeDelay());
+        benchmark.setMinHedgeDelay(properties.getMinHedgeDelay());
+        benchmark.setMaxHedgeDelay(properties.getMaxHedgeDelay());
+        benchmark.setHedgeBudget(properties.getHedgeBudget());
+        benchmark.setMaxAttempts(properties.getMaxAttempts());
+        benchmark.setLatencyWindow(properties.getLatencyWindow());
+        benchmark.setMinSamples(properties.getMinSamples());
+        benchmark.setHealthAlpha(properties.getHealthAlpha());
+        benchmark.setInitialLatency(properties.getInitialLatency());
+        benchmark.setBreakerWindow(properties.getBreakerWindow());
+        benchmark.setBreakerMinCalls(properties.getBreakerMinCalls());
+        benchmark.setFailureRateThreshold(properties.getFailureRateThreshold());
+        benchmark.setOpenDuration(OPEN_DURATION);
+        return benchmark;
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(percentile * sorted.size()) - 1));
+    }
+
+    private static String format(double nanos) {
+        return String.format("%.2f", nanos / 1_000_000);
+    }
+}
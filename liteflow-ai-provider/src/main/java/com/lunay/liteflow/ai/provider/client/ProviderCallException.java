@@ -0,0 +1,24 @@
+package com.lunay.liteflow.ai.provider.client;
+
+import lombok.Getter;
+
+/**
+ * 模型提供商调用失败
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Getter
+public class ProviderCallException extends RuntimeException {
+
+    /**
+     * HTTP 状态码，响应无法解析时为实际的状态码
+     */
+    private final int status;
+
+    public ProviderCallException(String message, int status, Throwable cause) {
+        super(message, cause);
+        this.status = status;
+    }
+}
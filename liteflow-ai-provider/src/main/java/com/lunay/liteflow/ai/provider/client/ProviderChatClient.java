@@ -0,0 +1,176 @@
+package com.lunay.liteflow.ai.provider.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lunay.liteflow.ai.common.TextTokens;
+import com.lunay.liteflow.ai.provider.admission.AdmissionController;
+import com.lunay.liteflow.ai.provider.http.ProviderHttpClients;
+import com.lunay.liteflow.ai.provider.http.ProviderResponse;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 通过共享连接池调用 OpenAI 兼容模式的对话接口，例如 DashScope 的 compatible-mode
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class ProviderChatClient {
+
+    private static final String CHAT_PATH = "/chat/completions";
+
+    /**
+     * 准入控制会阻塞等待令牌与并发名额，异步调用在虚拟线程上等待，不占用调用方或 IO 线程
+     */
+    private static final Executor ADMISSION_EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("provider-admission-", 0).factory());
+
+    private final ProviderHttpClients clients;
+
+    private final ObjectMapper objectMapper;
+
+    private final String apiKey;
+
+    private final Map<String, String> headers;
+
+    private final AdmissionController admission;
+
+    public ProviderChatClient(ProviderHttpClients clients, ObjectMapper objectMapper, String apiKey) {
+        this(clients, objectMapper, apiKey, null);
+    }
+
+    /**
+     * @param admission 准入控制，为空时 {@link #call} 直接调用
+     */
+    public ProviderChatClient(ProviderHttpClients clients, ObjectMapper objectMapper, String apiKey, AdmissionController admission) {
+        this.clients = clients;
+        this.objectMapper = objectMapper;
+        this.apiKey = apiKey;
+        this.headers = Map.of("Authorization", "Bearer " + apiKey);
+        this.admission = admission;
+    }
+
+    /**
+     * 经过准入控制的非流式对话，阻塞等待结果；发往同一地址、使用同一模型与提示词的并发调用共享一次上游调用
+     *
+     * @return 模型输出的文本
+     */
+    public String call(String apiUrl, String model, String systemPrompt, String userPrompt) {
+        if (admission == null) {
+            return join(chat(apiUrl, model, systemPrompt, userPrompt));
+        }
+        return admission.call(apiUrl, apiKey, model, systemPrompt + '\n' + userPrompt,
+                TextTokens.estimate(systemPrompt) + TextTokens.estimate(userPrompt),
+                () -> join(chat(apiUrl, model, systemPrompt, userPrompt)));
+    }
+
+    /**
+     * 经过准入控制的异步非流式对话，不合并相同的请求，用于路由中的每一个请求
+     * <p>
+     * 对冲请求与第一个请求的提示词相同，合并后对冲就失去了意义，因此不传合并标识；每个请求仍然计入限额与并发上限
+     *
+     * @param apiKey 为空时使用默认的 API Key
+     * @return 模型输出的文本；排队超时以 {@link com.lunay.liteflow.ai.provider.admission.AdmissionRejectedException} 结束；
+     * 取消返回的结果时同时取消请求，还在排队的请求不再发出
+     */
+    public CompletableFuture<String> admittedChat(String apiUrl, String apiKey, String model, String systemPrompt, String userPrompt) {
+        if (admission == null) {
+            return chat(apiUrl, apiKey, model, systemPrompt, userPrompt);
+        }
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<String>> exchange = new AtomicReference<>();
+        result.whenComplete((content, error) -> {
+            CompletableFuture<String> pending = exchange.get();
+            if (result.isCancelled() && pending != null) {
+                pending.cancel(false);
+            }
+        });
+        ADMISSION_EXECUTOR.execute(() -> {
+            try {
+                result.complete(admission.call(apiUrl, apiKey == null ? this.apiKey : apiKey, model, null,
+                        TextTokens.estimate(systemPrompt) + TextTokens.estimate(userPrompt), () -> {
+                            if (result.isDone()) {
+                                throw new CancellationException("请求在排队时已取消");
+                            }
+                            CompletableFuture<String> pending = chat(apiUrl, apiKey, model, systemPrompt, userPrompt);
+                            exchange.set(pending);
+                            if (result.isDone()) {
+                                pending.cancel(false);
+                            }
+                            return join(pending);
+                        }));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 非流式对话
+     *
+     * @return 模型输出的文本；非 2xx 响应以 {@link ProviderCallException} 结束；取消返回的结果时同时取消请求
+     */
+    public CompletableFuture<String> chat(String apiUrl, String model, String systemPrompt, String userPrompt) {
+        return chat(apiUrl, null, model, systemPrompt, userPrompt);
+    }
+
+    /**
+     * 使用指定 API Key 的非流式对话，用于调用其他提供商
+     *
+     * @param apiKey 为空时使用默认的 API Key
+     */
+    public CompletableFuture<String> chat(String apiUrl, String apiKey, String model, String systemPrompt, String userPrompt) {
+        Map<String, String> requestHeaders = apiKey == null ? headers : Map.of("Authorization", "Bearer " + apiKey);
+        CompletableFuture<ProviderResponse> exchange = clients.client(apiUrl)
+                .post(apiUrl + CHAT_PATH, requestHeaders, body(model, systemPrompt, userPrompt));
+        CompletableFuture<String> result = exchange.thenApply(response -> content(apiUrl, response));
+        result.whenComplete((content, error) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    private String body(String model, String systemPrompt, String userPrompt) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("model", model);
+        ArrayNode messages = body.putArray("messages");
+        messages.addObject().put("role", "system").put("content", systemPrompt);
+        messages.addObject().put("role", "user").put("content", userPrompt);
+        // 与节点一致，关闭思考
+        body.put("enable_thinking", false);
+        return body.toString();
+    }
+
+    private String content(String apiUrl, ProviderResponse response) {
+        if (!response.isSuccess()) {
+            throw new ProviderCallException(apiUrl + " 返回 " + response.status() + ": " + response.body(), response.status(), null);
+        }
+        try {
+            JsonNode root = objectMapper.readTree(response.body());
+            return root.path("choices").path(0).path("message").path("content").asText();
+        } catch (JsonProcessingException e) {
+            throw new ProviderCallException(apiUrl + " 的响应无法解析: " + e.getOriginalMessage(), response.status(), e);
+        }
+    }
+
+    private static String join(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.lunay.liteflow.ai.provider.component;
+
+import com.lunay.liteflow.ai.provider.client.ProviderChatClient;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.core.NodeComponent;
+import org.springframework.stereotype.Component;
+
+/**
+ * 分类组件，与 classifyCmp 相同的模型与提示词，但通过共享连接池与准入控制调用，短调用不再为每次请求建立连接
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component("providerClassifyCmp")
+public class ProviderClassifyCmp extends NodeComponent {
+
+    /**
+     * 分类结果在上下文中的 key
+     */
+    public static final String LABEL = "label";
+
+    private static final String API_URL = "https://dashscope.aliyuncs.com/compatible-mode/v1";
+
+    private static final String MODEL = "qwen-flash";
+
+    private static final String SYSTEM_PROMPT = "判断用户的问题与哪种编程语言相关，只输出 java 或 python";
+
+    private final ProviderChatClient chatClient;
+
+    public ProviderClassifyCmp(ProviderChatClient chatClient) {
+        this.chatClient = chatClient;
+    }
+
+    @Override
+    public void process() throws Exception {
+        ChatContext context = this.getContextBean(ChatContext.class);
+        String question = context.getData("question");
+        String label = chatClient.call(API_URL, MODEL, SYSTEM_PROMPT, question);
+        context.setData(LABEL, label.strip());
+    }
+}
@@ -0,0 +1,52 @@
+package com.lunay.liteflow.ai.provider.component;
+
+import com.lunay.liteflow.ai.provider.routing.ProviderRouter;
+import com.lunay.liteflow.ai.provider.routing.RoutedResponse;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.core.NodeComponent;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * 分类组件，与 classifyCmp 相同的提示词，但不固定提供商与模型，而是通过端点池 classify 路由，
+ * 端点变慢时由对冲请求兜底，端点故障时熔断并转移到池中的其他端点
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component("routedClassifyCmp")
+public class RoutedClassifyCmp extends NodeComponent {
+
+    /**
+     * 返回结果的端点名称在上下文中的 key
+     */
+    public static final String ENDPOINT = "endpoint";
+
+    /**
+     * 端点池名称，池中的端点在 provider.routing.pools.classify 中按优先级声明
+     */
+    private static final String POOL = "classify";
+
+    private static final String SYSTEM_PROMPT = "判断用户的问题与哪种编程语言相关，只输出 java 或 python";
+
+    private final ProviderRouter router;
+
+    public RoutedClassifyCmp(ProviderRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public void process() throws Exception {
+        ChatContext context = this.getContextBean(ChatContext.class);
+        String question = context.getData("question");
+        try {
+            RoutedResponse response = router.chat(POOL, SYSTEM_PROMPT, question).join();
+            context.setData(ProviderClassifyCmp.LABEL, response.content().strip());
+            context.setData(ENDPOINT, response.endpoint());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.lunay.liteflow.ai.provider.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 模型提供商准入控制配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "provider.admission")
+public class AdmissionProperties {
+
+    /**
+     * 是否开启准入控制，关闭后请求直接发出
+     */
+    private boolean enabled = true;
+
+    /**
+     * 是否合并相同的进行中请求，发往同一地址、使用同一 API Key、同一模型与提示词的并发调用共享一次上游调用，
+     * 其余调用方最多等待 {@code queueTimeout}
+     */
+    private boolean deduplicate = true;
+
+    /**
+     * 未单独配置的模型使用的限额
+     */
+    private ModelLimit defaultLimit = new ModelLimit();
+
+    /**
+     * 单独指定某个模型的限额：模型名称 -> 限额
+     */
+    private Map<String, ModelLimit> models = new HashMap<>();
+
+    /**
+     * 令牌桶容量对应的时间窗口，限制瞬时突发；提供商通常在比限额周期更短的窗口内统计请求
+     */
+    private Duration burstWindow = Duration.ofMillis(100);
+
+    /**
+     * 自适应并发的初始上限
+     */
+    private int initialConcurrency = 8;
+
+    /**
+     * 自适应并发上限的下界
+     */
+    private int minConcurrency = 1;
+
+    /**
+     * 自适应并发上限的上界
+     */
+    private int maxConcurrency = 64;
+
+    /**
+     * 收到 429 时并发上限乘以的系数
+     */
+    private double backoffRatio = 0.5;
+
+    /**
+     * 耗时超过最小耗时的多少倍时视为上游开始排队，并发上限按 {@code latencyBackoffRatio} 缩小
+     */
+    private double latencyTolerance = 2.0;
+
+    /**
+     * 耗时过高时并发上限乘以的系数
+     */
+    private double latencyBackoffRatio = 0.9;
+
+    /**
+     * 收到 429 后的最大重试次数，重试同样经过准入控制
+     */
+    private int maxRetries = 2;
+
+    /**
+     * 第一次重试前的等待时间，之后每次翻倍
+     */
+    private Duration retryBackoff = Duration.ofMillis(100);
+
+    /**
+     * 请求在限流与并发排队中等待的最长时间，超过后直接拒绝
+     */
+    private Duration queueTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 估算令牌数时每次调用预计的输出 token 数
+     */
+    private int expectedOutputTokens = 64;
+
+    /**
+     * 是否在启动时对本地模拟的限额服务对比直接调用与准入控制的有效吞吐，开启后不调用真实模型
+     */
+    private boolean benchmark = false;
+
+    /**
+     * 对比中逐级增加的请求速率（次/秒）
+     */
+    private List<Integer> benchmarkLoads = List.of(25, 50, 100, 200);
+
+    /**
+     * 每级请求速率的持续时间
+     */
+    private Duration benchmarkDuration = Duration.ofSeconds(3);
+
+    /**
+     * 对比中重复提示词的比例，用于观察相同请求的合并
+     */
+    private double benchmarkDuplicateRatio = 0.2;
+
+    /**
+     * 模拟服务的限额：每秒请求数
+     */
+    private int mockRequestsPerSecond = 50;
+
+    /**
+     * 模拟服务的限额：同时处理的请求数
+     */
+    private int mockMaxConcurrency = 8;
+
+    /**
+     * 模拟服务处理每个请求的耗时
+     */
+    private Duration mockLatency = Duration.ofMillis(20);
+
+    public ModelLimit limitOf(String model) {
+        return models.getOrDefault(model, defaultLimit);
+    }
+
+    @Data
+    public static class ModelLimit {
+
+        /**
+         * 每秒请求数，小于等于 0 时不限制
+         */
+        private double requestsPerSecond = 20;
+
+        /**
+         * 每分钟 token 数，按提示词长度与预计输出估算，小于等于 0 时不限制
+         */
+        private double tokensPerMinute = 100_000;
+    }
+}
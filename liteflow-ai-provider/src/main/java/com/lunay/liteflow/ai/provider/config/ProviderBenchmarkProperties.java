@@ -0,0 +1,38 @@
+package com.lunay.liteflow.ai.provider.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 连接对比配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "provider.benchmark")
+public class ProviderBenchmarkProperties {
+
+    /**
+     * 是否在启动时对本地模拟的 HTTPS 服务对比新建连接与连接池的单次调用耗时，开启后不调用真实模型
+     */
+    private boolean enabled = false;
+
+    /**
+     * 每种方式的调用次数
+     */
+    private int calls = 200;
+
+    /**
+     * 并发调用连接池时的并发数
+     */
+    private int concurrency = 16;
+
+    /**
+     * 模拟服务处理每个请求的耗时，模拟分类这类短调用
+     */
+    private Duration serverLatency = Duration.ofMillis(5);
+}
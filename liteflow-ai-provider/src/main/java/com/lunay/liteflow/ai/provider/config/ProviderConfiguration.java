@@ -0,0 +1,56 @@
+package com.lunay.liteflow.ai.provider.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lunay.liteflow.ai.provider.admission.AdmissionController;
+import com.lunay.liteflow.ai.provider.client.ProviderChatClient;
+import com.lunay.liteflow.ai.provider.http.ProviderHttpClients;
+import com.lunay.liteflow.ai.provider.routing.ProviderRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 模型提供商调用配置类
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Configuration
+@EnableConfigurationProperties({ProviderHttpProperties.class, ProviderBenchmarkProperties.class, AdmissionProperties.class,
+        RoutingProperties.class})
+public class ProviderConfiguration {
+
+    /**
+     * 所有节点共享的 HTTP 客户端，按 apiUrl 的源复用连接池，应用关闭时释放全部连接
+     */
+    @Bean(destroyMethod = "close")
+    public ProviderHttpClients providerHttpClients(ProviderHttpProperties properties, MeterRegistry meterRegistry) {
+        return new ProviderHttpClients(properties, null, meterRegistry);
+    }
+
+    /**
+     * 所有节点共享的准入控制，限额与并发上限按模型区分
+     */
+    @Bean
+    public AdmissionController admissionController(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        return new AdmissionController(properties, meterRegistry);
+    }
+
+    @Bean
+    public ProviderChatClient providerChatClient(ProviderHttpClients clients, ObjectMapper objectMapper,
+                                                 @Value("${liteflow.ai.dashscope.apikey}") String apiKey,
+                                                 AdmissionController admissionController) {
+        return new ProviderChatClient(clients, objectMapper, apiKey, admissionController);
+    }
+
+    /**
+     * 按端点池路由的节点共享的路由器，端点的健康状况与熔断状态在所有调用之间共享
+     */
+    @Bean
+    public ProviderRouter providerRouter(RoutingProperties properties, ProviderChatClient chatClient, MeterRegistry meterRegistry) {
+        return new ProviderRouter(properties, chatClient, meterRegistry);
+    }
+}
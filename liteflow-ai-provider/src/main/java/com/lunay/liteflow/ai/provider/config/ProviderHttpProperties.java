@@ -0,0 +1,53 @@
+package com.lunay.liteflow.ai.provider.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 模型提供商 HTTP 客户端配置，每个 apiUrl 的源（协议、主机与端口）使用一个独立的连接池
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "liteflow.ai.dashscope.http")
+public class ProviderHttpProperties {
+
+    /**
+     * 建立连接（含 TLS 握手）的超时时间
+     */
+    private Duration connectTimeout = Duration.ofSeconds(3);
+
+    /**
+     * 读取超时，两次收到数据之间的最大间隔；流式输出时为相邻两个分片的最大间隔
+     */
+    private Duration readTimeout = Duration.ofSeconds(60);
+
+    /**
+     * 连接池已满时等待空闲连接的超时时间
+     */
+    private Duration pendingTimeout = Duration.ofSeconds(5);
+
+    /**
+     * 每个源的最大连接数；HTTP/2 连接可以多路复用，通常一个连接即可承载全部并发请求
+     */
+    private int maxConnections = 32;
+
+    /**
+     * 空闲连接保留的时间，超过后关闭
+     */
+    private Duration idleTimeout = Duration.ofSeconds(60);
+
+    /**
+     * 连接的最长存活时间，超过后不再复用，便于服务端扩缩容后重新分布连接
+     */
+    private Duration timeToLive = Duration.ofMinutes(10);
+
+    /**
+     * 是否通过 ALPN 协商 HTTP/2，服务端不支持时回退到 HTTP/1.1
+     */
+    private boolean http2 = true;
+}
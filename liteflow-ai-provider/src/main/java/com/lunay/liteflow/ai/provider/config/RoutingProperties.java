@@ -0,0 +1,169 @@
+package com.lunay.liteflow.ai.provider.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 多端点路由配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "provider.routing")
+public class RoutingProperties {
+
+    /**
+     * 端点池：池名称 -> 按优先级排列的端点，节点按池名称调用
+     */
+    private Map<String, List<Endpoint>> pools = new LinkedHashMap<>();
+
+    /**
+     * 是否开启对冲请求：第一个请求超过对冲延迟仍未返回时，向下一个端点再发一个请求，先返回的结果生效，另一个被取消
+     */
+    private boolean hedging = true;
+
+    /**
+     * 对冲延迟取端点最近耗时的分位数
+     */
+    private double hedgePercentile = 0.95;
+
+    /**
+     * 样本不足 {@code minSamples} 时使用的对冲延迟
+     */
+    private Duration initialHedgeDelay = Duration.ofSeconds(1);
+
+    /**
+     * 对冲延迟的下界
+     */
+    private Duration minHedgeDelay = Duration.ofMillis(10);
+
+    /**
+     * 对冲延迟的上界
+     */
+    private Duration maxHedgeDelay = Duration.ofSeconds(5);
+
+    /**
+     * 对冲请求占全部请求的比例上限，上游整体变慢时不会让请求量翻倍
+     */
+    private double hedgeBudget = 0.1;
+
+    /**
+     * 每次调用最多发出的请求数，包含对冲与失败后的转移
+     */
+    private int maxAttempts = 2;
+
+    /**
+     * 每个端点保留的最近耗时样本数
+     */
+    private int latencyWindow = 200;
+
+    /**
+     * 按分位数计算对冲延迟所需的最少样本数
+     */
+    private int minSamples = 20;
+
+    /**
+     * 端点耗时与成功率的指数加权系数，越大越看重最近的结果
+     */
+    private double healthAlpha = 0.2;
+
+    /**
+     * 还没有耗时样本的端点按这个耗时计算健康权重
+     */
+    private Duration initialLatency = Duration.ofMillis(500);
+
+    /**
+     * 熔断器统计的最近调用数
+     */
+    private int breakerWindow = 20;
+
+    /**
+     * 熔断器统计的最近调用数达到多少次后才判断失败率
+     */
+    private int breakerMinCalls = 10;
+
+    /**
+     * 失败率达到多少时熔断
+     */
+    private double failureRateThreshold = 0.5;
+
+    /**
+     * 熔断后多久放行一个探测请求，探测成功后恢复
+     */
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    /**
+     * 是否在启动时对两个本地模拟服务对比单端点、负载均衡与对冲的耗时分位数，开启后不调用真实模型
+     */
+    private boolean benchmark = false;
+
+    /**
+     * 对比中每种方式的调用次数
+     */
+    private int benchmarkCalls = 2000;
+
+    /**
+     * 对比中的并发数
+     */
+    private int benchmarkConcurrency = 8;
+
+    /**
+     * 第一个模拟服务处理每个请求的耗时
+     */
+    private Duration mockPrimaryLatency = Duration.ofMillis(20);
+
+    /**
+     * 第二个模拟服务处理每个请求的耗时
+     */
+    private Duration mockSecondaryLatency = Duration.ofMillis(30);
+
+    /**
+     * 模拟服务中慢请求的比例
+     */
+    private double mockSlowRatio = 0.05;
+
+    /**
+     * 模拟服务中慢请求的耗时
+     */
+    private Duration mockSlowLatency = Duration.ofMillis(300);
+
+    public List<Endpoint> poolOf(String pool) {
+        return pools.getOrDefault(pool, List.of());
+    }
+
+    @Data
+    public static class Endpoint {
+
+        /**
+         * 端点名称，用于日志与指标
+         */
+        private String name;
+
+        /**
+         * OpenAI 兼容模式的地址，例如 https://dashscope.aliyuncs.com/compatible-mode/v1
+         */
+        private String apiUrl;
+
+        /**
+         * 端点使用的 API Key，为空时使用 liteflow.ai.dashscope.apikey
+         */
+        private String apiKey;
+
+        /**
+         * 模型名称
+         */
+        private String model;
+
+        /**
+         * 负载均衡的基础权重，实际权重再乘以端点的健康度
+         */
+        private double weight = 1;
+    }
+}
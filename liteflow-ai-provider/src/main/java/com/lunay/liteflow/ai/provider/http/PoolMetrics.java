@@ -0,0 +1,15 @@
+package com.lunay.liteflow.ai.provider.http;
+
+/**
+ * 连接池指标
+ *
+ * @param active  正在使用的连接数
+ * @param idle    空闲且可复用的连接数
+ * @param pending 等待空闲连接的请求数
+ * @param max     最大连接数
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public record PoolMetrics(int active, int idle, int pending, int max) {
+}
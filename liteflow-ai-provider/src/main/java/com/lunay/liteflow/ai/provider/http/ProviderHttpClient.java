@@ -0,0 +1,187 @@
+package com.lunay.liteflow.ai.provider.http;
+
+import com.lunay.liteflow.ai.provider.config.ProviderHttpProperties;
+import lombok.Getter;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.ProtocolVersion;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import javax.net.ssl.SSLContext;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * 单个源（协议、主机与端口）的 HTTP 客户端
+ * <p>
+ * 持有一个长连接池：请求结束后连接归还连接池，后续请求直接复用，不再重复 TCP 与 TLS 握手。
+ * 开启 HTTP/2 时通过 ALPN 协商，协商成功后同一个连接上的多个请求多路复用
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class ProviderHttpClient implements Closeable {
+
+    @Getter
+    private final String endpoint;
+
+    private final PoolingAsyncClientConnectionManager connectionManager;
+
+    private final CloseableHttpAsyncClient client;
+
+    public ProviderHttpClient(String endpoint, ProviderHttpProperties properties, SSLContext sslContext) {
+        this.endpoint = endpoint;
+        ClientTlsStrategyBuilder tlsStrategy = ClientTlsStrategyBuilder.create();
+        if (sslContext == null) {
+            tlsStrategy.useSystemProperties();
+        } else {
+            tlsStrategy.setSslContext(sslContext);
+        }
+        this.connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setTlsStrategy(tlsStrategy.build())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(properties.getConnectTimeout()))
+                        .setSocketTimeout(timeout(properties.getReadTimeout()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(properties.getTimeToLive().toMillis()))
+                        .build())
+                .setDefaultTlsConfig(TlsConfig.custom()
+                        .setVersionPolicy(properties.isHttp2() ? HttpVersionPolicy.NEGOTIATE : HttpVersionPolicy.FORCE_HTTP_1)
+                        .build())
+                // 每个源一个连接池，总连接数即为该源的连接数
+                .setMaxConnPerRoute(properties.getMaxConnections())
+                .setMaxConnTotal(properties.getMaxConnections())
+                .build();
+        this.client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout(properties.getPendingTimeout()))
+                        .build())
+                .evictIdleConnections(TimeValue.ofMilliseconds(properties.getIdleTimeout().toMillis()))
+                .evictExpiredConnections()
+                .build();
+        this.client.start();
+    }
+
+    /**
+     * 发送 JSON 请求，等待完整响应
+     *
+     * @param uri     完整的请求地址，必须属于本客户端的源
+     * @param headers 请求头
+     * @param body    JSON 请求体
+     */
+    public CompletableFuture<ProviderResponse> post(String uri, Map<String, String> headers, String body) {
+        SimpleHttpRequest request = request(uri, headers, body);
+        HttpClientContext context = HttpClientContext.create();
+        CompletableFuture<ProviderResponse> result = new CompletableFuture<>();
+        Future<SimpleHttpResponse> exchange = client.execute(request, context, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                result.complete(new ProviderResponse(response.getCode(), response.getBodyText(), protocol(response, context)));
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                result.completeExceptionally(ex);
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+        return cancelWith(result, exchange);
+    }
+
+    /**
+     * 发送 JSON 请求并以 SSE 接收响应，每个 {@code data:} 事件到达后立即回调
+     *
+     * @param onData 事件内容的回调，在 IO 线程上执行，不能阻塞
+     */
+    public CompletableFuture<ProviderResponse> stream(String uri, Map<String, String> headers, String body, Consumer<String> onData) {
+        SimpleHttpRequest request = request(uri, headers, body);
+        request.setHeader("Accept", "text/event-stream");
+        HttpClientContext context = HttpClientContext.create();
+        CompletableFuture<ProviderResponse> result = new CompletableFuture<>();
+        Future<ProviderResponse> exchange = client.execute(SimpleRequestProducer.create(request), new SseResponseConsumer(onData),
+                null, context, new FutureCallback<>() {
+                    @Override
+                    public void completed(ProviderResponse response) {
+                        result.complete(response);
+                    }
+
+                    @Override
+                    public void failed(Exception ex) {
+                        result.completeExceptionally(ex);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        result.cancel(false);
+                    }
+                });
+        return cancelWith(result, exchange);
+    }
+
+    public PoolMetrics metrics() {
+        PoolStats stats = connectionManager.getTotalStats();
+        return new PoolMetrics(stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax());
+    }
+
+    @Override
+    public void close() {
+        client.close(CloseMode.GRACEFUL);
+    }
+
+    /**
+     * 调用方取消结果时同时取消请求，连接随之释放
+     */
+    private static <T> CompletableFuture<ProviderResponse> cancelWith(CompletableFuture<ProviderResponse> result, Future<T> exchange) {
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private static SimpleHttpRequest request(String uri, Map<String, String> headers, String body) {
+        SimpleHttpRequest request = SimpleRequestBuilder.post(uri)
+                .setBody(body, ContentType.APPLICATION_JSON)
+                .build();
+        headers.forEach(request::setHeader);
+        return request;
+    }
+
+    static String protocol(HttpResponse response, HttpContext context) {
+        ProtocolVersion version = response.getVersion() != null ? response.getVersion() : context.getProtocolVersion();
+        return version == null ? "unknown" : version.toString();
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+}
@@ -0,0 +1,97 @@
+package com.lunay.liteflow.ai.provider.http;
+
+import com.lunay.liteflow.ai.provider.config.ProviderHttpProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.net.ssl.SSLContext;
+import java.io.Closeable;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * 共享的模型提供商 HTTP 客户端
+ * <p>
+ * 按 apiUrl 的源（协议、主机与端口）复用 {@link ProviderHttpClient}，指向同一个源的节点共用一个连接池。
+ * 每个连接池的使用中、空闲与等待数注册为指标 {@code provider.http.pool.*}，标签 {@code endpoint} 为源
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+public class ProviderHttpClients implements Closeable {
+
+    private final ProviderHttpProperties properties;
+
+    private final SSLContext sslContext;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, ProviderHttpClient> clients = new ConcurrentHashMap<>();
+
+    /**
+     * @param sslContext    为空时使用系统默认的证书
+     * @param meterRegistry 为空时不注册指标
+     */
+    public ProviderHttpClients(ProviderHttpProperties properties, SSLContext sslContext, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sslContext = sslContext;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 获取 apiUrl 所在源的客户端，首次使用时创建
+     */
+    public ProviderHttpClient client(String apiUrl) {
+        return clients.computeIfAbsent(origin(apiUrl), this::create);
+    }
+
+    /**
+     * 所有连接池的指标：源 -> 指标
+     */
+    public Map<String, PoolMetrics> metrics() {
+        Map<String, PoolMetrics> metrics = new LinkedHashMap<>();
+        clients.forEach((endpoint, client) -> metrics.put(endpoint, client.metrics()));
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        clients.values().forEach(ProviderHttpClient::close);
+        clients.clear();
+    }
+
+    private ProviderHttpClient create(String endpoint) {
+        ProviderHttpClient client = new ProviderHttpClient(endpoint, properties, sslContext);
+        if (meterRegistry != null) {
+            gauge("provider.http.pool.active", "正在使用的连接数", client, PoolMetrics::active);
+            gauge("provider.http.pool.idle", "空闲且可复用的连接数", client, PoolMetrics::idle);
+            gauge("provider.http.pool.pending", "等待空闲连接的请求数", client, PoolMetrics::pending);
+        }
+        log.info("创建 {} 的连接池，最大连接数 {}，HTTP/2 {}", endpoint, properties.getMaxConnections(), properties.isHttp2() ? "开启" : "关闭");
+        return client;
+    }
+
+    private void gauge(String name, String description, ProviderHttpClient client, ToIntFunction<PoolMetrics> value) {
+        Gauge.builder(name, client, c -> value.applyAsInt(c.metrics()))
+                .description(description)
+                .tag("endpoint", client.getEndpoint())
+                .register(meterRegistry);
+    }
+
+    /**
+     * apiUrl 的源，未指定端口时按协议补全默认端口
+     */
+    static String origin(String apiUrl) {
+        URI uri = URI.create(apiUrl);
+        String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        int port = uri.getPort() >= 0 ? uri.getPort() : "https".equals(scheme) ? 443 : 80;
+        return scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT) + ":" + port;
+    }
+}
@@ -0,0 +1,18 @@
+package com.lunay.liteflow.ai.provider.http;
+
+/**
+ * 模型提供商的响应
+ *
+ * @param status   HTTP 状态码
+ * @param body     响应体；流式响应成功时为空，事件已逐个回调
+ * @param protocol 实际使用的协议，例如 HTTP/2.0
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public record ProviderResponse(int status, String body, String protocol) {
+
+    public boolean isSuccess() {
+        return status >= 200 && status < 300;
+    }
+}
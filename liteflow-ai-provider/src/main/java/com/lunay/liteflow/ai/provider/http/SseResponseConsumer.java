@@ -0,0 +1,119 @@
+package com.lunay.liteflow.ai.provider.http;
+
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.protocol.HttpContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 逐行解析 SSE 响应，每个 {@code data:} 事件到达后立即回调；非 2xx 的响应按原文收集为响应体
+ * <p>
+ * 按换行字节切分后再解码，多字节字符不会被拆开
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class SseResponseConsumer implements AsyncResponseConsumer<ProviderResponse> {
+
+    private static final String DATA = "data:";
+
+    private final Consumer<String> onData;
+
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+    private final StringBuilder body = new StringBuilder();
+
+    private HttpResponse response;
+
+    private HttpContext context;
+
+    private FutureCallback<ProviderResponse> resultCallback;
+
+    SseResponseConsumer(Consumer<String> onData) {
+        this.onData = onData;
+    }
+
+    @Override
+    public void consumeResponse(HttpResponse response, EntityDetails entityDetails, HttpContext context,
+                                FutureCallback<ProviderResponse> resultCallback) {
+        this.response = response;
+        this.context = context;
+        this.resultCallback = resultCallback;
+        if (entityDetails == null) {
+            complete();
+        }
+    }
+
+    @Override
+    public void informationResponse(HttpResponse response, HttpContext context) {
+    }
+
+    @Override
+    public void updateCapacity(CapacityChannel capacityChannel) throws IOException {
+        capacityChannel.update(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void consume(ByteBuffer src) {
+        while (src.hasRemaining()) {
+            byte b = src.get();
+            if (b == '\n') {
+                flushLine();
+            } else {
+                line.write(b);
+            }
+        }
+    }
+
+    @Override
+    public void streamEnd(List<? extends Header> trailers) {
+        flushLine();
+        complete();
+    }
+
+    @Override
+    public void failed(Exception cause) {
+        // 由请求的回调统一处理失败
+    }
+
+    @Override
+    public void releaseResources() {
+        line.reset();
+    }
+
+    private void flushLine() {
+        if (line.size() == 0) {
+            return;
+        }
+        String text = line.toString(StandardCharsets.UTF_8);
+        line.reset();
+        if (text.endsWith("\r")) {
+            text = text.substring(0, text.length() - 1);
+        }
+        if (!isSuccess()) {
+            body.append(text).append('\n');
+        } else if (text.startsWith(DATA)) {
+            onData.accept(text.substring(DATA.length()).strip());
+        }
+    }
+
+    private boolean isSuccess() {
+        return response.getCode() >= 200 && response.getCode() < 300;
+    }
+
+    private void complete() {
+        resultCallback.completed(new ProviderResponse(response.getCode(), body.toString(),
+                ProviderHttpClient.protocol(response, context)));
+    }
+}
@@ -0,0 +1,47 @@
+package com.lunay.liteflow.ai.provider.node;
+
+import com.yomahub.liteflow.ai.annotation.AIComponent;
+import com.yomahub.liteflow.ai.annotation.model.io.AIInput;
+import com.yomahub.liteflow.ai.annotation.model.io.AIOutput;
+import com.yomahub.liteflow.ai.annotation.model.io.InputField;
+import com.yomahub.liteflow.ai.annotation.model.node.AIChat;
+import com.yomahub.liteflow.ai.domain.enums.ProviderEnum;
+import com.yomahub.liteflow.ai.engine.interact.transport.TransportType;
+import com.yomahub.liteflow.ai.engine.model.output.ResponseType;
+
+/**
+ * 分类节点，由 LiteFlow-AI 自身的传输层调用模型，作为共享连接池的对照
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@AIComponent(
+        nodeId = "classifyCmp",
+        // 模型提供商使用 DashScope，模型名称为 qwen-flash
+        provider = ProviderEnum.DASHSCOPE,
+        apiUrl = "https://dashscope.aliyuncs.com/compatible-mode/v1",
+        model = "qwen-flash",
+        // 关闭思考
+        enableThinking = false
+)
+@AIChat(
+        systemPrompt = "判断用户的问题与哪种编程语言相关，只输出 java 或 python",
+        userPrompt = "{{question}}",
+        // 设置输出为非流式，传输模式为 HTTP
+        streaming = false,
+        transportType = TransportType.HTTP
+)
+@AIInput(
+        mapping = {
+                @InputField(name = "question", expression = "dataMap.question"),
+        }
+)
+@AIOutput(
+        // 设置响应类型为文本，模型节点输出将为框架定义的 AssistantMessage 对象
+        responseType = ResponseType.TEXT,
+        // 使用上下文默认的setData方法，将输出结果放置在 dataMap 中
+        methodExpress = "setData(\"assistantMessage\", $output)"
+)
+public interface ClassifyCmp {
+}
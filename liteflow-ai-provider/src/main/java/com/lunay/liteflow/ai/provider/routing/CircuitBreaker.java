@@ -0,0 +1,140 @@
+package com.lunay.liteflow.ai.provider.routing;
+
+/**
+ * 按最近调用的失败率熔断
+ * <p>
+ * 关闭状态下统计最近 {@code window} 次调用，达到 {@code minCalls} 次且失败率达到阈值时打开；
+ * 打开 {@code openDuration} 之后进入半开状态，只放行一个探测请求，探测成功则关闭并清空统计，失败则重新打开
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final boolean[] outcomes;
+
+    private final int minCalls;
+
+    private final double failureRateThreshold;
+
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+
+    private int next;
+
+    private int calls;
+
+    private int failures;
+
+    private long openedAt;
+
+    private boolean probing;
+
+    CircuitBreaker(int window, int minCalls, double failureRateThreshold, long openNanos) {
+        this.outcomes = new boolean[Math.max(1, window)];
+        this.minCalls = Math.min(Math.max(1, minCalls), outcomes.length);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openNanos;
+    }
+
+    /**
+     * 是否可能放行请求，不改变状态，用于挑选端点
+     */
+    synchronized boolean isAvailable() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> System.nanoTime() - openedAt >= openNanos;
+            case HALF_OPEN -> !probing;
+        };
+    }
+
+    /**
+     * 申请发出一个请求，打开状态到期后转为半开并把这个请求作为探测
+     */
+    synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probing = true;
+                return true;
+            default:
+                if (probing) {
+                    return false;
+                }
+                probing = true;
+                return true;
+        }
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            close();
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (calls >= minCalls && failures >= failureRateThreshold * calls) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * 请求被取消或失败与端点无关，不计入统计；半开状态下允许再放行一个探测请求
+     */
+    synchronized void onIgnore() {
+        if (state == State.HALF_OPEN) {
+            probing = false;
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (calls == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        probing = false;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        probing = false;
+        next = 0;
+        calls = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.lunay.liteflow.ai.provider.routing;
+
+/**
+ * 端点的健康状况快照
+ *
+ * @param name        端点名称
+ * @param circuit     熔断器状态：CLOSED、OPEN 或 HALF_OPEN
+ * @param score       负载均衡的权重
+ * @param p95Millis   最近耗时的 p95，没有样本时为 -1
+ * @param hedgeMillis 当前的对冲延迟
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public record EndpointHealth(String name, String circuit, double score, double p95Millis, double hedgeMillis) {
+}
@@ -0,0 +1,83 @@
+package com.lunay.liteflow.ai.provider.routing;
+
+import com.lunay.liteflow.ai.provider.config.RoutingProperties;
+import com.lunay.liteflow.ai.provider.config.RoutingProperties.Endpoint;
+
+/**
+ * 单个端点的健康状况：最近耗时、耗时与成功率的指数加权平均，以及熔断器
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+final class EndpointState {
+
+    final Endpoint endpoint;
+
+    final CircuitBreaker breaker;
+
+    private final LatencyWindow latencies;
+
+    private final RoutingProperties properties;
+
+    private double averageLatency;
+
+    private double successRate = 1;
+
+    EndpointState(Endpoint endpoint, RoutingProperties properties) {
+        this.endpoint = endpoint;
+        this.properties = properties;
+        this.latencies = new LatencyWindow(properties.getLatencyWindow());
+        this.breaker = new CircuitBreaker(properties.getBreakerWindow(), properties.getBreakerMinCalls(),
+                properties.getFailureRateThreshold(), properties.getOpenDuration().toNanos());
+        this.averageLatency = properties.getInitialLatency().toNanos();
+    }
+
+    /**
+     * 负载均衡的权重：基础权重乘以成功率的平方，再除以平均耗时（毫秒）
+     */
+    synchronized double score() {
+        return endpoint.getWeight() * successRate * successRate / Math.max(1, averageLatency / 1_000_000);
+    }
+
+    /**
+     * 对冲延迟：样本足够时取最近耗时的分位数，否则取初始值，并限制在上下界之间
+     */
+    long hedgeDelay() {
+        long delay = latencies.size() >= properties.getMinSamples()
+                ? latencies.percentile(properties.getHedgePercentile())
+                : properties.getInitialHedgeDelay().toNanos();
+        return Math.max(properties.getMinHedgeDelay().toNanos(), Math.min(properties.getMaxHedgeDelay().toNanos(), delay));
+    }
+
+    long latencyPercentile(double percentile) {
+        return latencies.percentile(percentile);
+    }
+
+    void onSuccess(long nanos) {
+        latencies.record(nanos);
+        synchronized (this) {
+            averageLatency += properties.getHealthAlpha() * (nanos - averageLatency);
+            successRate += properties.getHealthAlpha() * (1 - successRate);
+        }
+        breaker.onSuccess();
+    }
+
+    void onFailure() {
+        synchronized (this) {
+            successRate -= properties.getHealthAlpha() * successRate;
+        }
+        breaker.onFailure();
+    }
+
+    /**
+     * 对冲中落后而被取消的请求：没有真实耗时，已经等待的时间还包含准入排队，不计入耗时样本与平均耗时
+     */
+    void onCancelled() {
+        breaker.onIgnore();
+    }
+
+    void onIgnore() {
+        breaker.onIgnore();
+    }
+}
@@ -0,0 +1,48 @@
+package com.lunay.liteflow.ai.provider.routing;
+
+import java.util.Arrays;
+
+/**
+ * 最近若干次调用的耗时，按分位数计算对冲延迟
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+final class LatencyWindow {
+
+    private final long[] samples;
+
+    private int next;
+
+    private int size;
+
+    LatencyWindow(int capacity) {
+        this.samples = new long[Math.max(1, capacity)];
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        size = Math.min(size + 1, samples.length);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return 分位数对应的耗时纳秒数，没有样本时返回 -1
+     */
+    long percentile(double percentile) {
+        long[] sorted;
+        synchronized (this) {
+            if (size == 0) {
+                return -1;
+            }
+            sorted = Arrays.copyOf(samples, size);
+        }
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,15 @@
+package com.lunay.liteflow.ai.provider.routing;
+
+/**
+ * 端点池中的端点全部处于熔断状态，请求没有发出
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class NoAvailableEndpointException extends RuntimeException {
+
+    public NoAvailableEndpointException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,356 @@
+package com.lunay.liteflow.ai.provider.routing;
+
+import com.lunay.liteflow.ai.provider.admission.AdmissionRejectedException;
+import com.lunay.liteflow.ai.provider.client.ProviderCallException;
+import com.lunay.liteflow.ai.provider.client.ProviderChatClient;
+import com.lunay.liteflow.ai.provider.config.RoutingProperties;
+import com.lunay.liteflow.ai.provider.config.RoutingProperties.Endpoint;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按端点池路由对话请求
+ * <p>
+ * 每个池是按优先级排列的一组提供商与模型，每次调用：
+ * <ol>
+ *     <li>负载均衡：在熔断器允许的端点中按健康权重随机挑选第一个端点，权重为基础权重乘以成功率的平方再除以平均耗时</li>
+ *     <li>对冲：超过该端点最近耗时的 p95 仍未返回时，向池中优先级最高的另一个可用端点再发一个请求，先返回的结果生效，
+ *     另一个请求随即取消；对冲请求数受 {@code hedgeBudget} 限制</li>
+ *     <li>转移：请求失败时不等对冲延迟，立即转移到下一个端点；每次调用最多发出 {@code maxAttempts} 个请求</li>
+ *     <li>熔断：端点最近的失败率达到阈值后不再参与挑选，一段时间后放行一个探测请求</li>
+ * </ol>
+ * 4xx 响应（408 与 429 除外）说明请求本身有问题，不转移也不计入熔断。
+ * 每个请求（包括对冲与转移）都经过 {@link ProviderChatClient} 的准入控制，不合并，计入所在模型的限额与并发上限；
+ * 准入排队超时的请求转移到下一个端点，但不计入该端点的熔断
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+public class ProviderRouter {
+
+    private final RoutingProperties properties;
+
+    private final ProviderChatClient chatClient;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, List<EndpointState>> pools = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder hedged = new LongAdder();
+
+    private final LongAdder hedgeWins = new LongAdder();
+
+    private final LongAdder failovers = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * @param meterRegistry 为空时不注册指标
+     */
+    public ProviderRouter(RoutingProperties properties, ProviderChatClient chatClient, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.chatClient = chatClient;
+        this.meterRegistry = meterRegistry;
+        if (meterRegistry != null) {
+            counter("provider.routing.requests", "路由调用次数", requests);
+            counter("provider.routing.hedged", "发出的对冲请求数", hedged);
+            counter("provider.routing.hedge.wins", "对冲请求先返回的次数", hedgeWins);
+            counter("provider.routing.failovers", "失败后转移到下一个端点的次数", failovers);
+            counter("provider.routing.failed", "所有请求均失败的调用次数", failed);
+        }
+    }
+
+    /**
+     * 通过端点池发起非流式对话
+     *
+     * @param pool 端点池名称
+     * @return 先返回的结果；取消返回的结果时同时取消进行中的请求
+     */
+    public CompletableFuture<RoutedResponse> chat(String pool, String systemPrompt, String userPrompt) {
+        requests.increment();
+        Call call = new Call(states(pool), systemPrompt, userPrompt);
+        call.start();
+        return call.result;
+    }
+
+    /**
+     * 阻塞等待 {@link #chat} 的结果
+     *
+     * @return 模型输出的文本
+     */
+    public String call(String pool, String systemPrompt, String userPrompt) {
+        try {
+            return chat(pool, systemPrompt, userPrompt).join().content();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public RoutingStats stats() {
+        return new RoutingStats(requests.sum(), hedged.sum(), hedgeWins.sum(), failovers.sum(), failed.sum());
+    }
+
+    /**
+     * 端点池中每个端点的健康状况，按声明的顺序排列
+     */
+    public List<EndpointHealth> health(String pool) {
+        List<EndpointHealth> health = new ArrayList<>();
+        for (EndpointState state : states(pool)) {
+            long p95 = state.latencyPercentile(0.95);
+            health.add(new EndpointHealth(state.endpoint.getName(), state.breaker.getState().name(), state.score(),
+                    p95 < 0 ? -1 : p95 / 1e6, state.hedgeDelay() / 1e6));
+        }
+        return health;
+    }
+
+    private List<EndpointState> states(String pool) {
+        return pools.computeIfAbsent(pool, this::createStates);
+    }
+
+    private List<EndpointState> createStates(String pool) {
+        List<Endpoint> endpoints = properties.poolOf(pool);
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("未配置端点池 " + pool);
+        }
+        List<EndpointState> states = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            EndpointState state = new EndpointState(endpoint, properties);
+            if (meterRegistry != null) {
+                Gauge.builder("provider.routing.circuit", state.breaker, breaker -> breaker.getState().ordinal())
+                        .description("熔断器状态：0 关闭，1 打开，2 半开")
+                        .tag("pool", pool)
+                        .tag("endpoint", endpoint.getName())
+                        .register(meterRegistry);
+                Gauge.builder("provider.routing.score", state, EndpointState::score)
+                        .description("负载均衡的健康权重")
+                        .tag("pool", pool)
+                        .tag("endpoint", endpoint.getName())
+                        .register(meterRegistry);
+            }
+            states.add(state);
+        }
+        return List.copyOf(states);
+    }
+
+    /**
+     * 按健康权重随机挑选一个熔断器放行的端点
+     */
+    private static EndpointState select(List<EndpointState> states) {
+        List<EndpointState> candidates = new ArrayList<>(states);
+        candidates.removeIf(state -> !state.breaker.isAvailable());
+        while (!candidates.isEmpty()) {
+            double total = 0;
+            double[] scores = new double[candidates.size()];
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] = candidates.get(i).score();
+                total += scores[i];
+            }
+            double point = ThreadLocalRandom.current().nextDouble() * total;
+            int index = 0;
+            while (index < scores.length - 1 && point >= scores[index]) {
+                point -= scores[index++];
+            }
+            EndpointState selected = candidates.get(index);
+            if (selected.breaker.tryAcquire()) {
+                return selected;
+            }
+            candidates.remove(index);
+        }
+        return null;
+    }
+
+    /**
+     * 按声明的顺序挑选下一个熔断器放行的端点，优先选择本次调用还没有用过的端点
+     */
+    private static EndpointState next(List<EndpointState> states, List<EndpointState> tried) {
+        for (EndpointState state : states) {
+            if (!tried.contains(state) && state.breaker.tryAcquire()) {
+                return state;
+            }
+        }
+        for (EndpointState state : states) {
+            if (state.breaker.tryAcquire()) {
+                return state;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 是否说明请求本身有问题，换一个端点也不会成功
+     */
+    private static boolean isClientError(Throwable error) {
+        return error instanceof ProviderCallException e && e.getStatus() >= 400 && e.getStatus() < 500
+                && e.getStatus() != 408 && e.getStatus() != 429;
+    }
+
+    private void counter(String name, String description, LongAdder adder) {
+        FunctionCounter.builder(name, adder, LongAdder::doubleValue)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 一次路由调用，持有已经发出的请求
+     */
+    private final class Call {
+
+        private final List<EndpointState> states;
+
+        private final String systemPrompt;
+
+        private final String userPrompt;
+
+        private final long start = System.nanoTime();
+
+        private final CompletableFuture<RoutedResponse> result = new CompletableFuture<>();
+
+        private final List<EndpointState> tried = new ArrayList<>();
+
+        private final List<CompletableFuture<String>> attempts = new ArrayList<>();
+
+        private int running;
+
+        private Throwable lastError;
+
+        private Call(List<EndpointState> states, String systemPrompt, String userPrompt) {
+            this.states = states;
+            this.systemPrompt = systemPrompt;
+            this.userPrompt = userPrompt;
+        }
+
+        private void start() {
+            EndpointState primary = select(states);
+            if (primary == null) {
+                failed.increment();
+                result.completeExceptionally(new NoAvailableEndpointException("端点池中的端点全部处于熔断状态"));
+                return;
+            }
+            // 结果确定（或调用方取消）后取消其余请求
+            result.whenComplete((response, error) -> cancelAttempts());
+            launch(primary, false);
+            if (properties.isHedging() && properties.getMaxAttempts() > 1) {
+                CompletableFuture.delayedExecutor(primary.hedgeDelay(), TimeUnit.NANOSECONDS).execute(this::hedge);
+            }
+        }
+
+        private void hedge() {
+            EndpointState target;
+            synchronized (this) {
+                if (result.isDone() || tried.size() >= properties.getMaxAttempts()
+                        || hedged.sum() >= properties.getHedgeBudget() * requests.sum()) {
+                    return;
+                }
+                target = next(states, tried);
+                if (target == null) {
+                    return;
+                }
+                hedged.increment();
+            }
+            launch(target, true);
+        }
+
+        private void failover() {
+            EndpointState target;
+            synchronized (this) {
+                if (result.isDone()) {
+                    return;
+                }
+                target = tried.size() < properties.getMaxAttempts() ? next(states, tried) : null;
+                if (target == null) {
+                    if (running == 0) {
+                        failed.increment();
+                        result.completeExceptionally(lastError);
+                    }
+                    return;
+                }
+                failovers.increment();
+            }
+            log.debug("转移到端点 {}", target.endpoint.getName());
+            launch(target, true);
+        }
+
+        private void launch(EndpointState state, boolean secondary) {
+            Endpoint endpoint = state.endpoint;
+            long begin = System.nanoTime();
+            CompletableFuture<String> attempt;
+            try {
+                attempt = chatClient.admittedChat(endpoint.getApiUrl(), endpoint.getApiKey(), endpoint.getModel(), systemPrompt, userPrompt);
+            } catch (RuntimeException e) {
+                attempt = CompletableFuture.failedFuture(e);
+            }
+            synchronized (this) {
+                tried.add(state);
+                attempts.add(attempt);
+                running++;
+            }
+            attempt.whenComplete((content, error) -> complete(state, secondary, begin, content, error));
+            if (result.isDone()) {
+                attempt.cancel(false);
+            }
+        }
+
+        private void complete(EndpointState state, boolean secondary, long begin, String content, Throwable error) {
+            long elapsed = System.nanoTime() - begin;
+            synchronized (this) {
+                running--;
+            }
+            if (error == null) {
+                state.onSuccess(elapsed);
+                if (result.complete(new RoutedResponse(content, state.endpoint.getName(), secondary, System.nanoTime() - start))
+                        && secondary) {
+                    hedgeWins.increment();
+                }
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof CancellationException) {
+                state.onCancelled();
+                return;
+            }
+            if (isClientError(cause)) {
+                state.onIgnore();
+                if (result.completeExceptionally(cause)) {
+                    failed.increment();
+                }
+                return;
+            }
+            if (cause instanceof AdmissionRejectedException) {
+                // 本地排队超时，端点本身没有问题
+                state.onIgnore();
+            } else {
+                state.onFailure();
+            }
+            log.debug("端点 {} 调用失败: {}", state.endpoint.getName(), cause.getMessage());
+            synchronized (this) {
+                lastError = cause;
+            }
+            failover();
+        }
+
+        private void cancelAttempts() {
+            List<CompletableFuture<String>> pending;
+            synchronized (this) {
+                pending = new ArrayList<>(attempts);
+            }
+            pending.forEach(attempt -> attempt.cancel(false));
+        }
+    }
+}
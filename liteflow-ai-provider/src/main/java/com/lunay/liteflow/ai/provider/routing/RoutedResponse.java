@@ -0,0 +1,15 @@
+package com.lunay.liteflow.ai.provider.routing;
+
+/**
+ * 路由调用的结果
+ *
+ * @param content  模型输出的文本
+ * @param endpoint 返回结果的端点名称
+ * @param hedged   结果是否来自对冲或转移后的请求
+ * @param nanos    从发起调用到拿到结果的耗时
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public record RoutedResponse(String content, String endpoint, boolean hedged, long nanos) {
+}
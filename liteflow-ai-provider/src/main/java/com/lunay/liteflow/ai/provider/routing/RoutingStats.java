@@ -0,0 +1,16 @@
+package com.lunay.liteflow.ai.provider.routing;
+
+/**
+ * 路由的累计统计
+ *
+ * @param requests  路由调用次数
+ * @param hedged    超过对冲延迟后发出的对冲请求数
+ * @param hedgeWins 对冲请求先于第一个请求返回的次数
+ * @param failovers 请求失败后转移到下一个端点的次数
+ * @param failed    所有请求均失败的调用次数
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public record RoutingStats(long requests, long hedged, long hedgeWins, long failovers, long failed) {
+}
@@ -0,0 +1,164 @@
+package com.lunay.liteflow.ai.provider.admission;
+
+import com.lunay.liteflow.ai.provider.config.AdmissionProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 准入控制的合并、等待截止时间与令牌归还测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class AdmissionControllerTest {
+
+    private static final String MODEL = "qwen-flash";
+
+    private static final String URL = "https://a.example.com/compatible-mode/v1";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 只有地址、API Key、模型与提示词都相同的进行中请求才会合并
+     */
+    @Test
+    void coalescesOnlySameEndpointAndApiKey() throws Exception {
+        AdmissionController admission = new AdmissionController(properties(Duration.ofSeconds(5), 100), null);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger upstream = new AtomicInteger();
+
+        Future<String> leader = executor.submit(() -> admission.call(URL, "key-a", MODEL, "你好", 10, () -> {
+            upstream.incrementAndGet();
+            await(release);
+            return "a";
+        }));
+        awaitUpstream(upstream, 1);
+        Future<String> follower = executor.submit(() -> admission.call(URL, "key-a", MODEL, "你好", 10, () -> {
+            upstream.incrementAndGet();
+            return "follower";
+        }));
+        // 不同的 API Key 或地址属于不同的租户或提供商，不能共享结果
+        String otherKey = admission.call(URL, "key-b", MODEL, "你好", 10, () -> {
+            upstream.incrementAndGet();
+            return "b";
+        });
+        String otherUrl = admission.call("https://b.example.com/compatible-mode/v1", "key-a", MODEL, "你好", 10, () -> {
+            upstream.incrementAndGet();
+            return "c";
+        });
+        awaitDeduplicated(admission, 1);
+        release.countDown();
+
+        assertEquals("a", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("a", follower.get(5, TimeUnit.SECONDS));
+        assertEquals("b", otherKey);
+        assertEquals("c", otherUrl);
+        assertEquals(3, upstream.get());
+        assertEquals(1, admission.stats().deduplicated());
+    }
+
+    /**
+     * 等待相同请求的调用方在排队超时后放弃，进行中的请求继续执行
+     */
+    @Test
+    void followerGivesUpAtQueueTimeout() throws Exception {
+        AdmissionController admission = new AdmissionController(properties(Duration.ofMillis(200), 100), null);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger upstream = new AtomicInteger();
+        Future<String> leader = executor.submit(() -> admission.call(URL, "key-a", MODEL, "你好", 10, () -> {
+            upstream.incrementAndGet();
+            await(release);
+            return "a";
+        }));
+        awaitUpstream(upstream, 1);
+
+        long start = System.nanoTime();
+        assertThrows(AdmissionRejectedException.class, () -> admission.call(URL, "key-a", MODEL, "你好", 10, () -> "follower"));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsed < 2_000, "耗时 " + elapsed + " ms");
+        assertEquals(1, admission.stats().rejected());
+        release.countDown();
+        assertEquals("a", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * 等待令牌时被中断的请求归还预约的令牌，后面的请求不会多等一个周期
+     */
+    @Test
+    void refundsTokensWhenInterruptedWhileWaiting() throws Exception {
+        // 每秒 1 次，桶容量 1：第二个请求预约后需要等待约 1s，再欠一个令牌就需要约 2s
+        AdmissionController admission = new AdmissionController(properties(Duration.ofMillis(1_500), 1), null);
+        admission.call(URL, "key-a", MODEL, null, 0, () -> "first");
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread waiting = new Thread(() -> {
+            try {
+                admission.call(URL, "key-a", MODEL, null, 0, () -> "interrupted");
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        });
+        waiting.start();
+        Thread.sleep(100);
+        waiting.interrupt();
+        waiting.join(5_000);
+        assertInstanceOf(AdmissionRejectedException.class, error.get());
+
+        // 没有归还时需要等待约 2s，超过 1.5s 的排队超时而被拒绝
+        assertEquals("third", admission.call(URL, "key-a", MODEL, null, 0, () -> "third"));
+        assertEquals(2, admission.stats().upstreamCalls());
+    }
+
+    private static AdmissionProperties properties(Duration queueTimeout, double requestsPerSecond) {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.getDefaultLimit().setRequestsPerSecond(requestsPerSecond);
+        properties.getDefaultLimit().setTokensPerMinute(0);
+        properties.setBurstWindow(Duration.ofSeconds(1));
+        properties.setQueueTimeout(queueTimeout);
+        return properties;
+    }
+
+    private static void awaitUpstream(AtomicInteger upstream, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (upstream.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, upstream.get());
+    }
+
+    private static void awaitDeduplicated(AdmissionController admission, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (admission.stats().deduplicated() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.lunay.liteflow.ai.provider.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 运行时生成的模拟服务证书测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class MockTlsTest {
+
+    @Test
+    void generatedCertificateIsTrustedOnlyByMockClient() throws Exception {
+        try (MockProviderServer server = new MockProviderServer(MockTls.serverContext(), Duration.ZERO)) {
+            server.start();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(server.getBaseUrl() + "/compatible-mode/v1/chat/completions"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{}"))
+                    .build();
+
+            // 证书签发给 127.0.0.1，主机名校验可以通过
+            assertEquals(200, send(MockTls.clientContext(), request));
+            // 自签名证书不在系统信任库中
+            assertThrows(IOException.class, () -> send(SSLContext.getDefault(), request));
+        }
+    }
+
+    private static int send(SSLContext sslContext, HttpRequest request) throws Exception {
+        try (HttpClient client = HttpClient.newBuilder().sslContext(sslContext).version(HttpClient.Version.HTTP_1_1).build()) {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.lunay.liteflow.ai.provider.http;
+
+import com.lunay.liteflow.ai.provider.benchmark.MockProviderServer;
+import com.lunay.liteflow.ai.provider.benchmark.MockTls;
+import com.lunay.liteflow.ai.provider.config.ProviderHttpProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 共享连接池对本地模拟服务的调用测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class ProviderHttpClientTest {
+
+    /**
+     * 串行调用复用同一个连接；模拟服务只支持 HTTP/1.1，开启 HTTP/2 时 ALPN 协商回退到 HTTP/1.1
+     */
+    @Test
+    void reusesPooledConnectionAndFallsBackToHttp11() throws Exception {
+        try (MockProviderServer server = new MockProviderServer(MockTls.serverContext(), Duration.ZERO);
+             ProviderHttpClients clients = new ProviderHttpClients(new ProviderHttpProperties(), MockTls.clientContext(), null)) {
+            server.start();
+            String uri = server.getBaseUrl() + "/compatible-mode/v1/chat/completions";
+            ProviderHttpClient client = clients.client(uri);
+            for (int i = 0; i < 10; i++) {
+                ProviderResponse response = client.post(uri, Map.of(), "{}").join();
+                assertTrue(response.isSuccess(), response::toString);
+                assertEquals("HTTP/1.1", response.protocol());
+            }
+
+            assertEquals(1, server.connections());
+            assertEquals(10, server.served());
+        }
+    }
+}
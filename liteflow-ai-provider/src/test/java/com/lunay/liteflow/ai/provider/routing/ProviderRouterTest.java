@@ -0,0 +1,119 @@
+package com.lunay.liteflow.ai.provider.routing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lunay.liteflow.ai.provider.admission.AdmissionController;
+import com.lunay.liteflow.ai.provider.admission.AdmissionStats;
+import com.lunay.liteflow.ai.provider.client.ProviderChatClient;
+import com.lunay.liteflow.ai.provider.config.AdmissionProperties;
+import com.lunay.liteflow.ai.provider.config.RoutingProperties;
+import com.lunay.liteflow.ai.provider.config.RoutingProperties.Endpoint;
+import com.lunay.liteflow.ai.provider.http.ProviderHttpClient;
+import com.lunay.liteflow.ai.provider.http.ProviderHttpClients;
+import com.lunay.liteflow.ai.provider.http.ProviderResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 路由请求的准入控制与对冲取消测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class ProviderRouterTest {
+
+    private static final String POOL = "classify";
+
+    private static final String API_URL = "https://dashscope.example.com/compatible-mode/v1";
+
+    private static final String CONTENT = "{\"choices\": [{\"message\": {\"content\": \"java\"}}]}";
+
+    /**
+     * 对冲请求与第一个请求的提示词相同，两者都经过准入控制且不被合并，落后的请求被取消
+     */
+    @Test
+    void admitsEveryAttemptWithoutCoalescing() throws Exception {
+        CompletableFuture<ProviderResponse> slow = new CompletableFuture<>();
+        ProviderHttpClient httpClient = mock(ProviderHttpClient.class);
+        when(httpClient.post(anyString(), anyMap(), anyString()))
+                .thenReturn(slow, CompletableFuture.completedFuture(new ProviderResponse(200, CONTENT, "HTTP/1.1")));
+        ProviderHttpClients clients = mock(ProviderHttpClients.class);
+        when(clients.client(anyString())).thenReturn(httpClient);
+        AdmissionController admission = new AdmissionController(new AdmissionProperties(), null);
+        ProviderChatClient chatClient = new ProviderChatClient(clients, new ObjectMapper(), "api-key", admission);
+        // 两个端点指向同一地址与模型，合并时对冲请求会等待第一个请求而永远不会返回
+        ProviderRouter router = new ProviderRouter(properties(endpoint("primary"), endpoint("secondary")), chatClient, null);
+
+        RoutedResponse response = router.chat(POOL, "只输出 java 或 python", "Spring Boot 的自动配置是怎么生效的？")
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals("java", response.content());
+        AdmissionStats stats = admission.stats();
+        assertEquals(2, stats.upstreamCalls());
+        assertEquals(0, stats.deduplicated());
+        awaitCancelled(slow);
+    }
+
+    /**
+     * 对冲中落后而被取消的请求不计入耗时样本，也不改变健康权重与熔断器
+     */
+    @Test
+    void cancelledAttemptRecordsNoLatency() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ProviderChatClient chatClient = mock(ProviderChatClient.class);
+        when(chatClient.admittedChat(any(), any(), any(), any(), any())).thenAnswer(invocation ->
+                calls.getAndIncrement() == 0 ? new CompletableFuture<String>() : CompletableFuture.completedFuture("java"));
+        ProviderRouter router = new ProviderRouter(properties(endpoint("primary"), endpoint("secondary")), chatClient, null);
+        double initialScore = router.health(POOL).get(0).score();
+
+        RoutedResponse response = router.chat(POOL, "只输出 java 或 python", "问题").get(5, TimeUnit.SECONDS);
+        Thread.sleep(100);
+
+        for (EndpointHealth health : router.health(POOL)) {
+            if (health.name().equals(response.endpoint())) {
+                assertTrue(health.p95Millis() >= 0);
+            } else {
+                assertEquals(-1.0, health.p95Millis(), "被取消的请求不应计入耗时样本");
+                assertEquals(initialScore, health.score());
+                assertEquals("CLOSED", health.circuit());
+            }
+        }
+    }
+
+    private static RoutingProperties properties(Endpoint... endpoints) {
+        RoutingProperties properties = new RoutingProperties();
+        properties.getPools().put(POOL, List.of(endpoints));
+        properties.setInitialHedgeDelay(Duration.ofMillis(50));
+        properties.setHedgeBudget(1);
+        return properties;
+    }
+
+    private static Endpoint endpoint(String name) {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setName(name);
+        endpoint.setApiUrl(API_URL);
+        endpoint.setModel("qwen-flash");
+        return endpoint;
+    }
+
+    private static void awaitCancelled(CompletableFuture<?> future) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!future.isCancelled() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(future.isCancelled(), "落后的请求应被取消");
+    }
+}
@@ -0,0 +1,46 @@
+package com.lunay.liteflow.ai.react;
+
+import com.lunay.liteflow.ai.react.agent.AgentStep;
+import com.lunay.liteflow.ai.react.context.AgentContext;
+import com.lunay.liteflow.ai.react.scratchpad.Scratchpad;
+import com.yomahub.liteflow.core.FlowExecutor;
+import com.yomahub.liteflow.flow.LiteflowResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 流程触发器，{@code agent.run-demo=false} 时不执行（离线评估测试中关闭）
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "agent", name = "run-demo", havingValue = "true", matchIfMissing = true)
+public class ChainExecute implements CommandLineRunner {
+
+    private final FlowExecutor flowExecutor;
+
+    private final Scratchpad scratchpad;
+
+    @Override
+    public void run(String... args) throws Exception {
+        AgentContext context = new AgentContext("北京和上海的人口一共多少万？", scratchpad);
+        LiteflowResponse response = flowExecutor.execute2Resp("reactChain", null, context);
+        if (!response.isSuccess()) {
+            log.error("流程执行失败！异常信息：{}", response.getCause().getMessage());
+            return;
+        }
+        for (AgentStep step : context.getSteps()) {
+            log.info("第 {} 步：{}，观察：{}", step.index(), step.thought(), step.observations());
+        }
+        log.info("停止原因: {}，最终答案: {}，共 {} 步，{} tokens（可命中前缀缓存 {}），耗时 {} ms",
+                context.getStopReason(), context.getFinalAnswer(), context.stepCount(), context.getTokens(),
+                context.getCacheableTokens(), context.elapsedMillis());
+    }
+}
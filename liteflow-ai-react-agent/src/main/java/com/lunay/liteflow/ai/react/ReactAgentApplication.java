@@ -0,0 +1,19 @@
+package com.lunay.liteflow.ai.react;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * ReAct 智能体
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@SpringBootApplication
+public class ReactAgentApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactAgentApplication.class, args);
+    }
+}
@@ -0,0 +1,27 @@
+package com.lunay.liteflow.ai.react.agent;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 模型决定执行的一次工具调用
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AgentAction {
+
+    @JsonProperty("tool")
+    private String tool;
+
+    @JsonProperty("arguments")
+    private Map<String, Object> arguments;
+}
@@ -0,0 +1,38 @@
+package com.lunay.liteflow.ai.react.agent;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 模型在一步中的输出：思考、本步要并行执行的工具调用，或最终答案
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AgentDecision {
+
+    @JsonProperty("thought")
+    private String thought;
+
+    @JsonProperty("actions")
+    private List<AgentAction> actions;
+
+    @JsonProperty("final_answer")
+    private String finalAnswer;
+
+    public boolean hasAnswer() {
+        return finalAnswer != null && !finalAnswer.isBlank();
+    }
+
+    public boolean hasActions() {
+        return actions != null && !actions.isEmpty();
+    }
+}
@@ -0,0 +1,66 @@
+package com.lunay.liteflow.ai.react.agent;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lunay.liteflow.ai.react.tool.AgentToolCmp;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * ReAct 提示词
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public final class AgentPrompts {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private AgentPrompts() {
+    }
+
+    /**
+     * 提示词的固定前缀：可用工具与输出格式。同一组工具下所有任务、所有步骤的前缀完全相同，便于模型服务端命中前缀缓存
+     */
+    public static String prefix(Collection<AgentToolCmp> tools) {
+        StringBuilder prompt = new StringBuilder("可用工具：\n");
+        for (AgentToolCmp tool : tools) {
+            prompt.append("- ").append(tool.toolName()).append(": ").append(tool.description())
+                    .append("，参数: ").append(tool.parameters()).append('\n');
+        }
+        prompt.append("""
+
+                每一步只输出 JSON，格式为
+                {"thought": "思考", "actions": [{"tool": "工具名", "arguments": {"参数名": "参数值"}}], "final_answer": null}
+                相互独立的工具调用放在同一步的 actions 中，它们会并行执行；得到答案后 actions 为空，并给出 final_answer。
+                """);
+        return prompt.toString();
+    }
+
+    /**
+     * 完整输出一步的思考、动作与观察
+     */
+    public static void appendStep(StringBuilder prompt, AgentStep step) {
+        prompt.append("第 ").append(step.index()).append(" 步\n");
+        prompt.append("思考：").append(step.thought()).append('\n');
+        for (Observation observation : step.observations()) {
+            appendAction(prompt, observation);
+            prompt.append(observation.error() ? "失败：" : "观察：").append(observation.content()).append('\n');
+        }
+    }
+
+    public static void appendAction(StringBuilder prompt, Observation observation) {
+        prompt.append("动作：").append(observation.action().getTool()).append(' ')
+                .append(json(observation.action().getArguments())).append('\n');
+    }
+
+    public static String json(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value == null ? Map.of() : value);
+        } catch (JsonProcessingException e) {
+            return String.valueOf(value);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.lunay.liteflow.ai.react.agent;
+
+import java.util.List;
+
+/**
+ * 已完成的一步
+ *
+ * @param index         步骤序号，从 1 开始
+ * @param thought       模型的思考
+ * @param observations  本步全部工具调用的观察结果，与调用顺序一致
+ * @param tokens        本步消耗的 token 数，包含提示词与模型输出
+ * @param elapsedMillis 本步耗时
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public record AgentStep(int index, String thought, List<Observation> observations, long tokens, long elapsedMillis) {
+}
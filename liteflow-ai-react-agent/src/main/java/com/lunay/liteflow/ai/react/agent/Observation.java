@@ -0,0 +1,22 @@
+package com.lunay.liteflow.ai.react.agent;
+
+/**
+ * 一次工具调用的观察结果
+ *
+ * @param action  工具调用
+ * @param content 工具输出，失败时为失败原因
+ * @param error   是否失败
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public record Observation(AgentAction action, String content, boolean error) {
+
+    public static Observation success(AgentAction action, String content) {
+        return new Observation(action, content, false);
+    }
+
+    public static Observation failure(AgentAction action, String reason) {
+        return new Observation(action, reason, true);
+    }
+}
@@ -0,0 +1,41 @@
+package com.lunay.liteflow.ai.react.agent;
+
+/**
+ * 智能体停止的原因
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public enum StopReason {
+
+    /**
+     * 模型给出了最终答案
+     */
+    ANSWERED,
+
+    /**
+     * 模型既没有给出答案，也没有调用工具
+     */
+    NO_ACTION,
+
+    /**
+     * 模型重复了上一步完全相同的工具调用，继续执行不会有新的进展
+     */
+    REPEATED,
+
+    /**
+     * 达到最大步数
+     */
+    MAX_STEPS,
+
+    /**
+     * 已消耗的 token 加上下一步提示词的预计 token 超过预算
+     */
+    TOKEN_BUDGET,
+
+    /**
+     * 超过总耗时预算
+     */
+    TIME_BUDGET
+}
@@ -0,0 +1,125 @@
+package com.lunay.liteflow.ai.react.component;
+
+import com.lunay.liteflow.ai.common.TextTokens;
+import com.lunay.liteflow.ai.react.agent.AgentAction;
+import com.lunay.liteflow.ai.react.agent.AgentDecision;
+import com.lunay.liteflow.ai.react.agent.AgentPrompts;
+import com.lunay.liteflow.ai.react.agent.AgentStep;
+import com.lunay.liteflow.ai.react.agent.Observation;
+import com.lunay.liteflow.ai.react.agent.StopReason;
+import com.lunay.liteflow.ai.react.config.AgentProperties;
+import com.lunay.liteflow.ai.react.context.AgentContext;
+import com.lunay.liteflow.ai.react.context.ToolCallContext;
+import com.lunay.liteflow.ai.react.tool.AgentToolRegistry;
+import com.lunay.liteflow.ai.react.tool.ParallelToolExecutor;
+import com.yomahub.liteflow.core.FlowExecutor;
+import com.yomahub.liteflow.core.NodeComponent;
+import com.yomahub.liteflow.flow.LiteflowResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 执行模型这一步的决策
+ * <p>
+ * 给出最终答案时停止；否则在有界线程池上并行执行这一步的全部工具调用，每个调用在独立的上下文中执行对应的工具子流程，
+ * 线程池已满时被拒绝的调用记为失败，观察结果按调用顺序追加为一步。模型没有给出任何动作，或重复上一步完全相同的调用时提前停止
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Component("agentActCmp")
+public class AgentActCmp extends NodeComponent {
+
+    private final FlowExecutor flowExecutor;
+
+    private final AgentToolRegistry toolRegistry;
+
+    private final AgentProperties properties;
+
+    private final ParallelToolExecutor toolExecutor;
+
+    public AgentActCmp(@Lazy FlowExecutor flowExecutor,
+                       AgentToolRegistry toolRegistry,
+                       AgentProperties properties,
+                       @Qualifier("agentToolExecutor") ExecutorService executor) {
+        this.flowExecutor = flowExecutor;
+        this.toolRegistry = toolRegistry;
+        this.properties = properties;
+        this.toolExecutor = new ParallelToolExecutor(executor);
+    }
+
+    @Override
+    public void process() throws Exception {
+        AgentContext context = this.getContextBean(AgentContext.class);
+        AgentDecision decision = context.takeDecision();
+        if (decision == null) {
+            context.completeStep(null, List.of(), 0);
+            context.setStopReason(StopReason.NO_ACTION);
+            return;
+        }
+        long outputTokens = TextTokens.estimate(AgentPrompts.json(decision));
+        if (decision.hasAnswer()) {
+            context.completeStep(decision.getThought(), List.of(), outputTokens);
+            context.setFinalAnswer(decision.getFinalAnswer());
+            context.setStopReason(StopReason.ANSWERED);
+            return;
+        }
+        if (!decision.hasActions()) {
+            context.completeStep(decision.getThought(), List.of(), outputTokens);
+            context.setStopReason(StopReason.NO_ACTION);
+            return;
+        }
+        if (isRepeated(context, decision.getActions())) {
+            context.completeStep(decision.getThought(), List.of(), outputTokens);
+            context.setStopReason(StopReason.REPEATED);
+            return;
+        }
+        AgentStep step = context.completeStep(decision.getThought(), execute(context, decision.getActions()), outputTokens);
+        log.info("任务 [{}] 第 {} 步执行 {} 个工具调用，耗时 {} ms", context.getTask(), step.index(), step.observations().size(), step.elapsedMillis());
+    }
+
+    private List<Observation> execute(AgentContext context, List<AgentAction> actions) throws InterruptedException {
+        int limit = Math.min(actions.size(), properties.getMaxActionsPerStep());
+        // 单次调用的超时时间不超过剩余的总耗时预算
+        long remaining = properties.getMaxDuration().toMillis() - context.elapsedMillis();
+        long timeout = Math.max(0, Math.min(properties.getActionTimeout().toMillis(), remaining));
+        List<Observation> observations = new ArrayList<>(actions.size());
+        observations.addAll(toolExecutor.invokeAll(actions.subList(0, limit), action -> runTool(context, action), timeout));
+        for (AgentAction action : actions.subList(limit, actions.size())) {
+            observations.add(Observation.failure(action, "超过单步工具调用上限 " + properties.getMaxActionsPerStep()));
+        }
+        return observations;
+    }
+
+    private Observation runTool(AgentContext context, AgentAction action) {
+        if (!toolRegistry.contains(action.getTool())) {
+            return Observation.failure(action, "未知工具: " + action.getTool());
+        }
+        ToolCallContext toolContext = new ToolCallContext(action, List.copyOf(context.getSteps()));
+        LiteflowResponse response = flowExecutor.execute2Resp(properties.getToolChainPrefix() + action.getTool(), null, toolContext);
+        if (!response.isSuccess()) {
+            return Observation.failure(action, String.valueOf(response.getCause().getMessage()));
+        }
+        return Observation.success(action, toolContext.getObservation());
+    }
+
+    /**
+     * 与上一步的工具调用完全相同
+     */
+    private static boolean isRepeated(AgentContext context, List<AgentAction> actions) {
+        List<AgentStep> steps = context.getSteps();
+        if (steps.isEmpty()) {
+            return false;
+        }
+        List<AgentAction> previous = steps.get(steps.size() - 1).observations().stream().map(Observation::action).toList();
+        return previous.equals(actions);
+    }
+}
@@ -0,0 +1,44 @@
+package com.lunay.liteflow.ai.react.component;
+
+import com.lunay.liteflow.ai.react.agent.StopReason;
+import com.lunay.liteflow.ai.react.config.AgentProperties;
+import com.lunay.liteflow.ai.react.context.AgentContext;
+import com.yomahub.liteflow.core.NodeBooleanComponent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * ReAct 循环条件：尚未停止，且步数、token 与耗时都在预算内
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Component("agentContinueCmp")
+@RequiredArgsConstructor
+public class AgentContinueCmp extends NodeBooleanComponent {
+
+    private final AgentProperties properties;
+
+    @Override
+    public boolean processBoolean() throws Exception {
+        AgentContext context = this.getContextBean(AgentContext.class);
+        if (context.isStopped()) {
+            return false;
+        }
+        if (context.stepCount() >= properties.getMaxSteps()) {
+            context.setStopReason(StopReason.MAX_STEPS);
+        } else if (context.getTokens() + context.getPromptTokens() > properties.getMaxTokens()) {
+            // 下一步的提示词包含这一步的全部内容，不会比这一步更短
+            context.setStopReason(StopReason.TOKEN_BUDGET);
+        } else if (context.elapsedMillis() >= properties.getMaxDuration().toMillis()) {
+            context.setStopReason(StopReason.TIME_BUDGET);
+        } else {
+            return true;
+        }
+        log.warn("任务 [{}] 在第 {} 步后因 {} 停止", context.getTask(), context.stepCount(), context.getStopReason());
+        return false;
+    }
+}
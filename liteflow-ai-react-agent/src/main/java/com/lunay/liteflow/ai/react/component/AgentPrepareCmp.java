@@ -0,0 +1,24 @@
+package com.lunay.liteflow.ai.react.component;
+
+import com.lunay.liteflow.ai.common.TextTokens;
+import com.lunay.liteflow.ai.react.context.AgentContext;
+import com.yomahub.liteflow.core.NodeComponent;
+import org.springframework.stereotype.Component;
+
+/**
+ * 由上下文的草稿区拼接这一步的提示词，并计入 token 消耗
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component("agentPrepareCmp")
+public class AgentPrepareCmp extends NodeComponent {
+
+    @Override
+    public void process() throws Exception {
+        AgentContext context = this.getContextBean(AgentContext.class);
+        String prompt = context.getScratchpad().render(context.getTask(), context.getSteps());
+        context.beginStep(prompt, TextTokens.estimate(prompt));
+    }
+}
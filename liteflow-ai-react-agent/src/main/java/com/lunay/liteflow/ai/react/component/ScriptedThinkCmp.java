@@ -0,0 +1,30 @@
+package com.lunay.liteflow.ai.react.component;
+
+import com.lunay.liteflow.ai.react.agent.AgentDecision;
+import com.lunay.liteflow.ai.react.context.AgentContext;
+import com.yomahub.liteflow.core.NodeComponent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 脚本化模型，离线评估时代替 thinkCmp，按步骤回放预先写好的决策并模拟响应延迟
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component("scriptedThinkCmp")
+public class ScriptedThinkCmp extends NodeComponent {
+
+    @Override
+    public void process() throws Exception {
+        AgentContext context = this.getContextBean(AgentContext.class);
+        Thread.sleep(context.getScriptLatencyMillis());
+        List<AgentDecision> script = context.getScript();
+        int step = context.stepCount();
+        // 脚本用尽时输出空决策，由 agentActCmp 按没有动作停止
+        AgentDecision decision = step < script.size() ? script.get(step) : new AgentDecision();
+        context.setData(AgentContext.DECISION, decision);
+    }
+}
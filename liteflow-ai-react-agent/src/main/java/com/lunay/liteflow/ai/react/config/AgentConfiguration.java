@@ -0,0 +1,56 @@
+package com.lunay.liteflow.ai.react.config;
+
+import com.lunay.liteflow.ai.react.scratchpad.CompactScratchpad;
+import com.lunay.liteflow.ai.react.scratchpad.FullTranscriptScratchpad;
+import com.lunay.liteflow.ai.react.scratchpad.Scratchpad;
+import com.lunay.liteflow.ai.react.tool.AgentToolRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReAct 智能体配置类
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Configuration
+@EnableConfigurationProperties({AgentProperties.class, ScratchpadProperties.class})
+public class AgentConfiguration {
+
+    /**
+     * 草稿区，决定已完成的步骤以何种形式写入下一步的提示词
+     */
+    @Bean
+    public Scratchpad scratchpad(ScratchpadProperties properties, AgentToolRegistry toolRegistry) {
+        if (!properties.isCompact()) {
+            return new FullTranscriptScratchpad(toolRegistry.all());
+        }
+        return new CompactScratchpad(toolRegistry.all(), properties.getObservationLimit(),
+                properties.getRecentSteps(), properties.getMaxDigests());
+    }
+
+    /**
+     * 有界的工具线程池，一步中相互独立的工具调用在这里并行执行
+     * <p>
+     * 队列满时拒绝提交，由 {@link com.lunay.liteflow.ai.react.tool.ParallelToolExecutor} 记为失败的观察结果。
+     * 不使用 CallerRunsPolicy：在调用线程上执行的工具不受单步超时约束，会拖过整个任务的耗时预算
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService agentToolExecutor(AgentProperties properties) {
+        return new ThreadPoolExecutor(
+                properties.getThreads(),
+                properties.getThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                Thread.ofPlatform().name("agent-tool-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+}
@@ -0,0 +1,63 @@
+package com.lunay.liteflow.ai.react.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * ReAct 智能体配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "agent")
+public class AgentProperties {
+
+    /**
+     * 最大步数
+     */
+    private int maxSteps = 8;
+
+    /**
+     * 一次任务最多消耗的 token 数，包含每一步的提示词与模型输出
+     */
+    private long maxTokens = 20000;
+
+    /**
+     * 一次任务的总耗时预算
+     */
+    private Duration maxDuration = Duration.ofMinutes(2);
+
+    /**
+     * 单次工具调用的超时时间，不超过剩余的总耗时预算
+     */
+    private Duration actionTimeout = Duration.ofSeconds(20);
+
+    /**
+     * 一步中最多执行的工具调用数，超出的调用直接返回失败
+     */
+    private int maxActionsPerStep = 4;
+
+    /**
+     * 执行工具的线程数
+     */
+    private int threads = 8;
+
+    /**
+     * 等待执行的工具调用队列长度，队列满时新的调用直接返回失败
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 工具对应的子流程名前缀，工具 calculator 对应子流程 tool_calculator
+     */
+    private String toolChainPrefix = "tool_";
+
+    /**
+     * 启动时是否调用真实模型执行示例任务
+     */
+    private boolean runDemo = true;
+}
@@ -0,0 +1,36 @@
+package com.lunay.liteflow.ai.react.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 草稿区配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "agent.scratchpad")
+public class ScratchpadProperties {
+
+    /**
+     * 是否使用紧凑草稿区，关闭后每一步都重新发送全部步骤的完整内容
+     */
+    private boolean compact = true;
+
+    /**
+     * 观察结果的长度上限，超出的部分替换为引用
+     */
+    private int observationLimit = 300;
+
+    /**
+     * 完整保留的最近步数，更早的步骤压缩为摘要
+     */
+    private int recentSteps = 3;
+
+    /**
+     * 摘要的最大条数，超出时一次省略最早的一半
+     */
+    private int maxDigests = 20;
+}
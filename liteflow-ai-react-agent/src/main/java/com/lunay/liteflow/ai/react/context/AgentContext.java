@@ -0,0 +1,156 @@
+package com.lunay.liteflow.ai.react.context;
+
+import com.lunay.liteflow.ai.common.TextTokens;
+import com.lunay.liteflow.ai.react.agent.AgentDecision;
+import com.lunay.liteflow.ai.react.agent.AgentStep;
+import com.lunay.liteflow.ai.react.agent.Observation;
+import com.lunay.liteflow.ai.react.agent.StopReason;
+import com.lunay.liteflow.ai.react.scratchpad.Scratchpad;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ReAct 智能体上下文
+ * <p>
+ * 记录任务、已完成的步骤与预算消耗。模型节点将每一步的决策写入 {@link #DECISION}，由 agentActCmp 执行并追加为一步
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Getter
+public class AgentContext extends ChatContext {
+
+    /**
+     * 模型节点输出决策的 key
+     */
+    public static final String DECISION = "decision";
+
+    /**
+     * 拼接好的提示词的 key
+     */
+    public static final String PROMPT = "agentPrompt";
+
+    private final String task;
+
+    /**
+     * 决定已完成的步骤如何写入提示词
+     */
+    private final Scratchpad scratchpad;
+
+    private final List<AgentStep> steps = new ArrayList<>();
+
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * 离线评估时由脚本化模型按步骤回放的决策，线上为空
+     */
+    @Setter
+    private List<AgentDecision> script = List.of();
+
+    /**
+     * 脚本化模型每一步模拟的响应延迟
+     */
+    @Setter
+    private long scriptLatencyMillis;
+
+    /**
+     * 已消耗的 token 数
+     */
+    private long tokens;
+
+    /**
+     * 当前这一步提示词的 token 数
+     */
+    private long promptTokens;
+
+    /**
+     * 与上一步提示词相同的前缀的 token 数之和，即模型服务端前缀缓存可以命中的部分
+     */
+    private long cacheableTokens;
+
+    private String previousPrompt = "";
+
+    /**
+     * 当前这一步开始的时间
+     */
+    private long stepStartNanos;
+
+    /**
+     * 已经执行过的决策，模型节点本步没有写入新决策时不会被重复执行
+     */
+    private AgentDecision consumedDecision;
+
+    @Setter
+    private String finalAnswer;
+
+    @Setter
+    private StopReason stopReason;
+
+    public AgentContext(String task, Scratchpad scratchpad) {
+        this.task = task;
+        this.scratchpad = scratchpad;
+    }
+
+    /**
+     * 开始新的一步，记录提示词
+     */
+    public void beginStep(String prompt, long promptTokens) {
+        this.stepStartNanos = System.nanoTime();
+        this.promptTokens = promptTokens;
+        this.tokens += promptTokens;
+        this.cacheableTokens += TextTokens.estimate(prompt.substring(0, commonPrefix(previousPrompt, prompt)));
+        this.previousPrompt = prompt;
+        setData(PROMPT, prompt);
+    }
+
+    /**
+     * 结束当前这一步
+     *
+     * @param outputTokens 模型输出的 token 数
+     */
+    public AgentStep completeStep(String thought, List<Observation> observations, long outputTokens) {
+        tokens += outputTokens;
+        AgentStep step = new AgentStep(steps.size() + 1, thought, observations, promptTokens + outputTokens,
+                (System.nanoTime() - stepStartNanos) / 1_000_000);
+        steps.add(step);
+        return step;
+    }
+
+    /**
+     * 取出模型本步的决策，没有新决策时返回 null
+     */
+    public AgentDecision takeDecision() {
+        AgentDecision decision = getData(DECISION);
+        if (decision == null || decision == consumedDecision) {
+            return null;
+        }
+        consumedDecision = decision;
+        return decision;
+    }
+
+    public int stepCount() {
+        return steps.size();
+    }
+
+    public long elapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    public boolean isStopped() {
+        return stopReason != null;
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+}
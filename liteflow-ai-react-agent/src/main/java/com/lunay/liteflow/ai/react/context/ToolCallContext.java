@@ -0,0 +1,30 @@
+package com.lunay.liteflow.ai.react.context;
+
+import com.lunay.liteflow.ai.react.agent.AgentAction;
+import com.lunay.liteflow.ai.react.agent.AgentStep;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 工具子流程上下文，每次工具调用独立一个，工具之间不会并发写同一个上下文
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+public class ToolCallContext {
+
+    private final AgentAction action;
+
+    /**
+     * 已完成的步骤，工具执行期间不会变化，供 recall_observation 读取完整的观察结果
+     */
+    private final List<AgentStep> steps;
+
+    /**
+     * 工具节点写入的输出
+     */
+    private String observation;
+}
@@ -0,0 +1,50 @@
+package com.lunay.liteflow.ai.react.node;
+
+import com.yomahub.liteflow.ai.annotation.AIComponent;
+import com.yomahub.liteflow.ai.annotation.model.io.AIInput;
+import com.yomahub.liteflow.ai.annotation.model.io.AIOutput;
+import com.yomahub.liteflow.ai.annotation.model.io.InputField;
+import com.yomahub.liteflow.ai.annotation.model.node.AIChat;
+import com.yomahub.liteflow.ai.domain.enums.ProviderEnum;
+import com.yomahub.liteflow.ai.engine.interact.transport.TransportType;
+import com.yomahub.liteflow.ai.engine.model.output.ResponseType;
+
+/**
+ * ReAct 思考节点，每一步输出思考以及要并行执行的工具调用或最终答案
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@AIComponent(
+        nodeId = "thinkCmp",
+        // 模型提供商使用 DashScope，模型名称为 qwen-flash
+        provider = ProviderEnum.DASHSCOPE,
+        apiUrl = "https://dashscope.aliyuncs.com/compatible-mode/v1",
+        model = "qwen-flash",
+        // 关闭思考
+        enableThinking = false,
+        // 开启请求和响应日志记录
+        logRequests = true,
+        logResponses = true
+)
+@AIChat(
+        systemPrompt = "你是一个按 ReAct 方式解决问题的助手：每一步先思考，再调用工具获取信息，得到足够的信息后给出最终答案。",
+        // 由 agentPrepareCmp 拼接好的提示词，包含可用工具、任务与已完成的步骤
+        userPrompt = "{{agentPrompt}}",
+        streaming = false,
+        transportType = TransportType.HTTP
+)
+@AIInput(
+        mapping = {
+                @InputField(name = "agentPrompt", expression = "dataMap.agentPrompt"),
+        }
+)
+@AIOutput(
+        // 结构化输出，模型节点输出为 AgentDecision
+        responseType = ResponseType.JSON,
+        typeName = "com.lunay.liteflow.ai.react.agent.AgentDecision",
+        methodExpress = "setData(\"decision\", $output)"
+)
+public interface ThinkCmp {
+}
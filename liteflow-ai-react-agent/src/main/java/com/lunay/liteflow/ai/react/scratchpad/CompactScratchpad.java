@@ -0,0 +1,163 @@
+package com.lunay.liteflow.ai.react.scratchpad;
+
+import com.lunay.liteflow.ai.react.agent.AgentPrompts;
+import com.lunay.liteflow.ai.react.agent.AgentStep;
+import com.lunay.liteflow.ai.react.agent.Observation;
+import com.lunay.liteflow.ai.react.tool.AgentToolCmp;
+import com.lunay.liteflow.ai.react.tool.RecallToolCmp;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 紧凑草稿区
+ * <p>
+ * 提示词依次为固定前缀、任务、较早步骤的摘要、最近几步的完整内容：
+ * <ul>
+ *     <li>超过长度上限的观察结果只保留开头，并给出引用 {@code obs-步骤-序号}，模型可以调用 recall_observation 读取完整内容。
+ *     recall_observation 的输出本身不截断，否则读取到的仍是同样的开头</li>
+ *     <li>最近 {@code recentSteps} 步之前的步骤压缩为一行摘要。摘要只由该步本身决定，生成后不再变化，
+ *     因此相邻两步的提示词在摘要之前完全相同，模型服务端的前缀缓存可以命中</li>
+ *     <li>摘要超过 {@code maxDigests} 条时，一次省略最早的一半，而不是每步省略一条，避免每一步都改变前缀</li>
+ * </ul>
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class CompactScratchpad implements Scratchpad {
+
+    private static final int DIGEST_THOUGHT_LIMIT = 40;
+
+    private static final int DIGEST_OBSERVATION_LIMIT = 60;
+
+    private final String prefix;
+
+    private final int observationLimit;
+
+    private final int recentSteps;
+
+    private final int maxDigests;
+
+    public CompactScratchpad(Collection<AgentToolCmp> tools, int observationLimit, int recentSteps, int maxDigests) {
+        this.prefix = AgentPrompts.prefix(tools);
+        this.observationLimit = observationLimit;
+        this.recentSteps = recentSteps;
+        this.maxDigests = Math.max(1, maxDigests);
+    }
+
+    @Override
+    public String render(String task, List<AgentStep> steps) {
+        StringBuilder prompt = new StringBuilder(prefix).append("\n任务：").append(task).append('\n');
+        int digests = Math.max(0, steps.size() - recentSteps);
+        if (digests > 0) {
+            int omitted = omitted(digests);
+            prompt.append("\n较早步骤的摘要：\n");
+            if (omitted > 0) {
+                prompt.append("（更早的 ").append(omitted).append(" 步已省略）\n");
+            }
+            for (AgentStep step : steps.subList(omitted, digests)) {
+                appendDigest(prompt, step);
+            }
+        }
+        if (digests < steps.size()) {
+            prompt.append("\n最近的步骤：\n");
+            for (AgentStep step : steps.subList(digests, steps.size())) {
+                appendStep(prompt, step);
+            }
+        }
+        return prompt.append("\n请输出第 ").append(steps.size() + 1).append(" 步。").toString();
+    }
+
+    /**
+     * 按 maxDigests 的一半成块省略
+     */
+    private int omitted(int digests) {
+        if (digests <= maxDigests) {
+            return 0;
+        }
+        int chunk = Math.max(1, maxDigests / 2);
+        return (digests - maxDigests + chunk - 1) / chunk * chunk;
+    }
+
+    private void appendDigest(StringBuilder prompt, AgentStep step) {
+        prompt.append("第 ").append(step.index()).append(" 步：").append(truncate(step.thought(), DIGEST_THOUGHT_LIMIT));
+        List<Observation> observations = step.observations();
+        for (int i = 0; i < observations.size(); i++) {
+            Observation observation = observations.get(i);
+            prompt.append("；").append(observation.action().getTool())
+                    .append(AgentPrompts.json(observation.action().getArguments()))
+                    .append(observation.error() ? " 失败 " : " -> ")
+                    .append(truncate(observation.content(), DIGEST_OBSERVATION_LIMIT));
+            if (length(observation.content()) > DIGEST_OBSERVATION_LIMIT) {
+                prompt.append("（").append(reference(step.index(), i + 1)).append("）");
+            }
+        }
+        prompt.append('\n');
+    }
+
+    private void appendStep(StringBuilder prompt, AgentStep step) {
+        prompt.append("第 ").append(step.index()).append(" 步\n");
+        prompt.append("思考：").append(step.thought()).append('\n');
+        List<Observation> observations = step.observations();
+        for (int i = 0; i < observations.size(); i++) {
+            Observation observation = observations.get(i);
+            AgentPrompts.appendAction(prompt, observation);
+            prompt.append(observation.error() ? "失败：" : "观察：");
+            String content = String.valueOf(observation.content());
+            if (content.length() > observationLimit && !recalled(observation)) {
+                prompt.append(content, 0, observationLimit).append("…（共 ").append(content.length())
+                        .append(" 字，完整内容引用 ").append(reference(step.index(), i + 1)).append("）");
+            } else {
+                prompt.append(content);
+            }
+            prompt.append('\n');
+        }
+    }
+
+    /**
+     * 成功读取的完整观察结果，已经是模型主动要求的内容
+     */
+    private static boolean recalled(Observation observation) {
+        return !observation.error() && RecallToolCmp.TOOL_NAME.equals(observation.action().getTool());
+    }
+
+    /**
+     * 观察结果的引用，步骤与序号都从 1 开始
+     */
+    public static String reference(int step, int index) {
+        return "obs-" + step + "-" + index;
+    }
+
+    /**
+     * 按引用读取完整的观察结果，引用无效时返回 null
+     */
+    public static Observation resolve(List<AgentStep> steps, String reference) {
+        String[] parts = reference.trim().split("-");
+        if (parts.length != 3 || !"obs".equals(parts[0])) {
+            return null;
+        }
+        try {
+            int step = Integer.parseInt(parts[1]);
+            int index = Integer.parseInt(parts[2]);
+            if (step < 1 || step > steps.size()) {
+                return null;
+            }
+            List<Observation> observations = steps.get(step - 1).observations();
+            return index < 1 || index > observations.size() ? null : observations.get(index - 1);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int length(String text) {
+        return text == null ? 0 : text.length();
+    }
+
+    private static String truncate(String text, int limit) {
+        if (text == null) {
+            return "";
+        }
+        return text.length() <= limit ? text : text.substring(0, limit) + "…";
+    }
+}
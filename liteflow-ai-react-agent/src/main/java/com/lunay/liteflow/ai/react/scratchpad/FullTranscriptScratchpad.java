@@ -0,0 +1,34 @@
+package com.lunay.liteflow.ai.react.scratchpad;
+
+import com.lunay.liteflow.ai.react.agent.AgentPrompts;
+import com.lunay.liteflow.ai.react.agent.AgentStep;
+import com.lunay.liteflow.ai.react.tool.AgentToolCmp;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 完整记录：每一步都重新发送全部步骤的完整内容，第 N 步的提示词随 N 线性增长
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class FullTranscriptScratchpad implements Scratchpad {
+
+    private final String prefix;
+
+    public FullTranscriptScratchpad(Collection<AgentToolCmp> tools) {
+        this.prefix = AgentPrompts.prefix(tools);
+    }
+
+    @Override
+    public String render(String task, List<AgentStep> steps) {
+        StringBuilder prompt = new StringBuilder(prefix).append("\n任务：").append(task).append('\n');
+        if (!steps.isEmpty()) {
+            prompt.append("\n已完成的步骤：\n");
+            steps.forEach(step -> AgentPrompts.appendStep(prompt, step));
+        }
+        return prompt.append("\n请输出第 ").append(steps.size() + 1).append(" 步。").toString();
+    }
+}
@@ -0,0 +1,23 @@
+package com.lunay.liteflow.ai.react.scratchpad;
+
+import com.lunay.liteflow.ai.react.agent.AgentStep;
+
+import java.util.List;
+
+/**
+ * 草稿区，决定已完成的步骤以何种形式写入下一步的提示词
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public interface Scratchpad {
+
+    /**
+     * 拼接下一步的提示词
+     *
+     * @param task  任务
+     * @param steps 已完成的步骤
+     */
+    String render(String task, List<AgentStep> steps);
+}
@@ -0,0 +1,55 @@
+package com.lunay.liteflow.ai.react.tool;
+
+import com.lunay.liteflow.ai.react.context.ToolCallContext;
+import com.yomahub.liteflow.core.NodeComponent;
+
+import java.util.Map;
+
+/**
+ * 智能体工具节点
+ * <p>
+ * 每个工具是一个 LiteFlow 节点，由名为 {@code 前缀 + 工具名} 的子流程执行，例如 calculator 对应子流程 tool_calculator
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public abstract class AgentToolCmp extends NodeComponent {
+
+    /**
+     * 模型调用时使用的工具名
+     */
+    public abstract String toolName();
+
+    /**
+     * 工具描述，写入提示词
+     */
+    public abstract String description();
+
+    /**
+     * 参数说明，写入提示词，例如 {@code {"query": "检索词"}}
+     */
+    public abstract String parameters();
+
+    /**
+     * 执行工具
+     *
+     * @return 观察结果
+     */
+    protected abstract String call(Map<String, Object> arguments) throws Exception;
+
+    @Override
+    public void process() throws Exception {
+        ToolCallContext context = this.getContextBean(ToolCallContext.class);
+        Map<String, Object> arguments = context.getAction().getArguments();
+        context.setObservation(call(arguments == null ? Map.of() : arguments));
+    }
+
+    protected static String requireString(Map<String, Object> arguments, String name) {
+        Object value = arguments.get(name);
+        if (value == null || String.valueOf(value).isBlank()) {
+            throw new IllegalArgumentException("缺少参数: " + name);
+        }
+        return String.valueOf(value);
+    }
+}
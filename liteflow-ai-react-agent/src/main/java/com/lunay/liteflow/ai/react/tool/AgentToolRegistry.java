@@ -0,0 +1,37 @@
+package com.lunay.liteflow.ai.react.tool;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 智能体可用的全部工具，按工具名索引
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component
+public class AgentToolRegistry {
+
+    private final Map<String, AgentToolCmp> tools = new LinkedHashMap<>();
+
+    public AgentToolRegistry(List<AgentToolCmp> tools) {
+        for (AgentToolCmp tool : tools) {
+            if (this.tools.putIfAbsent(tool.toolName(), tool) != null) {
+                throw new IllegalStateException("工具 " + tool.toolName() + " 重复定义");
+            }
+        }
+    }
+
+    public boolean contains(String toolName) {
+        return tools.containsKey(toolName);
+    }
+
+    public Collection<AgentToolCmp> all() {
+        return tools.values();
+    }
+}
@@ -0,0 +1,47 @@
+package com.lunay.liteflow.ai.react.tool;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Map;
+
+/**
+ * 计算器工具
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component("calculatorTool")
+public class CalculatorToolCmp extends AgentToolCmp {
+
+    @Override
+    public String toolName() {
+        return "calculator";
+    }
+
+    @Override
+    public String description() {
+        return "对两个数做加减乘除运算";
+    }
+
+    @Override
+    public String parameters() {
+        return "{\"a\": \"第一个数\", \"b\": \"第二个数\", \"op\": \"运算符，+ - * / 之一\"}";
+    }
+
+    @Override
+    protected String call(Map<String, Object> arguments) {
+        BigDecimal a = new BigDecimal(requireString(arguments, "a"));
+        BigDecimal b = new BigDecimal(requireString(arguments, "b"));
+        BigDecimal result = switch (requireString(arguments, "op")) {
+            case "+" -> a.add(b);
+            case "-" -> a.subtract(b);
+            case "*" -> a.multiply(b);
+            case "/" -> a.divide(b, MathContext.DECIMAL64);
+            default -> throw new IllegalArgumentException("不支持的运算符: " + arguments.get("op"));
+        };
+        return result.stripTrailingZeros().toPlainString();
+    }
+}
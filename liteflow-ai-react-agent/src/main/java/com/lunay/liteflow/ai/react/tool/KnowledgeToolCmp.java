@@ -0,0 +1,63 @@
+package com.lunay.liteflow.ai.react.tool;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 知识检索工具示例，使用内存数据并模拟外部检索的延迟
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component("knowledgeTool")
+public class KnowledgeToolCmp extends AgentToolCmp {
+
+    private static final Map<String, String> FACTS = Map.of(
+            "北京人口", "2189 万",
+            "上海人口", "2487 万",
+            "北京面积", "16410 平方公里",
+            "上海面积", "6340 平方公里",
+            "北京概况", "北京是中华人民共和国的首都，是全国的政治中心、文化中心、国际交往中心和科技创新中心。"
+                    + "北京位于华北平原北部，背靠燕山，东南与天津相邻，其余部分与河北相连。全市下辖 16 个区，"
+                    + "常住人口约 2189 万，面积约 16410 平方公里。北京有着三千余年的建城史和八百六十余年的建都史，"
+                    + "拥有故宫、长城、天坛、颐和园等众多世界文化遗产。北京是全国铁路、公路和航空的枢纽，"
+                    + "拥有首都国际机场与大兴国际机场两座大型国际机场。北京的高等院校与科研院所数量居全国首位，"
+                    + "中关村是国内最早的国家级高新技术产业开发区。北京属于暖温带半湿润大陆性季风气候，四季分明，"
+                    + "夏季高温多雨，冬季寒冷干燥，春秋两季较短。",
+            "上海概况", "上海是中华人民共和国直辖市，是国际经济、金融、贸易、航运和科技创新中心。"
+                    + "上海位于长江入海口，东临东海，北、西与江苏、浙江两省相接。全市下辖 16 个区，"
+                    + "常住人口约 2487 万，面积约 6340 平方公里。上海港货物吞吐量和集装箱吞吐量多年位居世界前列，"
+                    + "浦东新区是国家级新区，陆家嘴是重要的金融贸易区。上海拥有虹桥与浦东两座国际机场，"
+                    + "城市轨道交通运营里程位居世界前列。上海属于亚热带季风气候，四季分明，日照充分，雨量充沛，"
+                    + "春秋较短，冬夏较长。上海是近代中国开埠最早的城市之一，外滩的万国建筑群见证了城市的发展历程。"
+    );
+
+    @Override
+    public String toolName() {
+        return "knowledge_search";
+    }
+
+    @Override
+    public String description() {
+        return "检索城市的人口、面积等资料，每次检索一项";
+    }
+
+    @Override
+    public String parameters() {
+        return "{\"query\": \"检索词，例如 北京人口\"}";
+    }
+
+    @Override
+    protected String call(Map<String, Object> arguments) throws InterruptedException {
+        String query = requireString(arguments, "query").replace(" ", "");
+        // 模拟外部检索的延迟
+        Thread.sleep(300);
+        return FACTS.entrySet().stream()
+                .filter(fact -> query.contains(fact.getKey()) || fact.getKey().contains(query))
+                .map(fact -> fact.getKey() + ": " + fact.getValue())
+                .findFirst()
+                .orElse("没有找到与 " + query + " 相关的资料");
+    }
+}
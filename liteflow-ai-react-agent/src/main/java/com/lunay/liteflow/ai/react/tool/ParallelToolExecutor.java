@@ -0,0 +1,83 @@
+package com.lunay.liteflow.ai.react.tool;
+
+import com.lunay.liteflow.ai.react.agent.AgentAction;
+import com.lunay.liteflow.ai.react.agent.Observation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * 在有界线程池上并行执行一步中的工具调用
+ * <p>
+ * 线程池拒绝的调用直接记为失败，不会退回到调用线程执行；全部调用共用同一个截止时间，
+ * 超时未完成（包括仍在队列中等待）的调用被取消并记为失败，一步的耗时不会超过给定的超时时间
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class ParallelToolExecutor {
+
+    private final ExecutorService executor;
+
+    public ParallelToolExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 执行全部工具调用，观察结果按调用顺序返回
+     *
+     * @param actions       工具调用
+     * @param tool          执行单个工具调用
+     * @param timeoutMillis 全部调用的超时时间
+     */
+    public List<Observation> invokeAll(List<AgentAction> actions, Function<AgentAction, Observation> tool,
+                                       long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<Future<Observation>> futures = new ArrayList<>(actions.size());
+        for (AgentAction action : actions) {
+            try {
+                futures.add(executor.submit(() -> tool.apply(action)));
+            } catch (RejectedExecutionException e) {
+                futures.add(null);
+            }
+        }
+        List<Observation> observations = new ArrayList<>(actions.size());
+        try {
+            for (int i = 0; i < actions.size(); i++) {
+                observations.add(await(actions.get(i), futures.get(i), deadline));
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(ParallelToolExecutor::cancel);
+            throw e;
+        }
+        return observations;
+    }
+
+    private static Observation await(AgentAction action, Future<Observation> future, long deadline) throws InterruptedException {
+        if (future == null) {
+            return Observation.failure(action, "工具线程池已满，调用被拒绝");
+        }
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return Observation.failure(action, "工具调用超时");
+        } catch (ExecutionException e) {
+            return Observation.failure(action, String.valueOf(e.getCause().getMessage()));
+        }
+    }
+
+    private static void cancel(Future<Observation> future) {
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+}
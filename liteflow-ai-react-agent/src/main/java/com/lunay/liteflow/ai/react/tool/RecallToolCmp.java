@@ -0,0 +1,46 @@
+package com.lunay.liteflow.ai.react.tool;
+
+import com.lunay.liteflow.ai.react.agent.Observation;
+import com.lunay.liteflow.ai.react.context.ToolCallContext;
+import com.lunay.liteflow.ai.react.scratchpad.CompactScratchpad;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 读取草稿区中被截断的观察结果
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Component("recallTool")
+public class RecallToolCmp extends AgentToolCmp {
+
+    public static final String TOOL_NAME = "recall_observation";
+
+    @Override
+    public String toolName() {
+        return TOOL_NAME;
+    }
+
+    @Override
+    public String description() {
+        return "读取之前被截断的观察结果的完整内容";
+    }
+
+    @Override
+    public String parameters() {
+        return "{\"ref\": \"观察结果的引用，例如 obs-3-1\"}";
+    }
+
+    @Override
+    protected String call(Map<String, Object> arguments) {
+        String reference = requireString(arguments, "ref");
+        Observation observation = CompactScratchpad.resolve(this.getContextBean(ToolCallContext.class).getSteps(), reference);
+        if (observation == null) {
+            throw new IllegalArgumentException("无效的引用: " + reference);
+        }
+        return observation.content();
+    }
+}
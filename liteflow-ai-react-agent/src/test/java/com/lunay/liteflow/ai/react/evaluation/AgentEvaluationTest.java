@@ -0,0 +1,41 @@
+package com.lunay.liteflow.ai.react.evaluation;
+
+import com.lunay.liteflow.ai.react.scratchpad.Scratchpad;
+import com.lunay.liteflow.ai.react.tool.AgentToolRegistry;
+import com.yomahub.liteflow.core.FlowExecutor;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * 回放 evaluation/agent-tasks.json 中的任务，任一任务不符合预期时测试失败
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@SpringBootTest(properties = "agent.run-demo=false")
+class AgentEvaluationTest {
+
+    @Autowired
+    private FlowExecutor flowExecutor;
+
+    @Autowired
+    private Scratchpad scratchpad;
+
+    @Autowired
+    private AgentToolRegistry toolRegistry;
+
+    @TestFactory
+    Stream<DynamicTest> replaysScriptedTasks() throws IOException {
+        AgentEvaluator evaluator = new AgentEvaluator(flowExecutor, scratchpad, toolRegistry);
+        return AgentEvaluator.load("evaluation/agent-tasks.json").stream()
+                .map(task -> dynamicTest(task.name(), () -> evaluator.evaluate(task)));
+    }
+}
@@ -0,0 +1,100 @@
+package com.lunay.liteflow.ai.react.evaluation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lunay.liteflow.ai.react.context.AgentContext;
+import com.lunay.liteflow.ai.react.scratchpad.FullTranscriptScratchpad;
+import com.lunay.liteflow.ai.react.scratchpad.Scratchpad;
+import com.lunay.liteflow.ai.react.tool.AgentToolRegistry;
+import com.yomahub.liteflow.core.FlowExecutor;
+import com.yomahub.liteflow.flow.LiteflowResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 离线评估：使用脚本化模型代替真实模型执行 scriptedReactChain，工具仍然真实执行
+ * <p>
+ * 每个任务分别使用配置的草稿区与完整记录的草稿区各执行一次，两次都必须符合任务的预期，
+ * 并输出两者的步数、token 消耗与耗时
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+class AgentEvaluator {
+
+    private final FlowExecutor flowExecutor;
+
+    private final Scratchpad scratchpad;
+
+    private final Scratchpad baseline;
+
+    AgentEvaluator(FlowExecutor flowExecutor, Scratchpad scratchpad, AgentToolRegistry toolRegistry) {
+        this.flowExecutor = flowExecutor;
+        this.scratchpad = scratchpad;
+        // 对照组：每一步都重新发送全部步骤的完整内容
+        this.baseline = new FullTranscriptScratchpad(toolRegistry.all());
+    }
+
+    static List<AgentTask> load(String resource) throws IOException {
+        try (InputStream input = AgentEvaluator.class.getClassLoader().getResourceAsStream(resource)) {
+            assertNotNull(input, "找不到评估任务文件 " + resource);
+            return new ObjectMapper().readValue(input, new TypeReference<List<AgentTask>>() {
+            });
+        }
+    }
+
+    /**
+     * 执行一个任务并校验结果，返回配置的草稿区与完整记录的执行结果
+     */
+    Result evaluate(AgentTask task) {
+        Run run = run(task, scratchpad);
+        Run full = run(task, baseline);
+        assertMatches(task, run);
+        assertMatches(task, full);
+        log.info("任务 {}: {} 步，token: {}（可命中前缀缓存 {}），完整记录: {}（可命中前缀缓存 {}），耗时: {} ms，完整记录: {} ms",
+                task.name(), run.context().stepCount(),
+                run.context().getTokens(), run.context().getCacheableTokens(),
+                full.context().getTokens(), full.context().getCacheableTokens(),
+                run.wallMillis(), full.wallMillis());
+        return new Result(run.context(), full.context());
+    }
+
+    private Run run(AgentTask task, Scratchpad scratchpad) {
+        AgentContext context = new AgentContext(task.question(), scratchpad);
+        context.setScript(task.script());
+        context.setScriptLatencyMillis(task.modelLatencyMillis());
+        long start = System.nanoTime();
+        LiteflowResponse response = flowExecutor.execute2Resp("scriptedReactChain", null, context);
+        return new Run(context, response, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void assertMatches(AgentTask task, Run run) {
+        assertTrue(run.response().isSuccess(), () -> task.name() + " 流程执行失败: " + run.response().getCause());
+        AgentContext context = run.context();
+        if (task.expectedStop() != null) {
+            assertEquals(task.expectedStop(), context.getStopReason(), task.name() + " 停止原因");
+        }
+        if (task.expectedAnswer() != null) {
+            assertTrue(context.getFinalAnswer() != null && context.getFinalAnswer().contains(task.expectedAnswer()),
+                    () -> task.name() + " 最终答案应包含 " + task.expectedAnswer() + "，实际为 " + context.getFinalAnswer());
+        }
+    }
+
+    /**
+     * 配置的草稿区与完整记录各自的执行上下文
+     */
+    record Result(AgentContext context, AgentContext baseline) {
+    }
+
+    private record Run(AgentContext context, LiteflowResponse response, long wallMillis) {
+    }
+}
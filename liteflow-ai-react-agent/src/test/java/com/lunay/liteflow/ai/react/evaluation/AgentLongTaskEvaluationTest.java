@@ -0,0 +1,43 @@
+package com.lunay.liteflow.ai.react.evaluation;
+
+import com.lunay.liteflow.ai.react.scratchpad.Scratchpad;
+import com.lunay.liteflow.ai.react.tool.AgentToolRegistry;
+import com.yomahub.liteflow.core.FlowExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 回放 30 步的长任务 evaluation/agent-long-tasks.json，紧凑草稿区的 token 消耗应低于完整记录
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@SpringBootTest(properties = {"agent.run-demo=false", "agent.max-steps=32", "agent.max-tokens=200000"})
+class AgentLongTaskEvaluationTest {
+
+    @Autowired
+    private FlowExecutor flowExecutor;
+
+    @Autowired
+    private Scratchpad scratchpad;
+
+    @Autowired
+    private AgentToolRegistry toolRegistry;
+
+    @Test
+    void compactScratchpadSavesTokensOnLongTrajectory() throws IOException {
+        AgentEvaluator evaluator = new AgentEvaluator(flowExecutor, scratchpad, toolRegistry);
+        for (AgentTask task : AgentEvaluator.load("evaluation/agent-long-tasks.json")) {
+            AgentEvaluator.Result result = evaluator.evaluate(task);
+            assertTrue(result.context().getTokens() < result.baseline().getTokens(),
+                    () -> task.name() + " 紧凑草稿区消耗 " + result.context().getTokens()
+                            + " tokens，完整记录 " + result.baseline().getTokens() + " tokens");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.lunay.liteflow.ai.react.evaluation;
+
+import com.lunay.liteflow.ai.react.agent.AgentDecision;
+import com.lunay.liteflow.ai.react.agent.StopReason;
+
+import java.util.List;
+
+/**
+ * 离线评估任务
+ *
+ * @param name               任务名
+ * @param question           交给智能体的问题
+ * @param modelLatencyMillis 脚本化模型每一步模拟的响应延迟
+ * @param script             按步骤回放的模型决策
+ * @param expectedAnswer     最终答案应包含的内容，为空时不检查
+ * @param expectedStop       预期的停止原因，为空时不检查
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public record AgentTask(String name, String question, long modelLatencyMillis, List<AgentDecision> script,
+                        String expectedAnswer, StopReason expectedStop) {
+}
@@ -0,0 +1,139 @@
+package com.lunay.liteflow.ai.react.scratchpad;
+
+import com.lunay.liteflow.ai.react.agent.AgentAction;
+import com.lunay.liteflow.ai.react.agent.AgentStep;
+import com.lunay.liteflow.ai.react.agent.Observation;
+import com.lunay.liteflow.ai.react.tool.RecallToolCmp;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 紧凑草稿区的前缀稳定性、摘要成块省略与观察结果引用测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class CompactScratchpadTest {
+
+    private static final String TASK = "统计 LiteFlow 仓库最近一周的提交数";
+
+    private static final String RECENT = "\n最近的步骤：\n";
+
+    private static final Pattern REFERENCE = Pattern.compile("完整内容引用 (obs-\\d+-\\d+)");
+
+    /**
+     * 不发生省略时，每一步的提示词在最近步骤之前的部分都是下一步提示词的前缀
+     */
+    @Test
+    void promptBeforeRecentStepsIsPrefixOfNextPrompt() {
+        CompactScratchpad scratchpad = new CompactScratchpad(List.of(), 300, 3, 20);
+        List<AgentStep> steps = new ArrayList<>();
+        String previous = scratchpad.render(TASK, steps);
+        for (int i = 1; i <= 15; i++) {
+            steps.add(step(i, "观察 " + i + " " + "x".repeat(i * 10)));
+            String current = scratchpad.render(TASK, steps);
+            String stable = previous.substring(0, previous.indexOf(RECENT) < 0 ? previous.lastIndexOf("\n请输出") : previous.indexOf(RECENT));
+            assertTrue(current.startsWith(stable), "第 " + i + " 步改变了之前的前缀");
+            previous = current;
+        }
+        assertTrue(previous.contains("第 12 步："));
+        assertTrue(previous.contains(RECENT + "第 13 步\n"));
+    }
+
+    /**
+     * 摘要超过 maxDigests 条时一次省略最早的一半，相邻两步省略的步数相同，前缀保持稳定
+     */
+    @Test
+    void oldDigestsAreOmittedInChunks() {
+        CompactScratchpad scratchpad = new CompactScratchpad(List.of(), 300, 1, 4);
+        List<AgentStep> steps = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            steps.add(step(i, "观察 " + i));
+        }
+        // 4 条摘要：不省略
+        String four = scratchpad.render(TASK, steps);
+        assertFalse(four.contains("已省略"));
+        assertTrue(four.contains("第 1 步："));
+
+        // 5 条摘要：省略最早的 2 条
+        steps.add(step(6, "观察 6"));
+        String five = scratchpad.render(TASK, steps);
+        assertTrue(five.contains("（更早的 2 步已省略）"));
+        assertFalse(five.contains("第 2 步："));
+        assertTrue(five.contains("第 3 步："));
+
+        // 6 条摘要：仍然省略 2 条，前缀不变
+        steps.add(step(7, "观察 7"));
+        String six = scratchpad.render(TASK, steps);
+        assertTrue(six.contains("（更早的 2 步已省略）"));
+        assertTrue(six.startsWith(five.substring(0, five.indexOf(RECENT))));
+
+        // 7 条摘要：再省略 2 条
+        steps.add(step(8, "观察 8"));
+        String seven = scratchpad.render(TASK, steps);
+        assertTrue(seven.contains("（更早的 4 步已省略）"));
+        assertFalse(seven.contains("第 4 步："));
+        assertTrue(seven.contains("第 5 步："));
+    }
+
+    @Test
+    void resolveReference() {
+        List<AgentStep> steps = List.of(step(1, "第一步的观察"),
+                new AgentStep(2, "并行调用", List.of(
+                        Observation.success(new AgentAction("search", Map.of("q", "a")), "结果 a"),
+                        Observation.failure(new AgentAction("search", Map.of("q", "b")), "超时")), 0, 0));
+
+        assertSame(steps.get(0).observations().get(0), CompactScratchpad.resolve(steps, "obs-1-1"));
+        assertSame(steps.get(1).observations().get(1), CompactScratchpad.resolve(steps, " obs-2-2 "));
+        assertNull(CompactScratchpad.resolve(steps, "obs-3-1"));
+        assertNull(CompactScratchpad.resolve(steps, "obs-0-1"));
+        assertNull(CompactScratchpad.resolve(steps, "obs-1-2"));
+        assertNull(CompactScratchpad.resolve(steps, "obs-1"));
+        assertNull(CompactScratchpad.resolve(steps, "ref-1-1"));
+        assertNull(CompactScratchpad.resolve(steps, "obs-a-1"));
+    }
+
+    /**
+     * 超长的观察结果被截断并给出引用，按引用读取的完整内容在下一步不会被再次截断
+     */
+    @Test
+    void recalledObservationIsNotTruncated() {
+        CompactScratchpad scratchpad = new CompactScratchpad(List.of(), 300, 3, 20);
+        String full = "提交记录 ".repeat(200) + "结尾";
+        List<AgentStep> steps = new ArrayList<>();
+        steps.add(step(1, full));
+
+        String first = scratchpad.render(TASK, steps);
+        assertFalse(first.contains(full));
+        assertTrue(first.contains("…（共 " + full.length() + " 字，完整内容引用 obs-1-1）"));
+        Matcher matcher = REFERENCE.matcher(first);
+        assertTrue(matcher.find());
+
+        Observation resolved = CompactScratchpad.resolve(steps, matcher.group(1));
+        assertEquals(full, resolved.content());
+        AgentAction recall = new AgentAction(RecallToolCmp.TOOL_NAME, Map.of("ref", matcher.group(1)));
+        steps.add(new AgentStep(2, "读取完整内容", List.of(Observation.success(recall, resolved.content())), 0, 0));
+
+        String second = scratchpad.render(TASK, steps);
+        assertTrue(second.contains("观察：" + full + "\n"));
+        // 第 1 步的原始观察仍然截断，完整内容只出现一次
+        assertEquals(second.indexOf(full), second.lastIndexOf(full));
+    }
+
+    private static AgentStep step(int index, String observation) {
+        AgentAction action = new AgentAction("search", Map.of("q", "查询 " + index));
+        return new AgentStep(index, "思考 " + index, List.of(Observation.success(action, observation)), 0, 0);
+    }
+}
@@ -0,0 +1,95 @@
+package com.lunay.liteflow.ai.react.tool;
+
+import com.lunay.liteflow.ai.react.agent.AgentAction;
+import com.lunay.liteflow.ai.react.agent.Observation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 并行工具调用的拒绝与超时测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class ParallelToolExecutorTest {
+
+    @Test
+    void resultsKeepActionOrder() throws Exception {
+        ThreadPoolExecutor pool = pool(4, 4);
+        try {
+            List<AgentAction> actions = List.of(action("a"), action("fail"), action("c"));
+            List<Observation> observations = new ParallelToolExecutor(pool).invokeAll(actions, action -> {
+                if (action.getTool().equals("fail")) {
+                    throw new IllegalStateException("工具异常");
+                }
+                return Observation.success(action, action.getTool().toUpperCase());
+            }, 5_000);
+
+            assertEquals(Observation.success(actions.get(0), "A"), observations.get(0));
+            assertEquals(Observation.failure(actions.get(1), "工具异常"), observations.get(1));
+            assertEquals(Observation.success(actions.get(2), "C"), observations.get(2));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 线程池已满时被拒绝的调用记为失败，不在调用线程上执行；已提交的调用超时后被取消，一步的耗时不超过超时时间
+     */
+    @Test
+    void rejectedAndSlowCallsFailWithinTimeout() throws Exception {
+        // 1 个线程、队列长度 1：第一个调用执行，第二个排队，第三个被拒绝
+        ThreadPoolExecutor pool = pool(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+        AtomicBoolean ranOnCaller = new AtomicBoolean();
+        try {
+            List<AgentAction> actions = List.of(action("a"), action("b"), action("c"));
+            long start = System.nanoTime();
+            List<Observation> observations = new ParallelToolExecutor(pool).invokeAll(actions, action -> {
+                ranOnCaller.compareAndSet(false, Thread.currentThread() == caller);
+                await(release);
+                return Observation.success(action, "ok");
+            }, 200);
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertEquals(Observation.failure(actions.get(0), "工具调用超时"), observations.get(0));
+            assertEquals(Observation.failure(actions.get(1), "工具调用超时"), observations.get(1));
+            assertEquals(Observation.failure(actions.get(2), "工具线程池已满，调用被拒绝"), observations.get(2));
+            assertTrue(elapsed < 2_000, "耗时 " + elapsed + " ms");
+            assertFalse(ranOnCaller.get(), "工具不应在调用线程上执行");
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    private static ThreadPoolExecutor pool(int threads, int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().daemon().factory(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static AgentAction action(String tool) {
+        return new AgentAction(tool, Map.of());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
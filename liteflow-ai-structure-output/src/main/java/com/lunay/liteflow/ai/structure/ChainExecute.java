@@ -1,12 +1,23 @@
 package com.lunay.liteflow.ai.structure;
 
+import com.lunay.liteflow.ai.structure.binding.StructuredBindingCache;
+import com.lunay.liteflow.ai.structure.component.StructureRepairCmp;
+import com.lunay.liteflow.ai.structure.config.StructureRepairProperties;
+import com.lunay.liteflow.ai.structure.config.StructureStreamProperties;
 import com.lunay.liteflow.ai.structure.output.MathReasoning;
+import com.lunay.liteflow.ai.structure.output.Step;
+import com.lunay.liteflow.ai.structure.repair.RepairResult;
+import com.lunay.liteflow.ai.structure.stream.MathReasoningListener;
+import com.lunay.liteflow.ai.structure.stream.MathReasoningStreamParser;
+import com.lunay.liteflow.ai.structure.stream.StructuredStreamException;
 import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.ai.context.StreamHandler;
 import com.yomahub.liteflow.core.FlowExecutor;
 import com.yomahub.liteflow.flow.LiteflowResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 
 /**
@@ -19,12 +30,28 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 @Slf4j
+// 配置了离线评估文件时不调用真实模型
+@ConditionalOnExpression("'${structure.repair.evaluation-file:}'.isEmpty()")
 public class ChainExecute implements CommandLineRunner {
 
     private final FlowExecutor flowExecutor;
 
+    private final StructureStreamProperties streamProperties;
+
+    private final StructureRepairProperties repairProperties;
+
+    private final StructuredBindingCache bindings;
+
     @Override
     public void run(String... args) throws Exception {
+        if (streamProperties.isEnabled()) {
+            runStream();
+            return;
+        }
+        if (repairProperties.isEnabled()) {
+            runRepair();
+            return;
+        }
         // 执行 chat 流程，其中 ChatContext 是 LiteFlow-AI 提供的默认上下文类型，目前必须进行传入
         LiteflowResponse response = flowExecutor.execute2Resp("chain1", null, ChatContext.class);
         // 获取到执行流程完毕的上下文
@@ -38,4 +65,56 @@ public class ChainExecute implements CommandLineRunner {
             log.error("流程执行失败！异常信息：{}", response.getCause().getMessage());
         }
     }
+
+    /**
+     * 流式结构化输出：每个步骤闭合后立即输出，不等待完整响应
+     */
+    private void runStream() {
+        long start = System.nanoTime();
+        MathReasoningStreamParser parser = new MathReasoningStreamParser(bindings, new MathReasoningListener() {
+            @Override
+            public void onStep(int index, Step step) {
+                log.info("第 {} 步，{} ms:\n{}", index + 1, (System.nanoTime() - start) / 1_000_000, step);
+            }
+
+            @Override
+            public void onFinalAnswer(String finalAnswer) {
+                log.info("最终答案，{} ms: {}", (System.nanoTime() - start) / 1_000_000, finalAnswer);
+            }
+        });
+        StreamHandler streamHandler = StreamHandler.builder()
+                .onText((content, context) -> {
+                    parser.feed(content);
+                    // 返回内容，以便在上下文中记录
+                    return content;
+                })
+                .build();
+        ChatContext chatContext = new ChatContext(streamHandler);
+        LiteflowResponse response = flowExecutor.execute2Resp("streamChain", null, chatContext);
+        if (!response.isSuccess()) {
+            log.error("流程执行失败！异常信息：{}", response.getCause().getMessage());
+            return;
+        }
+        try {
+            log.info("执行成功，AI 响应为: \n{}", parser.complete());
+        } catch (StructuredStreamException e) {
+            log.error("流式结构化输出解析失败：{}，已解析的部分结果: \n{}", e.getMessage(), e.getPartial());
+        }
+    }
+
+    /**
+     * 可修复的结构化输出：原始输出不合法时本地修复，缺失的字段单独追问，不重新执行整个生成
+     */
+    private void runRepair() {
+        ChatContext chatContext = new ChatContext();
+        chatContext.setData("schema", bindings.forType(MathReasoning.class).schema());
+        LiteflowResponse response = flowExecutor.execute2Resp("repairChain", null, chatContext);
+        if (!response.isSuccess()) {
+            log.error("流程执行失败！异常信息：{}", response.getCause().getMessage());
+            return;
+        }
+        RepairResult<MathReasoning> repair = chatContext.getData(StructureRepairCmp.REPAIR);
+        log.info("执行成功，原始输出{}，追问字段 {}，AI 响应为: \n{}", repair.strict() ? "合法" : "已修复",
+                repair.followUpFields(), repair.value());
+    }
 }
@@ -0,0 +1,84 @@
+package com.lunay.liteflow.ai.structure.binding;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * 通过反射生成 JSON Schema，用于没有编译期生成绑定器的类型
+ * <p>
+ * 字段名取自 {@code @JsonProperty}，未标注时使用字段名，与生成的绑定器一致
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public final class JsonSchemas {
+
+    private JsonSchemas() {
+    }
+
+    public static String of(Class<?> type) {
+        return objectSchema(type, new HashSet<>());
+    }
+
+    private static String objectSchema(Class<?> type, Set<Class<?>> visiting) {
+        if (!visiting.add(type)) {
+            return "{\"type\":\"object\"}";
+        }
+        StringJoiner properties = new StringJoiner(",", "{", "}");
+        StringJoiner required = new StringJoiner(",", "[", "]");
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+                    continue;
+                }
+                JsonProperty property = field.getAnnotation(JsonProperty.class);
+                String name = property == null || property.value().isEmpty() ? field.getName() : property.value();
+                properties.add(quote(name) + ":" + schema(field.getGenericType(), visiting));
+                if (property != null && property.required()) {
+                    required.add(quote(name));
+                }
+            }
+        }
+        visiting.remove(type);
+        return "{\"type\":\"object\",\"properties\":" + properties + ",\"required\":" + required + "}";
+    }
+
+    private static String schema(Type type, Set<Class<?>> visiting) {
+        if (type instanceof ParameterizedType parameterized && parameterized.getRawType() instanceof Class<?> raw
+                && Collection.class.isAssignableFrom(raw)) {
+            return "{\"type\":\"array\",\"items\":" + schema(parameterized.getActualTypeArguments()[0], visiting) + "}";
+        }
+        if (!(type instanceof Class<?> clazz)) {
+            return "{}";
+        }
+        if (clazz == String.class || clazz == char.class || clazz == Character.class) {
+            return "{\"type\":\"string\"}";
+        }
+        if (clazz == boolean.class || clazz == Boolean.class) {
+            return "{\"type\":\"boolean\"}";
+        }
+        if (clazz == int.class || clazz == long.class || clazz == Integer.class || clazz == Long.class) {
+            return "{\"type\":\"integer\"}";
+        }
+        if (clazz.isPrimitive() || Number.class.isAssignableFrom(clazz)) {
+            return "{\"type\":\"number\"}";
+        }
+        if (clazz.getName().startsWith("java.")) {
+            return "{\"type\":\"object\"}";
+        }
+        return objectSchema(clazz, visiting);
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
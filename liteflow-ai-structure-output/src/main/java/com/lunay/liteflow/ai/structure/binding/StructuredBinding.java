@@ -0,0 +1,40 @@
+package com.lunay.liteflow.ai.structure.binding;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.lunay.liteflow.ai.jsonbinder.JsonBinder;
+
+import java.io.IOException;
+
+/**
+ * 一个结构化输出类型的绑定：已解析的类型、JSON Schema 与预先构建的读取器，由 {@link StructuredBindingCache} 按类型缓存
+ *
+ * @param type   结构化输出类型
+ * @param schema 类型的 JSON Schema
+ * @param reader 预先构建的 Jackson 读取器
+ * @param binder 编译期生成的绑定器，为空时使用 reader
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public record StructuredBinding<T>(Class<T> type, String schema, ObjectReader reader, JsonBinder<T> binder) {
+
+    /**
+     * 读取一个对象，parser 的当前 token 为 START_OBJECT，或尚未读取任何 token
+     */
+    public T read(JsonParser parser) throws IOException {
+        return binder != null ? binder.read(parser) : reader.readValue(parser);
+    }
+
+    /**
+     * 读取完整的 JSON
+     */
+    public T read(byte[] json) throws IOException {
+        if (binder == null) {
+            return reader.readValue(json);
+        }
+        try (JsonParser parser = reader.getFactory().createParser(json)) {
+            return binder.read(parser);
+        }
+    }
+}
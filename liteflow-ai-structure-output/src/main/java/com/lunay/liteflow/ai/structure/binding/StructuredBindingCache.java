@@ -0,0 +1,62 @@
+package com.lunay.liteflow.ai.structure.binding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lunay.liteflow.ai.jsonbinder.JsonBinder;
+import com.lunay.liteflow.ai.jsonbinder.JsonBinders;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 结构化输出类型的绑定缓存
+ * <p>
+ * 按类型名缓存 {@link StructuredBinding}：类名只解析一次，JSON Schema 只生成一次，读取器只构建一次，
+ * 之后的每次请求直接复用。开启生成绑定器时优先使用编译期为 {@code @JsonBinding} 类型生成的绑定器，
+ * Schema 也直接取自绑定器
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+public class StructuredBindingCache {
+
+    @Getter
+    private final ObjectMapper objectMapper;
+
+    private final boolean generatedBinders;
+
+    private final Map<String, StructuredBinding<?>> bindings = new ConcurrentHashMap<>();
+
+    public StructuredBindingCache(ObjectMapper objectMapper, boolean generatedBinders) {
+        this.objectMapper = objectMapper;
+        this.generatedBinders = generatedBinders;
+    }
+
+    /**
+     * 按类全限定名获取绑定，与 {@code @AIOutput} 的 typeName 相同
+     */
+    public StructuredBinding<?> forName(String typeName) {
+        return bindings.computeIfAbsent(typeName, name -> {
+            try {
+                return create(Class.forName(name, true, Thread.currentThread().getContextClassLoader()));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("结构化输出类型不存在: " + name, e);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> StructuredBinding<T> forType(Class<T> type) {
+        return (StructuredBinding<T>) bindings.computeIfAbsent(type.getName(), name -> create(type));
+    }
+
+    private <T> StructuredBinding<T> create(Class<T> type) {
+        JsonBinder<T> binder = generatedBinders ? JsonBinders.find(type) : null;
+        String schema = binder != null ? binder.schema() : JsonSchemas.of(type);
+        log.debug("缓存结构化输出类型 {} 的绑定，生成绑定器: {}", type.getName(), binder != null);
+        return new StructuredBinding<>(type, schema, objectMapper.readerFor(type), binder);
+    }
+}
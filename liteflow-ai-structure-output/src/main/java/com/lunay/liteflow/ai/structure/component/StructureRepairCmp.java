@@ -0,0 +1,74 @@
+package com.lunay.liteflow.ai.structure.component;
+
+import com.lunay.liteflow.ai.structure.binding.StructuredBinding;
+import com.lunay.liteflow.ai.structure.binding.StructuredBindingCache;
+import com.lunay.liteflow.ai.structure.output.MathReasoning;
+import com.lunay.liteflow.ai.structure.repair.RepairResult;
+import com.lunay.liteflow.ai.structure.repair.StructuredOutputRepairer;
+import com.lunay.liteflow.ai.structure.repair.StructuredRepairException;
+import com.yomahub.liteflow.ai.context.ChatContext;
+import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
+import com.yomahub.liteflow.core.FlowExecutor;
+import com.yomahub.liteflow.core.NodeComponent;
+import com.yomahub.liteflow.flow.LiteflowResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * 结构化输出修复组件
+ * <p>
+ * 读取 rawStructureOutputCmp 的原始输出，本地修复后绑定为 {@link MathReasoning}；仍然缺失的字段逐个通过 fieldRetryChain 追问，
+ * 每次追问使用独立的上下文，只发送该字段的提示词
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Component("structureRepairCmp")
+public class StructureRepairCmp extends NodeComponent {
+
+    /**
+     * 修复结果 {@link RepairResult} 在上下文中的 key
+     */
+    public static final String REPAIR = "repair";
+
+    private static final String FIELD_RETRY_CHAIN = "fieldRetryChain";
+
+    private final FlowExecutor flowExecutor;
+
+    private final StructuredBindingCache bindings;
+
+    private final StructuredOutputRepairer repairer;
+
+    public StructureRepairCmp(@Lazy FlowExecutor flowExecutor, StructuredBindingCache bindings, StructuredOutputRepairer repairer) {
+        this.flowExecutor = flowExecutor;
+        this.bindings = bindings;
+        this.repairer = repairer;
+    }
+
+    @Override
+    public void process() throws Exception {
+        ChatContext context = this.getContextBean(ChatContext.class);
+        AssistantMessage message = context.getData("assistantMessage");
+        StructuredBinding<MathReasoning> binding = bindings.forType(MathReasoning.class);
+        RepairResult<MathReasoning> result = repairer.repair(message.getContent(), binding, this::askField);
+        if (!result.strict()) {
+            log.info("结构化输出已修复，追问字段 {}，追问消耗约 {} token", result.followUpFields(), result.followUpTokens());
+        }
+        context.setData("output", result.value());
+        context.setData(REPAIR, result);
+    }
+
+    private String askField(String field, String prompt) {
+        ChatContext retryContext = new ChatContext();
+        retryContext.setData("prompt", prompt);
+        LiteflowResponse response = flowExecutor.execute2Resp(FIELD_RETRY_CHAIN, null, retryContext);
+        if (!response.isSuccess()) {
+            throw new StructuredRepairException("追问字段 " + field + " 失败", response.getCause());
+        }
+        AssistantMessage message = retryContext.getData("fieldValue");
+        return message.getContent();
+    }
+}
@@ -0,0 +1,22 @@
+package com.lunay.liteflow.ai.structure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 结构化输出绑定配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "structure.binding")
+public class StructureBindingProperties {
+
+    /**
+     * 是否优先使用编译期为 @JsonBinding 类型生成的绑定器，关闭时使用缓存的 Jackson 读取器。
+     * 绑定对比中生成绑定器相对缓存读取器没有可测的收益，默认关闭
+     */
+    private boolean generatedBinder = false;
+}
@@ -0,0 +1,36 @@
+package com.lunay.liteflow.ai.structure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lunay.liteflow.ai.structure.binding.StructuredBindingCache;
+import com.lunay.liteflow.ai.structure.repair.StructuredOutputRepairer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 结构化输出配置类
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Configuration
+@EnableConfigurationProperties({StructureStreamProperties.class, StructureBindingProperties.class, StructureRepairProperties.class})
+public class StructureOutputConfiguration {
+
+    /**
+     * 结构化输出类型的绑定缓存，类型、Schema 与读取器在首次使用时构建，之后每次请求复用
+     */
+    @Bean
+    public StructuredBindingCache structuredBindingCache(StructureBindingProperties properties) {
+        return new StructuredBindingCache(new ObjectMapper(), properties.isGeneratedBinder());
+    }
+
+    /**
+     * 结构化输出修复器，与绑定缓存共用 ObjectMapper
+     */
+    @Bean
+    public StructuredOutputRepairer structuredOutputRepairer(StructuredBindingCache bindings, StructureRepairProperties properties) {
+        return new StructuredOutputRepairer(bindings.getObjectMapper(), properties.getMaxFollowUps());
+    }
+}
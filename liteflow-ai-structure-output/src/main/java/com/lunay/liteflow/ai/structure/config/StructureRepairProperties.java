@@ -0,0 +1,31 @@
+package com.lunay.liteflow.ai.structure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 结构化输出修复配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "structure.repair")
+public class StructureRepairProperties {
+
+    /**
+     * 是否使用可修复的结构化输出，开启后执行 repairChain，输出不合法时本地修复并只追问缺失的字段
+     */
+    private boolean enabled = false;
+
+    /**
+     * 单次输出最多追问的字段数，缺失更多字段时视为需要重新生成
+     */
+    private int maxFollowUps = 1;
+
+    /**
+     * 离线评估使用的不合法输出语料，配置后启动时不调用真实模型
+     */
+    private String evaluationFile;
+}
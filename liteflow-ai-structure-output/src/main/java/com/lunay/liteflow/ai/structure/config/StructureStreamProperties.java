@@ -0,0 +1,21 @@
+package com.lunay.liteflow.ai.structure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 流式结构化输出配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "structure.stream")
+public class StructureStreamProperties {
+
+    /**
+     * 是否使用流式结构化输出，开启后执行 streamChain，每个步骤闭合后立即输出
+     */
+    private boolean enabled = false;
+}
@@ -0,0 +1,36 @@
+package com.lunay.liteflow.ai.structure.evaluation;
+
+import java.util.Map;
+
+/**
+ * 录制的不合法模型输出
+ *
+ * @param name      名称
+ * @param output    模型输出的原始文本
+ * @param followUps 追问字段时录制的模型输出：字段名 -> 输出
+ * @param expected  预期的修复方式
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public record MalformedOutput(String name, String output, Map<String, String> followUps, Outcome expected) {
+
+    public enum Outcome {
+        /**
+         * 无需修复
+         */
+        STRICT,
+        /**
+         * 本地修复
+         */
+        LOCAL,
+        /**
+         * 本地修复后追问缺失的字段
+         */
+        RETRY,
+        /**
+         * 无法修复，需要重新生成
+         */
+        FAIL
+    }
+}
@@ -0,0 +1,106 @@
+package com.lunay.liteflow.ai.structure.evaluation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lunay.liteflow.ai.common.TextTokens;
+import com.lunay.liteflow.ai.structure.binding.StructuredBinding;
+import com.lunay.liteflow.ai.structure.binding.StructuredBindingCache;
+import com.lunay.liteflow.ai.structure.config.StructureRepairProperties;
+import com.lunay.liteflow.ai.structure.evaluation.MalformedOutput.Outcome;
+import com.lunay.liteflow.ai.structure.output.MathReasoning;
+import com.lunay.liteflow.ai.structure.repair.RepairResult;
+import com.lunay.liteflow.ai.structure.repair.StructuredOutputRepairer;
+import com.lunay.liteflow.ai.structure.repair.StructuredRepairException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 结构化输出修复离线评估
+ * <p>
+ * 不调用真实模型：逐个修复录制的不合法输出，追问时回放录制的字段输出，统计各修复方式的数量、追问率，
+ * 以及与重新执行整个生成（提示词加完整输出）相比节省的 token 数
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "structure.repair", name = "evaluation-file")
+public class RepairEvaluation implements CommandLineRunner {
+
+    /**
+     * 与 rawStructureOutputCmp 相同的提示词，用于估算重新生成的提示词 token 数
+     */
+    private static final String PROMPT = "你是一位数学辅导老师\n使用中文解题: 8x + 9 = 32 and x + y = 1\n只输出符合以下 JSON Schema 的 JSON：";
+
+    private final StructureRepairProperties properties;
+
+    private final ResourceLoader resourceLoader;
+
+    private final StructuredBindingCache bindings;
+
+    private final StructuredOutputRepairer repairer;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public void run(String... args) throws Exception {
+        List<MalformedOutput> outputs;
+        try (InputStream input = resourceLoader.getResource(properties.getEvaluationFile()).getInputStream()) {
+            outputs = objectMapper.readValue(input, new TypeReference<List<MalformedOutput>>() {
+            });
+        }
+        StructuredBinding<MathReasoning> binding = bindings.forType(MathReasoning.class);
+        long promptTokens = TextTokens.estimate(PROMPT + binding.schema());
+        Map<Outcome, Integer> outcomes = new EnumMap<>(Outcome.class);
+        int passed = 0;
+        long followUpTokens = 0;
+        long regenerationTokens = 0;
+        for (MalformedOutput output : outputs) {
+            Map<String, String> followUps = output.followUps() == null ? Map.of() : output.followUps();
+            Outcome outcome;
+            String result;
+            try {
+                RepairResult<MathReasoning> repair = repairer.repair(output.output(), binding, (field, prompt) -> {
+                    String answer = followUps.get(field);
+                    if (answer == null) {
+                        throw new StructuredRepairException("未录制字段 " + field + " 的追问输出", null);
+                    }
+                    return answer;
+                });
+                outcome = repair.strict() ? Outcome.STRICT : repair.isRetried() ? Outcome.RETRY : Outcome.LOCAL;
+                result = repair.followUpFields().isEmpty() ? "最终答案 " + repair.value().getFinalAnswer()
+                        : "追问 " + repair.followUpFields() + "，最终答案 " + repair.value().getFinalAnswer();
+                if (!repair.strict()) {
+                    // 没有修复时需要重新执行整个生成
+                    followUpTokens += repair.followUpTokens();
+                    regenerationTokens += promptTokens
+                            + TextTokens.estimate(objectMapper.writeValueAsString(repair.value()));
+                }
+            } catch (StructuredRepairException e) {
+                outcome = Outcome.FAIL;
+                result = e.getMessage();
+            }
+            outcomes.merge(outcome, 1, Integer::sum);
+            boolean pass = outcome == output.expected();
+            passed += pass ? 1 : 0;
+            log.info("不合法输出 {}: {}，{}，{}", output.name(), pass ? "通过" : "未通过", outcome, result);
+        }
+        int retried = outcomes.getOrDefault(Outcome.RETRY, 0);
+        log.info("修复评估完成：{}/{} 个符合预期，各修复方式 {}，追问率 {}%", passed, outputs.size(), outcomes,
+                retried * 100 / Math.max(1, outputs.size()));
+        log.info("重新生成约需 {} token，修复与追问约需 {} token，节省 {} token", regenerationTokens, followUpTokens,
+                regenerationTokens - followUpTokens);
+    }
+}
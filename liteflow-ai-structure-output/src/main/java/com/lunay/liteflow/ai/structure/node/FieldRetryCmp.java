@@ -0,0 +1,47 @@
+package com.lunay.liteflow.ai.structure.node;
+
+import com.yomahub.liteflow.ai.annotation.AIComponent;
+import com.yomahub.liteflow.ai.annotation.model.io.AIInput;
+import com.yomahub.liteflow.ai.annotation.model.io.AIOutput;
+import com.yomahub.liteflow.ai.annotation.model.io.InputField;
+import com.yomahub.liteflow.ai.annotation.model.node.AIChat;
+import com.yomahub.liteflow.ai.domain.enums.ProviderEnum;
+import com.yomahub.liteflow.ai.engine.interact.transport.TransportType;
+import com.yomahub.liteflow.ai.engine.model.output.ResponseType;
+
+/**
+ * 缺失字段追问节点，只请求一个字段的值，提示词由修复器生成
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@AIComponent(
+        nodeId = "fieldRetryCmp",
+        // 模型提供商使用 DashScope，模型名称为 qwen-flash
+        provider = ProviderEnum.DASHSCOPE,
+        apiUrl = "https://dashscope.aliyuncs.com/compatible-mode/v1",
+        model = "qwen-flash",
+        // 关闭思考
+        enableThinking = false
+)
+@AIChat(
+        systemPrompt = "你是一位数学辅导老师，负责补全结构化输出中缺失的字段，只输出该字段的 JSON 值",
+        userPrompt = "{{prompt}}",
+        // 设置输出为非流式，传输模式为 HTTP
+        streaming = false,
+        transportType = TransportType.HTTP
+)
+@AIInput(
+        mapping = {
+                @InputField(name = "prompt", expression = "dataMap.prompt"),
+        }
+)
+@AIOutput(
+        // 设置响应类型为文本，模型节点输出将为框架定义的 AssistantMessage 对象
+        responseType = ResponseType.TEXT,
+        // 使用上下文默认的setData方法，将输出结果放置在 dataMap 中
+        methodExpress = "setData(\"fieldValue\", $output)"
+)
+public interface FieldRetryCmp {
+}
@@ -0,0 +1,53 @@
+package com.lunay.liteflow.ai.structure.node;
+
+import com.yomahub.liteflow.ai.annotation.AIComponent;
+import com.yomahub.liteflow.ai.annotation.model.io.AIInput;
+import com.yomahub.liteflow.ai.annotation.model.io.AIOutput;
+import com.yomahub.liteflow.ai.annotation.model.io.InputField;
+import com.yomahub.liteflow.ai.annotation.model.node.AIChat;
+import com.yomahub.liteflow.ai.domain.enums.ProviderEnum;
+import com.yomahub.liteflow.ai.engine.interact.transport.TransportType;
+import com.yomahub.liteflow.ai.engine.model.output.ResponseType;
+
+/**
+ * 可修复的结构化输出节点
+ * <p>
+ * 与 {@link StructureOutputCmp} 相同的问题，但以文本形式取回模型的原始输出，由 structureRepairCmp 在本地修复并按需追问缺失的字段，
+ * 输出不合法时不需要重新执行整个生成
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@AIComponent(
+        nodeId = "rawStructureOutputCmp",
+        // 模型提供商使用 DashScope，模型名称为 qwen-flash
+        provider = ProviderEnum.DASHSCOPE,
+        apiUrl = "https://dashscope.aliyuncs.com/compatible-mode/v1",
+        model = "qwen-flash",
+        // 关闭思考
+        enableThinking = false,
+        // 开启请求响应日志记录，便于调试
+        logRequests = true,
+        logResponses = true
+)
+@AIChat(
+        systemPrompt = "你是一位数学辅导老师",
+        userPrompt = "使用中文解题: 8x + 9 = 32 and x + y = 1\n只输出符合以下 JSON Schema 的 JSON：{{schema}}",
+        // 设置输出为非流式，传输模式为 HTTP
+        streaming = false,
+        transportType = TransportType.HTTP
+)
+@AIInput(
+        mapping = {
+                @InputField(name = "schema", expression = "dataMap.schema"),
+        }
+)
+@AIOutput(
+        // 设置响应类型为文本，模型节点输出将为框架定义的 AssistantMessage 对象，不合法的 JSON 也不会导致节点失败
+        responseType = ResponseType.TEXT,
+        // 使用上下文默认的setData方法，将输出结果放置在 dataMap 中
+        methodExpress = "setData(\"assistantMessage\", $output)"
+)
+public interface RawStructureOutputCmp {
+}
@@ -1,6 +1,7 @@
 package com.lunay.liteflow.ai.structure.output;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.lunay.liteflow.ai.jsonbinder.JsonBinding;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,12 +11,13 @@ import java.util.List;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonBinding
 public class MathReasoning {
 
-    @JsonProperty("steps")
+    @JsonProperty(value = "steps", required = true)
     private List<Step> steps;
 
-    @JsonProperty("final_answer")
+    @JsonProperty(value = "final_answer", required = true)
     private String finalAnswer;
 
     @Override
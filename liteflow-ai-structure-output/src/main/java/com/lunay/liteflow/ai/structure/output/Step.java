@@ -1,6 +1,7 @@
 package com.lunay.liteflow.ai.structure.output;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.lunay.liteflow.ai.jsonbinder.JsonBinding;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,6 +9,7 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonBinding
 public class Step {
 
     @JsonProperty("explanation")
@@ -0,0 +1,19 @@
+package com.lunay.liteflow.ai.structure.repair;
+
+/**
+ * 补全缺失字段的追问：发送一段只针对该字段的提示词，返回模型的原始输出
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@FunctionalInterface
+public interface FieldCompleter {
+
+    /**
+     * @param field  缺失的字段名
+     * @param prompt 追问的提示词
+     * @return 模型的原始输出，应为该字段的 JSON 值
+     */
+    String complete(String field, String prompt);
+}
@@ -0,0 +1,256 @@
+package com.lunay.liteflow.ai.structure.repair;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.regex.Pattern;
+
+/**
+ * 在本地修复模型输出中常见的 JSON 缺陷，不调用模型
+ * <ul>
+ *     <li>代码块标记与 JSON 前后的说明文字</li>
+ *     <li>对象与数组末尾多余的逗号</li>
+ *     <li>未闭合的字符串、对象与数组；括号类型不匹配时按打开的类型闭合</li>
+ *     <li>截断在字段名、冒号、字符串、数字或不完整的字面量上时，丢弃这个不完整的字段或数组元素</li>
+ * </ul>
+ * 只修复结构，不猜测内容；修复后仍然可能缺少字段
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public final class JsonRepair {
+
+    /**
+     * 截断在末尾时仍可确定完整的字面量，数字则可能只读到了一部分
+     */
+    private static final Pattern KEYWORD = Pattern.compile("true|false|null");
+
+    private JsonRepair() {
+    }
+
+    public static String repair(String raw) {
+        if (raw == null) {
+            return "";
+        }
+        String text = stripFence(raw);
+        int start = firstContainer(text);
+        if (start < 0) {
+            return text.strip();
+        }
+        return new Repairer(text.substring(start)).run();
+    }
+
+    /**
+     * 取第一个代码块中的内容，没有代码块时原样返回
+     */
+    private static String stripFence(String text) {
+        int fence = text.indexOf("```");
+        if (fence < 0) {
+            return text;
+        }
+        int lineEnd = text.indexOf('\n', fence);
+        if (lineEnd < 0) {
+            return text.substring(fence + 3);
+        }
+        int close = text.indexOf("```", lineEnd);
+        return close < 0 ? text.substring(lineEnd + 1) : text.substring(lineEnd + 1, close);
+    }
+
+    private static int firstContainer(String text) {
+        int object = text.indexOf('{');
+        int array = text.indexOf('[');
+        if (object < 0 || array < 0) {
+            return Math.max(object, array);
+        }
+        return Math.min(object, array);
+    }
+
+    private enum Expect {
+        /**
+         * 对象中等待字段名或 }
+         */
+        KEY,
+        /**
+         * 字段名之后等待冒号
+         */
+        COLON,
+        /**
+         * 冒号之后等待值
+         */
+        VALUE,
+        /**
+         * 值之后等待逗号或 }
+         */
+        AFTER
+    }
+
+    private static final class Frame {
+
+        private final char type;
+
+        private Expect expect = Expect.KEY;
+
+        /**
+         * 当前成员（对象的字段或数组的元素）在输出中的起始位置，截断时据此丢弃不完整的成员
+         */
+        private int memberStart;
+
+        private Frame(char type, int memberStart) {
+            this.type = type;
+            this.memberStart = memberStart;
+        }
+    }
+
+    private static final class Repairer {
+
+        private final String input;
+
+        private final StringBuilder out = new StringBuilder();
+
+        private final Deque<Frame> stack = new ArrayDeque<>();
+
+        private boolean inString;
+
+        private boolean escaped;
+
+        private boolean keyString;
+
+        private int literalStart = -1;
+
+        private Repairer(String input) {
+            this.input = input;
+        }
+
+        private String run() {
+            for (int i = 0; i < input.length(); i++) {
+                char c = input.charAt(i);
+                if (inString) {
+                    out.append(c);
+                    if (escaped) {
+                        escaped = false;
+                    } else if (c == '\\') {
+                        escaped = true;
+                    } else if (c == '"') {
+                        inString = false;
+                        if (keyString) {
+                            stack.peek().expect = Expect.COLON;
+                        } else {
+                            valueDone();
+                        }
+                    }
+                    continue;
+                }
+                if (literalStart >= 0 && (c == ',' || c == '}' || c == ']' || c == ':' || Character.isWhitespace(c))) {
+                    literalStart = -1;
+                    valueDone();
+                }
+                switch (c) {
+                    case '"' -> {
+                        Frame top = stack.peek();
+                        keyString = top != null && top.type == '{' && top.expect == Expect.KEY;
+                        memberStart(top);
+                        inString = true;
+                        out.append(c);
+                    }
+                    case ':' -> {
+                        Frame top = stack.peek();
+                        if (top != null && top.type == '{' && top.expect == Expect.COLON) {
+                            top.expect = Expect.VALUE;
+                        }
+                        out.append(c);
+                    }
+                    case ',' -> {
+                        Frame top = stack.peek();
+                        if (top != null && top.type == '{') {
+                            top.expect = Expect.KEY;
+                        }
+                        out.append(c);
+                    }
+                    case '{', '[' -> {
+                        memberStart(stack.peek());
+                        out.append(c);
+                        stack.push(new Frame(c, out.length()));
+                    }
+                    case '}', ']' -> {
+                        if (close()) {
+                            return out.toString();
+                        }
+                    }
+                    default -> {
+                        if (!Character.isWhitespace(c) && literalStart < 0) {
+                            memberStart(stack.peek());
+                            literalStart = out.length();
+                        }
+                        out.append(c);
+                    }
+                }
+            }
+            return finish();
+        }
+
+        /**
+         * 记录数组元素的起始位置；对象字段的起始位置在字段名处记录
+         */
+        private void memberStart(Frame top) {
+            if (top == null) {
+                return;
+            }
+            if (top.type == '[' || top.expect == Expect.KEY) {
+                top.memberStart = trailingCommaStart();
+            }
+        }
+
+        private void valueDone() {
+            Frame top = stack.peek();
+            if (top != null && top.type == '{') {
+                top.expect = Expect.AFTER;
+            }
+        }
+
+        /**
+         * 闭合栈顶的容器
+         *
+         * @return 根容器是否已经闭合
+         */
+        private boolean close() {
+            Frame frame = stack.pop();
+            if (frame.type == '{' && (frame.expect == Expect.COLON || frame.expect == Expect.VALUE)) {
+                // 字段只有名称没有值
+                out.setLength(frame.memberStart);
+            }
+            stripTrailingComma();
+            out.append(frame.type == '{' ? '}' : ']');
+            valueDone();
+            return stack.isEmpty();
+        }
+
+        private String finish() {
+            Frame top = stack.peek();
+            if (inString || literalStart >= 0 && !KEYWORD.matcher(out.substring(literalStart).strip()).matches()) {
+                // 截断的字符串与数字无法判断是否完整，丢弃整个成员，由必填字段检查追问，而不是保留被截短的值
+                out.setLength(top == null ? Math.max(literalStart, 0) : top.memberStart);
+            } else if (literalStart >= 0) {
+                valueDone();
+            }
+            while (!stack.isEmpty()) {
+                close();
+            }
+            return out.toString();
+        }
+
+        private void stripTrailingComma() {
+            out.setLength(trailingCommaStart());
+        }
+
+        /**
+         * 去掉末尾的空白与逗号之后的长度
+         */
+        private int trailingCommaStart() {
+            int end = out.length();
+            while (end > 0 && (Character.isWhitespace(out.charAt(end - 1)) || out.charAt(end - 1) == ',')) {
+                end--;
+            }
+            return end;
+        }
+    }
+}
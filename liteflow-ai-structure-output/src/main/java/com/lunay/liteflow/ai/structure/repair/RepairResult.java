@@ -0,0 +1,21 @@
+package com.lunay.liteflow.ai.structure.repair;
+
+import java.util.List;
+
+/**
+ * 结构化输出的修复结果
+ *
+ * @param value          绑定后的结构化输出
+ * @param strict         原始输出是否无需修复即可解析
+ * @param followUpFields 通过追问补全的字段
+ * @param followUpTokens 追问消耗的 token 数，包含提示词与模型输出
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public record RepairResult<T>(T value, boolean strict, List<String> followUpFields, long followUpTokens) {
+
+    public boolean isRetried() {
+        return !followUpFields.isEmpty();
+    }
+}
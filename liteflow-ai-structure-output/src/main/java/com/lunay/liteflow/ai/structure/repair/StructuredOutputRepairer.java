@@ -0,0 +1,203 @@
+package com.lunay.liteflow.ai.structure.repair;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.lunay.liteflow.ai.common.TextTokens;
+import com.lunay.liteflow.ai.structure.binding.StructuredBinding;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 结构化输出的修复器
+ * <p>
+ * 模型输出不是合法的 JSON 时，不重新执行整个生成，而是依次：
+ * <ol>
+ *     <li>通过 {@link JsonRepair} 在本地修复代码块、多余的逗号、未闭合的括号等结构缺陷</li>
+ *     <li>按类型的 JSON Schema 纠正字段名的大小写、下划线与连字符，例如 {@code Final_Answer}、{@code finalAnswer} 纠正为 {@code final_answer}</li>
+ *     <li>Schema 中必填的字段仍然缺失时，通过 {@link FieldCompleter} 只针对这个字段追问，提示词只包含已有内容与该字段的 Schema</li>
+ * </ol>
+ * 缺失字段超过 {@code maxFollowUps} 个，或修复与追问之后仍然无法绑定时抛出 {@link StructuredRepairException}
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+public class StructuredOutputRepairer {
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxFollowUps;
+
+    /**
+     * 按类型缓存解析后的 Schema
+     */
+    private final Map<String, JsonNode> schemas = new ConcurrentHashMap<>();
+
+    public StructuredOutputRepairer(ObjectMapper objectMapper, int maxFollowUps) {
+        this.objectMapper = objectMapper;
+        this.maxFollowUps = maxFollowUps;
+    }
+
+    public <T> RepairResult<T> repair(String raw, StructuredBinding<T> binding, FieldCompleter completer) {
+        JsonNode schema = schemas.computeIfAbsent(binding.type().getName(), name -> readSchema(binding.schema()));
+        boolean strict = true;
+        JsonNode node = readTree(raw);
+        String content = raw;
+        if (node == null) {
+            strict = false;
+            content = JsonRepair.repair(raw);
+            node = readTree(content);
+            if (node == null) {
+                throw new StructuredRepairException("本地修复后仍然不是合法的 JSON", null);
+            }
+        }
+        if (normalize(node, schema)) {
+            strict = false;
+            content = node.toString();
+        }
+
+        List<String> missing = missing(node, schema);
+        if (missing.size() > maxFollowUps) {
+            throw new StructuredRepairException("缺失字段 " + missing + " 超过追问上限 " + maxFollowUps, null);
+        }
+        long followUpTokens = 0;
+        for (String field : missing) {
+            JsonNode fieldSchema = schema.path("properties").path(field);
+            String prompt = followUpPrompt(content, field, fieldSchema);
+            String response = completer.complete(field, prompt);
+            followUpTokens += TextTokens.estimate(prompt) + TextTokens.estimate(response);
+            JsonNode value = fieldValue(response, field, fieldSchema);
+            if (value == null || value.isNull()) {
+                throw new StructuredRepairException("追问字段 " + field + " 未得到合法的值", null);
+            }
+            normalize(value, fieldSchema);
+            ((ObjectNode) node).set(field, value);
+            log.debug("追问补全字段 {}", field);
+        }
+
+        try {
+            T value = binding.read(objectMapper.treeAsTokens(node));
+            return new RepairResult<>(value, strict && missing.isEmpty(), List.copyOf(missing), followUpTokens);
+        } catch (IOException e) {
+            throw new StructuredRepairException("修复后的内容无法绑定为 " + binding.type().getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String followUpPrompt(String content, String field, JsonNode fieldSchema) {
+        return "下面是一次结构化输出的结果，其中缺少字段 " + field + "。\n"
+                + "已有内容：\n" + content + "\n"
+                + "请根据已有内容，只输出字段 " + field + " 的 JSON 值，不要输出其他内容。它需要符合 JSON Schema：" + fieldSchema;
+    }
+
+    /**
+     * 解析追问返回的字段值：先做本地修复；返回的是包含该字段的对象时取出字段；字符串字段允许直接返回文本
+     */
+    private JsonNode fieldValue(String response, String field, JsonNode fieldSchema) {
+        JsonNode value = parse(JsonRepair.repair(response));
+        if (value instanceof ObjectNode object && !"object".equals(fieldSchema.path("type").asText()) && object.has(field)) {
+            value = object.get(field);
+        }
+        if ("string".equals(fieldSchema.path("type").asText())) {
+            if (value == null && response != null && !response.isBlank()) {
+                value = TextNode.valueOf(response.strip());
+            } else if (value != null && value.isValueNode() && !value.isTextual() && !value.isNull()) {
+                value = TextNode.valueOf(value.asText());
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 按 Schema 纠正字段名
+     *
+     * @return 是否修改了字段名
+     */
+    private static boolean normalize(JsonNode node, JsonNode schema) {
+        boolean changed = false;
+        JsonNode properties = schema.path("properties");
+        if (node instanceof ObjectNode object && properties.isObject()) {
+            Map<String, String> canonical = new HashMap<>();
+            properties.fieldNames().forEachRemaining(name -> canonical.put(canonical(name), name));
+            List<String> names = new ArrayList<>();
+            object.fieldNames().forEachRemaining(names::add);
+            for (String name : names) {
+                String target = canonical.get(canonical(name));
+                if (target != null && !target.equals(name) && !object.has(target)) {
+                    object.set(target, object.remove(name));
+                    changed = true;
+                }
+            }
+            var fields = properties.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> property = fields.next();
+                if (object.has(property.getKey())) {
+                    changed |= normalize(object.get(property.getKey()), property.getValue());
+                }
+            }
+        } else if (node instanceof ArrayNode array && schema.has("items")) {
+            for (JsonNode item : array) {
+                changed |= normalize(item, schema.get("items"));
+            }
+        }
+        return changed;
+    }
+
+    private static String canonical(String name) {
+        return name.replace("_", "").replace("-", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Schema 中必填但缺失或为 null 的顶层字段
+     */
+    private static List<String> missing(JsonNode node, JsonNode schema) {
+        List<String> missing = new ArrayList<>();
+        for (JsonNode required : schema.path("required")) {
+            JsonNode value = node.get(required.asText());
+            if (value == null || value.isNull()) {
+                missing.add(required.asText());
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * 解析 JSON 对象，非法或不是对象时返回空
+     */
+    private JsonNode readTree(String text) {
+        JsonNode node = parse(text);
+        return node != null && node.isObject() ? node : null;
+    }
+
+    /**
+     * 解析任意 JSON 值，非法时返回空
+     */
+    private JsonNode parse(String text) {
+        try {
+            JsonNode node = objectMapper.readTree(text);
+            return node == null || node.isMissingNode() ? null : node;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private JsonNode readSchema(String schema) {
+        try {
+            return objectMapper.readTree(schema);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
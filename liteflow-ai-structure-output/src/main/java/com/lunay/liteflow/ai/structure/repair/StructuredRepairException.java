@@ -0,0 +1,15 @@
+package com.lunay.liteflow.ai.structure.repair;
+
+/**
+ * 本地修复与追问之后仍然无法得到合法的结构化输出，只能重新生成
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class StructuredRepairException extends RuntimeException {
+
+    public StructuredRepairException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
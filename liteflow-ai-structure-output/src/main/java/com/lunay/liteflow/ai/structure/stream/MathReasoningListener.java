@@ -0,0 +1,32 @@
+package com.lunay.liteflow.ai.structure.stream;
+
+import com.lunay.liteflow.ai.structure.output.Step;
+
+/**
+ * 流式结构化输出的回调，在读取流式响应的线程上依次调用
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public interface MathReasoningListener {
+
+    /**
+     * steps 数组中的一个元素已经闭合
+     *
+     * @param index 步骤下标，从 0 开始
+     */
+    void onStep(int index, Step step);
+
+    /**
+     * final_answer 已经完整到达
+     */
+    default void onFinalAnswer(String finalAnswer) {
+    }
+
+    /**
+     * 响应不是合法的 JSON，之后的内容不再解析
+     */
+    default void onError(StructuredStreamException exception) {
+    }
+}
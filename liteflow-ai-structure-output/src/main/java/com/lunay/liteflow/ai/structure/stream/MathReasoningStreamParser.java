@@ -0,0 +1,213 @@
+package com.lunay.liteflow.ai.structure.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.lunay.liteflow.ai.structure.binding.StructuredBinding;
+import com.lunay.liteflow.ai.structure.binding.StructuredBindingCache;
+import com.lunay.liteflow.ai.structure.output.MathReasoning;
+import com.lunay.liteflow.ai.structure.output.Step;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MathReasoning 的流式增量解析器
+ * <p>
+ * 使用 Jackson 的非阻塞解析器逐段接收模型输出，不等待完整响应：
+ * <ul>
+ *     <li>steps 数组的每个元素闭合后立即通过缓存的 {@link StructuredBinding} 绑定为 {@link Step} 并回调，首个步骤的到达时间与完整答案的长度无关</li>
+ *     <li>final_answer 到达后立即回调</li>
+ *     <li>第一个 <code>{</code> 之前与根对象闭合之后的内容被忽略，例如模型输出的代码块标记</li>
+ *     <li>其他字段跳过，不影响解析</li>
+ * </ul>
+ * 响应不是合法的 JSON 时回调 {@link MathReasoningListener#onError}，之后的内容不再解析；
+ * {@link #complete()} 在响应非法或截断时抛出 {@link StructuredStreamException}，并带有已经解析出的部分结果。
+ * 每个实例只用于一次响应，不是线程安全的
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class MathReasoningStreamParser {
+
+    private static final String STEPS = "steps";
+
+    private static final String FINAL_ANSWER = "final_answer";
+
+    private final StructuredBinding<Step> stepBinding;
+
+    private final MathReasoningListener listener;
+
+    private final JsonParser parser;
+
+    private final List<Step> steps = new ArrayList<>();
+
+    private String finalAnswer;
+
+    private State state = State.BEFORE_ROOT;
+
+    private String field;
+
+    /**
+     * 跳过未知字段或收集当前步骤时的嵌套深度
+     */
+    private int depth;
+
+    /**
+     * 当前步骤已经到达的 token
+     */
+    private TokenBuffer element;
+
+    private StructuredStreamException failure;
+
+    public MathReasoningStreamParser(StructuredBindingCache bindings, MathReasoningListener listener) {
+        this.stepBinding = bindings.forType(Step.class);
+        this.listener = listener;
+        try {
+            this.parser = bindings.getObjectMapper().getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("创建非阻塞 JSON 解析器失败", e);
+        }
+    }
+
+    /**
+     * 接收下一段模型输出
+     */
+    public void feed(String chunk) {
+        if (chunk == null || chunk.isEmpty() || state == State.DONE || state == State.FAILED) {
+            return;
+        }
+        if (state == State.BEFORE_ROOT) {
+            int start = chunk.indexOf('{');
+            if (start < 0) {
+                return;
+            }
+            chunk = chunk.substring(start);
+        }
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        ByteArrayFeeder feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while (state != State.DONE && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                handle(token);
+            }
+        } catch (JsonProcessingException e) {
+            fail("响应不是合法的 JSON: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            fail("响应解析失败: " + e.getMessage(), e);
+        } catch (StructuredStreamException e) {
+            fail(e.getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * 响应结束，返回完整的结果
+     *
+     * @throws StructuredStreamException 响应不是合法的 JSON，或者根对象尚未闭合
+     */
+    public MathReasoning complete() {
+        if (failure != null) {
+            throw failure;
+        }
+        if (state != State.DONE) {
+            throw new StructuredStreamException("响应在结构闭合之前结束，已解析 " + steps.size() + " 个步骤", partial(), null);
+        }
+        return partial();
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        switch (state) {
+            case BEFORE_ROOT -> {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new StructuredStreamException("响应的根节点必须是对象", null, null);
+                }
+                state = State.IN_ROOT;
+            }
+            case IN_ROOT -> {
+                if (token == JsonToken.END_OBJECT) {
+                    state = State.DONE;
+                } else {
+                    field = parser.currentName();
+                    state = State.FIELD_VALUE;
+                }
+            }
+            case FIELD_VALUE -> fieldValue(token);
+            case SKIP -> {
+                depth += token.isStructStart() ? 1 : token.isStructEnd() ? -1 : 0;
+                if (depth == 0) {
+                    state = State.IN_ROOT;
+                }
+            }
+            case IN_STEPS -> {
+                if (token == JsonToken.END_ARRAY) {
+                    state = State.IN_ROOT;
+                } else if (token == JsonToken.START_OBJECT) {
+                    element = new TokenBuffer(parser);
+                    element.copyCurrentEvent(parser);
+                    depth = 1;
+                    state = State.IN_STEP;
+                } else {
+                    throw new StructuredStreamException("steps 的元素必须是对象", null, null);
+                }
+            }
+            case IN_STEP -> {
+                element.copyCurrentEvent(parser);
+                depth += token.isStructStart() ? 1 : token.isStructEnd() ? -1 : 0;
+                if (depth == 0) {
+                    Step step;
+                    try (JsonParser stepParser = element.asParser()) {
+                        step = stepBinding.read(stepParser);
+                    }
+                    element = null;
+                    steps.add(step);
+                    state = State.IN_STEPS;
+                    listener.onStep(steps.size() - 1, step);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void fieldValue(JsonToken token) throws IOException {
+        if (STEPS.equals(field) && token == JsonToken.START_ARRAY) {
+            state = State.IN_STEPS;
+        } else if (token.isStructStart()) {
+            depth = 1;
+            state = State.SKIP;
+        } else {
+            if (FINAL_ANSWER.equals(field) && token != JsonToken.VALUE_NULL) {
+                finalAnswer = parser.getText();
+                listener.onFinalAnswer(finalAnswer);
+            }
+            state = State.IN_ROOT;
+        }
+    }
+
+    private void fail(String message, Throwable cause) {
+        state = State.FAILED;
+        failure = new StructuredStreamException(message, partial(), cause);
+        listener.onError(failure);
+    }
+
+    private MathReasoning partial() {
+        return new MathReasoning(List.copyOf(steps), finalAnswer);
+    }
+
+    private enum State {
+        BEFORE_ROOT,
+        IN_ROOT,
+        FIELD_VALUE,
+        SKIP,
+        IN_STEPS,
+        IN_STEP,
+        DONE,
+        FAILED
+    }
+}
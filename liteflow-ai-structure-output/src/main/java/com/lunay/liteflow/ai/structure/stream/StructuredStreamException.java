@@ -0,0 +1,25 @@
+package com.lunay.liteflow.ai.structure.stream;
+
+import com.lunay.liteflow.ai.structure.output.MathReasoning;
+import lombok.Getter;
+
+/**
+ * 流式结构化输出解析失败：响应不是合法的 JSON，或者在结构闭合之前结束
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Getter
+public class StructuredStreamException extends RuntimeException {
+
+    /**
+     * 失败之前已经解析出的部分结果
+     */
+    private final transient MathReasoning partial;
+
+    public StructuredStreamException(String message, MathReasoning partial, Throwable cause) {
+        super(message, cause);
+        this.partial = partial;
+    }
+}
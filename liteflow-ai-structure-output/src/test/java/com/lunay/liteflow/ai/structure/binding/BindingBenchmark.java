@@ -0,0 +1,110 @@
+package com.lunay.liteflow.ai.structure.binding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lunay.liteflow.ai.structure.output.MathReasoning;
+import com.lunay.liteflow.ai.structure.output.Step;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 结构化输出绑定方式的耗时与分配量对比，同一个 MathReasoning JSON 分别使用三种方式反序列化，
+ * 分配量看 GC 分析器输出的 {@code gc.alloc.rate.norm}（B/op）：
+ * <ul>
+ *     <li>perRequest：每次按类名加载类型、通过反射生成 Schema，再经过通用的 Jackson 反序列化</li>
+ *     <li>cachedReader：类型、Schema 与 Jackson 读取器均来自 {@link StructuredBindingCache}，即 {@code generated-binder: false} 的默认配置</li>
+ *     <li>generatedBinder：缓存中使用 liteflow-ai-json-binder 在编译期生成的绑定器</li>
+ * </ul>
+ * 运行：{@code mvn -pl liteflow-ai-structure-output test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.lunay.liteflow.ai.structure.binding.BindingBenchmark}，或在 IDE 中直接运行 main 方法
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BindingBenchmark {
+
+    private static final String TYPE_NAME = MathReasoning.class.getName();
+
+    @Param({"10", "1000"})
+    public int steps;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private byte[] json;
+
+    private StructuredBinding<?> cachedReader;
+
+    private StructuredBinding<?> generated;
+
+    @Setup
+    public void setUp() throws Exception {
+        json = objectMapper.writeValueAsBytes(answer(steps));
+        cachedReader = new StructuredBindingCache(objectMapper, false).forName(TYPE_NAME);
+        generated = new StructuredBindingCache(objectMapper, true).forName(TYPE_NAME);
+        if (generated.binder() == null) {
+            throw new IllegalStateException("未找到 " + TYPE_NAME + " 的生成绑定器，请确认编译时启用了 liteflow-ai-json-binder 注解处理器");
+        }
+        // 三种方式的结果一致，避免比较的是解析失败的路径
+        for (Object result : List.of(perRequest(), cachedReader(), generatedBinder())) {
+            if (((MathReasoning) result).getSteps().size() != steps) {
+                throw new IllegalStateException("解析出的步骤数不正确: " + ((MathReasoning) result).getSteps().size());
+            }
+        }
+    }
+
+    @Benchmark
+    public Object perRequest() throws IOException, ClassNotFoundException {
+        Class<?> type = Class.forName(TYPE_NAME);
+        JsonSchemas.of(type);
+        return objectMapper.readValue(json, type);
+    }
+
+    @Benchmark
+    public Object cachedReader() throws IOException {
+        return cachedReader.read(json);
+    }
+
+    @Benchmark
+    public Object generatedBinder() throws IOException {
+        return generated.read(json);
+    }
+
+    private static MathReasoning answer(int size) {
+        List<Step> steps = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            steps.add(new Step("第 " + i + " 步：将方程两边同时减去 9，得到 8x = 23", "8x = 23"));
+        }
+        return new MathReasoning(steps, "x = 23/8, y = -15/8");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BindingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
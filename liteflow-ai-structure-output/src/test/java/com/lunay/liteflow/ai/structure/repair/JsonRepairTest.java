@@ -0,0 +1,50 @@
+package com.lunay.liteflow.ai.structure.repair;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * JSON 本地修复测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class JsonRepairTest {
+
+    @Test
+    void repairsStructuralDefects() {
+        assertEquals("{\"a\": 1}", JsonRepair.repair("```json\n{\"a\": 1}\n```"));
+        assertEquals("{\"a\": 1}", JsonRepair.repair("好的：{\"a\": 1} 希望有帮助"));
+        assertEquals("{\"a\": [1, 2]}", JsonRepair.repair("{\"a\": [1, 2,],}"));
+        assertEquals("{\"a\": [1, 2]}", JsonRepair.repair("{\"a\": [1, 2}"));
+        assertEquals("{\"a\": \"x\"}", JsonRepair.repair("{\"a\": \"x\", \"b\""));
+        assertEquals("{\"a\": \"x\"}", JsonRepair.repair("{\"a\": \"x\", \"b\":"));
+    }
+
+    /**
+     * 截断在字符串或数字中间时，丢弃这个不完整的成员，而不是保留被截短的值
+     */
+    @Test
+    void dropsMemberTruncatedInsideValue() {
+        assertEquals("{\"a\": \"x\"}", JsonRepair.repair("{\"a\": \"x\", \"b\": \"x = 23/8"));
+        assertEquals("{\"a\": \"x\"}", JsonRepair.repair("{\"a\": \"x\", \"b\": \"escaped \\\""));
+        assertEquals("{\"a\": 1}", JsonRepair.repair("{\"a\": 1, \"b\": 12"));
+        assertEquals("{\"a\": 1}", JsonRepair.repair("{\"a\": 1, \"b\": -"));
+        assertEquals("{\"a\": [1, 2]}", JsonRepair.repair("{\"a\": [1, 2, \"thr"));
+        assertEquals("{\"a\": [1]}", JsonRepair.repair("{\"a\": [1, 23"));
+        assertEquals("{\"a\": [{\"b\": \"x\"}]}", JsonRepair.repair("{\"a\": [{\"b\": \"x\", \"c\": \"y"));
+        assertEquals("{}", JsonRepair.repair("{\"a\": \"trunc"));
+    }
+
+    /**
+     * true、false 与 null 在末尾同样可以确定是完整的
+     */
+    @Test
+    void keepsCompleteKeywordAtEnd() {
+        assertEquals("{\"a\": 1, \"b\": true}", JsonRepair.repair("{\"a\": 1, \"b\": true"));
+        assertEquals("{\"a\": [null]}", JsonRepair.repair("{\"a\": [null"));
+        assertEquals("{\"a\": 1}", JsonRepair.repair("{\"a\": 1, \"b\": tr"));
+    }
+}
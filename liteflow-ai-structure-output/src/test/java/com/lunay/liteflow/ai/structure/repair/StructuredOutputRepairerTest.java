@@ -0,0 +1,59 @@
+package com.lunay.liteflow.ai.structure.repair;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lunay.liteflow.ai.structure.binding.StructuredBinding;
+import com.lunay.liteflow.ai.structure.binding.StructuredBindingCache;
+import com.lunay.liteflow.ai.structure.output.MathReasoning;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * 结构化输出修复测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class StructuredOutputRepairerTest {
+
+    private static final String STEPS = "{\"steps\": [{\"explanation\": \"两边同时减去 9\", \"output\": \"8x = 23\"}]";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final StructuredBinding<MathReasoning> binding = new StructuredBindingCache(objectMapper, false).forType(MathReasoning.class);
+
+    private final StructuredOutputRepairer repairer = new StructuredOutputRepairer(objectMapper, 1);
+
+    /**
+     * 截断在 final_answer 的字符串中间时，被截短的答案不会作为结果返回，而是追问这个字段
+     */
+    @Test
+    void followsUpFieldTruncatedInsideString() {
+        List<String> asked = new ArrayList<>();
+        RepairResult<MathReasoning> result = repairer.repair(STEPS + ", \"final_answer\": \"x = 23/8", binding, (field, prompt) -> {
+            asked.add(field);
+            return "\"x = 23/8, y = -15/8\"";
+        });
+
+        assertEquals(List.of("final_answer"), asked);
+        assertEquals(List.of("final_answer"), result.followUpFields());
+        assertEquals("x = 23/8, y = -15/8", result.value().getFinalAnswer());
+        assertEquals(1, result.value().getSteps().size());
+        assertFalse(result.strict());
+    }
+
+    @Test
+    void repairsLocallyWhenOnlyBracketsAreMissing() {
+        RepairResult<MathReasoning> result = repairer.repair(STEPS + ", \"final_answer\": \"x = 23/8\"", binding, (field, prompt) -> {
+            throw new AssertionError("不应追问 " + field);
+        });
+
+        assertEquals("x = 23/8", result.value().getFinalAnswer());
+        assertEquals(List.of(), result.followUpFields());
+    }
+}
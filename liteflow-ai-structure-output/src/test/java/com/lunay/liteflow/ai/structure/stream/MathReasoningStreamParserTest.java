@@ -0,0 +1,206 @@
+package com.lunay.liteflow.ai.structure.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lunay.liteflow.ai.structure.binding.StructuredBindingCache;
+import com.lunay.liteflow.ai.structure.output.MathReasoning;
+import com.lunay.liteflow.ai.structure.output.Step;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 流式结构化输出解析测试，包含代码块、非法与截断的输出
+ * <p>
+ * 输出按每 4 个字符一段输入，与模型流式响应的片段长度相当
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class MathReasoningStreamParserTest {
+
+    private static final int CHUNK = 4;
+
+    private static final String STEP_1 = "{\"explanation\": \"两边同时减去 9\", \"output\": \"8x = 23\"}";
+
+    private static final String STEP_2 = "{\"explanation\": \"两边同时除以 8\", \"output\": \"x = 23/8\"}";
+
+    private static final String STEP_3 = "{\"explanation\": \"代入 x + y = 1\", \"output\": \"y = -15/8\"}";
+
+    private final StructuredBindingCache bindings = new StructuredBindingCache(new ObjectMapper(), false);
+
+    private final Recorder recorder = new Recorder();
+
+    private final MathReasoningStreamParser parser = new MathReasoningStreamParser(bindings, recorder);
+
+    @Test
+    void completeOutput() {
+        stream("{\"steps\": [" + STEP_1 + ", " + STEP_2 + ", " + STEP_3 + "], \"final_answer\": \"x = 23/8, y = -15/8\"}");
+
+        MathReasoning result = parser.complete();
+
+        assertEquals(List.of(0, 1, 2), recorder.indexes);
+        assertEquals(List.of("8x = 23", "x = 23/8", "y = -15/8"), recorder.steps.stream().map(Step::getOutput).toList());
+        assertEquals(recorder.steps, result.getSteps());
+        assertEquals("x = 23/8, y = -15/8", result.getFinalAnswer());
+        assertEquals(List.of("x = 23/8, y = -15/8"), recorder.finalAnswers);
+        assertTrue(recorder.errors.isEmpty());
+    }
+
+    /**
+     * 根对象之前与之后的代码块标记被忽略
+     */
+    @Test
+    void codeFenceIsIgnored() {
+        stream("```json\n{\"steps\": [" + STEP_1 + "], \"final_answer\": \"x = 23/8\"}\n```");
+
+        MathReasoning result = parser.complete();
+
+        assertEquals(1, recorder.steps.size());
+        assertEquals("x = 23/8", result.getFinalAnswer());
+    }
+
+    /**
+     * 答案在步骤之前、带有未知的嵌套字段，字符串中转义的引号与括号不影响结构
+     */
+    @Test
+    void answerFirstWithExtraField() {
+        stream("{\"final_answer\": \"x = 23/8\", \"notes\": {\"unit\": [\"none\"]}, "
+                + "\"steps\": [{\"explanation\": \"含有转义的 \\\"}]\\\" 字符\", \"output\": \"8x = 23\"}]}");
+
+        MathReasoning result = parser.complete();
+
+        assertEquals(1, result.getSteps().size());
+        assertEquals("含有转义的 \"}]\" 字符", result.getSteps().get(0).getExplanation());
+        assertEquals("x = 23/8", result.getFinalAnswer());
+    }
+
+    /**
+     * 截断在步骤中间：已闭合的步骤已经输出，complete 抛出异常并带有部分结果
+     */
+    @Test
+    void truncatedInsideStep() {
+        stream("{\"steps\": [" + STEP_1 + ", {\"explanation\": \"两边同时除");
+
+        StructuredStreamException exception = assertThrows(StructuredStreamException.class, parser::complete);
+
+        assertEquals(1, recorder.steps.size());
+        assertEquals(recorder.steps, exception.getPartial().getSteps());
+        assertNull(exception.getPartial().getFinalAnswer());
+        // 截断不是非法的 JSON，只在响应结束时报告
+        assertTrue(recorder.errors.isEmpty());
+    }
+
+    @Test
+    void truncatedBeforeFinalAnswer() {
+        stream("{\"steps\": [" + STEP_1 + ", " + STEP_2 + "], \"final_ans");
+
+        StructuredStreamException exception = assertThrows(StructuredStreamException.class, parser::complete);
+
+        assertEquals(2, recorder.steps.size());
+        assertEquals(2, exception.getPartial().getSteps().size());
+        assertTrue(exception.getMessage().contains("已解析 2 个步骤"), exception.getMessage());
+    }
+
+    /**
+     * 非法的 JSON 立即回调 onError，之后的内容不再解析，complete 抛出同一个异常
+     */
+    @Test
+    void trailingCommaFailsImmediately() {
+        stream("{\"steps\": [" + STEP_1 + ",], \"final_answer\": \"x = 23/8\"}");
+
+        StructuredStreamException exception = assertThrows(StructuredStreamException.class, parser::complete);
+
+        assertEquals(1, recorder.steps.size());
+        assertEquals(List.of(exception), recorder.errors);
+        assertTrue(exception.getMessage().startsWith("响应不是合法的 JSON"), exception.getMessage());
+        assertTrue(recorder.finalAnswers.isEmpty());
+        parser.feed(STEP_2);
+        assertSame(exception, assertThrows(StructuredStreamException.class, parser::complete));
+        assertEquals(1, recorder.errors.size());
+    }
+
+    @Test
+    void stepMustBeObject() {
+        stream("{\"steps\": [\"8x = 23\"], \"final_answer\": \"x = 23/8\"}");
+
+        StructuredStreamException exception = assertThrows(StructuredStreamException.class, parser::complete);
+
+        assertTrue(recorder.steps.isEmpty());
+        assertEquals("steps 的元素必须是对象", exception.getMessage());
+        assertEquals(List.of(exception), recorder.errors);
+    }
+
+    /**
+     * 没有任何 JSON 对象的回复在响应结束时失败
+     */
+    @Test
+    void notJson() {
+        stream("抱歉，我无法以 JSON 格式回答这个问题。");
+
+        StructuredStreamException exception = assertThrows(StructuredStreamException.class, parser::complete);
+
+        assertTrue(recorder.steps.isEmpty());
+        assertTrue(exception.getPartial().getSteps().isEmpty());
+    }
+
+    /**
+     * 首个步骤在它闭合时输出，不等待其余 29 个步骤与答案
+     */
+    @Test
+    void firstStepArrivesBeforeResponseEnds() {
+        StringBuilder output = new StringBuilder("{\"steps\": [").append(STEP_1);
+        int firstStepEnd = output.length();
+        for (int i = 1; i < 30; i++) {
+            output.append(", ").append(STEP_2);
+        }
+        output.append("], \"final_answer\": \"x = 23/8\"}");
+
+        stream(output.substring(0, firstStepEnd));
+        assertEquals(1, recorder.steps.size());
+        assertEquals("8x = 23", recorder.steps.get(0).getOutput());
+
+        stream(output.substring(firstStepEnd));
+        assertEquals(30, parser.complete().getSteps().size());
+    }
+
+    private void stream(String output) {
+        for (int i = 0; i < output.length(); i += CHUNK) {
+            parser.feed(output.substring(i, Math.min(output.length(), i + CHUNK)));
+        }
+    }
+
+    private static class Recorder implements MathReasoningListener {
+
+        private final List<Integer> indexes = new ArrayList<>();
+
+        private final List<Step> steps = new ArrayList<>();
+
+        private final List<String> finalAnswers = new ArrayList<>();
+
+        private final List<StructuredStreamException> errors = new ArrayList<>();
+
+        @Override
+        public void onStep(int index, Step step) {
+            indexes.add(index);
+            steps.add(step);
+        }
+
+        @Override
+        public void onFinalAnswer(String finalAnswer) {
+            finalAnswers.add(finalAnswer);
+        }
+
+        @Override
+        public void onError(StructuredStreamException exception) {
+            errors.add(exception);
+        }
+    }
+}
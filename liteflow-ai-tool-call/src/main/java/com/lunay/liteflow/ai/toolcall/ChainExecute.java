@@ -1,5 +1,7 @@
 package com.lunay.liteflow.ai.toolcall;
 
+import com.lunay.liteflow.ai.toolcall.config.ToolSelectProperties;
+import com.lunay.liteflow.ai.toolcall.select.ToolSelector;
 import com.yomahub.liteflow.ai.context.ChatContext;
 import com.yomahub.liteflow.ai.engine.model.chat.message.AssistantMessage;
 import com.yomahub.liteflow.ai.engine.tool.registry.ToolRegistry;
@@ -8,8 +10,10 @@ import com.yomahub.liteflow.flow.LiteflowResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+
 /**
  * 流程触发器
  *
@@ -20,15 +24,23 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 @Slf4j
+// 运行流式工具调用对比时不调用真实模型
+@ConditionalOnProperty(prefix = "toolcall.stream", name = "benchmark", havingValue = "false", matchIfMissing = true)
 public class ChainExecute implements CommandLineRunner {
 
+    private static final String QUESTION = "请你在 users 表中查找 id 为 123的用户，确定其存在后，再删除该用户。";
+
     private final FlowExecutor flowExecutor;
     private final ToolRegistry toolRegistry;
+    private final ToolSelector toolSelector;
+    private final ToolSelectProperties toolSelectProperties;
 
     @Override
     public void run(String... args) throws Exception {
         // 执行 chat 流程，其中 ChatContext 是 LiteFlow-AI 提供的默认上下文类型，目前必须进行传入
-        ChatContext chatContext = new ChatContext(toolRegistry);
+        // 开启动态工具选择时，上下文只包含与问题相关的工具
+        ChatContext chatContext = new ChatContext(toolSelectProperties.isEnabled() ? toolSelector.selectRegistry(QUESTION) : toolRegistry);
+        chatContext.setData("question", QUESTION);
         LiteflowResponse response = flowExecutor.execute2Resp("chain1", null, chatContext);
         // 获取到执行流程完毕的上下文
         if (response.isSuccess()) {
@@ -1,15 +1,30 @@
 package com.lunay.liteflow.ai.toolcall.config;
 
+import com.lunay.liteflow.ai.toolcall.engine.ToolExecutionEngine;
+import com.lunay.liteflow.ai.toolcall.engine.ToolResultCache;
+import com.lunay.liteflow.ai.toolcall.engine.ToolSpec;
+import com.lunay.liteflow.ai.toolcall.select.ToolSelector;
 import com.lunay.liteflow.ai.toolcall.service.MysqlService;
 import com.lunay.liteflow.ai.toolcall.service.SqlInput;
+import com.lunay.liteflow.ai.toolprocessor.ToolDescriptor;
+import com.lunay.liteflow.ai.toolprocessor.ToolDescriptorProvider;
 import com.yomahub.liteflow.ai.engine.tool.function.FunctionToolCallback;
-import com.yomahub.liteflow.ai.engine.tool.registry.ScanningToolRegistry;
 import com.yomahub.liteflow.ai.engine.tool.registry.StaticToolRegistry;
 import com.yomahub.liteflow.ai.engine.tool.registry.ToolRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+
 /**
  * Tool Call 配置类
  *
@@ -17,43 +32,112 @@ import org.springframework.context.annotation.Primary;
  * @since 2.16.0
  */
 
+@Slf4j
 @Configuration
+@EnableConfigurationProperties({ToolEngineProperties.class, ToolSelectProperties.class, ToolStreamProperties.class})
 public class ToolCallConfiguration {
 
     /**
-     * 方式 1：通过包扫描初始化工具注册中心
+     * 工具执行引擎，为工具调用提供隔离舱、超时、结果缓存与同轮并行执行
      */
-    @Bean("scanningToolRegistry")
-    public ToolRegistry scanningToolRegistry() {
-        ScanningToolRegistry toolRegistry = new ScanningToolRegistry("com.lunay.liteflow.ai.toolcall.service");
-        assert toolRegistry.getAllTools().size() == 2;
-        return toolRegistry;
+    @Bean(destroyMethod = "close")
+    public ToolExecutionEngine toolExecutionEngine(ToolEngineProperties properties, MeterRegistry meterRegistry) {
+        ToolResultCache resultCache = properties.isCacheEnabled() ? new ToolResultCache(meterRegistry) : null;
+        return new ToolExecutionEngine(properties.getDefaultTimeout(), properties.getBulkheads(), resultCache);
     }
 
     /**
-     * 方式 2：通过手动注册初始化工具注册中心
+     * 按请求动态选择工具，只把与问题相关的工具定义发送给模型
      */
-    @Bean("functionToolRegistry")
+    @Bean
+    public ToolSelector toolSelector(ToolSelectProperties properties) {
+        return new ToolSelector(properties.getTopK(), properties.getTokenBudget());
+    }
+
+    /**
+     * 工具注册中心：加载编译期生成的工具描述，全部工具经过执行引擎调用，并加入动态工具选择
+     * <p>
+     * 注解处理器为每个声明了 {@code @Tool} 方法的类生成描述、入参 Schema 与调用器，启动时不扫描类路径，调用时不经过反射。
+     * 需要隔离舱、顺序执行或按资源失效的工具在这里手动声明执行策略，其余工具使用引擎的默认策略，
+     * 结果缓存由 {@code toolcall.engine.cache} 按工具名称声明
+     */
+    @Bean("generatedToolRegistry")
     @Primary
-    public ToolRegistry functionToolRegistry(MysqlService mysqlService) {
+    public ToolRegistry generatedToolRegistry(BeanFactory beanFactory, MysqlService mysqlService, ToolExecutionEngine engine,
+                                              ToolSelector toolSelector, ToolEngineProperties properties) {
+        long start = System.nanoTime();
         StaticToolRegistry toolRegistry = new StaticToolRegistry();
-        toolRegistry.register(
-                FunctionToolCallback
-                        .builder(mysqlService::selectData)
-                        .name("mysql_select_tool")
-                        .inputType(SqlInput.class)
-                        .description("数据库选择工具")
-                        .build()
-        );
-        toolRegistry.register(
-                FunctionToolCallback
-                        .builder(mysqlService::deleteData)
-                        .name("mysql_delete_tool")
-                        .inputType(SqlInput.class)
-                        .description("数据库删除工具")
-                        .build()
-        );
-        assert toolRegistry.getAllTools().size() == 2;
+        // 工具定义的 token 数按编译期生成的 Schema 估算
+        Map<String, String> schemas = generatedSchemas();
+        // 查询工具：所有 mysql_* 工具共享同一个隔离舱，最多 8 个并发；结果缓存 1 分钟，按表失效；只读，流式响应中可以提前执行
+        ToolSpec<SqlInput> selectTool = ToolSpec.builder("mysql_select_tool", SqlInput.class, mysqlService::selectData)
+                .description("数据库查询工具，按 ID 查找指定表中的记录")
+                .bulkhead("mysql", 8)
+                .timeout(Duration.ofSeconds(5))
+                .cached(Duration.ofMinutes(1), 1000, ToolCallConfiguration::table)
+                .readOnly()
+                .build();
+        register(toolRegistry, engine, toolSelector, selectTool, schemas.getOrDefault(selectTool.getName(), ""));
+        // 删除工具：只能顺序执行，不与同一轮的其他调用并行；执行后使同一张表的查询缓存失效
+        ToolSpec<SqlInput> deleteTool = ToolSpec.builder("mysql_delete_tool", SqlInput.class, mysqlService::deleteData)
+                .description("数据库删除工具，按 ID 删除指定表中的记录")
+                .bulkhead("mysql", 8)
+                .timeout(Duration.ofSeconds(5))
+                .sequential()
+                .invalidates(ToolCallConfiguration::table)
+                .build();
+        register(toolRegistry, engine, toolSelector, deleteTool, schemas.getOrDefault(deleteTool.getName(), ""));
+        // 其余工具直接使用生成的调用器
+        for (ToolDescriptorProvider provider : ServiceLoader.load(ToolDescriptorProvider.class)) {
+            Object target = beanFactory.getBean(provider.targetType());
+            for (ToolDescriptor descriptor : provider.descriptors()) {
+                if (engine.getTool(descriptor.name()) == null) {
+                    ToolSpec<?> spec = generatedSpec(descriptor, descriptor.inputType(), target, properties.getCache().get(descriptor.name()));
+                    register(toolRegistry, engine, toolSelector, spec, descriptor.inputSchema());
+                }
+            }
+        }
+        log.info("加载 {} 个工具，耗时 {} ms", toolRegistry.getAllTools().size(), (System.nanoTime() - start) / 1_000_000);
         return toolRegistry;
     }
+
+    private static Map<String, String> generatedSchemas() {
+        Map<String, String> schemas = new HashMap<>();
+        for (ToolDescriptorProvider provider : ServiceLoader.load(ToolDescriptorProvider.class)) {
+            provider.descriptors().forEach(descriptor -> schemas.put(descriptor.name(), descriptor.inputSchema()));
+        }
+        return schemas;
+    }
+
+    private static <I> ToolSpec<I> generatedSpec(ToolDescriptor descriptor, Class<I> inputType, Object target, ToolEngineProperties.ToolCache cache) {
+        ToolSpec.Builder<I> builder = ToolSpec.builder(descriptor.name(), inputType, (I input) -> descriptor.invoker().invoke(target, input))
+                .description(descriptor.description());
+        if (cache != null) {
+            // 生成的工具没有声明涉及的资源，缓存只按有效期失效
+            builder.cached(cache.getTtl(), cache.getMaxEntries(), null);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 将工具注册到执行引擎，带有执行策略的处理函数同时放入注册中心与工具选择器
+     */
+    private static <I> void register(StaticToolRegistry toolRegistry, ToolExecutionEngine engine, ToolSelector toolSelector,
+                                     ToolSpec<I> spec, String inputSchema) {
+        var callback = FunctionToolCallback
+                .builder(engine.register(spec))
+                .name(spec.getName())
+                .inputType(spec.getInputType())
+                .description(spec.getDescription())
+                .build();
+        toolRegistry.register(callback);
+        toolSelector.add(spec.getName(), spec.getDescription(), inputSchema, registry -> registry.register(callback));
+    }
+
+    /**
+     * 工具调用涉及的资源：表名不区分大小写
+     */
+    private static String table(SqlInput input) {
+        return "mysql:" + String.valueOf(input.getTableName()).toLowerCase(Locale.ROOT);
+    }
 }
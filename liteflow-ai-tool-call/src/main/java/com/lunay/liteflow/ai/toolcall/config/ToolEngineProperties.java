@@ -0,0 +1,54 @@
+package com.lunay.liteflow.ai.toolcall.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 工具执行引擎配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "toolcall.engine")
+public class ToolEngineProperties {
+
+    /**
+     * 工具未指定超时时间时使用的默认值
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 按隔离舱名称覆盖注册时声明的并发上限
+     */
+    private Map<String, Integer> bulkheads = new HashMap<>();
+
+    /**
+     * 是否启用工具结果缓存，关闭后忽略注册时声明的缓存
+     */
+    private boolean cacheEnabled = true;
+
+    /**
+     * 编译期生成的工具的结果缓存：工具名称 -> 缓存配置；手动注册的工具在 {@code ToolSpec} 中声明
+     */
+    private Map<String, ToolCache> cache = new HashMap<>();
+
+    @Data
+    public static class ToolCache {
+
+        /**
+         * 缓存有效期
+         */
+        private Duration ttl = Duration.ofMinutes(1);
+
+        /**
+         * 最大条目数
+         */
+        private int maxEntries = 1000;
+    }
+}
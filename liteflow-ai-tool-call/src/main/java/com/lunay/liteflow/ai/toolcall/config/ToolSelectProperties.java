@@ -0,0 +1,31 @@
+package com.lunay.liteflow.ai.toolcall.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 动态工具选择配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "toolcall.select")
+public class ToolSelectProperties {
+
+    /**
+     * 是否按请求动态选择工具，关闭后每次请求发送全部工具
+     */
+    private boolean enabled = true;
+
+    /**
+     * 每次请求最多附带的工具数
+     */
+    private int topK = 5;
+
+    /**
+     * 每次请求附带的工具定义最多占用的 token 数
+     */
+    private long tokenBudget = 2000;
+}
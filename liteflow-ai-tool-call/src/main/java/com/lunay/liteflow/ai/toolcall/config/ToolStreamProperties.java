@@ -0,0 +1,43 @@
+package com.lunay.liteflow.ai.toolcall.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 流式工具调用配置
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Data
+@ConfigurationProperties(prefix = "toolcall.stream")
+public class ToolStreamProperties {
+
+    /**
+     * 是否在启动时运行流式工具调用的延迟对比
+     */
+    private boolean benchmark = false;
+
+    /**
+     * 对比的轮数
+     */
+    private int benchmarkRounds = 10;
+
+    /**
+     * 模拟模型相邻两个 token 的平均间隔
+     */
+    private Duration tokenInterval = Duration.ofMillis(25);
+
+    /**
+     * 模拟模型 token 间隔的随机抖动上限
+     */
+    private Duration tokenJitter = Duration.ofMillis(15);
+
+    /**
+     * 模拟数据库一次调用的耗时
+     */
+    private Duration toolLatency = Duration.ofMillis(300);
+}
@@ -0,0 +1,63 @@
+package com.lunay.liteflow.ai.toolcall.engine;
+
+/**
+ * 增量判断 JSON 对象是否完整
+ * <p>
+ * 只跟踪字符串、转义与括号深度，不构建对象；最外层的对象或数组闭合时即认为完整，
+ * 之后的片段不再改变结果。片段本身是否为合法的 JSON 由执行前的解析判断
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class JsonCompletionScanner {
+
+    private int depth;
+
+    private boolean started;
+
+    private boolean inString;
+
+    private boolean escaped;
+
+    private boolean complete;
+
+    /**
+     * 接收下一段内容
+     *
+     * @return 到目前为止的内容是否已经是一个完整的值
+     */
+    boolean feed(CharSequence chunk) {
+        for (int i = 0; i < chunk.length() && !complete; i++) {
+            char c = chunk.charAt(i);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> inString = true;
+                case '{', '[' -> {
+                    depth++;
+                    started = true;
+                }
+                case '}', ']' -> {
+                    depth--;
+                    complete = started && depth == 0;
+                }
+                default -> {
+                }
+            }
+        }
+        return complete;
+    }
+
+    boolean isComplete() {
+        return complete;
+    }
+}
@@ -0,0 +1,132 @@
+package com.lunay.liteflow.ai.toolcall.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 一轮流式回复中的工具调用
+ * <p>
+ * 按到达顺序接收 {@link ToolCallDelta}，并增量判断每个调用的参数是否完整。开启提前执行时，
+ * 参数完整的调用满足以下条件即立即开始执行，不等待响应结束：
+ * <ul>
+ *     <li>工具声明为 {@link ToolSpec.Builder#readOnly() 只读}</li>
+ *     <li>本轮在它之前的调用全部为只读工具，保证写操作之后的读取仍然在写操作完成后执行</li>
+ * </ul>
+ * 响应结束后调用 {@link #complete()}，其余调用按 {@link ToolExecutionEngine#executeAll} 的规则执行；
+ * 提前执行之后参数又收到了新的片段时，丢弃提前执行的结果并重新执行
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+public class StreamingToolCalls {
+
+    private final ToolExecutionEngine engine;
+
+    private final boolean speculative;
+
+    private final List<PendingCall> calls = new ArrayList<>();
+
+    StreamingToolCalls(ToolExecutionEngine engine, boolean speculative) {
+        this.engine = engine;
+        this.speculative = speculative;
+    }
+
+    /**
+     * 接收一个增量片段，由读取流式响应的线程依次调用
+     */
+    public void accept(ToolCallDelta delta) {
+        while (calls.size() <= delta.index()) {
+            calls.add(new PendingCall());
+        }
+        PendingCall call = calls.get(delta.index());
+        if (delta.id() != null) {
+            call.id = delta.id();
+        }
+        if (delta.name() != null) {
+            call.name = delta.name();
+        }
+        if (delta.arguments() == null || delta.arguments().isEmpty()) {
+            return;
+        }
+        call.arguments.append(delta.arguments());
+        if (call.scanner.isComplete()) {
+            // 参数闭合之后的片段只可能是空白，其余内容在 complete 时与提前执行的参数比较
+            return;
+        }
+        if (call.scanner.feed(delta.arguments()) && speculative) {
+            speculate(delta.index());
+        }
+    }
+
+    /**
+     * 响应结束，执行其余调用并按调用顺序返回全部结果
+     */
+    public List<ToolResult> complete() {
+        List<ToolInvocation> invocations = new ArrayList<>(calls.size());
+        Map<Integer, ToolExecutionEngine.Running> started = new HashMap<>();
+        for (int i = 0; i < calls.size(); i++) {
+            PendingCall call = calls.get(i);
+            ToolInvocation invocation = call.invocation();
+            invocations.add(invocation);
+            if (call.speculated == null) {
+                continue;
+            }
+            if (call.speculated.invocation().arguments().strip().equals(invocation.arguments().strip())) {
+                started.put(i, call.speculated);
+            } else {
+                log.warn("工具调用 {} 的参数在提前执行后发生变化，重新执行", invocation.id());
+                call.speculated.future().cancel(true);
+            }
+        }
+        if (!started.isEmpty()) {
+            log.debug("本轮 {} 个工具调用中 {} 个已提前执行", invocations.size(), started.size());
+        }
+        return engine.executeAll(invocations, started);
+    }
+
+    /**
+     * 响应中断，取消已经提前开始的调用
+     */
+    public void cancel() {
+        for (PendingCall call : calls) {
+            if (call.speculated != null) {
+                call.speculated.future().cancel(true);
+            }
+        }
+    }
+
+    private void speculate(int index) {
+        for (int i = 0; i <= index; i++) {
+            PendingCall call = calls.get(i);
+            ToolSpec<?> spec = call.name == null ? null : engine.getTool(call.name);
+            if (spec == null || !spec.isReadOnly()) {
+                return;
+            }
+        }
+        PendingCall call = calls.get(index);
+        call.speculated = engine.speculate(index, engine.getTool(call.name), call.invocation());
+    }
+
+    private static class PendingCall {
+
+        private final StringBuilder arguments = new StringBuilder();
+
+        private final JsonCompletionScanner scanner = new JsonCompletionScanner();
+
+        private String id;
+
+        private String name;
+
+        private ToolExecutionEngine.Running speculated;
+
+        private ToolInvocation invocation() {
+            return new ToolInvocation(id, name, arguments.toString());
+        }
+    }
+}
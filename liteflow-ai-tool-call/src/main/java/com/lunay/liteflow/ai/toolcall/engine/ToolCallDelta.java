@@ -0,0 +1,14 @@
+package com.lunay.liteflow.ai.toolcall.engine;
+
+/**
+ * 流式响应中一个工具调用的增量片段，与 OpenAI 兼容接口的 {@code delta.tool_calls[]} 对应
+ *
+ * @param index     调用在本轮回复中的下标
+ * @param id        调用 ID，只在该调用的第一个片段中出现
+ * @param name      工具名称，只在该调用的第一个片段中出现
+ * @param arguments 参数 JSON 的一段，可能为空
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+public record ToolCallDelta(int index, String id, String name, String arguments) {
+}
@@ -0,0 +1,283 @@
+package com.lunay.liteflow.ai.toolcall.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * 工具执行引擎
+ * <p>
+ * 每次调用都在虚拟线程上执行，并受所属隔离舱的并发上限和单次调用超时约束：
+ * <ul>
+ *     <li>{@link #register} 返回带有这些约束的处理函数，用于注册到 LiteFlow-AI 的 ToolRegistry，框架的工具调用循环逐个调用这些处理函数</li>
+ *     <li>{@link #executeAll} 供自行驱动工具调用循环时使用，并行执行模型在一轮回复中发起的多个调用，结果按原始调用顺序返回；
+ *     顺序执行的工具会等待之前的调用全部完成，并在完成后才开始之后的调用</li>
+ *     <li>{@link #openStream} 随流式响应逐段接收调用，只读工具在参数完整后立即开始执行，响应结束时再按 {@link #executeAll} 的规则执行其余调用</li>
+ * </ul>
+ * 声明了缓存的工具在两种方式下都会先查询 {@link ToolResultCache}，命中时不占用隔离舱
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+public class ToolExecutionEngine implements AutoCloseable {
+
+    private final Map<String, ToolSpec<?>> tools = new ConcurrentHashMap<>();
+
+    private final Map<String, Semaphore> bulkheads = new ConcurrentHashMap<>();
+
+    private final Map<String, Semaphore> exclusives = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tool-", 0).factory());
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Duration defaultTimeout;
+
+    /**
+     * 按隔离舱名称覆盖并发上限
+     */
+    private final Map<String, Integer> bulkheadLimits;
+
+    /**
+     * 工具结果缓存，为空时忽略工具声明的缓存
+     */
+    private final ToolResultCache resultCache;
+
+    public ToolExecutionEngine(Duration defaultTimeout, Map<String, Integer> bulkheadLimits, ToolResultCache resultCache) {
+        this.defaultTimeout = defaultTimeout;
+        this.bulkheadLimits = bulkheadLimits;
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * 注册工具
+     *
+     * @return 带有隔离舱与超时约束的处理函数
+     */
+    public <I> Function<I, String> register(ToolSpec<I> spec) {
+        // 先校验执行策略，校验失败的工具不会留在引擎中
+        if (spec.isReadOnly() && (spec.isSequential() || spec.isInvalidates())) {
+            throw new IllegalStateException("只读工具 " + spec.getName() + " 不能声明为顺序执行或写操作");
+        }
+        if (spec.getCacheTtl() != null && spec.isInvalidates()) {
+            throw new IllegalStateException("写操作工具 " + spec.getName() + " 不能缓存结果");
+        }
+        if (tools.putIfAbsent(spec.getName(), spec) != null) {
+            throw new IllegalStateException("工具 " + spec.getName() + " 已注册");
+        }
+        int limit = bulkheadLimits.getOrDefault(spec.getBulkhead(), spec.getMaxConcurrent());
+        bulkheads.computeIfAbsent(spec.getBulkhead(), key -> new Semaphore(limit, true));
+        if (spec.isSequential()) {
+            // 顺序执行的工具在不同轮次之间同样不允许并发
+            exclusives.put(spec.getName(), new Semaphore(1, true));
+        }
+        if (resultCache != null && spec.getCacheTtl() != null) {
+            resultCache.enable(spec.getName(), spec.getCacheMaxEntries());
+        }
+        if (resultCache != null && spec.isInvalidates()) {
+            resultCache.trackInvalidations(spec.getName());
+        }
+        return input -> {
+            Future<String> future = submit(spec, input);
+            try {
+                return await(future, deadline(spec));
+            } catch (ToolExecutionException e) {
+                log.warn("工具 {} 调用失败: {}", spec.getName(), e.getMessage());
+                return e.getMessage();
+            }
+        };
+    }
+
+    public ToolSpec<?> getTool(String name) {
+        return tools.get(name);
+    }
+
+    /**
+     * 开始接收一轮流式回复中的工具调用
+     *
+     * @param speculative 是否在只读工具的参数完整后立即执行，关闭时与响应结束后调用 {@link #executeAll} 相同
+     */
+    public StreamingToolCalls openStream(boolean speculative) {
+        return new StreamingToolCalls(this, speculative);
+    }
+
+    /**
+     * 执行一轮回复中的全部调用，结果与调用一一对应
+     */
+    public List<ToolResult> executeAll(List<ToolInvocation> invocations) {
+        return executeAll(invocations, Map.of());
+    }
+
+    /**
+     * 执行一轮回复中的全部调用，{@code started} 中按下标给出已经提前开始的调用
+     */
+    List<ToolResult> executeAll(List<ToolInvocation> invocations, Map<Integer, Running> started) {
+        ToolResult[] results = new ToolResult[invocations.size()];
+        List<Running> wave = new ArrayList<>();
+        for (int i = 0; i < invocations.size(); i++) {
+            ToolInvocation invocation = invocations.get(i);
+            Running speculated = started.get(i);
+            if (speculated != null) {
+                wave.add(speculated);
+                continue;
+            }
+            ToolSpec<?> spec = tools.get(invocation.name());
+            if (spec == null) {
+                results[i] = ToolResult.failure(invocation, "未知工具: " + invocation.name());
+                continue;
+            }
+            if (spec.isSequential()) {
+                // 顺序执行的工具是一道屏障
+                drain(wave, results);
+                wave.clear();
+                Running running = start(i, spec, invocation, results);
+                if (running != null) {
+                    drain(List.of(running), results);
+                }
+            } else {
+                Running running = start(i, spec, invocation, results);
+                if (running != null) {
+                    wave.add(running);
+                }
+            }
+        }
+        drain(wave, results);
+        return Arrays.asList(results);
+    }
+
+    private <I> Running start(int index, ToolSpec<I> spec, ToolInvocation invocation, ToolResult[] results) {
+        I input;
+        try {
+            input = objectMapper.readValue(invocation.arguments(), spec.getInputType());
+        } catch (Exception e) {
+            results[index] = ToolResult.failure(invocation, "工具参数解析失败: " + e.getMessage());
+            return null;
+        }
+        return new Running(index, invocation, submit(spec, input), deadline(spec));
+    }
+
+    /**
+     * 提前开始一次调用，参数无法解析时返回空，由响应结束后的 {@link #executeAll} 给出失败结果
+     */
+    <I> Running speculate(int index, ToolSpec<I> spec, ToolInvocation invocation) {
+        I input;
+        try {
+            input = objectMapper.readValue(invocation.arguments(), spec.getInputType());
+        } catch (Exception e) {
+            return null;
+        }
+        return new Running(index, invocation, submit(spec, input), deadline(spec));
+    }
+
+    private void drain(List<Running> wave, ToolResult[] results) {
+        for (Running running : wave) {
+            try {
+                results[running.index] = ToolResult.success(running.invocation, await(running.future, running.deadline));
+            } catch (ToolExecutionException e) {
+                results[running.index] = ToolResult.failure(running.invocation, e.getMessage());
+            }
+        }
+    }
+
+    private <I> Future<String> submit(ToolSpec<I> spec, I input) {
+        String resource = spec.getResource() == null ? null : spec.getResource().apply(input);
+        boolean cached = resultCache != null && resultCache.isEnabled(spec.getName());
+        String cacheKey = cached ? resultCache.canonicalize(input) : null;
+        // 先读版本号再查询，调用期间资源被修改时结果不会写入缓存
+        long version = cached ? resultCache.version(resource) : 0;
+        if (cached) {
+            String hit = resultCache.get(spec.getName(), cacheKey, resource);
+            if (hit != null) {
+                return CompletableFuture.completedFuture(hit);
+            }
+        }
+        Semaphore bulkhead = bulkheads.get(spec.getBulkhead());
+        Semaphore exclusive = exclusives.get(spec.getName());
+        return executor.submit(() -> {
+            try {
+                String result = invoke(spec, input, bulkhead, exclusive);
+                if (cached) {
+                    resultCache.put(spec.getName(), cacheKey, resource, version, result, spec.getCacheTtl());
+                }
+                return result;
+            } finally {
+                // 写操作超时被中断、抛出异常时可能已经修改了资源，同样需要使缓存失效；
+                // 超时后仍在执行的写操作在真正结束时失效，期间开始的读取不会写入缓存
+                if (spec.isInvalidates() && resultCache != null) {
+                    resultCache.invalidate(spec.getName(), resource);
+                }
+            }
+        });
+    }
+
+    private static <I> String invoke(ToolSpec<I> spec, I input, Semaphore bulkhead, Semaphore exclusive) throws InterruptedException {
+        if (exclusive != null) {
+            exclusive.acquire();
+        }
+        try {
+            bulkhead.acquire();
+            try {
+                return spec.getHandler().apply(input);
+            } finally {
+                bulkhead.release();
+            }
+        } finally {
+            if (exclusive != null) {
+                exclusive.release();
+            }
+        }
+    }
+
+    private long deadline(ToolSpec<?> spec) {
+        Duration timeout = spec.getTimeout() == null ? defaultTimeout : spec.getTimeout();
+        return System.nanoTime() + timeout.toNanos();
+    }
+
+    private static String await(Future<String> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // 中断执行线程，等待隔离舱的调用会直接退出
+            future.cancel(true);
+            throw new ToolExecutionException("工具调用超时");
+        } catch (ExecutionException e) {
+            throw new ToolExecutionException("工具调用失败: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ToolExecutionException("工具调用被中断");
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    record Running(int index, ToolInvocation invocation, Future<String> future, long deadline) {
+    }
+
+    private static class ToolExecutionException extends RuntimeException {
+
+        private ToolExecutionException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.lunay.liteflow.ai.toolcall.engine;
+
+/**
+ * 模型在一轮回复中发起的一次工具调用
+ *
+ * @param id        调用 ID，原样回传给模型
+ * @param name      工具名称
+ * @param arguments JSON 格式的参数
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+public record ToolInvocation(String id, String name, String arguments) {
+}
@@ -0,0 +1,22 @@
+package com.lunay.liteflow.ai.toolcall.engine;
+
+/**
+ * 工具调用结果
+ *
+ * @param id      调用 ID
+ * @param name    工具名称
+ * @param content 返回给模型的内容，失败时为错误说明
+ * @param error   是否失败
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+public record ToolResult(String id, String name, String content, boolean error) {
+
+    public static ToolResult success(ToolInvocation invocation, String content) {
+        return new ToolResult(invocation.id(), invocation.name(), content, false);
+    }
+
+    public static ToolResult failure(ToolInvocation invocation, String message) {
+        return new ToolResult(invocation.id(), invocation.name(), message, true);
+    }
+}
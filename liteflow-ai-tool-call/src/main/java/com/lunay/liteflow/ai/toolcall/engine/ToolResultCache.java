@@ -0,0 +1,178 @@
+package com.lunay.liteflow.ai.toolcall.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 幂等工具的结果缓存
+ * <p>
+ * 每个工具一个按访问顺序淘汰的 LRU 缓存，key 为字段排序后的 JSON 参数。每条缓存记录写入时所涉及资源的版本号，
+ * 写操作只需将资源版本号加一，旧版本的缓存在读取时视为失效，无需遍历删除
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class ToolResultCache {
+
+    /**
+     * 序列化时按字段名排序，保证参数相同但字段顺序不同的调用得到相同的 key
+     */
+    private final ObjectMapper canonicalMapper = JsonMapper.builder()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .build();
+
+    private final Map<String, ToolCache> caches = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 写操作工具的失效计数，注册工具时创建，标签只有工具名称
+     */
+    private final Map<String, Counter> invalidations = new ConcurrentHashMap<>();
+
+    private final MeterRegistry registry;
+
+    public ToolResultCache(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void enable(String toolName, int maxEntries) {
+        caches.put(toolName, new ToolCache(toolName, maxEntries));
+    }
+
+    public boolean isEnabled(String toolName) {
+        return caches.containsKey(toolName);
+    }
+
+    /**
+     * 登记写操作工具，之后由 {@link #invalidate} 记录它导致的失效次数
+     */
+    public void trackInvalidations(String toolName) {
+        invalidations.computeIfAbsent(toolName, key -> Counter.builder("toolcall.cache.invalidations")
+                .description("写操作导致的缓存失效次数")
+                .tag("tool", key)
+                .register(registry));
+    }
+
+    /**
+     * 规范化参数：对象字段按名称排序后序列化
+     */
+    public String canonicalize(Object input) {
+        JsonNode tree = canonicalMapper.valueToTree(input);
+        try {
+            return canonicalMapper.writeValueAsString(sort(tree));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("工具参数无法序列化", e);
+        }
+    }
+
+    /**
+     * 当前资源版本号，调用开始前读取，写入缓存时一并记录
+     */
+    public long version(String resource) {
+        return resource == null ? 0 : versions.computeIfAbsent(resource, key -> new AtomicLong()).get();
+    }
+
+    public String get(String toolName, String key, String resource) {
+        return caches.get(toolName).get(key, version(resource));
+    }
+
+    /**
+     * 写入缓存；调用期间资源已被写操作修改时不写入，避免缓存过期数据
+     */
+    public void put(String toolName, String key, String resource, long version, String value, Duration ttl) {
+        if (value != null && version(resource) == version) {
+            caches.get(toolName).put(key, new Entry(value, version, System.nanoTime() + ttl.toNanos()));
+        }
+    }
+
+    /**
+     * 使资源上的缓存全部失效
+     *
+     * @param toolName 执行写操作的工具，需要先通过 {@link #trackInvalidations} 登记
+     */
+    public void invalidate(String toolName, String resource) {
+        if (resource != null) {
+            versions.computeIfAbsent(resource, key -> new AtomicLong()).incrementAndGet();
+            Counter counter = invalidations.get(toolName);
+            if (counter != null) {
+                counter.increment();
+            }
+        }
+    }
+
+    private static JsonNode sort(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            Map<String, JsonNode> sorted = new TreeMap<>();
+            object.fields().forEachRemaining(field -> sorted.put(field.getKey(), sort(field.getValue())));
+            ObjectNode result = object.objectNode();
+            sorted.forEach(result::set);
+            return result;
+        }
+        if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                ((ArrayNode) node).set(i, sort(node.get(i)));
+            }
+        }
+        return node;
+    }
+
+    private record Entry(String value, long version, long expireAt) {
+    }
+
+    private class ToolCache {
+
+        private final LinkedHashMap<String, Entry> entries;
+
+        private final Counter hits;
+
+        private final Counter misses;
+
+        private ToolCache(String toolName, int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+            this.hits = lookups(toolName, "hit");
+            this.misses = lookups(toolName, "miss");
+        }
+
+        private synchronized String get(String key, long version) {
+            Entry entry = entries.get(key);
+            if (entry != null && (entry.version != version || entry.expireAt - System.nanoTime() <= 0)) {
+                entries.remove(key);
+                entry = null;
+            }
+            (entry == null ? misses : hits).increment();
+            return entry == null ? null : entry.value;
+        }
+
+        private synchronized void put(String key, Entry entry) {
+            entries.put(key, entry);
+        }
+    }
+
+    private Counter lookups(String toolName, String result) {
+        return Counter.builder("toolcall.cache.lookups")
+                .description("工具结果缓存查询次数，result 为 hit 或 miss，命中率为 hit / (hit + miss)")
+                .tag("tool", toolName)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,180 @@
+package com.lunay.liteflow.ai.toolcall.engine;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 工具定义：名称、描述、入参类型、处理函数以及执行策略
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Getter
+public class ToolSpec<I> {
+
+    private final String name;
+
+    private final String description;
+
+    private final Class<I> inputType;
+
+    private final Function<I, String> handler;
+
+    /**
+     * 隔离舱名称，同一隔离舱内的工具共享并发上限，默认为工具名称
+     */
+    private final String bulkhead;
+
+    /**
+     * 隔离舱并发上限
+     */
+    private final int maxConcurrent;
+
+    /**
+     * 单次调用超时时间，包含等待隔离舱的时间；为空时使用引擎的默认值
+     */
+    private final Duration timeout;
+
+    /**
+     * 是否只能顺序执行：同一轮中在它之前的调用全部完成后才开始，它完成后才开始之后的调用
+     */
+    private final boolean sequential;
+
+    /**
+     * 结果缓存有效期，为空时不缓存；只应用于幂等的只读工具
+     */
+    private final Duration cacheTtl;
+
+    /**
+     * 结果缓存的最大条目数
+     */
+    private final int cacheMaxEntries;
+
+    /**
+     * 调用涉及的资源，例如 {@code mysql:users}；缓存的读取结果按资源失效
+     */
+    private final Function<I, String> resource;
+
+    /**
+     * 是否为写操作，调用成功后使同一资源上的缓存全部失效
+     */
+    private final boolean invalidates;
+
+    /**
+     * 是否为无副作用的只读工具；流式响应中参数完整后即可提前执行
+     */
+    private final boolean readOnly;
+
+    private ToolSpec(Builder<I> builder) {
+        this.name = builder.name;
+        this.description = builder.description;
+        this.inputType = builder.inputType;
+        this.handler = builder.handler;
+        this.bulkhead = builder.bulkhead == null ? builder.name : builder.bulkhead;
+        this.maxConcurrent = builder.maxConcurrent;
+        this.timeout = builder.timeout;
+        this.sequential = builder.sequential;
+        this.cacheTtl = builder.cacheTtl;
+        this.cacheMaxEntries = builder.cacheMaxEntries;
+        this.resource = builder.resource;
+        this.invalidates = builder.invalidates;
+        this.readOnly = builder.readOnly;
+    }
+
+    public static <I> Builder<I> builder(String name, Class<I> inputType, Function<I, String> handler) {
+        return new Builder<>(name, inputType, handler);
+    }
+
+    public static class Builder<I> {
+
+        private final String name;
+
+        private final Class<I> inputType;
+
+        private final Function<I, String> handler;
+
+        private String description = "";
+
+        private String bulkhead;
+
+        private int maxConcurrent = Integer.MAX_VALUE;
+
+        private Duration timeout;
+
+        private boolean sequential;
+
+        private Duration cacheTtl;
+
+        private int cacheMaxEntries;
+
+        private Function<I, String> resource;
+
+        private boolean invalidates;
+
+        private boolean readOnly;
+
+        private Builder(String name, Class<I> inputType, Function<I, String> handler) {
+            this.name = Objects.requireNonNull(name);
+            this.inputType = Objects.requireNonNull(inputType);
+            this.handler = Objects.requireNonNull(handler);
+        }
+
+        public Builder<I> description(String description) {
+            this.description = description;
+            return this;
+        }
+
+        public Builder<I> bulkhead(String bulkhead, int maxConcurrent) {
+            this.bulkhead = bulkhead;
+            this.maxConcurrent = maxConcurrent;
+            return this;
+        }
+
+        public Builder<I> timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        public Builder<I> sequential() {
+            this.sequential = true;
+            return this;
+        }
+
+        /**
+         * 缓存结果，key 为规范化后的 JSON 参数
+         *
+         * @param resource 调用涉及的资源，为空时不受写操作影响
+         */
+        public Builder<I> cached(Duration ttl, int maxEntries, Function<I, String> resource) {
+            this.cacheTtl = ttl;
+            this.cacheMaxEntries = maxEntries;
+            this.resource = resource;
+            return this;
+        }
+
+        /**
+         * 声明为写操作，调用成功后使 {@code resource} 上的缓存失效
+         */
+        public Builder<I> invalidates(Function<I, String> resource) {
+            this.resource = resource;
+            this.invalidates = true;
+            return this;
+        }
+
+        /**
+         * 声明为只读工具，多次执行与提前执行都不会产生副作用
+         */
+        public Builder<I> readOnly() {
+            this.readOnly = true;
+            return this;
+        }
+
+        public ToolSpec<I> build() {
+            return new ToolSpec<>(this);
+        }
+    }
+}
@@ -29,12 +29,19 @@ import com.yomahub.liteflow.ai.engine.model.output.ResponseType;
         logResponses = true
 )
 @AIChat(
-        userPrompt = "请你在 users 表中查找 id 为 123的用户，确定其存在后，再删除该用户。",
+        // 问题由调用方放入上下文，调用方同时据此选择本次请求附带的工具
+        userPrompt = "{{question}}",
         // 设置输出为非流式，传输模式为 HTTP
         streaming = false,
         transportType = TransportType.HTTP,
+        // 候选工具，实际附带的工具由上下文中的工具注册中心决定
         toolNames = {"mysql_select_tool", "mysql_delete_tool"}
 )
+@AIInput(
+        mapping = {
+                @InputField(name = "question", expression = "dataMap.question"),
+        }
+)
 @AIOutput(
         // 设置响应类型为文本，模型节点输出将为框架定义的 AssistantMessage 对象
         responseType = ResponseType.TEXT,
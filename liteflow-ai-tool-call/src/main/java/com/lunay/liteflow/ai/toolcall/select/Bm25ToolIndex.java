@@ -0,0 +1,115 @@
+package com.lunay.liteflow.ai.toolcall.select;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于 BM25 的工具检索索引
+ * <p>
+ * 文档为工具名称、描述与入参 Schema。英文与数字按单词切分，{@code mysql_select_tool} 切分为 mysql、select、tool；
+ * 中文按单字与相邻双字切分，"数据库选择工具" 与 "选择数据" 可以通过 "选择" 匹配
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class Bm25ToolIndex {
+
+    private static final double K1 = 1.2;
+
+    private static final double B = 0.75;
+
+    private final List<Document> documents = new ArrayList<>();
+
+    private final Map<String, Integer> documentFrequency = new HashMap<>();
+
+    private long totalLength;
+
+    public synchronized void add(ToolCandidate candidate) {
+        if (documents.stream().anyMatch(document -> document.candidate.name().equals(candidate.name()))) {
+            throw new IllegalStateException("工具 " + candidate.name() + " 已加入索引");
+        }
+        List<String> terms = terms(candidate.name() + " " + candidate.description() + " " + candidate.inputSchema());
+        Map<String, Integer> frequencies = new HashMap<>();
+        terms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        frequencies.keySet().forEach(term -> documentFrequency.merge(term, 1, Integer::sum));
+        documents.add(new Document(candidate, frequencies, terms.size()));
+        totalLength += terms.size();
+    }
+
+    /**
+     * 按相关度从高到低返回与查询有共同词项的工具
+     */
+    public synchronized List<ScoredCandidate> search(String query) {
+        if (documents.isEmpty()) {
+            return List.of();
+        }
+        double averageLength = (double) totalLength / documents.size();
+        List<String> queryTerms = terms(query).stream().distinct().toList();
+        List<ScoredCandidate> results = new ArrayList<>();
+        for (Document document : documents) {
+            double score = 0;
+            for (String term : queryTerms) {
+                Integer frequency = document.frequencies.get(term);
+                if (frequency == null) {
+                    continue;
+                }
+                int df = documentFrequency.get(term);
+                double idf = Math.log(1 + (documents.size() - df + 0.5) / (df + 0.5));
+                score += idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * document.length / averageLength));
+            }
+            if (score > 0) {
+                results.add(new ScoredCandidate(document.candidate, score));
+            }
+        }
+        results.sort(Comparator.comparingDouble(ScoredCandidate::score).reversed());
+        return results;
+    }
+
+    public synchronized List<ToolCandidate> all() {
+        return documents.stream().map(Document::candidate).toList();
+    }
+
+    static List<String> terms(String text) {
+        String normalized = text.toLowerCase();
+        List<String> terms = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        char previousHan = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN) {
+                flush(word, terms);
+                terms.add(String.valueOf(c));
+                if (previousHan != 0) {
+                    terms.add("" + previousHan + c);
+                }
+                previousHan = c;
+                continue;
+            }
+            previousHan = 0;
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else {
+                flush(word, terms);
+            }
+        }
+        flush(word, terms);
+        return terms;
+    }
+
+    private static void flush(StringBuilder word, List<String> terms) {
+        if (!word.isEmpty()) {
+            terms.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    public record ScoredCandidate(ToolCandidate candidate, double score) {
+    }
+
+    private record Document(ToolCandidate candidate, Map<String, Integer> frequencies, int length) {
+    }
+}
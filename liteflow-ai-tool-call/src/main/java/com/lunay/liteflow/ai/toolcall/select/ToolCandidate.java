@@ -0,0 +1,21 @@
+package com.lunay.liteflow.ai.toolcall.select;
+
+import com.yomahub.liteflow.ai.engine.tool.registry.StaticToolRegistry;
+
+import java.util.function.Consumer;
+
+/**
+ * 可供检索的工具
+ *
+ * @param name        工具名称
+ * @param description 工具描述
+ * @param inputSchema 入参 JSON Schema，未知时为空字符串
+ * @param tokens      工具定义发送给模型时预计占用的 token 数
+ * @param registrar   将工具注册到单次请求的工具注册中心
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public record ToolCandidate(String name, String description, String inputSchema, long tokens,
+                            Consumer<StaticToolRegistry> registrar) {
+}
@@ -0,0 +1,83 @@
+package com.lunay.liteflow.ai.toolcall.select;
+
+import com.lunay.liteflow.ai.common.TextTokens;
+import com.yomahub.liteflow.ai.engine.tool.registry.StaticToolRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 按请求动态选择工具
+ * <p>
+ * 按 BM25 相关度从高到低选择至多 {@code topK} 个工具，已选工具的定义总 token 数不超过 {@code tokenBudget}，
+ * 放不下的工具跳过，继续尝试相关度更低但更小的工具；没有任何工具与问题相关时，按注册顺序在同样的限制内选择
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+public class ToolSelector {
+
+    private final Bm25ToolIndex index = new Bm25ToolIndex();
+
+    private final int topK;
+
+    private final long tokenBudget;
+
+    public ToolSelector(int topK, long tokenBudget) {
+        this.topK = topK;
+        this.tokenBudget = tokenBudget;
+    }
+
+    /**
+     * 加入可供选择的工具
+     *
+     * @param inputSchema 入参 JSON Schema，未知时传入空字符串
+     */
+    public void add(String name, String description, String inputSchema, Consumer<StaticToolRegistry> registrar) {
+        long tokens = TextTokens.estimate("{\"type\":\"function\",\"function\":{\"name\":\"" + name + "\",\"description\":\""
+                + description + "\",\"parameters\":" + inputSchema + "}}");
+        index.add(new ToolCandidate(name, description, inputSchema, tokens, registrar));
+    }
+
+    public List<ToolCandidate> select(String query) {
+        List<ToolCandidate> ranked = index.search(query).stream().map(Bm25ToolIndex.ScoredCandidate::candidate).toList();
+        if (ranked.isEmpty()) {
+            // 问题与任何工具都没有共同词项（例如换了一种说法）时不能让模型在没有工具的情况下回答，按注册顺序附带工具
+            log.debug("问题与全部工具都没有共同词项，按注册顺序选择");
+            ranked = index.all();
+        }
+        List<ToolCandidate> selected = new ArrayList<>();
+        long remaining = tokenBudget;
+        for (ToolCandidate candidate : ranked) {
+            if (selected.size() >= topK) {
+                break;
+            }
+            if (candidate.tokens() <= remaining) {
+                selected.add(candidate);
+                remaining -= candidate.tokens();
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * 只包含所选工具的注册中心，作为单次请求的上下文工具注册中心
+     */
+    public StaticToolRegistry selectRegistry(String query) {
+        List<ToolCandidate> selected = select(query);
+        StaticToolRegistry toolRegistry = new StaticToolRegistry();
+        selected.forEach(candidate -> candidate.registrar().accept(toolRegistry));
+        if (log.isInfoEnabled()) {
+            List<ToolCandidate> all = index.all();
+            log.info("选择工具 {}，约 {} tokens；全部 {} 个工具约 {} tokens",
+                    selected.stream().map(ToolCandidate::name).toList(),
+                    selected.stream().mapToLong(ToolCandidate::tokens).sum(),
+                    all.size(), all.stream().mapToLong(ToolCandidate::tokens).sum());
+        }
+        return toolRegistry;
+    }
+}
@@ -14,7 +14,7 @@ import org.springframework.stereotype.Service;
 @Service
 public class MysqlService {
 
-    @Tool(name = "mysql_select_tool", value = "数据库选择工具")
+    @Tool(name = "mysql_select_tool", value = "数据库查询工具，按 ID 查找指定表中的记录")
     public String selectData(@ToolParam("数据库输入") SqlInput sqlInput) {
         if ("users".equalsIgnoreCase(sqlInput.getTableName()) && "123".equals(sqlInput.getId())) {
             return "User found: {id: 123, name: 'John Doe', email: '1234567@email.com'}";
@@ -23,7 +23,7 @@ public class MysqlService {
         }
     }
 
-    @Tool(name = "mysql_delete_tool", value = "数据库删除工具")
+    @Tool(name = "mysql_delete_tool", value = "数据库删除工具，按 ID 删除指定表中的记录")
     public String deleteData(@ToolParam("数据库输入") SqlInput sqlInput) {
         if ("users".equalsIgnoreCase(sqlInput.getTableName()) && "123".equals(sqlInput.getId())) {
             return "User with id: 123 has been deleted.";
@@ -0,0 +1,65 @@
+package com.lunay.liteflow.ai.toolcall.stream;
+
+import com.lunay.liteflow.ai.toolcall.engine.ToolCallDelta;
+import com.lunay.liteflow.ai.toolcall.engine.ToolInvocation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 模拟流式输出的模型
+ * <p>
+ * 先输出一段文本，再依次输出每个工具调用：第一个片段只带调用 ID 与工具名称，参数 JSON 按 token 切分后逐段输出。
+ * 相邻两个 token 之间等待 {@code tokenInterval} 加上不超过 {@code tokenJitter} 的随机抖动
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public class MockStreamingModel {
+
+    /**
+     * 按平均每个 token 4 个字符切分
+     */
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final long intervalNanos;
+
+    private final long jitterNanos;
+
+    private final Random random;
+
+    public MockStreamingModel(Duration tokenInterval, Duration tokenJitter, long seed) {
+        this.intervalNanos = tokenInterval.toNanos();
+        this.jitterNanos = tokenJitter.toNanos();
+        this.random = new Random(seed);
+    }
+
+    /**
+     * 输出一轮回复，返回时响应已经结束
+     */
+    public void stream(String text, List<ToolInvocation> toolCalls, Consumer<ToolCallDelta> consumer) throws InterruptedException {
+        // 文本内容不包含工具调用，只消耗输出时间
+        for (int i = 0; i < text.length(); i += CHARS_PER_TOKEN) {
+            nextToken();
+        }
+        for (int index = 0; index < toolCalls.size(); index++) {
+            ToolInvocation call = toolCalls.get(index);
+            nextToken();
+            consumer.accept(new ToolCallDelta(index, call.id(), call.name(), ""));
+            String arguments = call.arguments();
+            for (int i = 0; i < arguments.length(); i += CHARS_PER_TOKEN) {
+                nextToken();
+                consumer.accept(new ToolCallDelta(index, null, null, arguments.substring(i, Math.min(arguments.length(), i + CHARS_PER_TOKEN))));
+            }
+        }
+    }
+
+    private void nextToken() throws InterruptedException {
+        long jitter = jitterNanos == 0 ? 0 : (long) (random.nextDouble() * jitterNanos);
+        TimeUnit.NANOSECONDS.sleep(intervalNanos + jitter);
+    }
+}
@@ -0,0 +1,114 @@
+package com.lunay.liteflow.ai.toolcall.stream;
+
+import com.lunay.liteflow.ai.toolcall.config.ToolStreamProperties;
+import com.lunay.liteflow.ai.toolcall.engine.StreamingToolCalls;
+import com.lunay.liteflow.ai.toolcall.engine.ToolExecutionEngine;
+import com.lunay.liteflow.ai.toolcall.engine.ToolInvocation;
+import com.lunay.liteflow.ai.toolcall.engine.ToolResult;
+import com.lunay.liteflow.ai.toolcall.engine.ToolSpec;
+import com.lunay.liteflow.ai.toolcall.service.MysqlService;
+import com.lunay.liteflow.ai.toolcall.service.SqlInput;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 流式工具调用的延迟对比
+ * <p>
+ * 使用 {@link MockStreamingModel} 输出同一轮回复，分别在响应结束后执行全部调用、以及提前执行只读调用，
+ * 统计从开始输出到拿到全部工具结果的端到端耗时。数据库调用按 {@code tool-latency} 模拟耗时，不使用结果缓存
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "toolcall.stream", name = "benchmark", havingValue = "true")
+public class StreamingTurnBenchmark implements CommandLineRunner {
+
+    private static final String TEXT = "好的，我先分别查询 id 为 123 和 456 的用户，确认 123 存在后再删除它。";
+
+    private static final List<ToolInvocation> TOOL_CALLS = List.of(
+            new ToolInvocation("call_1", "mysql_select_tool", "{\"id\": \"123\", \"tableName\": \"users\"}"),
+            new ToolInvocation("call_2", "mysql_select_tool", "{\"id\": \"456\", \"tableName\": \"users\"}"),
+            new ToolInvocation("call_3", "mysql_delete_tool", "{\"id\": \"123\", \"tableName\": \"users\"}")
+    );
+
+    private final MysqlService mysqlService;
+    private final ToolStreamProperties properties;
+
+    @Override
+    public void run(String... args) throws Exception {
+        try (ToolExecutionEngine engine = new ToolExecutionEngine(Duration.ofSeconds(10), Map.of(), null)) {
+            engine.register(ToolSpec.builder("mysql_select_tool", SqlInput.class, slow(mysqlService::selectData))
+                    .bulkhead("mysql", 8)
+                    .readOnly()
+                    .build());
+            engine.register(ToolSpec.builder("mysql_delete_tool", SqlInput.class, slow(mysqlService::deleteData))
+                    .bulkhead("mysql", 8)
+                    .sequential()
+                    .build());
+            List<Long> baseline = new ArrayList<>();
+            List<Long> speculative = new ArrayList<>();
+            for (int round = 0; round < properties.getBenchmarkRounds(); round++) {
+                // 两种方式使用相同的随机种子，token 间隔完全一致
+                baseline.add(turn(engine, false, round));
+                speculative.add(turn(engine, true, round));
+            }
+            log.info("流式工具调用对比 {} 轮，响应结束后执行：平均 {} ms，P50 {} ms；提前执行只读调用：平均 {} ms，P50 {} ms",
+                    properties.getBenchmarkRounds(), average(baseline), median(baseline), average(speculative), median(speculative));
+        }
+    }
+
+    private long turn(ToolExecutionEngine engine, boolean speculative, long seed) throws InterruptedException {
+        MockStreamingModel model = new MockStreamingModel(properties.getTokenInterval(), properties.getTokenJitter(), seed);
+        long start = System.nanoTime();
+        StreamingToolCalls calls = engine.openStream(speculative);
+        try {
+            model.stream(TEXT, TOOL_CALLS, calls::accept);
+        } catch (InterruptedException e) {
+            calls.cancel();
+            throw e;
+        }
+        long streamed = System.nanoTime();
+        List<ToolResult> results = calls.complete();
+        long elapsed = System.nanoTime() - start;
+        log.debug("speculative={} 响应 {} ms，工具 {} ms，结果 {}", speculative, (streamed - start) / 1_000_000,
+                (System.nanoTime() - streamed) / 1_000_000, results);
+        return elapsed / 1_000_000;
+    }
+
+    private <I> Function<I, String> slow(Function<I, String> handler) {
+        return input -> {
+            try {
+                TimeUnit.NANOSECONDS.sleep(properties.getToolLatency().toNanos());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("工具调用被中断", e);
+            }
+            return handler.apply(input);
+        };
+    }
+
+    private static long average(List<Long> values) {
+        return (long) values.stream().mapToLong(Long::longValue).average().orElse(0);
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.isEmpty() ? 0 : sorted.get(sorted.size() / 2);
+    }
+}
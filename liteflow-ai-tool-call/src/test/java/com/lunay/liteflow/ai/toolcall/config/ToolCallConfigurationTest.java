@@ -0,0 +1,65 @@
+package com.lunay.liteflow.ai.toolcall.config;
+
+import com.lunay.liteflow.ai.toolcall.engine.ToolExecutionEngine;
+import com.lunay.liteflow.ai.toolcall.engine.ToolInvocation;
+import com.lunay.liteflow.ai.toolcall.engine.ToolResult;
+import com.lunay.liteflow.ai.toolcall.select.ToolCandidate;
+import com.lunay.liteflow.ai.toolcall.select.ToolSelector;
+import com.lunay.liteflow.ai.toolcall.service.MysqlService;
+import com.lunay.liteflow.ai.toolcall.tool.ToolConfig;
+import com.yomahub.liteflow.ai.engine.tool.registry.ToolRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 工具注册中心装配测试：编译期生成的工具与手动声明执行策略的工具都经过执行引擎并加入工具选择
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class ToolCallConfigurationTest {
+
+    private final ToolEngineProperties properties = new ToolEngineProperties();
+
+    private final ToolExecutionEngine engine = new ToolExecutionEngine(Duration.ofSeconds(5), properties.getBulkheads(), null);
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    void registersGeneratedAndManualToolsThroughEngine() {
+        MysqlService mysqlService = new MysqlService();
+        BeanFactory beanFactory = mock(BeanFactory.class);
+        when(beanFactory.getBean(MysqlService.class)).thenReturn(mysqlService);
+        when(beanFactory.getBean(ToolConfig.class)).thenReturn(new ToolConfig());
+        ToolSelector toolSelector = new ToolSelector(5, 2000);
+
+        ToolRegistry toolRegistry = new ToolCallConfiguration()
+                .generatedToolRegistry(beanFactory, mysqlService, engine, toolSelector, properties);
+
+        assertEquals(3, toolRegistry.getAllTools().size());
+        // 手动声明的执行策略优先于生成的描述
+        assertTrue(engine.getTool("mysql_delete_tool").isSequential());
+        assertTrue(engine.getTool("mysql_select_tool").isReadOnly());
+        assertNotNull(engine.getTool("assemble_tool"));
+        // 生成的工具通过生成的调用器执行
+        List<ToolResult> results = engine.executeAll(List.of(
+                new ToolInvocation("call_1", "assemble_tool", "{\"a\": \"x\", \"b\": \"y\"}")));
+        assertEquals("Assembled result: x and y", results.get(0).content());
+        // 生成的工具同样参与动态工具选择
+        assertTrue(toolSelector.select("assemble tool").stream().map(ToolCandidate::name).toList().contains("assemble_tool"));
+    }
+}
@@ -0,0 +1,368 @@
+package com.lunay.liteflow.ai.toolcall.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lunay.liteflow.ai.toolprocessor.ToolDescriptor;
+import com.lunay.liteflow.ai.toolprocessor.ToolDescriptorProcessor;
+import com.lunay.liteflow.ai.toolprocessor.ToolDescriptorProvider;
+import com.yomahub.liteflow.ai.engine.tool.annotation.Tool;
+import com.yomahub.liteflow.ai.engine.tool.function.FunctionToolCallback;
+import com.yomahub.liteflow.ai.engine.tool.registry.ScanningToolRegistry;
+import com.yomahub.liteflow.ai.engine.tool.registry.StaticToolRegistry;
+import com.yomahub.liteflow.ai.engine.tool.registry.ToolRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 编译期生成的工具描述与调用器（{@code generatedToolRegistry} 的方式）和反射扫描的 {@link ScanningToolRegistry} 的对比
+ * <p>
+ * 基准开始前生成 {@code tools} 个 {@code @Tool} 方法的源码（每个类 10 个，两个参数），在进程内由 {@link ToolDescriptorProcessor} 编译，
+ * 输出到临时目录并通过独立的类加载器加载，不会被其他测试的 {@link ServiceLoader} 发现：
+ * <ul>
+ *     <li>startup：每次调用使用新的类加载器，包括加载工具类。scanning 为 {@code new ScanningToolRegistry(包名)}；
+ *     generated 通过 {@link ServiceLoader} 加载生成的描述，用生成的调用器构建 {@link FunctionToolCallback} 注册到 {@link StaticToolRegistry}</li>
+ *     <li>invoke：按模型给出的 JSON 参数调用一个工具，依次轮换全部工具。generated 将参数绑定到生成的 record 后由调用器直接调用；
+ *     reflective 按参数名逐个转换后通过 {@link Method#invoke} 调用，即反射注册中心的调用路径</li>
+ *     <li>dispatch：与 invoke 相同，但入参预先绑定，只比较生成的调用器与 {@link Method#invoke} 本身</li>
+ * </ul>
+ * 运行：{@code mvn -pl liteflow-ai-tool-call test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.lunay.liteflow.ai.toolcall.config.ToolRegistryBenchmark}，或在 IDE 中直接运行 main 方法
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@Fork(1)
+public class ToolRegistryBenchmark {
+
+    static final String PACKAGE = "com.lunay.liteflow.ai.toolcall.benchtools";
+
+    static final int TOOLS_PER_CLASS = 10;
+
+    static final String ARGUMENTS = "{\"id\": \"42\", \"limit\": 10}";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * 编译生成的工具类，同一组参数的全部基准共用
+     */
+    @State(Scope.Benchmark)
+    public static class CompiledTools {
+
+        @Param({"200", "1000"})
+        public int tools;
+
+        Path output;
+
+        @Setup(Level.Trial)
+        public void compile() throws IOException {
+            output = compileTools(tools);
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            try (Stream<Path> files = Files.walk(output)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * 每次调用一个新的类加载器，启动耗时包括加载工具类
+     */
+    @State(Scope.Thread)
+    public static class FreshLoader {
+
+        URLClassLoader loader;
+
+        @Setup(Level.Invocation)
+        public void open(CompiledTools compiled) throws IOException {
+            loader = new URLClassLoader(new URL[]{compiled.output.toUri().toURL()}, ToolRegistryBenchmark.class.getClassLoader());
+        }
+
+        @TearDown(Level.Invocation)
+        public void close() throws IOException {
+            loader.close();
+        }
+    }
+
+    /**
+     * 已加载的全部工具，按调用顺序轮换
+     */
+    @State(Scope.Thread)
+    public static class LoadedTools {
+
+        URLClassLoader loader;
+
+        final List<Object> targets = new ArrayList<>();
+
+        final List<ToolDescriptor> descriptors = new ArrayList<>();
+
+        final List<Method> methods = new ArrayList<>();
+
+        /**
+         * 预先绑定的入参，dispatch 基准不包括 JSON 绑定
+         */
+        final List<Object> inputs = new ArrayList<>();
+
+        final List<Object[]> arguments = new ArrayList<>();
+
+        int next;
+
+        @Setup(Level.Trial)
+        public void load(CompiledTools compiled) throws Exception {
+            loader = new URLClassLoader(new URL[]{compiled.output.toUri().toURL()}, ToolRegistryBenchmark.class.getClassLoader());
+            for (ToolDescriptorProvider provider : providers(loader)) {
+                Object target = provider.targetType().getDeclaredConstructor().newInstance();
+                for (ToolDescriptor descriptor : provider.descriptors()) {
+                    Method method = toolMethod(provider.targetType(), descriptor.name());
+                    targets.add(target);
+                    descriptors.add(descriptor);
+                    methods.add(method);
+                    inputs.add(OBJECT_MAPPER.readValue(ARGUMENTS, descriptor.inputType()));
+                    arguments.add(bind(method, ARGUMENTS));
+                }
+            }
+            if (descriptors.size() != compiled.tools) {
+                throw new IllegalStateException("加载了 " + descriptors.size() + " 个工具，预期 " + compiled.tools);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws IOException {
+            loader.close();
+        }
+
+        int next() {
+            int index = next;
+            next = index + 1 == descriptors.size() ? 0 : index + 1;
+            return index;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 30)
+    public ToolRegistry scanningStartup(FreshLoader fresh) {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        // 类路径扫描使用线程上下文类加载器
+        thread.setContextClassLoader(fresh.loader);
+        try {
+            return new ScanningToolRegistry(PACKAGE);
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 30)
+    public ToolRegistry generatedStartup(FreshLoader fresh) throws ReflectiveOperationException {
+        StaticToolRegistry toolRegistry = new StaticToolRegistry();
+        for (ToolDescriptorProvider provider : providers(fresh.loader)) {
+            Object target = provider.targetType().getDeclaredConstructor().newInstance();
+            for (ToolDescriptor descriptor : provider.descriptors()) {
+                register(toolRegistry, descriptor, descriptor.inputType(), target);
+            }
+        }
+        return toolRegistry;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public String generatedInvoke(LoadedTools loaded) throws IOException {
+        int index = loaded.next();
+        ToolDescriptor descriptor = loaded.descriptors.get(index);
+        return invokeGenerated(descriptor, loaded.targets.get(index), ARGUMENTS);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public String reflectiveInvoke(LoadedTools loaded) throws Exception {
+        int index = loaded.next();
+        return invokeReflective(loaded.methods.get(index), loaded.targets.get(index), ARGUMENTS);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public String generatedDispatch(LoadedTools loaded) {
+        int index = loaded.next();
+        return loaded.descriptors.get(index).invoker().invoke(loaded.targets.get(index), loaded.inputs.get(index));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public String reflectiveDispatch(LoadedTools loaded) throws ReflectiveOperationException {
+        int index = loaded.next();
+        return (String) loaded.methods.get(index).invoke(loaded.targets.get(index), loaded.arguments.get(index));
+    }
+
+    static String invokeGenerated(ToolDescriptor descriptor, Object target, String arguments) throws IOException {
+        return descriptor.invoker().invoke(target, OBJECT_MAPPER.readValue(arguments, descriptor.inputType()));
+    }
+
+    static String invokeReflective(Method method, Object target, String arguments) throws Exception {
+        return (String) method.invoke(target, bind(method, arguments));
+    }
+
+    /**
+     * 按参数名从 JSON 中逐个转换方法参数
+     */
+    private static Object[] bind(Method method, String arguments) throws IOException {
+        JsonNode tree = OBJECT_MAPPER.readTree(arguments);
+        Parameter[] parameters = method.getParameters();
+        Object[] values = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            values[i] = OBJECT_MAPPER.treeToValue(tree.get(parameters[i].getName()), parameters[i].getType());
+        }
+        return values;
+    }
+
+    /**
+     * 生成的工具描述，父类加载器中模块自身的工具不计入
+     */
+    private static List<ToolDescriptorProvider> providers(ClassLoader loader) {
+        List<ToolDescriptorProvider> providers = new ArrayList<>();
+        for (ToolDescriptorProvider provider : ServiceLoader.load(ToolDescriptorProvider.class, loader)) {
+            if (provider.targetType().getPackageName().equals(PACKAGE)) {
+                providers.add(provider);
+            }
+        }
+        return providers;
+    }
+
+    private static <I> void register(StaticToolRegistry toolRegistry, ToolDescriptor descriptor, Class<I> inputType, Object target) {
+        toolRegistry.register(FunctionToolCallback
+                .builder((I input) -> descriptor.invoker().invoke(target, input))
+                .name(descriptor.name())
+                .inputType(inputType)
+                .description(descriptor.description())
+                .build());
+    }
+
+    private static Method toolMethod(Class<?> type, String name) {
+        for (Method method : type.getMethods()) {
+            Tool tool = method.getAnnotation(Tool.class);
+            if (tool != null && tool.name().equals(name)) {
+                return method;
+            }
+        }
+        throw new IllegalStateException("找不到工具方法 " + name);
+    }
+
+    /**
+     * 生成并编译工具类，{@code -parameters} 保留参数名供反射调用按名称绑定
+     *
+     * @return 编译输出目录，包括处理器生成的描述与 {@code META-INF/services}
+     */
+    static Path compileTools(int tools) throws IOException {
+        List<JavaFileObject> sources = new ArrayList<>();
+        for (int index = 0; index * TOOLS_PER_CLASS < tools; index++) {
+            sources.add(source(PACKAGE + ".Tools" + index, toolClass(index, Math.min(TOOLS_PER_CLASS, tools - index * TOOLS_PER_CLASS))));
+        }
+        Path output = Files.createTempDirectory("tool-registry-benchmark");
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StringWriter diagnostics = new StringWriter();
+        JavaCompiler.CompilationTask task = compiler.getTask(diagnostics, null, null,
+                List.of("-d", output.toString(), "-s", output.toString(), "-parameters",
+                        "-classpath", System.getProperty("java.class.path")),
+                null, sources);
+        task.setProcessors(List.of(new ToolDescriptorProcessor()));
+        if (!task.call()) {
+            throw new IllegalStateException("工具类编译失败：" + diagnostics);
+        }
+        return output;
+    }
+
+    private static String toolClass(int index, int count) {
+        StringBuilder code = new StringBuilder("""
+                package %s;
+
+                import com.yomahub.liteflow.ai.engine.tool.annotation.Tool;
+                import com.yomahub.liteflow.ai.engine.tool.annotation.ToolParam;
+
+                public class Tools%d {
+                """.formatted(PACKAGE, index));
+        for (int i = 0; i < count; i++) {
+            int number = index * TOOLS_PER_CLASS + i;
+            code.append("""
+
+                        @Tool(name = "tool_%1$04d", value = {"工具 %1$d", "按 ID 查询第 %1$d 类资源，最多返回 limit 条"})
+                        public String tool%1$04d(@ToolParam("目标ID") String id, @ToolParam("返回条数") int limit) {
+                            return "%1$d:" + id + ":" + limit;
+                        }
+                    """.formatted(number));
+        }
+        return code.append("}\n").toString();
+    }
+
+    private static JavaFileObject source(String className, String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ToolRegistryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.lunay.liteflow.ai.toolcall.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 参数 JSON 完整性的增量判断测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class JsonCompletionScannerTest {
+
+    @Test
+    void completesOnlyWhenOuterObjectCloses() {
+        JsonCompletionScanner scanner = new JsonCompletionScanner();
+
+        assertFalse(scanner.feed("  "));
+        assertFalse(scanner.feed("{\"id\": "));
+        assertFalse(scanner.feed("\"12"));
+        assertFalse(scanner.feed("3\", \"filter\": {\"tags\": [\"a\", {\"b\": 1}]"));
+        assertFalse(scanner.feed("}"));
+        assertTrue(scanner.feed("}"));
+        assertTrue(scanner.isComplete());
+        // 闭合之后的片段不改变结果
+        assertTrue(scanner.feed("{"));
+    }
+
+    /**
+     * 字符串中的括号不计入深度
+     */
+    @Test
+    void bracketsInsideStringsAreIgnored() {
+        JsonCompletionScanner scanner = new JsonCompletionScanner();
+
+        assertFalse(scanner.feed("{\"sql\": \"select '}' from t where a in ("));
+        assertFalse(scanner.feed("']', '[')\""));
+        assertTrue(scanner.feed("}"));
+    }
+
+    /**
+     * 转义符与被转义的引号分在两个片段中，引号不结束字符串
+     */
+    @Test
+    void escapedQuoteSplitAcrossDeltas() {
+        JsonCompletionScanner scanner = new JsonCompletionScanner();
+
+        assertFalse(scanner.feed("{\"q\": \"say \\"));
+        assertFalse(scanner.feed("\"}"));
+        assertFalse(scanner.feed(" \\\\"));
+        assertTrue(scanner.feed("\"}"));
+    }
+
+    /**
+     * 转义的反斜杠之后的引号结束字符串
+     */
+    @Test
+    void escapedBackslashBeforeQuote() {
+        JsonCompletionScanner scanner = new JsonCompletionScanner();
+
+        assertFalse(scanner.feed("{\"path\": \"C:\\\\"));
+        assertTrue(scanner.feed("\"}"));
+    }
+
+    /**
+     * 逐字符输入与整段输入的结果一致
+     */
+    @Test
+    void singleCharacterDeltas() {
+        String arguments = "{\"id\": \"1\\\"}\", \"ids\": [\"{\", \"]\"]}";
+        JsonCompletionScanner scanner = new JsonCompletionScanner();
+        for (int i = 0; i < arguments.length() - 1; i++) {
+            assertFalse(scanner.feed(arguments.substring(i, i + 1)), "第 " + i + " 个字符");
+        }
+        assertTrue(scanner.feed("}"));
+        assertTrue(new JsonCompletionScanner().feed(arguments));
+    }
+}
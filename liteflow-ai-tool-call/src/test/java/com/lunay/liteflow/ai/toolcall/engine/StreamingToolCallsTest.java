@@ -0,0 +1,170 @@
+package com.lunay.liteflow.ai.toolcall.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 流式响应中提前执行只读工具的测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class StreamingToolCallsTest {
+
+    private final ToolExecutionEngine engine = new ToolExecutionEngine(Duration.ofSeconds(5), Map.of(), null);
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    /**
+     * 只读工具的参数闭合后立即开始执行，此时响应尚未结束
+     */
+    @Test
+    void readOnlyToolStartsBeforeResponseEnds() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        engine.register(ToolSpec.builder("lookup", Input.class, input -> {
+            started.countDown();
+            return "lookup " + input.id();
+        }).readOnly().build());
+
+        StreamingToolCalls calls = engine.openStream(true);
+        calls.accept(new ToolCallDelta(0, "call_1", "lookup", "{\"id\": "));
+        assertFalse(started.await(100, TimeUnit.MILLISECONDS), "参数不完整时不应开始执行");
+        calls.accept(new ToolCallDelta(0, null, null, "\"1\"}"));
+        assertTrue(started.await(5, TimeUnit.SECONDS), "参数完整后应立即开始执行");
+        calls.accept(new ToolCallDelta(1, "call_2", "lookup", "{\"id\": \"2\"}"));
+
+        assertEquals(List.of(ToolResult.success(invocation("call_1", "lookup", "{\"id\": \"1\"}"), "lookup 1"),
+                        ToolResult.success(invocation("call_2", "lookup", "{\"id\": \"2\"}"), "lookup 2")),
+                calls.complete());
+    }
+
+    /**
+     * 非只读工具、排在非只读调用之后的只读工具、以及关闭提前执行时，都在响应结束后才执行
+     */
+    @Test
+    void onlyLeadingReadOnlyCallsStartEarly() throws Exception {
+        AtomicInteger executed = new AtomicInteger();
+        engine.register(ToolSpec.builder("lookup", Input.class, input -> {
+            executed.incrementAndGet();
+            return "lookup " + input.id();
+        }).readOnly().build());
+        engine.register(ToolSpec.builder("delete", Input.class, input -> {
+            executed.incrementAndGet();
+            return "delete " + input.id();
+        }).sequential().build());
+
+        StreamingToolCalls calls = engine.openStream(true);
+        calls.accept(new ToolCallDelta(0, "call_1", "delete", "{\"id\": \"1\"}"));
+        calls.accept(new ToolCallDelta(1, "call_2", "lookup", "{\"id\": \"1\"}"));
+        StreamingToolCalls disabled = engine.openStream(false);
+        disabled.accept(new ToolCallDelta(0, "call_3", "lookup", "{\"id\": \"3\"}"));
+        Thread.sleep(200);
+        assertEquals(0, executed.get());
+
+        assertEquals(List.of("delete 1", "lookup 1"), calls.complete().stream().map(ToolResult::content).toList());
+        assertEquals(List.of("lookup 3"), disabled.complete().stream().map(ToolResult::content).toList());
+        assertEquals(3, executed.get());
+    }
+
+    /**
+     * 参数闭合之后只收到空白时沿用提前执行的结果，不重复执行
+     */
+    @Test
+    void trailingWhitespaceKeepsSpeculatedCall() {
+        AtomicInteger executed = new AtomicInteger();
+        engine.register(ToolSpec.builder("lookup", Input.class, input -> {
+            executed.incrementAndGet();
+            return "lookup " + input.id();
+        }).readOnly().build());
+
+        StreamingToolCalls calls = engine.openStream(true);
+        calls.accept(new ToolCallDelta(0, "call_1", "lookup", "{\"id\": \"1\"}"));
+        calls.accept(new ToolCallDelta(0, null, null, "\n "));
+
+        assertEquals(List.of("lookup 1"), calls.complete().stream().map(ToolResult::content).toList());
+        assertEquals(1, executed.get());
+    }
+
+    /**
+     * 提前执行之后参数又收到了新的内容：取消提前执行的调用，响应结束后按最终参数重新执行
+     */
+    @Test
+    void changedArgumentsCancelSpeculatedCall() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        engine.register(ToolSpec.builder("lookup", Input.class, input -> {
+            int execution = executions.incrementAndGet();
+            if (execution == 1) {
+                started.countDown();
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "speculated";
+            }
+            return "lookup " + input.id() + " #" + execution;
+        }).readOnly().build());
+
+        StreamingToolCalls calls = engine.openStream(true);
+        calls.accept(new ToolCallDelta(0, "call_1", "lookup", "{\"id\": \"1\"}"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        calls.accept(new ToolCallDelta(0, null, null, "{\"id\": \"2\"}"));
+
+        List<ToolResult> results = calls.complete();
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "提前执行的调用应被取消");
+        assertEquals(2, executions.get());
+        // 最终参数按 Jackson 的默认行为解析第一个对象，结果来自重新执行而不是提前执行
+        assertEquals(List.of(ToolResult.success(invocation("call_1", "lookup", "{\"id\": \"1\"}{\"id\": \"2\"}"), "lookup 1 #2")),
+                results);
+    }
+
+    /**
+     * 响应中断时取消已经提前开始的调用
+     */
+    @Test
+    void cancelInterruptsSpeculatedCalls() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        engine.register(ToolSpec.builder("lookup", Input.class, input -> {
+            started.countDown();
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "late";
+        }).readOnly().build());
+
+        StreamingToolCalls calls = engine.openStream(true);
+        calls.accept(new ToolCallDelta(0, "call_1", "lookup", "{\"id\": \"1\"}"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        calls.cancel();
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    private static ToolInvocation invocation(String id, String name, String arguments) {
+        return new ToolInvocation(id, name, arguments);
+    }
+
+    record Input(String id) {
+    }
+}
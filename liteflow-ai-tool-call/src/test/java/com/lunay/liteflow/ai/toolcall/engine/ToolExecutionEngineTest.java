@@ -0,0 +1,154 @@
+package com.lunay.liteflow.ai.toolcall.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 工具执行引擎测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class ToolExecutionEngineTest {
+
+    private final ToolExecutionEngine engine = new ToolExecutionEngine(Duration.ofSeconds(5), Map.of(), null);
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    /**
+     * 执行策略非法的工具注册失败后不会留在引擎中，修正后可以用同一个名称重新注册
+     */
+    @Test
+    void rejectedToolIsNotRegistered() {
+        ToolSpec<Input> invalid = ToolSpec.builder("lookup", Input.class, Input::id).readOnly().sequential().build();
+
+        assertThrows(IllegalStateException.class, () -> engine.register(invalid));
+        assertNull(engine.getTool("lookup"));
+        assertEquals(List.of(ToolResult.failure(new ToolInvocation("call_1", "lookup", "{\"id\": \"1\"}"), "未知工具: lookup")),
+                engine.executeAll(List.of(new ToolInvocation("call_1", "lookup", "{\"id\": \"1\"}"))));
+
+        engine.register(ToolSpec.builder("lookup", Input.class, Input::id).readOnly().build());
+        assertNotNull(engine.getTool("lookup"));
+    }
+
+    /**
+     * 顺序执行的工具等待之前的调用全部完成，之后的调用等待它完成；结果按调用顺序返回
+     */
+    @Test
+    void sequentialToolIsBarrier() {
+        List<String> events = new CopyOnWriteArrayList<>();
+        engine.register(ToolSpec.builder("read", Input.class, input -> {
+            events.add("start " + input.id());
+            sleep(100);
+            events.add("end " + input.id());
+            return "read " + input.id();
+        }).build());
+        engine.register(ToolSpec.builder("write", Input.class, input -> {
+            events.add("write " + input.id());
+            return "write " + input.id();
+        }).sequential().build());
+
+        List<ToolResult> results = engine.executeAll(List.of(
+                new ToolInvocation("call_1", "read", "{\"id\": \"1\"}"),
+                new ToolInvocation("call_2", "read", "{\"id\": \"2\"}"),
+                new ToolInvocation("call_3", "write", "{\"id\": \"3\"}"),
+                new ToolInvocation("call_4", "read", "{\"id\": \"4\"}")
+        ));
+
+        assertEquals(List.of("read 1", "read 2", "write 3", "read 4"), results.stream().map(ToolResult::content).toList());
+        int write = events.indexOf("write 3");
+        assertTrue(events.indexOf("end 1") < write && events.indexOf("end 2") < write, events::toString);
+        assertTrue(events.indexOf("start 4") > write, events::toString);
+        // 写操作之前的两次读取并行执行
+        assertTrue(events.indexOf("start 2") < events.indexOf("end 1"), events::toString);
+    }
+
+    /**
+     * 同一隔离舱内的调用不超过并发上限
+     */
+    @Test
+    void bulkheadLimitsConcurrency() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        engine.register(ToolSpec.builder("query", Input.class, input -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(50);
+            running.decrementAndGet();
+            return input.id();
+        }).bulkhead("db", 2).build());
+
+        List<ToolInvocation> invocations = List.of(
+                new ToolInvocation("call_1", "query", "{\"id\": \"1\"}"),
+                new ToolInvocation("call_2", "query", "{\"id\": \"2\"}"),
+                new ToolInvocation("call_3", "query", "{\"id\": \"3\"}"),
+                new ToolInvocation("call_4", "query", "{\"id\": \"4\"}"),
+                new ToolInvocation("call_5", "query", "{\"id\": \"5\"}")
+        );
+        List<ToolResult> results = engine.executeAll(invocations);
+
+        assertEquals(List.of("1", "2", "3", "4", "5"), results.stream().map(ToolResult::content).toList());
+        assertEquals(2, peak.get());
+    }
+
+    /**
+     * 超时与参数错误只影响对应的调用，其余调用正常返回
+     */
+    @Test
+    void failuresStayWithTheirInvocation() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        engine.register(ToolSpec.builder("slow", Input.class, input -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "late";
+        }).timeout(Duration.ofMillis(100)).build());
+        engine.register(ToolSpec.builder("echo", Input.class, Input::id).build());
+
+        List<ToolResult> results = engine.executeAll(List.of(
+                new ToolInvocation("call_1", "slow", "{\"id\": \"1\"}"),
+                new ToolInvocation("call_2", "echo", "{\"id\": "),
+                new ToolInvocation("call_3", "echo", "{\"id\": \"3\"}")
+        ));
+
+        assertTrue(results.get(0).error());
+        assertEquals("工具调用超时", results.get(0).content());
+        assertTrue(results.get(1).error());
+        assertTrue(results.get(1).content().startsWith("工具参数解析失败"));
+        assertFalse(results.get(2).error());
+        assertEquals("3", results.get(2).content());
+        // 超时后中断执行线程
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record Input(String id) {
+    }
+}
@@ -0,0 +1,188 @@
+package com.lunay.liteflow.ai.toolcall.engine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 工具结果缓存测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class ToolResultCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ToolResultCache cache = new ToolResultCache(meterRegistry);
+
+    private final ToolExecutionEngine engine = new ToolExecutionEngine(Duration.ofSeconds(5), Map.of(), cache);
+
+    private final AtomicInteger selects = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    /**
+     * 字段顺序不同的相同参数命中同一条缓存
+     */
+    @Test
+    void canonicalArgumentsHitCache() {
+        registerTools();
+
+        List<ToolResult> results = engine.executeAll(List.of(
+                new ToolInvocation("call_1", "select", "{\"id\": \"1\", \"table\": \"users\"}")));
+        results = concat(results, engine.executeAll(List.of(
+                new ToolInvocation("call_2", "select", "{\"table\": \"users\", \"id\": \"1\"}"))));
+
+        assertEquals(List.of("users/1#1", "users/1#1"), results.stream().map(ToolResult::content).toList());
+        assertEquals(1, selects.get());
+        assertEquals(1.0, meterRegistry.get("toolcall.cache.lookups").tag("result", "hit").counter().count(), 0);
+    }
+
+    /**
+     * 写操作只使同一资源上的缓存失效，失效计数按工具名称只注册一次
+     */
+    @Test
+    void writeInvalidatesOnlyItsResource() {
+        registerTools();
+        engine.executeAll(List.of(
+                new ToolInvocation("call_1", "select", "{\"id\": \"1\", \"table\": \"users\"}"),
+                new ToolInvocation("call_2", "select", "{\"id\": \"1\", \"table\": \"orders\"}")));
+
+        List<ToolResult> results = engine.executeAll(List.of(
+                new ToolInvocation("call_3", "delete", "{\"id\": \"1\", \"table\": \"users\"}"),
+                new ToolInvocation("call_4", "delete", "{\"id\": \"2\", \"table\": \"carts\"}"),
+                new ToolInvocation("call_5", "select", "{\"id\": \"1\", \"table\": \"users\"}"),
+                new ToolInvocation("call_6", "select", "{\"id\": \"1\", \"table\": \"orders\"}")));
+
+        // users 上的查询重新执行，orders 上的查询仍然命中缓存
+        assertEquals("users/1#3", results.get(2).content());
+        assertEquals("orders/1#2", results.get(3).content());
+        assertEquals(1, meterRegistry.get("toolcall.cache.invalidations").counters().size());
+        assertEquals(2.0, meterRegistry.get("toolcall.cache.invalidations").tag("tool", "delete").counter().count(), 0);
+    }
+
+    /**
+     * 写操作超时或抛出异常时同样使缓存失效，之后的查询重新执行
+     */
+    @Test
+    void failedWriteStillInvalidates() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        engine.register(ToolSpec.builder("select", Query.class, query -> query.table() + "/" + query.id() + "#" + selects.incrementAndGet())
+                .cached(Duration.ofMinutes(1), 100, Query::resource)
+                .readOnly()
+                .build());
+        engine.register(ToolSpec.builder("update", Query.class, query -> {
+                    try {
+                        Thread.sleep(5_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw new IllegalStateException("写入被中断", e);
+                    }
+                    return "updated";
+                })
+                .sequential()
+                .timeout(Duration.ofMillis(100))
+                .invalidates(Query::resource)
+                .build());
+        engine.register(ToolSpec.builder("insert", Query.class, query -> {
+                    throw new IllegalStateException("唯一键冲突");
+                })
+                .sequential()
+                .invalidates(Query::resource)
+                .build());
+        ToolInvocation select = new ToolInvocation("call_1", "select", "{\"id\": \"1\", \"table\": \"users\"}");
+        engine.executeAll(List.of(select));
+
+        List<ToolResult> update = engine.executeAll(List.of(
+                new ToolInvocation("call_2", "update", "{\"id\": \"1\", \"table\": \"users\"}")));
+        assertEquals("工具调用超时", update.get(0).content());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        // 失效在执行线程的 finally 中完成，稍晚于超时返回
+        waitForInvalidations("update", 1);
+        assertEquals("users/1#2", engine.executeAll(List.of(select)).get(0).content());
+
+        List<ToolResult> insert = engine.executeAll(List.of(
+                new ToolInvocation("call_3", "insert", "{\"id\": \"2\", \"table\": \"users\"}")));
+        assertTrue(insert.get(0).error());
+        assertEquals(1.0, meterRegistry.get("toolcall.cache.invalidations").tag("tool", "insert").counter().count(), 0);
+        assertEquals("users/1#3", engine.executeAll(List.of(select)).get(0).content());
+    }
+
+    /**
+     * 读取开始后资源被修改时，读取结果不写入缓存
+     */
+    @Test
+    void staleResultIsNotStored() {
+        cache.enable("select", 10);
+        long version = cache.version("mysql:users");
+        cache.invalidate("delete", "mysql:users");
+        cache.put("select", "k", "mysql:users", version, "old", Duration.ofMinutes(1));
+
+        assertNull(cache.get("select", "k", "mysql:users"));
+    }
+
+    /**
+     * 超过最大条目数时淘汰最久未访问的条目，过期的条目在读取时丢弃
+     */
+    @Test
+    void evictsLeastRecentlyUsedAndExpired() throws Exception {
+        cache.enable("select", 2);
+        cache.put("select", "a", null, 0, "A", Duration.ofMinutes(1));
+        cache.put("select", "b", null, 0, "B", Duration.ofMinutes(1));
+        assertEquals("A", cache.get("select", "a", null));
+        cache.put("select", "c", null, 0, "C", Duration.ofMinutes(1));
+        assertNull(cache.get("select", "b", null));
+        assertEquals("A", cache.get("select", "a", null));
+
+        cache.put("select", "d", null, 0, "D", Duration.ofMillis(10));
+        Thread.sleep(20);
+        assertNull(cache.get("select", "d", null));
+    }
+
+    private void waitForInvalidations(String tool, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("toolcall.cache.invalidations").tag("tool", tool).counter().count() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void registerTools() {
+        engine.register(ToolSpec.builder("select", Query.class, query -> query.table() + "/" + query.id() + "#" + selects.incrementAndGet())
+                .cached(Duration.ofMinutes(1), 100, Query::resource)
+                .readOnly()
+                .build());
+        engine.register(ToolSpec.builder("delete", Query.class, query -> "deleted")
+                .sequential()
+                .invalidates(Query::resource)
+                .build());
+    }
+
+    private static List<ToolResult> concat(List<ToolResult> first, List<ToolResult> second) {
+        return Stream.concat(first.stream(), second.stream()).toList();
+    }
+
+    record Query(String id, String table) {
+
+        String resource() {
+            return "mysql:" + table;
+        }
+    }
+}
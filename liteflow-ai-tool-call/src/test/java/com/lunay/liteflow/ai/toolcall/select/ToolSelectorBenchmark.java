@@ -0,0 +1,181 @@
+package com.lunay.liteflow.ai.toolcall.select;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 500 个合成工具下动态工具选择的 token 数与选择耗时
+ * <p>
+ * 工具由 50 类业务对象与 10 种操作组合而成（例如 {@code order_query_tool}：按条件查询订单记录），入参 Schema 随操作不同，
+ * 选择参数与默认配置一致（top-k 5，token-budget 2000）。main 方法先打印每个问题所选工具的 token 数、全部工具的 token 数，
+ * 以及预期的工具是否被选中，这些数字与运行环境无关；基准测量单次选择的耗时，按顺序轮换全部问题。
+ * <p>
+ * 运行：{@code mvn -pl liteflow-ai-tool-call test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.lunay.liteflow.ai.toolcall.select.ToolSelectorBenchmark}，或在 IDE 中直接运行 main 方法
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolSelectorBenchmark {
+
+    static final int TOP_K = 5;
+
+    static final long TOKEN_BUDGET = 2000;
+
+    /**
+     * 业务对象：名称中的英文、描述中的中文
+     */
+    private static final String[][] ENTITIES = {
+            {"order", "订单"}, {"user", "用户"}, {"product", "商品"}, {"inventory", "库存"}, {"invoice", "发票"},
+            {"shipment", "物流单"}, {"coupon", "优惠券"}, {"review", "商品评价"}, {"refund", "退款申请"}, {"payment", "支付流水"},
+            {"cart", "购物车"}, {"address", "收货地址"}, {"supplier", "供应商"}, {"warehouse", "仓库"}, {"employee", "员工"},
+            {"department", "部门"}, {"contract", "合同"}, {"ticket", "工单"}, {"campaign", "营销活动"}, {"member", "会员"},
+            {"points", "积分"}, {"category", "商品类目"}, {"brand", "品牌"}, {"store", "门店"}, {"price", "价格策略"},
+            {"report", "报表"}, {"notification", "通知"}, {"message", "站内信"}, {"audit_log", "操作日志"}, {"role", "角色"},
+            {"permission", "权限"}, {"device", "设备"}, {"alert", "告警"}, {"job", "定时任务"}, {"file", "文件"},
+            {"article", "文章"}, {"video", "视频"}, {"course", "课程"}, {"exam", "考试"}, {"attendance", "考勤记录"},
+            {"salary", "薪资"}, {"expense", "报销单"}, {"budget", "预算"}, {"project", "项目"}, {"task", "任务"},
+            {"meeting", "会议"}, {"customer", "客户"}, {"lead", "销售线索"}, {"opportunity", "商机"}, {"vendor_bill", "采购账单"}
+    };
+
+    /**
+     * 操作：名称中的英文、描述模板、入参 Schema 的属性
+     */
+    private static final String[][] ACTIONS = {
+            {"query", "按条件分页查询%s记录，支持关键字过滤", "\"keyword\":{\"type\":\"string\",\"description\":\"关键字\"},"
+                    + "\"page\":{\"type\":\"integer\",\"description\":\"页码\"},\"size\":{\"type\":\"integer\",\"description\":\"每页条数\"}"},
+            {"get", "按 ID 获取单个%s的详细信息", "\"id\":{\"type\":\"string\",\"description\":\"目标ID\"}"},
+            {"create", "创建一条新的%s", "\"fields\":{\"type\":\"object\",\"description\":\"字段与取值\"}"},
+            {"update", "按 ID 修改%s的指定字段", "\"id\":{\"type\":\"string\",\"description\":\"目标ID\"},"
+                    + "\"fields\":{\"type\":\"object\",\"description\":\"要修改的字段与取值\"}"},
+            {"delete", "按 ID 删除%s", "\"id\":{\"type\":\"string\",\"description\":\"目标ID\"}"},
+            {"export", "将符合条件的%s导出为 Excel 文件", "\"keyword\":{\"type\":\"string\",\"description\":\"关键字\"},"
+                    + "\"from\":{\"type\":\"string\",\"description\":\"开始日期\"},\"to\":{\"type\":\"string\",\"description\":\"结束日期\"}"},
+            {"stats", "按时间范围统计%s的数量", "\"from\":{\"type\":\"string\",\"description\":\"开始日期\"},"
+                    + "\"to\":{\"type\":\"string\",\"description\":\"结束日期\"},\"groupBy\":{\"type\":\"string\",\"description\":\"分组字段\"}"},
+            {"approve", "审批待处理的%s，通过或驳回", "\"id\":{\"type\":\"string\",\"description\":\"目标ID\"},"
+                    + "\"approved\":{\"type\":\"boolean\",\"description\":\"是否通过\"},\"comment\":{\"type\":\"string\",\"description\":\"审批意见\"}"},
+            {"archive", "归档已过期的%s", "\"before\":{\"type\":\"string\",\"description\":\"截止日期\"}"},
+            {"sync", "将%s同步到外部系统", "\"target\":{\"type\":\"string\",\"description\":\"目标系统\"},"
+                    + "\"ids\":{\"type\":\"array\",\"items\":{\"type\":\"string\"},\"description\":\"目标ID列表\"}"}
+    };
+
+    /**
+     * 问题与预期选中的工具
+     */
+    static final List<Query> QUERIES = List.of(
+            new Query("帮我查询一下上周的订单记录", "order_query_tool"),
+            new Query("把 ID 为 1024 的优惠券删除", "coupon_delete_tool"),
+            new Query("导出本月的报销单", "expense_export_tool"),
+            new Query("统计今天新增的会员数量", "member_stats_tool"),
+            new Query("审批一下待处理的退款申请", "refund_approve_tool"),
+            new Query("获取商品 88 的详细信息", "product_get_tool"),
+            new Query("把客户资料同步到 CRM", "customer_sync_tool"),
+            new Query("修改员工 3 的手机号", "employee_update_tool"),
+            new Query("归档去年已经过期的合同", "contract_archive_tool"),
+            new Query("新建一个工单，标题是打印机坏了", "ticket_create_tool"),
+            new Query("仓库里还有多少库存", "inventory_query_tool"),
+            new Query("看看设备告警有哪些", "alert_query_tool"),
+            new Query("下周的会议安排", "meeting_query_tool"),
+            new Query("删除张三的收货地址", "address_delete_tool"),
+            new Query("统计各门店本季度的销售额", "store_stats_tool"),
+            new Query("查一下 order 123 的物流到哪了", "shipment_query_tool"),
+            new Query("给所有会员发一条站内信", "message_create_tool"),
+            new Query("导出采购账单", "vendor_bill_export_tool"),
+            new Query("审批预算调整", "budget_approve_tool"),
+            new Query("hello", null)
+    );
+
+    @Param({"500"})
+    public int tools;
+
+    private ToolSelector selector;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        selector = syntheticSelector(tools, TOP_K, TOKEN_BUDGET);
+    }
+
+    @Benchmark
+    public List<ToolCandidate> select() {
+        Query query = QUERIES.get(next);
+        next = next + 1 == QUERIES.size() ? 0 : next + 1;
+        return selector.select(query.question());
+    }
+
+    /**
+     * 合成的工具集合，按业务对象、操作的顺序注册
+     */
+    static ToolSelector syntheticSelector(int tools, int topK, long tokenBudget) {
+        ToolSelector selector = new ToolSelector(topK, tokenBudget);
+        for (int i = 0; i < tools; i++) {
+            String[] entity = ENTITIES[i / ACTIONS.length % ENTITIES.length];
+            String[] action = ACTIONS[i % ACTIONS.length];
+            String name = entity[0] + "_" + action[0] + "_tool";
+            if (i >= ENTITIES.length * ACTIONS.length) {
+                name = entity[0] + "_" + action[0] + "_" + (i / (ENTITIES.length * ACTIONS.length)) + "_tool";
+            }
+            selector.add(name, action[1].formatted(entity[1]), "{\"type\":\"object\",\"properties\":{" + action[2] + "}}", registry -> {
+            });
+        }
+        return selector;
+    }
+
+    /**
+     * 打印每个问题所选工具与 token 数，全部工具的 token 数即关闭动态选择时每次请求附带的工具定义
+     */
+    static void printTokens(int tools) {
+        ToolSelector selector = syntheticSelector(tools, TOP_K, TOKEN_BUDGET);
+        // 没有共同词项时按注册顺序选择，限制足够大时即全部工具
+        long full = syntheticSelector(tools, Integer.MAX_VALUE, Long.MAX_VALUE).select("")
+                .stream().mapToLong(ToolCandidate::tokens).sum();
+        System.out.printf("全部 %d 个工具约 %d tokens，top-k %d，token-budget %d%n", tools, full, TOP_K, TOKEN_BUDGET);
+        int hits = 0;
+        for (Query query : QUERIES) {
+            List<ToolCandidate> selected = selector.select(query.question());
+            long tokens = selected.stream().mapToLong(ToolCandidate::tokens).sum();
+            boolean hit = query.expected() != null && selected.stream().anyMatch(candidate -> candidate.name().equals(query.expected()));
+            hits += hit ? 1 : 0;
+            System.out.printf("%-24s %5d tokens (%.1f%%)  %s  %s%n", query.question(), tokens, tokens * 100.0 / full,
+                    query.expected() == null ? "-" : hit ? "命中" : "未命中 " + query.expected(),
+                    selected.stream().map(ToolCandidate::name).toList());
+        }
+        System.out.printf("预期工具命中 %d/%d%n", hits, QUERIES.stream().filter(query -> query.expected() != null).count());
+    }
+
+    record Query(String question, String expected) {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        printTokens(500);
+        new Runner(new OptionsBuilder()
+                .include(ToolSelectorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,62 @@
+package com.lunay.liteflow.ai.toolcall.select;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 动态工具选择测试
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class ToolSelectorTest {
+
+    private static final String SQL_SCHEMA = "{\"type\":\"object\",\"properties\":{\"id\":{\"type\":\"string\",\"description\":\"目标ID\"},"
+            + "\"tableName\":{\"type\":\"string\",\"description\":\"目标表名\"}},\"required\":[\"id\",\"tableName\"]}";
+
+    /**
+     * 查询与删除工具分别通过描述中的 "查找" 与 "删除" 与问题匹配，不依赖问题中是否出现 id
+     */
+    @Test
+    void matchesDemoToolsByDescription() {
+        ToolSelector selector = demoSelector(5, 2000);
+
+        assertEquals(List.of("mysql_select_tool"), names(selector.select("帮我查找一下张三这个用户")));
+        assertEquals(List.of("mysql_delete_tool"), names(selector.select("把张三删除掉")));
+        assertEquals(Set.of("mysql_select_tool", "mysql_delete_tool"),
+                Set.copyOf(names(selector.select("请你在 users 表中查找 id 为 123的用户，确定其存在后，再删除该用户。"))));
+    }
+
+    /**
+     * 问题与任何工具都没有共同词项时按注册顺序选择，仍受 top-k 与 token 预算限制
+     */
+    @Test
+    void fallsBackToRegistrationOrderWhenNothingMatches() {
+        assertEquals(List.of("mysql_select_tool", "mysql_delete_tool"), names(demoSelector(2, 2000).select("hello")));
+        assertEquals(List.of("mysql_select_tool"), names(demoSelector(1, 2000).select("hello")));
+        // 预算只放得下组装工具
+        assertEquals(List.of("assemble_tool"), names(demoSelector(5, 70).select("hello")));
+    }
+
+    private static ToolSelector demoSelector(int topK, long tokenBudget) {
+        ToolSelector selector = new ToolSelector(topK, tokenBudget);
+        selector.add("mysql_select_tool", "数据库查询工具，按 ID 查找指定表中的记录", SQL_SCHEMA, registry -> {
+        });
+        selector.add("mysql_delete_tool", "数据库删除工具，按 ID 删除指定表中的记录", SQL_SCHEMA, registry -> {
+        });
+        selector.add("assemble_tool", "组装工具\n将 a 和 b 组装成答案",
+                "{\"type\":\"object\",\"properties\":{\"a\":{\"type\":\"string\",\"description\":\"a\"},"
+                        + "\"b\":{\"type\":\"string\",\"description\":\"b\"}},\"required\":[\"a\",\"b\"]}", registry -> {
+                });
+        return selector;
+    }
+
+    private static List<String> names(List<ToolCandidate> candidates) {
+        return candidates.stream().map(ToolCandidate::name).toList();
+    }
+}
@@ -0,0 +1,18 @@
+package com.lunay.liteflow.ai.toolprocessor;
+
+/**
+ * 编译期生成的工具描述
+ * <p>
+ * 只有一个参数的工具以该参数的类型作为入参；多个参数的工具由处理器生成一个 record 承载全部参数
+ *
+ * @param name        工具名称
+ * @param description 工具描述
+ * @param inputType   入参类型
+ * @param inputSchema 入参的 JSON Schema
+ * @param invoker     调用器
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public record ToolDescriptor(String name, String description, Class<?> inputType, String inputSchema, ToolInvoker invoker) {
+}
@@ -0,0 +1,426 @@
+package com.lunay.liteflow.ai.toolprocessor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * {@code @Tool} 注解处理器
+ * <p>
+ * 编译期为每个声明了 {@code @Tool} 方法的类生成 {@code <类名>_ToolDescriptors}，包含工具描述、入参 JSON Schema 与调用器，
+ * 并登记到 {@code META-INF/services}。运行时无需扫描类路径，也不通过反射调用工具方法
+ * <p>
+ * 处理器只按名称读取注解，不依赖 LiteFlow-AI
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@SupportedAnnotationTypes(ToolDescriptorProcessor.TOOL)
+public class ToolDescriptorProcessor extends AbstractProcessor {
+
+    static final String TOOL = "com.yomahub.liteflow.ai.engine.tool.annotation.Tool";
+
+    private static final String TOOL_PARAM = "com.yomahub.liteflow.ai.engine.tool.annotation.ToolParam";
+
+    private static final String SERVICE_FILE = "META-INF/services/" + ToolDescriptorProvider.class.getName();
+
+    /**
+     * 已生成的描述类，全部轮次结束后写入服务文件
+     */
+    private final List<String> providers = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+        Map<TypeElement, List<ExecutableElement>> toolsByType = new LinkedHashMap<>();
+        for (TypeElement annotation : annotations) {
+            for (ExecutableElement method : ElementFilter.methodsIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                toolsByType.computeIfAbsent((TypeElement) method.getEnclosingElement(), key -> new ArrayList<>()).add(method);
+            }
+        }
+        toolsByType.forEach(this::generate);
+        // 不独占注解，同一次编译中的其他处理器仍可处理 @Tool；运行时的发现不受返回值影响
+        return false;
+    }
+
+    private void generate(TypeElement type, List<ExecutableElement> methods) {
+        if (!isAccessible(type)) {
+            error(type, "声明 @Tool 方法的类必须是 public 的顶层类或静态内部类");
+            return;
+        }
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String className = type.getQualifiedName().toString().substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+                .replace('.', '_') + "_ToolDescriptors";
+        String target = type.getQualifiedName().toString();
+
+        StringJoiner descriptors = new StringJoiner(",\n", "", "\n");
+        StringBuilder records = new StringBuilder();
+        Set<String> recordNames = new HashSet<>();
+        for (ExecutableElement method : methods) {
+            if (!isInvocable(method)) {
+                continue;
+            }
+            Map<String, Object> tool = annotationValues(method, TOOL);
+            String name = (String) tool.getOrDefault("name", "");
+            if (name.isEmpty()) {
+                name = method.getSimpleName().toString();
+            }
+            String description = String.join("\n", strings(tool.get("value")));
+            String call = "((" + target + ") target)." + method.getSimpleName();
+            boolean returnsString = isType(method.getReturnType(), String.class.getName());
+
+            String inputType;
+            String schema;
+            String invocation;
+            List<? extends VariableElement> parameters = method.getParameters();
+            if (parameters.size() == 1 && isBean(parameters.get(0).asType())) {
+                // 唯一的参数本身就是对象，直接作为入参
+                VariableElement parameter = parameters.get(0);
+                inputType = erasure(parameter.asType());
+                schema = schema(parameter.asType(), paramDescription(parameter), new HashSet<>());
+                invocation = call + "((" + inputType + ") input)";
+            } else {
+                // 其余情况生成一个 record 承载全部参数
+                inputType = recordName(method, recordNames);
+                schema = parametersSchema(parameters);
+                StringJoiner components = new StringJoiner(", ");
+                StringJoiner arguments = new StringJoiner(", ");
+                for (VariableElement parameter : parameters) {
+                    components.add(parameter.asType() + " " + parameter.getSimpleName());
+                    arguments.add("((" + inputType + ") input)." + parameter.getSimpleName() + "()");
+                }
+                records.append("\n    public record ").append(inputType).append("(").append(components).append(") {\n    }\n");
+                invocation = call + "(" + arguments + ")";
+            }
+            descriptors.add("                new ToolDescriptor(" + literal(name) + ", " + literal(description) + ", "
+                    + inputType + ".class,\n                        " + literal(schema) + ",\n                        (target, input) -> "
+                    + (returnsString ? invocation : "String.valueOf(" + invocation + ")") + ")");
+        }
+
+        String source = (packageName.isEmpty() ? "" : "package " + packageName + ";\n\n")
+                + "import com.lunay.liteflow.ai.toolprocessor.ToolDescriptor;\n"
+                + "import com.lunay.liteflow.ai.toolprocessor.ToolDescriptorProvider;\n\n"
+                + "import javax.annotation.processing.Generated;\n"
+                + "import java.util.List;\n\n"
+                + "@Generated(\"" + ToolDescriptorProcessor.class.getName() + "\")\n"
+                + "public final class " + className + " implements ToolDescriptorProvider {\n\n"
+                + "    @Override\n"
+                + "    public Class<?> targetType() {\n"
+                + "        return " + target + ".class;\n"
+                + "    }\n\n"
+                + "    @Override\n"
+                + "    public List<ToolDescriptor> descriptors() {\n"
+                + "        return List.of(\n" + descriptors + "        );\n"
+                + "    }\n"
+                + records
+                + "}\n";
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+            providers.add(qualifiedName);
+        } catch (IOException e) {
+            error(type, "生成工具描述失败: " + e.getMessage());
+        }
+    }
+
+    private void writeServiceFile() {
+        if (providers.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String provider : providers) {
+                    writer.write(provider + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "写入 " + SERVICE_FILE + " 失败: " + e.getMessage());
+        }
+    }
+
+    private boolean isAccessible(TypeElement type) {
+        NestingKind nesting = type.getNestingKind();
+        return type.getModifiers().contains(Modifier.PUBLIC)
+                && (nesting == NestingKind.TOP_LEVEL || nesting == NestingKind.MEMBER && type.getModifiers().contains(Modifier.STATIC));
+    }
+
+    private boolean isInvocable(ExecutableElement method) {
+        if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)) {
+            error(method, "@Tool 方法必须是 public 的实例方法");
+            return false;
+        }
+        if (!method.getTypeParameters().isEmpty()) {
+            error(method, "@Tool 方法不能声明类型参数");
+            return false;
+        }
+        if (method.getReturnType().getKind() == TypeKind.VOID) {
+            error(method, "@Tool 方法必须有返回值");
+            return false;
+        }
+        return true;
+    }
+
+    private String recordName(ExecutableElement method, Set<String> used) {
+        String base = method.getSimpleName().toString();
+        base = Character.toUpperCase(base.charAt(0)) + base.substring(1) + "Input";
+        String name = base;
+        for (int i = 2; !used.add(name); i++) {
+            name = base + i;
+        }
+        return name;
+    }
+
+    // ---------------------------------------------------------------- JSON Schema
+
+    private String parametersSchema(List<? extends VariableElement> parameters) {
+        StringJoiner properties = new StringJoiner(",", "{", "}");
+        StringJoiner required = new StringJoiner(",", "[", "]");
+        for (VariableElement parameter : parameters) {
+            String name = parameter.getSimpleName().toString();
+            properties.add(json(name) + ":" + schema(parameter.asType(), paramDescription(parameter), new HashSet<>()));
+            if (isRequired(parameter)) {
+                required.add(json(name));
+            }
+        }
+        return "{\"type\":\"object\",\"properties\":" + properties + ",\"required\":" + required + "}";
+    }
+
+    private String schema(TypeMirror type, String description, Set<String> visiting) {
+        String body = typeSchema(type, visiting);
+        if (description == null || description.isEmpty()) {
+            return "{" + body + "}";
+        }
+        return "{" + body + (body.isEmpty() ? "" : ",") + "\"description\":" + json(description) + "}";
+    }
+
+    private String typeSchema(TypeMirror type, Set<String> visiting) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "\"type\":\"boolean\"";
+            case BYTE, SHORT, INT, LONG -> "\"type\":\"integer\"";
+            case FLOAT, DOUBLE -> "\"type\":\"number\"";
+            case CHAR -> "\"type\":\"string\"";
+            case ARRAY -> "\"type\":\"array\",\"items\":" + schema(((ArrayType) type).getComponentType(), null, visiting);
+            case DECLARED -> declaredSchema((DeclaredType) type, visiting);
+            default -> "";
+        };
+    }
+
+    private String declaredSchema(DeclaredType type, Set<String> visiting) {
+        TypeElement element = (TypeElement) type.asElement();
+        String name = element.getQualifiedName().toString();
+        switch (name) {
+            case "java.lang.String", "java.lang.Character", "java.lang.CharSequence", "java.util.UUID" -> {
+                return "\"type\":\"string\"";
+            }
+            case "java.lang.Boolean" -> {
+                return "\"type\":\"boolean\"";
+            }
+            case "java.lang.Byte", "java.lang.Short", "java.lang.Integer", "java.lang.Long", "java.math.BigInteger" -> {
+                return "\"type\":\"integer\"";
+            }
+            case "java.lang.Float", "java.lang.Double", "java.lang.Number", "java.math.BigDecimal" -> {
+                return "\"type\":\"number\"";
+            }
+            default -> {
+            }
+        }
+        if (name.startsWith("java.time.")) {
+            return "\"type\":\"string\"";
+        }
+        if (element.getKind() == ElementKind.ENUM) {
+            StringJoiner constants = new StringJoiner(",", "[", "]");
+            for (Element enclosed : element.getEnclosedElements()) {
+                if (enclosed.getKind() == ElementKind.ENUM_CONSTANT) {
+                    constants.add(json(enclosed.getSimpleName().toString()));
+                }
+            }
+            return "\"type\":\"string\",\"enum\":" + constants;
+        }
+        List<? extends TypeMirror> arguments = type.getTypeArguments();
+        if (isSubtype(type, "java.util.Collection")) {
+            return "\"type\":\"array\",\"items\":" + (arguments.isEmpty() ? "{}" : schema(arguments.get(0), null, visiting));
+        }
+        if (isSubtype(type, "java.util.Map")) {
+            return "\"type\":\"object\"" + (arguments.size() == 2 ? ",\"additionalProperties\":" + schema(arguments.get(1), null, visiting) : "");
+        }
+        if (name.startsWith("java.") || !visiting.add(name)) {
+            // JDK 类型与递归引用不再展开
+            return "\"type\":\"object\"";
+        }
+        StringJoiner properties = new StringJoiner(",", "{", "}");
+        StringJoiner required = new StringJoiner(",", "[", "]");
+        for (VariableElement field : fields(element)) {
+            String fieldName = field.getSimpleName().toString();
+            properties.add(json(fieldName) + ":" + schema(field.asType(), paramDescription(field), visiting));
+            if (isRequired(field)) {
+                required.add(json(fieldName));
+            }
+        }
+        visiting.remove(name);
+        return "\"type\":\"object\",\"properties\":" + properties + ",\"required\":" + required;
+    }
+
+    /**
+     * 类及其父类中声明的实例字段，父类字段在前
+     */
+    private List<VariableElement> fields(TypeElement element) {
+        List<VariableElement> fields = new ArrayList<>();
+        TypeMirror superclass = element.getSuperclass();
+        if (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement parent = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (!parent.getQualifiedName().toString().startsWith("java.")) {
+                fields.addAll(fields(parent));
+            }
+        }
+        for (VariableElement field : ElementFilter.fieldsIn(element.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (!modifiers.contains(Modifier.STATIC) && !modifiers.contains(Modifier.TRANSIENT)) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    // ---------------------------------------------------------------- 类型与注解
+
+    /**
+     * 可以直接作为入参对象的类型：非 JDK 的类或 record
+     */
+    private boolean isBean(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        Element element = ((DeclaredType) type).asElement();
+        return (element.getKind() == ElementKind.CLASS || element.getKind() == ElementKind.RECORD)
+                && !((TypeElement) element).getQualifiedName().toString().startsWith("java.");
+    }
+
+    private boolean isType(TypeMirror type, String qualifiedName) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(qualifiedName);
+    }
+
+    private boolean isSubtype(DeclaredType type, String qualifiedName) {
+        TypeElement parent = processingEnv.getElementUtils().getTypeElement(qualifiedName);
+        return parent != null && processingEnv.getTypeUtils().isAssignable(
+                processingEnv.getTypeUtils().erasure(type), processingEnv.getTypeUtils().erasure(parent.asType()));
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private String paramDescription(Element element) {
+        return String.join("\n", strings(annotationValues(element, TOOL_PARAM).get("value")));
+    }
+
+    /**
+     * 声明了 {@code @ToolParam} 的参数默认必填，注解提供 {@code required} 属性时以其为准
+     */
+    private boolean isRequired(Element element) {
+        Map<String, Object> values = annotationValues(element, TOOL_PARAM);
+        return !values.isEmpty() && !Boolean.FALSE.equals(values.get("required"));
+    }
+
+    /**
+     * 读取注解属性（包含默认值），未标注时返回空 Map
+     */
+    private Map<String, Object> annotationValues(Element element, String annotation) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                processingEnv.getElementUtils().getElementValuesWithDefaults(mirror)
+                        .forEach((key, value) -> values.put(key.getSimpleName().toString(), value.getValue()));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 注解中的 String 或 String[] 属性
+     */
+    private static List<String> strings(Object value) {
+        List<String> result = new ArrayList<>();
+        if (value instanceof String string) {
+            result.add(string);
+        } else if (value instanceof List<?> list) {
+            for (Object item : list) {
+                result.add(String.valueOf(((AnnotationValue) item).getValue()));
+            }
+        }
+        return result;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    // ---------------------------------------------------------------- 转义
+
+    private static String json(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    private static String literal(String value) {
+        // Java 字符串字面量与 JSON 字符串的转义规则一致
+        return json(value);
+    }
+}
@@ -0,0 +1,21 @@
+package com.lunay.liteflow.ai.toolprocessor;
+
+import java.util.List;
+
+/**
+ * 一个类中全部工具的描述，由注解处理器为每个声明了 {@code @Tool} 方法的类生成一个实现，
+ * 并登记到 {@code META-INF/services}，运行时通过 {@link java.util.ServiceLoader} 加载
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+public interface ToolDescriptorProvider {
+
+    /**
+     * 工具方法所属的类型，运行时从容器中获取该类型的对象作为调用目标
+     */
+    Class<?> targetType();
+
+    List<ToolDescriptor> descriptors();
+}
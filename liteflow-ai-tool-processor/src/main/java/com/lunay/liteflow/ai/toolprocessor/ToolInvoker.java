@@ -0,0 +1,21 @@
+package com.lunay.liteflow.ai.toolprocessor;
+
+/**
+ * 工具调用器，由注解处理器生成，直接调用目标方法而不经过反射
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+@FunctionalInterface
+public interface ToolInvoker {
+
+    /**
+     * 调用工具
+     *
+     * @param target 工具方法所属的对象
+     * @param input  工具入参，类型为 {@link ToolDescriptor#inputType()}
+     * @return 工具输出
+     */
+    String invoke(Object target, Object input);
+}
@@ -0,0 +1,174 @@
+package com.lunay.liteflow.ai.toolprocessor;
+
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 工具描述注解处理器测试：编译带有 {@code @Tool} 方法的源码，加载生成的描述并调用
+ *
+ * @author 苍镜月
+ * @since 2.16.0
+ */
+
+class ToolDescriptorProcessorTest {
+
+    private static final String TOOL = """
+            package com.yomahub.liteflow.ai.engine.tool.annotation;
+
+            import java.lang.annotation.*;
+
+            @Retention(RetentionPolicy.RUNTIME)
+            @Target(ElementType.METHOD)
+            public @interface Tool {
+                String name() default "";
+                String[] value() default {};
+            }
+            """;
+
+    private static final String TOOL_PARAM = """
+            package com.yomahub.liteflow.ai.engine.tool.annotation;
+
+            import java.lang.annotation.*;
+
+            @Retention(RetentionPolicy.RUNTIME)
+            @Target({ElementType.PARAMETER, ElementType.FIELD})
+            public @interface ToolParam {
+                String[] value() default {};
+                boolean required() default true;
+            }
+            """;
+
+    private static final String TOOLS = """
+            package demo;
+
+            import com.yomahub.liteflow.ai.engine.tool.annotation.Tool;
+            import com.yomahub.liteflow.ai.engine.tool.annotation.ToolParam;
+
+            public class Tools {
+
+                @Tool(name = "assemble_tool", value = {"组装工具", "将 a 和 b 组装成答案"})
+                public String assemble(@ToolParam("a") String a, @ToolParam(value = "b", required = false) int b) {
+                    return a + "+" + b;
+                }
+
+                @Tool("查询用户")
+                public String find(Query query) {
+                    return "user " + query.id;
+                }
+
+                public static class Query {
+                    @ToolParam("用户 ID")
+                    public String id;
+                }
+            }
+            """;
+
+    @Test
+    void generatesDescriptorsAndInvokers() throws Exception {
+        Path output = compile(new ToolDescriptorProcessor());
+
+        assertEquals("demo.Tools_ToolDescriptors", Files.readString(
+                output.resolve("META-INF/services/" + ToolDescriptorProvider.class.getName())).strip());
+        try (URLClassLoader loader = new URLClassLoader(new java.net.URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            ToolDescriptorProvider provider = (ToolDescriptorProvider) loader.loadClass("demo.Tools_ToolDescriptors")
+                    .getDeclaredConstructor().newInstance();
+            Object target = provider.targetType().getDeclaredConstructor().newInstance();
+            List<ToolDescriptor> descriptors = provider.descriptors();
+            assertEquals(List.of("assemble_tool", "find"), descriptors.stream().map(ToolDescriptor::name).toList());
+
+            ToolDescriptor assemble = descriptors.get(0);
+            assertEquals("组装工具\n将 a 和 b 组装成答案", assemble.description());
+            assertEquals("{\"type\":\"object\",\"properties\":{\"a\":{\"type\":\"string\",\"description\":\"a\"},"
+                    + "\"b\":{\"type\":\"integer\",\"description\":\"b\"}},\"required\":[\"a\"]}", assemble.inputSchema());
+            Object input = assemble.inputType().getDeclaredConstructor(String.class, int.class).newInstance("x", 2);
+            assertEquals("x+2", assemble.invoker().invoke(target, input));
+
+            // 唯一的对象参数直接作为入参
+            ToolDescriptor find = descriptors.get(1);
+            assertEquals("demo.Tools$Query", find.inputType().getName());
+            assertEquals("{\"type\":\"object\",\"properties\":{\"id\":{\"type\":\"string\",\"description\":\"用户 ID\"}},"
+                    + "\"required\":[\"id\"]}", find.inputSchema());
+            Object query = find.inputType().getDeclaredConstructor().newInstance();
+            find.inputType().getField("id").set(query, "123");
+            assertEquals("user 123", find.invoker().invoke(target, query));
+        }
+    }
+
+    /**
+     * 处理器不独占 {@code @Tool}，同一次编译中的其他处理器仍能收到该注解
+     */
+    @Test
+    void doesNotClaimToolAnnotation() throws Exception {
+        RecordingProcessor recorder = new RecordingProcessor();
+        compile(new ToolDescriptorProcessor(), recorder);
+
+        assertTrue(recorder.seen.contains("com.yomahub.liteflow.ai.engine.tool.annotation.Tool"), recorder.seen::toString);
+    }
+
+    private static Path compile(AbstractProcessor... processors) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Path output = Files.createTempDirectory("tool-processor");
+        List<JavaFileObject> sources = List.of(
+                source("com.yomahub.liteflow.ai.engine.tool.annotation.Tool", TOOL),
+                source("com.yomahub.liteflow.ai.engine.tool.annotation.ToolParam", TOOL_PARAM),
+                source("demo.Tools", TOOLS));
+        StringWriter diagnostics = new StringWriter();
+        JavaCompiler.CompilationTask task = compiler.getTask(diagnostics, null, null,
+                List.of("-d", output.toString(), "-s", output.toString(), "-classpath", System.getProperty("java.class.path")),
+                null, sources);
+        task.setProcessors(List.of(processors));
+        boolean success = task.call();
+        assertTrue(success, diagnostics::toString);
+        return output;
+    }
+
+    private static JavaFileObject source(String className, String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    /**
+     * 记录收到的注解，排在工具描述处理器之后
+     */
+    @SupportedAnnotationTypes("*")
+    private static class RecordingProcessor extends AbstractProcessor {
+
+        private final List<String> seen = new ArrayList<>();
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            annotations.forEach(annotation -> seen.add(annotation.getQualifiedName().toString()));
+            return false;
+        }
+    }
+}